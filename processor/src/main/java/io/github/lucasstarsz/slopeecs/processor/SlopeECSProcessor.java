@@ -0,0 +1,389 @@
+package io.github.lucasstarsz.slopeecs.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The annotation processor generating typed component mappers and queries for Slope-ECS.
+ *
+ * <h2>About</h2>
+ * This processor reads two annotations from the {@code io.github.lucasstarsz.slopeecs.annotation} package:
+ * <ul>
+ *     <li>{@code @GenerateMapper} on a component class {@code C} generates {@code CMapper}, which holds the storage of
+ *     {@code C} and gets components from it without any {@code Class} lookup or cast.</li>
+ *     <li>{@code @GenerateQuery} on a system class {@code S} generates {@code SQuery}, which holds the storages of the
+ *     listed components and visits every entity which has all of them through a statically typed callback. Components
+ *     listed in its {@code without} are skipped over, and components listed in its {@code optional} are passed to the
+ *     callback when present, or null otherwise.</li>
+ * </ul>
+ * Since each generated class refers to exactly one storage per component type, the call sites within it stay
+ * monomorphic and can be inlined by the JIT.
+ * <p>
+ * The processor refers to Slope-ECS types by name only, so it has no dependency on the library itself. Add it to the
+ * annotation processor path of projects using Slope-ECS:
+ * <pre>{@code
+ * dependencies {
+ *     implementation 'io.github.lucasstarsz.slopeecs:slope-ecs:0.1.0'
+ *     annotationProcessor 'io.github.lucasstarsz.slopeecs:slope-ecs-processor:0.1.0'
+ * }
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class SlopeECSProcessor extends AbstractProcessor {
+
+    private static final String generateMapperName = "io.github.lucasstarsz.slopeecs.annotation.GenerateMapper";
+    private static final String generateQueryName = "io.github.lucasstarsz.slopeecs.annotation.GenerateQuery";
+    private static final String componentName = "io.github.lucasstarsz.slopeecs.component.IComponent";
+    private static final String systemName = "io.github.lucasstarsz.slopeecs.system.ECSSystem";
+    private static final String worldName = "io.github.lucasstarsz.slopeecs.World";
+    private static final String componentArrayName = "io.github.lucasstarsz.slopeecs.component.ECSComponentArray";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(generateMapperName, generateQueryName);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        TypeElement generateMapper = processingEnv.getElementUtils().getTypeElement(generateMapperName);
+        TypeElement generateQuery = processingEnv.getElementUtils().getTypeElement(generateQueryName);
+
+        if (generateMapper != null) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(generateMapper)) {
+                TypeElement component = checkClass(element, componentName, "@GenerateMapper");
+                if (component != null) {
+                    writeMapper(component);
+                }
+            }
+        }
+
+        if (generateQuery != null) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(generateQuery)) {
+                TypeElement system = checkClass(element, systemName, "@GenerateQuery");
+                if (system == null) {
+                    continue;
+                }
+
+                QueryComponents components = getQueryComponents(system);
+                if (components != null) {
+                    writeQuery(system, components);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /** Checks that the element is a non-generic class deriving from the named type, reporting an error otherwise. */
+    private TypeElement checkClass(Element element, String requiredTypeName, String annotationName) {
+        TypeElement requiredType = processingEnv.getElementUtils().getTypeElement(requiredTypeName);
+        if (requiredType == null) {
+            error(element, requiredTypeName + " was not found -- is Slope-ECS on the classpath?");
+            return null;
+        }
+
+        if (element.getKind() != ElementKind.CLASS) {
+            error(element, annotationName + " can only be used on classes.");
+            return null;
+        }
+
+        TypeElement type = (TypeElement) element;
+        if (!type.getTypeParameters().isEmpty()) {
+            error(element, annotationName + " cannot be used on generic classes.");
+            return null;
+        }
+
+        TypeMirror erasedRequiredType = processingEnv.getTypeUtils().erasure(requiredType.asType());
+        if (!processingEnv.getTypeUtils().isAssignable(type.asType(), erasedRequiredType)) {
+            error(element, annotationName + " can only be used on subtypes of " + requiredTypeName + ".");
+            return null;
+        }
+
+        return type;
+    }
+
+    /** Reads the component classes listed in the system's {@code @GenerateQuery}, reporting an error if unusable. */
+    private QueryComponents getQueryComponents(TypeElement system) {
+        QueryComponents components = new QueryComponents();
+        List<TypeElement> listed = new ArrayList<>();
+
+        for (AnnotationMirror annotation : system.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(generateQueryName)) {
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                List<TypeElement> target = switch (entry.getKey().getSimpleName().toString()) {
+                    case "value" -> components.required;
+                    case "without" -> components.excluded;
+                    case "optional" -> components.optional;
+                    default -> null;
+                };
+
+                if (target == null) {
+                    continue;
+                }
+
+                @SuppressWarnings("unchecked")
+                List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) entry.getValue().getValue();
+                for (AnnotationValue value : values) {
+                    TypeElement component = (TypeElement) ((DeclaredType) value.getValue()).asElement();
+                    if (listed.contains(component)) {
+                        error(system, "@GenerateQuery lists " + component.getQualifiedName() + " more than once.");
+                        return null;
+                    }
+
+                    listed.add(component);
+                    target.add(component);
+                }
+            }
+        }
+
+        if (components.required.isEmpty()) {
+            error(system, "@GenerateQuery must list at least one component.");
+            return null;
+        }
+
+        return components;
+    }
+
+    private void writeMapper(TypeElement component) {
+        String packageName = getPackageName(component);
+        String className = getFlatName(component) + "Mapper";
+        String componentType = component.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        appendHeader(source, packageName);
+        source.append("/**\n")
+                .append(" * A typed mapper for {@link ").append(componentType).append("} components.\n")
+                .append(" * <p>\n")
+                .append(" * Generated by the Slope-ECS annotation processor -- do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" {\n\n")
+                .append("    private final ").append(componentArrayName).append('<').append(componentType).append("> storage;\n")
+                .append("    private final int componentType;\n\n")
+                .append("    public ").append(className).append('(').append(worldName).append(" world) {\n")
+                .append("        storage = world.getComponentManager().getComponentArray(").append(componentType).append(".class);\n")
+                .append("        componentType = world.getComponentType(").append(componentType).append(".class);\n")
+                .append("    }\n\n")
+                .append("    public ").append(componentType).append(" get(int entity) {\n")
+                .append("        return storage.getData(entity);\n")
+                .append("    }\n\n")
+                .append("    public boolean has(int entity) {\n")
+                .append("        return storage.hasData(entity);\n")
+                .append("    }\n\n")
+                .append("    public int getComponentType() {\n")
+                .append("        return componentType;\n")
+                .append("    }\n\n")
+                .append("    public ").append(componentArrayName).append('<').append(componentType).append("> getStorage() {\n")
+                .append("        return storage;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        writeSource(component, packageName, className, source);
+    }
+
+    private void writeQuery(TypeElement system, QueryComponents query) {
+        List<TypeElement> components = query.required;
+
+        String packageName = getPackageName(system);
+        String className = getFlatName(system) + "Query";
+        String systemType = system.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        appendHeader(source, packageName);
+        source.append("/**\n")
+                .append(" * A typed query over the components of {@link ").append(systemType).append("}.\n")
+                .append(" * <p>\n")
+                .append(" * Generated by the Slope-ECS annotation processor -- do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" {\n\n");
+
+        // The callback, with one parameter per component
+        source.append("    /**\n")
+                .append("     * The callback receiving each entity visited by the query, along with its components. Optional components\n")
+                .append("     * the entity does not have are null.\n")
+                .append("     */\n")
+                .append("    @FunctionalInterface\n")
+                .append("    public interface Action {\n")
+                .append("        void accept(int entity");
+        List<String> parameterNames = new ArrayList<>();
+        for (int i = 0; i < components.size(); i++) {
+            String parameterName = getParameterName(components.get(i), i, parameterNames);
+            parameterNames.add(parameterName);
+
+            source.append(", ").append(components.get(i).getQualifiedName()).append(' ').append(parameterName);
+        }
+        for (int i = 0; i < query.optional.size(); i++) {
+            String parameterName = getParameterName(query.optional.get(i), components.size() + i, parameterNames);
+            parameterNames.add(parameterName);
+
+            source.append(", ").append(query.optional.get(i).getQualifiedName()).append(' ').append(parameterName);
+        }
+        source.append(");\n")
+                .append("    }\n\n");
+
+        for (int i = 0; i < components.size(); i++) {
+            source.append("    private final ").append(componentArrayName).append('<').append(components.get(i).getQualifiedName())
+                    .append("> storage").append(i).append(";\n");
+        }
+        appendStorageFields(source, query.excluded, "excludedStorage");
+        appendStorageFields(source, query.optional, "optionalStorage");
+
+        source.append('\n')
+                .append("    public ").append(className).append('(').append(worldName).append(" world) {\n");
+        for (int i = 0; i < components.size(); i++) {
+            source.append("        storage").append(i).append(" = world.getComponentManager().getComponentArray(")
+                    .append(components.get(i).getQualifiedName()).append(".class);\n");
+        }
+        appendStorageAssignments(source, query.excluded, "excludedStorage");
+        appendStorageAssignments(source, query.optional, "optionalStorage");
+        source.append("    }\n\n");
+
+        // forEach walks the first storage in order, skipping entities missing any other component or having an excluded one
+        source.append("    public void forEach(Action action) {\n")
+                .append("        int count = storage0.getValidEntryCount();\n")
+                .append("        for (int i = 0; i < count; i++) {\n")
+                .append("            int entity = storage0.getEntity(i);\n");
+        appendMembershipCheck(source, components.size(), query.excluded.size());
+        source.append("            action.accept(entity, storage0.getDataAtIndex(i)");
+        for (int i = 1; i < components.size(); i++) {
+            source.append(", storage").append(i).append(".getData(entity)");
+        }
+        for (int i = 0; i < query.optional.size(); i++) {
+            source.append(", optionalStorage").append(i).append(".hasData(entity) ? optionalStorage").append(i)
+                    .append(".getData(entity) : null");
+        }
+        source.append(");\n")
+                .append("        }\n")
+                .append("    }\n\n");
+
+        source.append("    public int count() {\n")
+                .append("        int count = storage0.getValidEntryCount();\n")
+                .append("        int matches = 0;\n")
+                .append("        for (int i = 0; i < count; i++) {\n")
+                .append("            int entity = storage0.getEntity(i);\n");
+        appendMembershipCheck(source, components.size(), query.excluded.size());
+        source.append("            matches++;\n")
+                .append("        }\n\n")
+                .append("        return matches;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        writeSource(system, packageName, className, source);
+    }
+
+    private static void appendStorageFields(StringBuilder source, List<TypeElement> components, String fieldName) {
+        for (int i = 0; i < components.size(); i++) {
+            source.append("    private final ").append(componentArrayName).append('<').append(components.get(i).getQualifiedName())
+                    .append("> ").append(fieldName).append(i).append(";\n");
+        }
+    }
+
+    private static void appendStorageAssignments(StringBuilder source, List<TypeElement> components, String fieldName) {
+        for (int i = 0; i < components.size(); i++) {
+            source.append("        ").append(fieldName).append(i).append(" = world.getComponentManager().getComponentArray(")
+                    .append(components.get(i).getQualifiedName()).append(".class);\n");
+        }
+    }
+
+    private static void appendMembershipCheck(StringBuilder source, int componentCount, int excludedCount) {
+        if (componentCount == 1 && excludedCount == 0) {
+            return;
+        }
+
+        source.append("            if (");
+        for (int i = 1; i < componentCount; i++) {
+            if (i > 1) {
+                source.append(" || ");
+            }
+            source.append("!storage").append(i).append(".hasData(entity)");
+        }
+        for (int i = 0; i < excludedCount; i++) {
+            if (componentCount > 1 || i > 0) {
+                source.append(" || ");
+            }
+            source.append("excludedStorage").append(i).append(".hasData(entity)");
+        }
+        source.append(") {\n")
+                .append("                continue;\n")
+                .append("            }\n\n");
+    }
+
+    private static void appendHeader(StringBuilder source, String packageName) {
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+    }
+
+    private void writeSource(TypeElement origin, String packageName, String className, StringBuilder source) {
+        String qualifiedName = packageName.isEmpty() ? className : packageName + '.' + className;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, origin).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(origin, "Could not write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private String getPackageName(TypeElement type) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    /** Gets the name of the type, with the names of any enclosing types prepended and separated by underscores. */
+    private static String getFlatName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name.toString();
+    }
+
+    private static String getParameterName(TypeElement component, int index, List<String> usedNames) {
+        String simpleName = component.getSimpleName().toString();
+        String name = Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+
+        boolean unusable = SourceVersion.isKeyword(name) || name.equals("entity") || usedNames.contains(name);
+        return unusable ? name + index : name;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /** The component classes listed in a {@code @GenerateQuery}, by how the query uses them. */
+    private static final class QueryComponents {
+        private final List<TypeElement> required = new ArrayList<>();
+        private final List<TypeElement> excluded = new ArrayList<>();
+        private final List<TypeElement> optional = new ArrayList<>();
+    }
+}
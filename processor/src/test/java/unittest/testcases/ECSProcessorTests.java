@@ -0,0 +1,215 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.processor.SlopeECSProcessor;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.*;
+
+public class ECSProcessorTests {
+    private static final String positionSource = String.join("\n",
+            "package sample;",
+            "@io.github.lucasstarsz.slopeecs.annotation.GenerateMapper",
+            "public class Position implements io.github.lucasstarsz.slopeecs.component.IComponent {",
+            "    public float x;",
+            "}"
+    );
+    private static final String velocitySource = String.join("\n",
+            "package sample;",
+            "public class Velocity implements io.github.lucasstarsz.slopeecs.component.IComponent {",
+            "    public float x;",
+            "}"
+    );
+    private static final String movementSystemSource = String.join("\n",
+            "package sample;",
+            "@io.github.lucasstarsz.slopeecs.annotation.GenerateQuery({Velocity.class, Position.class})",
+            "public class MovementSystem extends io.github.lucasstarsz.slopeecs.system.ECSSystem {",
+            "}"
+    );
+    private static final String driverSource = String.join("\n",
+            "package sample;",
+            "import io.github.lucasstarsz.slopeecs.World;",
+            "public class Driver {",
+            "    public static float run() {",
+            "        World world = new World();",
+            "        world.init(8);",
+            "        world.registerComponent(Position.class);",
+            "        world.registerComponent(Velocity.class);",
+            "        for (int i = 0; i < 4; i++) {",
+            "            int entity = world.createEntity();",
+            "            world.addComponent(entity, new Position());",
+            "            if (i % 2 == 0) {",
+            "                Velocity velocity = new Velocity();",
+            "                velocity.x = i + 1;",
+            "                world.addComponent(entity, velocity);",
+            "            }",
+            "        }",
+            "        MovementSystemQuery query = new MovementSystemQuery(world);",
+            "        query.forEach((entity, velocity, position) -> position.x += velocity.x);",
+            "        PositionMapper positions = new PositionMapper(world);",
+            "        float total = 0f;",
+            "        for (int i = 0; i < positions.getStorage().getValidEntryCount(); i++) {",
+            "            total += positions.get(positions.getStorage().getEntity(i)).x;",
+            "        }",
+            "        return query.count() * 100f + total;",
+            "    }",
+            "}"
+    );
+    private static final String deadSource = String.join("\n",
+            "package sample;",
+            "public class Dead implements io.github.lucasstarsz.slopeecs.component.IComponent {",
+            "}"
+    );
+    private static final String renderSystemSource = String.join("\n",
+            "package sample;",
+            "@io.github.lucasstarsz.slopeecs.annotation.GenerateQuery(value = Position.class, without = Dead.class, optional = Velocity.class)",
+            "public class RenderSystem extends io.github.lucasstarsz.slopeecs.system.ECSSystem {",
+            "}"
+    );
+    private static final String filterDriverSource = String.join("\n",
+            "package sample;",
+            "import io.github.lucasstarsz.slopeecs.World;",
+            "public class FilterDriver {",
+            "    public static int run() {",
+            "        World world = new World();",
+            "        world.init(8);",
+            "        world.registerComponent(Position.class);",
+            "        world.registerComponent(Velocity.class);",
+            "        world.registerComponent(Dead.class);",
+            "        for (int i = 0; i < 4; i++) {",
+            "            int entity = world.createEntity();",
+            "            world.addComponent(entity, new Position());",
+            "            if (i % 2 == 0) {",
+            "                world.addComponent(entity, new Velocity());",
+            "            }",
+            "            if (i == 0) {",
+            "                world.addComponent(entity, new Dead());",
+            "            }",
+            "        }",
+            "        RenderSystemQuery query = new RenderSystemQuery(world);",
+            "        int[] withVelocity = new int[1];",
+            "        query.forEach((entity, position, velocity) -> {",
+            "            if (velocity != null) {",
+            "                withVelocity[0]++;",
+            "            }",
+            "        });",
+            "        return query.count() * 10 + withVelocity[0];",
+            "    }",
+            "}"
+    );
+
+    private Path workDirectory;
+
+    @Before
+    public void initialize() throws IOException {
+        workDirectory = Files.createTempDirectory("slope-ecs-processor");
+    }
+
+    @Test
+    public void checkGeneratedSources_shouldCompileAndRun() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(positionSource, velocitySource, movementSystemSource, driverSource);
+        assertTrue("Compilation should succeed: " + diagnostics.getDiagnostics(), errorsOf(diagnostics).isEmpty());
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{workDirectory.resolve("classes").toUri().toURL()}, getClass().getClassLoader())) {
+            float result = (float) classLoader.loadClass("sample.Driver").getMethod("run").invoke(null);
+
+            // 2 entities match the query, and their velocities (1 and 3) are added to their positions
+            assertEquals("The query should visit and update the matching entities.", 204f, result);
+        }
+    }
+
+    @Test
+    public void checkGeneratedQuery_withExcludedAndOptionalComponents() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(positionSource, velocitySource, deadSource, renderSystemSource, filterDriverSource);
+        assertTrue("Compilation should succeed: " + diagnostics.getDiagnostics(), errorsOf(diagnostics).isEmpty());
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{workDirectory.resolve("classes").toUri().toURL()}, getClass().getClassLoader())) {
+            int result = (int) classLoader.loadClass("sample.FilterDriver").getMethod("run").invoke(null);
+
+            // 3 entities are not dead, and only 1 of those has the optional velocity
+            assertEquals("The query should skip excluded entities and pass present optional components.", 31, result);
+        }
+    }
+
+    @Test
+    public void tryGenerateQuery_withComponentListedTwice() throws IOException {
+        String conflictingSystemSource = String.join("\n",
+                "package sample;",
+                "@io.github.lucasstarsz.slopeecs.annotation.GenerateQuery(value = Position.class, without = Position.class)",
+                "public class ConflictingSystem extends io.github.lucasstarsz.slopeecs.system.ECSSystem {",
+                "}"
+        );
+
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(positionSource, conflictingSystemSource);
+        assertEquals("The conflicting component should be reported.", 1, errorsOf(diagnostics).size());
+    }
+
+    @Test
+    public void tryGenerateMapper_whenClassIsNotComponent() throws IOException {
+        String notComponentSource = String.join("\n",
+                "package sample;",
+                "@io.github.lucasstarsz.slopeecs.annotation.GenerateMapper",
+                "public class NotComponent {",
+                "}"
+        );
+
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(notComponentSource);
+        assertEquals("The misused annotation should be reported.", 1, errorsOf(diagnostics).size());
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(String... sources) throws IOException {
+        Path sourceDirectory = Files.createDirectories(workDirectory.resolve("sources/sample"));
+        Path classDirectory = Files.createDirectories(workDirectory.resolve("classes"));
+
+        List<File> sourceFiles = new ArrayList<>();
+        for (String source : sources) {
+            String className = source.substring(source.indexOf("class ") + 6).split("[ {]")[0];
+            Path sourceFile = sourceDirectory.resolve(className + ".java");
+            Files.writeString(sourceFile, source);
+            sourceFiles.add(sourceFile.toFile());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = List.of(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", classDirectory.toString(),
+                    "-s", classDirectory.toString()
+            );
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+            task.setProcessors(List.of(new SlopeECSProcessor()));
+            task.call();
+        }
+
+        return diagnostics;
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> errorsOf(DiagnosticCollector<JavaFileObject> diagnostics) {
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic);
+            }
+        }
+
+        return errors;
+    }
+}
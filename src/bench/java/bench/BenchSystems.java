@@ -0,0 +1,68 @@
+package bench;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The systems registered by the benchmarks. Each system class can only be registered once per manager, so each factory
+ * creates a system of its own anonymous class.
+ */
+public final class BenchSystems {
+
+    public static final List<Supplier<ECSSystem>> factories = List.of(
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {},
+            () -> new ECSSystem() {}
+    );
+
+    private BenchSystems() {
+    }
+
+    /**
+     * Registers a system created by the specified factory, under the system's own class.
+     *
+     * @param systemManager The system manager to register the system with.
+     * @param factory       The factory creating the system.
+     * @return The class the system was registered under.
+     * @author Andrew Dey
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<ECSSystem> register(ECSSystemManager systemManager, Supplier<ECSSystem> factory) {
+        ECSSystem system = factory.get();
+        Class<ECSSystem> systemClass = (Class<ECSSystem>) system.getClass();
+        systemManager.registerSystem(systemClass, () -> system);
+        return systemClass;
+    }
+}
@@ -0,0 +1,207 @@
+package bench;
+
+import io.github.lucasstarsz.slopeecs.entity.ECSEntityManager;
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemManager;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Benchmarks matching entity signatures against system signatures, at 64, 256 and 1024 component types.
+ *
+ * <h2>About</h2>
+ * Each round gives every entity a random signature of a few component types, registers systems which each require a
+ * few random component types (and exclude one, for every fourth system), then times:
+ * <ul>
+ *     <li><strong>dense</strong>: comparing every system's signature with every entity's, word by word across the
+ *     whole signature width -- the way system signatures were compared before they skipped empty words.</li>
+ *     <li><strong>manager</strong>: {@link ECSSystemManager#entitySignatureChanged(int, long[], int, int)} for every
+ *     entity, which compares only the non-empty words of each system's signature, and updates membership.</li>
+ * </ul>
+ * Times are reported per entity-system comparison. Run it through Gradle, passing arguments with {@code -PbenchArgs}:
+ * <pre>{@code
+ * ./gradlew signatureBenchmark -PbenchArgs="--systems=32 --entities=20000 --rounds=20"
+ * }</pre>
+ */
+public class SignatureBenchmark {
+
+    private static final int[] componentTypeCounts = {64, 256, 1024};
+
+    private static final String usage = String.join(System.lineSeparator(),
+            "Arguments:",
+            "  --systems=<count>   systems registered in each round, up to " + BenchSystems.factories.size() + " (default 32)",
+            "  --entities=<count>  entities matched in each round (default 10000)",
+            "  --components=<n>    component types set on each entity (default 6)",
+            "  --rounds=<count>    timed rounds per component type count, after as many warm-up rounds (default 10)",
+            "") + System.lineSeparator();
+
+    public static void main(String[] args) {
+        int systemCount = 32;
+        int entityCount = 10_000;
+        int componentsPerEntity = 6;
+        int rounds = 10;
+
+        for (String arg : args) {
+            if (arg.equals("--help")) {
+                System.out.print(usage);
+                return;
+            }
+
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) {
+                System.err.println("Unknown argument " + arg + ".");
+                System.err.print(usage);
+                System.exit(1);
+                return;
+            }
+
+            int value = Integer.parseInt(parts[1]);
+            switch (parts[0]) {
+                case "--systems":
+                    systemCount = Math.min(value, BenchSystems.factories.size());
+                    break;
+                case "--entities":
+                    entityCount = value;
+                    break;
+                case "--components":
+                    componentsPerEntity = value;
+                    break;
+                case "--rounds":
+                    rounds = value;
+                    break;
+                default:
+                    System.err.println("Unknown argument " + arg + ".");
+                    System.err.print(usage);
+                    System.exit(1);
+                    return;
+            }
+        }
+
+        System.out.printf("Slope-ECS signature benchmark: %d systems, %d entities, %d components per entity, %d rounds%n%n",
+                systemCount, entityCount, componentsPerEntity, rounds);
+        System.out.printf("%-16s %-8s %-18s %-18s%n", "component_types", "words", "dense_ns_per_cmp", "manager_ns_per_cmp");
+
+        for (int componentTypeCount : componentTypeCounts) {
+            Round round = new Round(componentTypeCount, systemCount, entityCount, componentsPerEntity, new Random(componentTypeCount));
+
+            // Warm up both paths before timing them
+            for (int i = 0; i < rounds; i++) {
+                round.runDense();
+                round.runManager();
+            }
+
+            long denseNanos = 0;
+            long managerNanos = 0;
+            for (int i = 0; i < rounds; i++) {
+                long start = System.nanoTime();
+                round.runDense();
+                denseNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                round.runManager();
+                managerNanos += System.nanoTime() - start;
+            }
+
+            double comparisons = (double) rounds * entityCount * systemCount;
+            System.out.printf("%-16d %-8d %-18.3f %-18.3f%n",
+                    componentTypeCount, round.entityManager.getSignatureWidth(), denseNanos / comparisons, managerNanos / comparisons);
+
+            // Keep the dense results alive, so the comparisons are not optimised away
+            if (round.denseMatches == -1) {
+                System.out.println();
+            }
+        }
+    }
+
+    /** The entities and systems of one component type count. */
+    private static final class Round {
+        private final ECSEntityManager entityManager;
+        private final ECSSystemManager systemManager = new ECSSystemManager();
+        private final int[] entities;
+        /** The full-width words of each system's signature and exclusion, for the dense comparison. */
+        private final long[][] denseMasks;
+        private final long[][] denseExclusions;
+        private long denseMatches;
+
+        private Round(int componentTypeCount, int systemCount, int entityCount, int componentsPerEntity, Random random) {
+            entityManager = new ECSEntityManager(entityCount);
+            entityManager.ensureComponentTypeCount(componentTypeCount);
+            int width = entityManager.getSignatureWidth();
+
+            entities = new int[entityCount];
+            for (int i = 0; i < entityCount; i++) {
+                entities[i] = entityManager.createEntity();
+                for (int j = 0; j < componentsPerEntity; j++) {
+                    entityManager.addToSignature(entities[i], random.nextInt(componentTypeCount));
+                }
+            }
+
+            denseMasks = new long[systemCount][];
+            denseExclusions = new long[systemCount][];
+            for (int i = 0; i < systemCount; i++) {
+                Class<ECSSystem> systemClass = BenchSystems.register(systemManager, BenchSystems.factories.get(i));
+
+                BitSet signature = new BitSet();
+                for (int j = 0; j < 2 + random.nextInt(3); j++) {
+                    signature.set(random.nextInt(componentTypeCount));
+                }
+
+                systemManager.setSignature(systemClass, signature);
+                denseMasks[i] = Arrays.copyOf(signature.toLongArray(), width);
+
+                BitSet exclusion = new BitSet();
+                if (i % 4 == 0) {
+                    exclusion.set(random.nextInt(componentTypeCount));
+                    systemManager.setExclusion(systemClass, exclusion);
+                }
+
+                denseExclusions[i] = Arrays.copyOf(exclusion.toLongArray(), width);
+            }
+        }
+
+        private void runDense() {
+            long[] signatures = entityManager.getSignatureTable();
+            int width = entityManager.getSignatureWidth();
+
+            for (int entity : entities) {
+                int offset = entityManager.getSignatureOffset(entity);
+                for (int i = 0; i < denseMasks.length; i++) {
+                    if (containsAll(signatures, offset, width, denseMasks[i]) && !intersects(signatures, offset, width, denseExclusions[i])) {
+                        denseMatches++;
+                    }
+                }
+            }
+        }
+
+        private void runManager() {
+            long[] signatures = entityManager.getSignatureTable();
+            int width = entityManager.getSignatureWidth();
+
+            for (int entity : entities) {
+                systemManager.entitySignatureChanged(entity, signatures, entityManager.getSignatureOffset(entity), width);
+            }
+        }
+
+        private static boolean containsAll(long[] signatures, int offset, int width, long[] mask) {
+            for (int i = 0; i < width; i++) {
+                if ((signatures[offset + i] & mask[i]) != mask[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static boolean intersects(long[] signatures, int offset, int width, long[] mask) {
+            for (int i = 0; i < width; i++) {
+                if ((signatures[offset + i] & mask[i]) != 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * This module contains the micro-benchmarks for <a href="https://github.com/lucasstarsz/Slope-ECS">Slope ECS</a>.
+ */
+module slope.ecs.bench {
+    requires slope.ecs;
+}
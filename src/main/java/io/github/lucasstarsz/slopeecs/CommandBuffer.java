@@ -0,0 +1,145 @@
+package io.github.lucasstarsz.slopeecs;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+import java.util.Arrays;
+
+/**
+ * A recording of structural changes, to be applied to a {@link World} later.
+ *
+ * <h2>About</h2>
+ * Code which cannot safely change a {@code World} directly -- for example, a task running on another thread -- records
+ * its changes into a {@code CommandBuffer} instead. The changes are applied in the order they were recorded when
+ * {@link #apply(World)} is called, on the thread that owns the {@code World}.
+ * <p>
+ * Commands are stored in parallel arrays which grow as needed and are reused after each {@link #apply(World)}, so a
+ * buffer that is kept between ticks stops allocating once it has grown to its usual size.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class SomeComponent exists
+ * CommandBuffer commands = new CommandBuffer();
+ *
+ * // on another thread
+ * commands.addComponent(entity, new SomeComponent());
+ *
+ * // back on the world's thread
+ * commands.apply(world);
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class CommandBuffer {
+
+    private static final int addComponentCommand = 0;
+    private static final int removeComponentCommand = 1;
+    private static final int destroyEntityCommand = 2;
+
+    /** The kind of each recorded command. */
+    private int[] commands = new int[16];
+    /** The entity each recorded command applies to. */
+    private int[] entities = new int[16];
+    /** The component (or component class) of each recorded command, if it has one. */
+    private Object[] arguments = new Object[16];
+    /** The number of recorded commands. */
+    private int size;
+
+    /**
+     * Records the addition of the specified component to the specified entity.
+     *
+     * @param entity    The entity to add the component to.
+     * @param component The component to add.
+     * @author Andrew Dey
+     * @see World#addComponent(int, IComponent)
+     */
+    public void addComponent(int entity, IComponent component) {
+        record(addComponentCommand, entity, component);
+    }
+
+    /**
+     * Records the removal of the component of the specified class from the specified entity.
+     *
+     * @param entity         The entity to remove the component from.
+     * @param componentClass The class of the component to remove.
+     * @param <T>            The generic type of the component to remove. Uses of {@code T} must implement {@code
+     *                       IComponent}.
+     * @author Andrew Dey
+     * @see World#removeComponent(int, Class)
+     */
+    public <T extends IComponent> void removeComponent(int entity, Class<T> componentClass) {
+        record(removeComponentCommand, entity, componentClass);
+    }
+
+    /**
+     * Records the destruction of the specified entity.
+     *
+     * @param entity The entity to destroy.
+     * @author Andrew Dey
+     * @see World#destroyEntity(int)
+     */
+    public void destroyEntity(int entity) {
+        record(destroyEntityCommand, entity, null);
+    }
+
+    /**
+     * Applies every recorded command to the specified {@code World}, in the order they were recorded, then clears the
+     * buffer.
+     *
+     * @param world The {@code World} to apply the commands to.
+     * @author Andrew Dey
+     */
+    @SuppressWarnings("unchecked")
+    public void apply(World world) {
+        try {
+            for (int i = 0; i < size; i++) {
+                switch (commands[i]) {
+                    case addComponentCommand:
+                        world.addComponent(entities[i], (IComponent) arguments[i]);
+                        break;
+                    case removeComponentCommand:
+                        world.removeComponent(entities[i], (Class<? extends IComponent>) arguments[i]);
+                        break;
+                    case destroyEntityCommand:
+                        world.destroyEntity(entities[i]);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown command " + commands[i] + ".");
+                }
+            }
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Discards every recorded command.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        Arrays.fill(arguments, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void record(int command, int entity, Object argument) {
+        if (size == commands.length) {
+            int newCapacity = size * 2;
+            commands = Arrays.copyOf(commands, newCapacity);
+            entities = Arrays.copyOf(entities, newCapacity);
+            arguments = Arrays.copyOf(arguments, newCapacity);
+        }
+
+        commands[size] = command;
+        entities[size] = entity;
+        arguments[size] = argument;
+        size++;
+    }
+}
@@ -0,0 +1,450 @@
+package io.github.lucasstarsz.slopeecs;
+
+import io.github.lucasstarsz.slopeecs.component.ECSComponentManager;
+import io.github.lucasstarsz.slopeecs.component.ECSConcurrentComponentManager;
+import io.github.lucasstarsz.slopeecs.component.ECSStorageSorter;
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+import io.github.lucasstarsz.slopeecs.entity.ECSConcurrentEntityManager;
+import io.github.lucasstarsz.slopeecs.entity.ECSEntityManager;
+import io.github.lucasstarsz.slopeecs.event.ECSEventChannel;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMetrics;
+import io.github.lucasstarsz.slopeecs.replication.ECSReplicationLeader;
+import io.github.lucasstarsz.slopeecs.spatial.ECSSpatialIndex;
+import io.github.lucasstarsz.slopeecs.spatial.IPositionAccessor;
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+import io.github.lucasstarsz.slopeecs.system.IRunCriteria;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * A {@link World} which can be used from multiple threads at once.
+ *
+ * <h2>About</h2>
+ * The regular {@code World} does no synchronization at all, so that single-threaded users pay nothing for it. This
+ * subclass is the opt-in alternative, for when other threads (for example, network I/O threads) need to create
+ * entities and add components while the world is running:
+ * <ul>
+ *     <li>Entity IDs are handed out by the lock-free {@link ECSConcurrentEntityManager}, so creating and destroying IDs
+ *     never blocks.</li>
+ *     <li>Structural changes -- adding or removing a component, destroying an entity, changing a relationship -- are
+ *     serialized under the world's structure lock. Adding or removing a component does the liveness check, the store,
+ *     the signature change and the system membership updates in one section, so it can never interleave with the
+ *     destruction of the entity or with another signature change. Signatures are modified in place, which is safe
+ *     because they are only ever read or written under that lock.</li>
+ *     <li>Reading components only takes the structure lock's read side, so any number of threads can read at once.
+ *     The per-type locks of the {@link ECSConcurrentComponentManager} add nothing to this within the world -- they only
+ *     guard component storage that is used directly, outside of the world.</li>
+ *     <li>{@link #update()} holds the structure lock for the whole update, so systems can safely iterate their entities.
+ *     Other threads adding components during an update wait until it finishes.</li>
+ * </ul>
+ * <p>
+ * Component types, systems and event channels should be registered before the world is shared between threads. Event
+ * channels are not thread-safe themselves, so events should only be published and read by systems during {@link
+ * #update()}. Spatial indexes,
+ * groups and storage sorters are not supported, and metrics (see: {@link #enableMetrics()}) may undercount under
+ * contention.
+ * <p>
+ * Since IDs are handed out without locking, {@link #createEntities(int[])} is not all-or-nothing while other threads
+ * are also creating entities.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class NetworkPlayerComponent exists
+ * World world = new ConcurrentWorld();
+ * world.init();
+ * world.registerComponent(NetworkPlayerComponent.class);
+ *
+ * // on a network thread
+ * int player = world.createEntity();
+ * world.addComponent(player, new NetworkPlayerComponent());
+ *
+ * // on the game thread
+ * world.update();
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class ConcurrentWorld extends World {
+
+    /** The lock used to break ties when two worlds' locks need to be taken in a consistent order. */
+    private static final Object transferTieLock = new Object();
+
+    /**
+     * The lock guarding the structure of the world.
+     *
+     * <h4>About</h4>
+     * Reading component storage takes the read lock, alongside the lock of the component type involved. Adding or
+     * removing components, changing signatures, system membership, or relationships takes the write lock.
+     */
+    private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock();
+
+    @Override
+    public void init(int maxEntityCount) {
+        structureLock.writeLock().lock();
+        try {
+            super.init(maxEntityCount);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Destroys the specified entity and its descendants, holding the structure lock.
+     *
+     * <h4>About</h4>
+     * The destroyed IDs are only made available for reuse once all of their components and system entries have been
+     * removed, so an entity created by another thread at the same time can never receive a half-destroyed ID. For more
+     * information, see {@link World#destroyEntity(int)}.
+     *
+     * @param entity The entity to destroy.
+     * @author Andrew Dey
+     */
+    @Override
+    public void destroyEntity(int entity) {
+        structureLock.writeLock().lock();
+        try {
+            super.destroyEntity(entity);
+        } finally {
+            ((ECSConcurrentEntityManager) getEntityManager()).releaseRetiredEntities();
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroyEntities(int[] entities) {
+        structureLock.writeLock().lock();
+        try {
+            super.destroyEntities(entities);
+        } finally {
+            ((ECSConcurrentEntityManager) getEntityManager()).releaseRetiredEntities();
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        structureLock.writeLock().lock();
+        try {
+            super.clear();
+        } finally {
+            ((ECSConcurrentEntityManager) getEntityManager()).releaseRetiredEntities();
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends IComponent> void registerComponent(Class<T> componentClass) {
+        structureLock.writeLock().lock();
+        try {
+            super.registerComponent(componentClass);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the specified component to the specified entity.
+     *
+     * <h4>About</h4>
+     * The entity's liveness is checked, the component is stored, the entity's signature is updated and the systems are
+     * notified, all in one section under the structure lock. For more information, see {@link
+     * World#addComponent(int, IComponent)}.
+     *
+     * @param entity    The entity to add the component to.
+     * @param component The component to add.
+     * @param <T>       The generic type of the component to be added. Uses of {@code T} must implement {@code
+     *                  IComponent}.
+     * @author Andrew Dey
+     */
+    @Override
+    public <T extends IComponent> void addComponent(int entity, T component) {
+        structureLock.writeLock().lock();
+        try {
+            checkAlive(entity);
+            getComponentManager().addComponent(entity, component);
+
+            int componentType = getComponentManager().getComponentType(component.getClass());
+            getEntityManager().addToSignature(entity, componentType);
+            notifySignatureChanged(entity);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+
+        ECSMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.componentAdded();
+        }
+    }
+
+    /**
+     * Removes the specified component from the specified entity.
+     *
+     * <h4>About</h4>
+     * The entity's liveness is checked, the component is removed, the entity's signature is updated and the systems are
+     * notified, all in one section under the structure lock. For more information, see {@link
+     * World#removeComponent(int, Class)}.
+     *
+     * @param entity         The entity to remove the component from.
+     * @param componentClass The class of the component to remove.
+     * @param <T>            The generic type of the component to be removed. Uses of {@code T} must implement {@code
+     *                       IComponent}.
+     * @author Andrew Dey
+     */
+    @Override
+    public <T extends IComponent> void removeComponent(int entity, Class<T> componentClass) {
+        structureLock.writeLock().lock();
+        try {
+            checkAlive(entity);
+            getComponentManager().removeComponent(entity, componentClass);
+
+            int componentType = getComponentManager().getComponentType(componentClass);
+            getEntityManager().removeFromSignature(entity, componentType);
+            notifySignatureChanged(entity);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+
+        ECSMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.componentRemoved();
+        }
+    }
+
+    @Override
+    public <T extends IComponent> T getComponent(int entity, Class<T> componentClass) {
+        structureLock.readLock().lock();
+        try {
+            return super.getComponent(entity, componentClass);
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends ECSSystem> T registerSystem(Class<T> systemClass, LinkedHashMap<Class<?>, Object> arguments) {
+        structureLock.writeLock().lock();
+        try {
+            return super.registerSystem(systemClass, arguments);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends ECSSystem> T registerSystem(Class<T> systemClass, Supplier<? extends T> systemFactory) {
+        structureLock.writeLock().lock();
+        try {
+            return super.registerSystem(systemClass, systemFactory);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends ECSSystem> void setSystemSignature(Class<T> systemClass, BitSet signature) {
+        structureLock.writeLock().lock();
+        try {
+            super.setSystemSignature(systemClass, signature);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends ECSSystem> void setSystemExclusion(Class<T> systemClass, BitSet exclusion) {
+        structureLock.writeLock().lock();
+        try {
+            super.setSystemExclusion(systemClass, exclusion);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends ECSSystem> void setSystemOptional(Class<T> systemClass, BitSet optional) {
+        structureLock.writeLock().lock();
+        try {
+            super.setSystemOptional(systemClass, optional);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends ECSSystem> void setSystemRunCriteria(Class<T> systemClass, IRunCriteria criteria) {
+        structureLock.writeLock().lock();
+        try {
+            super.setSystemRunCriteria(systemClass, criteria);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <E> ECSEventChannel<E> registerEventChannel(Class<E> eventClass, Supplier<? extends E> eventFactory) {
+        structureLock.writeLock().lock();
+        try {
+            return super.registerEventChannel(eventClass, eventFactory);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void setParent(int child, int parent) {
+        structureLock.writeLock().lock();
+        try {
+            super.setParent(child, parent);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeParent(int child) {
+        structureLock.writeLock().lock();
+        try {
+            super.removeParent(child);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ECSMemoryReport memoryReport() {
+        structureLock.readLock().lock();
+        try {
+            return super.memoryReport();
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getParent(int entity) {
+        structureLock.readLock().lock();
+        try {
+            return super.getParent(entity);
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the specified entities into the specified target {@code World}, holding the structure lock of this world --
+     * and of the target, if it is also a {@code ConcurrentWorld} -- for the whole transfer.
+     *
+     * @param entities The entities to move.
+     * @param target   The {@code World} to move the entities into.
+     * @return The new IDs of the entities in the target {@code World}, in the same order as {@code entities}.
+     * @author Andrew Dey
+     * @see World#transferEntities(int[], World)
+     */
+    @Override
+    public int[] transferEntities(int[] entities, World target) {
+        if (!(target instanceof ConcurrentWorld) || target == this) {
+            structureLock.writeLock().lock();
+            try {
+                return super.transferEntities(entities, target);
+            } finally {
+                ((ECSConcurrentEntityManager) getEntityManager()).releaseRetiredEntities();
+                structureLock.writeLock().unlock();
+            }
+        }
+
+        // Always take the two locks in the same order, so that opposite transfers cannot deadlock
+        ReentrantReadWriteLock targetLock = ((ConcurrentWorld) target).structureLock;
+        int thisHash = System.identityHashCode(this);
+        int targetHash = System.identityHashCode(target);
+
+        if (thisHash == targetHash) {
+            synchronized (transferTieLock) {
+                return transferLocked(entities, target, structureLock, targetLock);
+            }
+        }
+
+        return thisHash < targetHash
+                ? transferLocked(entities, target, structureLock, targetLock)
+                : transferLocked(entities, target, targetLock, structureLock);
+    }
+
+    /**
+     * Updates every registered system once, holding the structure lock so that no signature can change during the
+     * update.
+     *
+     * @author Andrew Dey
+     * @see World#update()
+     */
+    @Override
+    public void update() {
+        structureLock.writeLock().lock();
+        try {
+            super.update();
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replication is not supported by {@code ConcurrentWorld}. Calling this will always throw an {@link
+     * IllegalStateException}.
+     */
+    @Override
+    public ECSReplicationLeader enableReplication() {
+        throw new IllegalStateException("Replication is not supported by " + ConcurrentWorld.class.getSimpleName() + ".");
+    }
+
+    /**
+     * Spatial indexes are not supported by {@code ConcurrentWorld}. Calling this will always throw an {@link
+     * IllegalStateException}.
+     */
+    @Override
+    public <T extends IComponent> ECSSpatialIndex<T> enableSpatialIndex(Class<T> componentClass, IPositionAccessor<T> positionAccessor, float cellSize) {
+        throw new IllegalStateException("Spatial indexes are not supported by " + ConcurrentWorld.class.getSimpleName() + ".");
+    }
+
+    /**
+     * Storage sorters are not supported by {@code ConcurrentWorld}. Calling this will always throw an {@link
+     * IllegalStateException}.
+     */
+    @Override
+    public <T extends IComponent> ECSStorageSorter<T> createStorageSorter(Class<T> componentClass, Comparator<? super T> comparator) {
+        throw new IllegalStateException("Storage sorters are not supported by " + ConcurrentWorld.class.getSimpleName() + ".");
+    }
+
+    @Override
+    protected ECSEntityManager createEntityManager(int maxEntityCount) {
+        return new ECSConcurrentEntityManager(maxEntityCount);
+    }
+
+    @Override
+    protected ECSComponentManager createComponentManager(int maxEntityCount) {
+        return new ECSConcurrentComponentManager(maxEntityCount);
+    }
+
+    private void checkAlive(int entity) {
+        if (!getEntityManager().isAlive(entity)) {
+            throw new IllegalStateException("Entity " + entity + " is not alive in the ECS.");
+        }
+    }
+
+    private int[] transferLocked(int[] entities, World target, ReentrantReadWriteLock firstLock, ReentrantReadWriteLock secondLock) {
+        firstLock.writeLock().lock();
+        try {
+            secondLock.writeLock().lock();
+            try {
+                return super.transferEntities(entities, target);
+            } finally {
+                ((ECSConcurrentEntityManager) getEntityManager()).releaseRetiredEntities();
+                secondLock.writeLock().unlock();
+            }
+        } finally {
+            firstLock.writeLock().unlock();
+        }
+    }
+}
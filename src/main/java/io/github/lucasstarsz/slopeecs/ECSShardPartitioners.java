@@ -0,0 +1,66 @@
+package io.github.lucasstarsz.slopeecs;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+import io.github.lucasstarsz.slopeecs.spatial.IPositionAccessor;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * The common {@link IShardPartitioner}s for a {@link PartitionedWorld}.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class PositionComponent exists, and positionAccessor reads its x and y fields
+ * partitionedWorld.setPartitioner(
+ *         PositionComponent.class,
+ *         ECSShardPartitioners.stripsX(positionAccessor, 0f, 10_000f)
+ * );
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public final class ECSShardPartitioners {
+
+    private ECSShardPartitioners() {
+    }
+
+    /**
+     * Gets a partitioner which splits the specified range of x coordinates into one strip per shard, of equal width.
+     *
+     * <h4>About</h4>
+     * Strips keep neighbouring entities in the same shard, so most interactions stay within one shard, and only
+     * entities crossing a strip's edge migrate. Entities outside the range belong in the first or last strip.
+     *
+     * @param positionAccessor The accessor reading positions from the key component.
+     * @param minX             The smallest x coordinate of the range.
+     * @param maxX             The largest x coordinate of the range, which must be greater than {@code minX}.
+     * @param <T>              The generic type of the key component. Uses of {@code T} must implement {@code
+     *                         IComponent}.
+     * @return The partitioner.
+     * @author Andrew Dey
+     */
+    public static <T extends IComponent> IShardPartitioner<T> stripsX(IPositionAccessor<T> positionAccessor, float minX, float maxX) {
+        if (!(maxX > minX)) {
+            throw new IllegalStateException("Strip range must have maxX greater than minX, but was " + minX + " to " + maxX + ".");
+        }
+
+        float width = maxX - minX;
+        return (component, shardCount) -> {
+            int shard = (int) ((positionAccessor.getX(component) - minX) / width * shardCount);
+            return Math.max(0, Math.min(shardCount - 1, shard));
+        };
+    }
+
+    /**
+     * Gets a partitioner which spreads entities across shards by the specified integer key, such as a team or a region
+     * ID.
+     *
+     * @param keyFunction The function reading the key from the key component.
+     * @param <T>         The generic type of the key component. Uses of {@code T} must implement {@code IComponent}.
+     * @return The partitioner.
+     * @author Andrew Dey
+     */
+    public static <T extends IComponent> IShardPartitioner<T> byKey(ToIntFunction<T> keyFunction) {
+        return (component, shardCount) -> Math.floorMod(keyFunction.applyAsInt(component), shardCount);
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.lucasstarsz.slopeecs;
+
+/**
+ * An interface for work done once per frame of a {@link WorldRunner}, after the frame's world updates.
+ *
+ * <h2>About</h2>
+ * Since a {@code WorldRunner} updates its world at a fixed timestep, a frame can fall between two updates. The
+ * listener is given how far between them the frame is, so that rendering can interpolate between the previous and
+ * current state, like so:
+ * <pre>{@code
+ * // assume renderer exists, and entities keep their previous position as well as their current one
+ * IFrameListener listener = alpha -> renderer.draw(previousX + (currentX - previousX) * alpha);
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+@FunctionalInterface
+public interface IFrameListener {
+    /**
+     * Does the listener's work for a frame.
+     *
+     * @param alpha How far the frame is between the last world update and the next one, from 0 (inclusive) to 1
+     *              (exclusive).
+     * @author Andrew Dey
+     */
+    void frame(double alpha);
+}
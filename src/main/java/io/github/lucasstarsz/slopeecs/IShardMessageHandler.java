@@ -0,0 +1,29 @@
+package io.github.lucasstarsz.slopeecs;
+
+/**
+ * An interface for handling messages sent between the shards of a {@link PartitionedWorld}.
+ *
+ * <h2>About</h2>
+ * Shards are updated in parallel, so a system in one shard must not touch another shard's world directly. Instead, it
+ * sends a message (see: {@link PartitionedWorld#sendMessage(World, int, Object)}), which is handled in the receiving
+ * shard during the message step at the end of the tick, like so:
+ * <pre>{@code
+ * // assume classes DamageMessage, HealthComponent exist
+ * partitionedWorld.registerMessageHandler(DamageMessage.class, (shard, message) ->
+ *         shard.getComponent(message.target, HealthComponent.class).health -= message.amount);
+ * }</pre>
+ *
+ * @param <M> The generic type of the message.
+ * @author Andrew Dey
+ */
+@FunctionalInterface
+public interface IShardMessageHandler<M> {
+    /**
+     * Handles a message sent to the specified shard.
+     *
+     * @param shard   The world of the shard the message was sent to.
+     * @param message The message.
+     * @author Andrew Dey
+     */
+    void handle(World shard, M message);
+}
@@ -0,0 +1,24 @@
+package io.github.lucasstarsz.slopeecs;
+
+/**
+ * An interface for following entities as they migrate between the shards of a {@link PartitionedWorld}.
+ *
+ * <h2>About</h2>
+ * Entity IDs belong to the world of a shard, so an entity gets a new ID when it migrates. Anything which refers to
+ * entities across ticks -- such as a message naming its target -- can use this to keep those references up to date.
+ *
+ * @author Andrew Dey
+ */
+@FunctionalInterface
+public interface IShardMigrationListener {
+    /**
+     * Called after an entity has migrated to another shard, during the migration step at the end of a tick.
+     *
+     * @param fromShard The index of the shard the entity left.
+     * @param oldEntity The entity's ID in the shard it left, which is no longer alive.
+     * @param toShard   The index of the shard the entity joined.
+     * @param newEntity The entity's ID in the shard it joined.
+     * @author Andrew Dey
+     */
+    void entityMigrated(int fromShard, int oldEntity, int toShard, int newEntity);
+}
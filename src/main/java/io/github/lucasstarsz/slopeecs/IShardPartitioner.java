@@ -0,0 +1,31 @@
+package io.github.lucasstarsz.slopeecs;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+/**
+ * An interface for deciding which shard of a {@link PartitionedWorld} an entity belongs in.
+ *
+ * <h2>About</h2>
+ * The partitioner reads the entity's key component -- usually its position -- and picks a shard from it. At the end of
+ * each tick, entities whose key component now picks a different shard migrate to it. {@link ECSShardPartitioners} holds
+ * the common partitioners; any other can be given as a lambda, like so:
+ * <pre>{@code
+ * // assume class TeamComponent exists, with a public int field team
+ * IShardPartitioner<TeamComponent> byTeam = (component, shardCount) -> component.team % shardCount;
+ * }</pre>
+ *
+ * @param <T> The generic type of the key component. Uses of {@code T} must implement {@code IComponent}.
+ * @author Andrew Dey
+ */
+@FunctionalInterface
+public interface IShardPartitioner<T extends IComponent> {
+    /**
+     * Gets the shard which an entity with the specified key component belongs in.
+     *
+     * @param component  The entity's key component.
+     * @param shardCount The number of shards.
+     * @return The index of the shard, from 0 (inclusive) to {@code shardCount} (exclusive).
+     * @author Andrew Dey
+     */
+    int getShard(T component, int shardCount);
+}
@@ -0,0 +1,479 @@
+package io.github.lucasstarsz.slopeecs;
+
+import io.github.lucasstarsz.slopeecs.component.ECSComponentArray;
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+import io.github.lucasstarsz.slopeecs.util.ECSExecutors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * A world split into shards, which are updated in parallel.
+ *
+ * <h2>About</h2>
+ * Systems see every entity in their {@link World}, so a single world is updated by a single thread, however many cores
+ * there are. A {@code PartitionedWorld} instead splits its entities between several shards -- each a {@code World} of
+ * its own, with its own storages, systems and system membership -- by a key component, such as a position (see: {@link
+ * #setPartitioner(Class, IShardPartitioner)}). Each tick (see: {@link #update()}) runs in three steps:
+ * <ol>
+ *     <li><strong>Update.</strong> Every shard is updated (see: {@link World#update()}) in parallel. A system only
+ *     sees the entities of its own shard, and must only change its own shard -- to affect another shard, it sends a
+ *     message (see: {@link #sendMessage(World, int, Object)}).</li>
+ *     <li><strong>Messages.</strong> The messages sent to each shard are handled in that shard (see: {@link
+ *     #registerMessageHandler(Class, IShardMessageHandler)}), in parallel between shards. Messages to a shard are
+ *     handled in the order of the shard they were sent from, then the order they were sent in. Messages sent while
+ *     handling messages are handled in the next tick.</li>
+ *     <li><strong>Migration.</strong> The key components of every shard are checked against the partitioner in
+ *     parallel, then entities which now belong in another shard are moved there (see: {@link
+ *     World#transferEntities(int[], World)}), one shard at a time. Migrated entities get new IDs (see: {@link
+ *     #setMigrationListener(IShardMigrationListener)}), and lose any parent/child relationships with entities which
+ *     did not migrate with them.</li>
+ * </ol>
+ * Entities without the key component are never migrated. Shards are set up identically by the setup function given to
+ * the constructor, which must register every component class in every shard so that entities can migrate.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume classes PositionComponent, MovementSystem exist, and positionAccessor reads PositionComponent's x and y
+ * PartitionedWorld partitionedWorld = new PartitionedWorld(4, 2_000_000, shard -> {
+ *     shard.registerComponent(PositionComponent.class);
+ *     new ECSSystemBuilder<>(shard, MovementSystem.class)
+ *             .withComponent(PositionComponent.class)
+ *             .build();
+ * });
+ * partitionedWorld.setPartitioner(PositionComponent.class, ECSShardPartitioners.stripsX(positionAccessor, 0f, 10_000f));
+ *
+ * World shard = partitionedWorld.getShard(0);
+ * int entity = shard.createEntity();
+ * shard.addComponent(entity, new PositionComponent(9_000f, 0f));
+ *
+ * partitionedWorld.update();
+ * // the entity now lives in shard 3
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class PartitionedWorld {
+
+    /** The world of each shard. */
+    private final World[] shards;
+    /** The index of each shard, keyed by its world. */
+    private final Map<World, Integer> shardIndices = new IdentityHashMap<>();
+
+    /** The handler of each message class. */
+    private final Map<Class<?>, IShardMessageHandler<?>> messageHandlers = new HashMap<>();
+    /**
+     * The messages sent during the current step, one list per pair of shards, at the index {@code fromShard *
+     * shardCount + toShard} (see: {@link #getMailboxIndex(int, int)}). Each sending shard only adds to its own lists,
+     * so shards can send at the same time.
+     */
+    private List<List<Object>> outboxes;
+    /** The messages being handled during the message step, swapped with {@link #outboxes} when the step begins. */
+    private List<List<Object>> deliveries;
+
+    /** The class of the component which decides each entity's shard, or null if entities are never migrated. */
+    private Class<? extends IComponent> keyComponentClass;
+    /** The partitioner which decides each entity's shard, or null if entities are never migrated. */
+    private IShardPartitioner<? extends IComponent> partitioner;
+    /** The listener called for each migrated entity, or null if there is none. */
+    private IShardMigrationListener migrationListener;
+
+    /** The entities found to belong in another shard, by the index of the shard they are in. */
+    private final int[][] pendingEntities;
+    /** The shard each entity in {@link #pendingEntities} belongs in. */
+    private final int[][] pendingTargets;
+    private final int[] pendingCounts;
+
+    private final List<Callable<Void>> updateTasks = new ArrayList<>();
+    private final List<Callable<Void>> messageTasks = new ArrayList<>();
+    private final List<Callable<Void>> partitionTasks = new ArrayList<>();
+    /** The executor which shards are updated on. */
+    private ExecutorService executor = ECSExecutors.getShardExecutor();
+
+    private long tickCount;
+    private int lastMessageCount;
+    private int lastMigrationCount;
+    private long lastUpdateStepNanos;
+    private long lastMessageStepNanos;
+    private long lastMigrationStepNanos;
+
+    /**
+     * Constructs a {@code PartitionedWorld} with the specified number of shards.
+     *
+     * <h4>About</h4>
+     * Each shard is a new {@link World}, initialized with the specified maximum entity count and then given to {@code
+     * shardSetup}, which should register the shard's components, systems and event channels -- the same ones in every
+     * shard.
+     *
+     * @param shardCount          The number of shards, which must be at least 1.
+     * @param maxEntitiesPerShard The maximum number of entities in each shard.
+     * @param shardSetup          The function which sets up each shard's world.
+     * @author Andrew Dey
+     */
+    public PartitionedWorld(int shardCount, int maxEntitiesPerShard, Consumer<World> shardSetup) {
+        if (shardCount < 1) {
+            throw new IllegalStateException("Shard count must be at least 1, but was " + shardCount + ".");
+        }
+
+        shards = new World[shardCount];
+        outboxes = new ArrayList<>(shardCount * shardCount);
+        deliveries = new ArrayList<>(shardCount * shardCount);
+        pendingEntities = new int[shardCount][16];
+        pendingTargets = new int[shardCount][16];
+        pendingCounts = new int[shardCount];
+
+        for (int i = 0; i < shardCount; i++) {
+            World shard = new World();
+            shard.init(maxEntitiesPerShard);
+            shardSetup.accept(shard);
+
+            shards[i] = shard;
+            shardIndices.put(shard, i);
+            for (int j = 0; j < shardCount; j++) {
+                outboxes.add(new ArrayList<>());
+                deliveries.add(new ArrayList<>());
+            }
+
+            int shardIndex = i;
+            updateTasks.add(() -> {
+                shard.update();
+                return null;
+            });
+            messageTasks.add(() -> {
+                deliverMessages(shardIndex);
+                return null;
+            });
+            partitionTasks.add(() -> {
+                findMigrations(shardIndex);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Runs one tick: updates every shard in parallel, handles the messages sent between shards, then migrates entities
+     * which belong in another shard.
+     *
+     * <h4>About</h4>
+     * For more information, see {@link PartitionedWorld}. This must not be called from a system or message handler of
+     * one of the shards. If any shard fails, the tick stops after the step it failed in, and an {@link
+     * IllegalStateException} is thrown with the failure as its cause.
+     *
+     * @author Andrew Dey
+     */
+    public void update() {
+        long start = System.nanoTime();
+        runInParallel(updateTasks, "update");
+        long updated = System.nanoTime();
+
+        List<List<Object>> sent = outboxes;
+        outboxes = deliveries;
+        deliveries = sent;
+
+        int messageCount = 0;
+        for (List<Object> messages : deliveries) {
+            messageCount += messages.size();
+        }
+
+        if (messageCount > 0) {
+            runInParallel(messageTasks, "message");
+        }
+        long delivered = System.nanoTime();
+
+        int migrationCount = 0;
+        if (partitioner != null) {
+            runInParallel(partitionTasks, "migration");
+            migrationCount = migrate();
+        }
+        long migrated = System.nanoTime();
+
+        tickCount++;
+        lastMessageCount = messageCount;
+        lastMigrationCount = migrationCount;
+        lastUpdateStepNanos = updated - start;
+        lastMessageStepNanos = delivered - updated;
+        lastMigrationStepNanos = migrated - delivered;
+    }
+
+    /**
+     * Sets the key component and partitioner deciding which shard each entity belongs in.
+     *
+     * <h4>About</h4>
+     * The key component class must be registered in every shard. Entities are not moved right away -- they migrate
+     * during the next tick's migration step.
+     *
+     * @param keyComponentClass The class of the component the partitioner reads.
+     * @param partitioner       The partitioner, or null to stop migrating entities.
+     * @param <T>               The generic type of the key component. Uses of {@code T} must implement {@code
+     *                          IComponent}.
+     * @author Andrew Dey
+     */
+    public <T extends IComponent> void setPartitioner(Class<T> keyComponentClass, IShardPartitioner<T> partitioner) {
+        if (partitioner != null) {
+            for (World shard : shards) {
+                if (!shard.getComponentManager().isComponentRegistered(keyComponentClass)) {
+                    throw new IllegalStateException("Key component " + keyComponentClass.getTypeName() + " is not registered in every shard.");
+                }
+            }
+        }
+
+        this.keyComponentClass = partitioner == null ? null : keyComponentClass;
+        this.partitioner = partitioner;
+    }
+
+    /**
+     * Registers the handler for messages of the specified class.
+     *
+     * <h4>About</h4>
+     * Messages are matched to handlers by their exact class. If a handler is already registered for the message class,
+     * an {@link IllegalStateException} will be thrown.
+     *
+     * @param messageClass The class of the messages to handle.
+     * @param handler      The handler.
+     * @param <M>          The generic type of the messages to handle.
+     * @author Andrew Dey
+     */
+    public <M> void registerMessageHandler(Class<M> messageClass, IShardMessageHandler<? super M> handler) {
+        if (messageHandlers.containsKey(messageClass)) {
+            throw new IllegalStateException("Message class " + messageClass.getTypeName() + " already has a handler.");
+        }
+
+        messageHandlers.put(messageClass, handler);
+    }
+
+    /**
+     * Sends a message from one shard to another, to be handled during the message step of the current tick.
+     *
+     * <h4>About</h4>
+     * This may be called from any shard's systems during the update step, as long as {@code fromShard} is the shard
+     * the system belongs to -- each shard sends into lists of its own. It may also be called between ticks. Messages
+     * may be sent to the shard they are sent from.
+     * <p>
+     * If the message's class has no handler (see: {@link #registerMessageHandler(Class, IShardMessageHandler)}), or
+     * either shard does not exist, an {@link IllegalStateException} will be thrown.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // inside a system's update, assume class DamageMessage exists and partitionedWorld is reachable
+     * partitionedWorld.sendMessage(world, targetShard, new DamageMessage(targetEntity, 10));
+     * }</pre>
+     *
+     * @param fromShard The world of the shard sending the message.
+     * @param toShard   The index of the shard to send the message to.
+     * @param message   The message.
+     * @author Andrew Dey
+     */
+    public void sendMessage(World fromShard, int toShard, Object message) {
+        if (!messageHandlers.containsKey(message.getClass())) {
+            throw new IllegalStateException("Message class " + message.getClass().getTypeName() + " has no handler.");
+        }
+
+        if (toShard < 0 || toShard >= shards.length) {
+            throw new IllegalStateException("Shard " + toShard + " does not exist: there are " + shards.length + " shards.");
+        }
+
+        outboxes.get(getMailboxIndex(getShardIndex(fromShard), toShard)).add(message);
+    }
+
+    /**
+     * Gets the index of the shard whose world is the specified world.
+     *
+     * @param shard The world of the shard.
+     * @return The index of the shard.
+     * @author Andrew Dey
+     */
+    public int getShardIndex(World shard) {
+        Integer shardIndex = shardIndices.get(shard);
+        if (shardIndex == null) {
+            throw new IllegalStateException("The world is not a shard of this partitioned world.");
+        }
+
+        return shardIndex;
+    }
+
+    public World getShard(int shardIndex) {
+        return shards[shardIndex];
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /** Gets the number of living entities across every shard. */
+    public int getLivingEntityCount() {
+        int count = 0;
+        for (World shard : shards) {
+            count += shard.getEntityManager().getLivingEntityCount();
+        }
+
+        return count;
+    }
+
+    public void setMigrationListener(IShardMigrationListener migrationListener) {
+        this.migrationListener = migrationListener;
+    }
+
+    /**
+     * Sets the executor which shards are updated on. By default, this is the shared shard executor (see: {@link
+     * ECSExecutors#getShardExecutor()}).
+     *
+     * @param executor The executor to update shards on.
+     * @author Andrew Dey
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getLastMessageCount() {
+        return lastMessageCount;
+    }
+
+    public int getLastMigrationCount() {
+        return lastMigrationCount;
+    }
+
+    public long getLastUpdateStepNanos() {
+        return lastUpdateStepNanos;
+    }
+
+    public long getLastMessageStepNanos() {
+        return lastMessageStepNanos;
+    }
+
+    public long getLastMigrationStepNanos() {
+        return lastMigrationStepNanos;
+    }
+
+    /** Runs the specified tasks, one per shard, on the {@link #executor}, and waits for all of them. */
+    private void runInParallel(List<Callable<Void>> tasks, String stepName) {
+        List<Future<Void>> futures;
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during the " + stepName + " step.", e);
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during the " + stepName + " step.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Shard " + i + " failed during the " + stepName + " step.", e.getCause());
+            }
+        }
+    }
+
+    /** Gets the index of the list in {@link #outboxes} and {@link #deliveries} for messages between two shards. */
+    private int getMailboxIndex(int fromShard, int toShard) {
+        return fromShard * shards.length + toShard;
+    }
+
+    /** Handles every message sent to the specified shard, in order of the shard they were sent from. */
+    @SuppressWarnings("unchecked")
+    private void deliverMessages(int shardIndex) {
+        World shard = shards[shardIndex];
+        for (int fromShard = 0; fromShard < shards.length; fromShard++) {
+            List<Object> messages = deliveries.get(getMailboxIndex(fromShard, shardIndex));
+            for (int i = 0; i < messages.size(); i++) {
+                Object message = messages.get(i);
+                ((IShardMessageHandler<Object>) messageHandlers.get(message.getClass())).handle(shard, message);
+            }
+
+            messages.clear();
+        }
+    }
+
+    /** Finds the entities of the specified shard whose key component picks another shard. */
+    @SuppressWarnings("unchecked")
+    private void findMigrations(int shardIndex) {
+        ECSComponentArray<IComponent> keys = (ECSComponentArray<IComponent>) shards[shardIndex].getComponentManager().getComponentArray(keyComponentClass);
+        IShardPartitioner<IComponent> shardPartitioner = (IShardPartitioner<IComponent>) partitioner;
+
+        int count = 0;
+        for (int i = 0; i < keys.getValidEntryCount(); i++) {
+            int target = shardPartitioner.getShard(keys.getDataAtIndex(i), shards.length);
+            if (target == shardIndex) {
+                continue;
+            }
+
+            if (target < 0 || target >= shards.length) {
+                throw new IllegalStateException("Partitioner picked shard " + target + ", but there are " + shards.length + " shards.");
+            }
+
+            if (count == pendingEntities[shardIndex].length) {
+                pendingEntities[shardIndex] = Arrays.copyOf(pendingEntities[shardIndex], count * 2);
+                pendingTargets[shardIndex] = Arrays.copyOf(pendingTargets[shardIndex], count * 2);
+            }
+
+            pendingEntities[shardIndex][count] = keys.getEntity(i);
+            pendingTargets[shardIndex][count] = target;
+            count++;
+        }
+
+        pendingCounts[shardIndex] = count;
+    }
+
+    /**
+     * Moves the entities found by {@link #findMigrations(int)} into the shards they belong in, one shard at a time.
+     * Entities moved into a shard were not there when its migrations were found, so they are not moved again.
+     */
+    private int migrate() {
+        int migrationCount = 0;
+        for (int from = 0; from < shards.length; from++) {
+            int count = pendingCounts[from];
+            if (count == 0) {
+                continue;
+            }
+
+            for (int to = 0; to < shards.length; to++) {
+                int movingCount = 0;
+                for (int i = 0; i < count; i++) {
+                    if (pendingTargets[from][i] == to) {
+                        movingCount++;
+                    }
+                }
+
+                if (movingCount == 0) {
+                    continue;
+                }
+
+                int[] moving = new int[movingCount];
+                int next = 0;
+                for (int i = 0; i < count; i++) {
+                    if (pendingTargets[from][i] == to) {
+                        moving[next++] = pendingEntities[from][i];
+                    }
+                }
+
+                int[] moved = shards[from].transferEntities(moving, shards[to]);
+                if (migrationListener != null) {
+                    for (int i = 0; i < moving.length; i++) {
+                        migrationListener.entityMigrated(from, moving[i], to, moved[i]);
+                    }
+                }
+
+                migrationCount += movingCount;
+            }
+
+            pendingCounts[from] = 0;
+        }
+
+        return migrationCount;
+    }
+}
@@ -1,15 +1,35 @@
 package io.github.lucasstarsz.slopeecs;
 
+import io.github.lucasstarsz.slopeecs.component.ECSComponentArray;
 import io.github.lucasstarsz.slopeecs.component.ECSComponentManager;
+import io.github.lucasstarsz.slopeecs.component.ECSGroup;
+import io.github.lucasstarsz.slopeecs.component.ECSStorageSorter;
 import io.github.lucasstarsz.slopeecs.component.IComponent;
 import io.github.lucasstarsz.slopeecs.entity.ECSEntityManager;
+import io.github.lucasstarsz.slopeecs.entity.ECSHierarchyManager;
+import io.github.lucasstarsz.slopeecs.event.ECSEventChannel;
+import io.github.lucasstarsz.slopeecs.event.ECSEventManager;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMetrics;
+import io.github.lucasstarsz.slopeecs.metrics.EntityDestroyEvent;
+import io.github.lucasstarsz.slopeecs.metrics.EntitySpawnEvent;
+import io.github.lucasstarsz.slopeecs.replication.ECSReplicationLeader;
+import io.github.lucasstarsz.slopeecs.spatial.ECSSpatialIndex;
+import io.github.lucasstarsz.slopeecs.spatial.IPositionAccessor;
+import io.github.lucasstarsz.slopeecs.system.ECSRunCriteria;
 import io.github.lucasstarsz.slopeecs.system.ECSSystem;
 import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
 import io.github.lucasstarsz.slopeecs.system.ECSSystemManager;
+import io.github.lucasstarsz.slopeecs.system.IRunCriteria;
 import io.github.lucasstarsz.slopeecs.util.ECSDefaults;
+import io.github.lucasstarsz.slopeecs.util.ECSSignatures;
 
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * The class tying the ECS together.
@@ -45,6 +65,23 @@ public class World {
     private ECSComponentManager componentManager;
     /** The {@code World}'s manager of systems and system signatures. */
     private ECSSystemManager systemManager;
+    /** The {@code World}'s manager of parent/child relationships between entities. */
+    private ECSHierarchyManager hierarchyManager;
+    /** The {@code World}'s manager of event channels. */
+    private ECSEventManager eventManager;
+    /** The {@code World}'s optional spatial index, or null if it has not been enabled. */
+    private ECSSpatialIndex<?> spatialIndex;
+    /** The {@code World}'s opt-in metrics, or null if they are disabled. */
+    private ECSMetrics metrics;
+    /** The {@code World}'s replication leader, or null if replication has not been enabled. */
+    private ECSReplicationLeader replicationLeader;
+    /** Scratch space for {@link #destroyEntities(int[])}, marking the entities already listed. Always left empty. */
+    private BitSet listedEntities;
+    /**
+     * Scratch space for {@link #transferEntities(int[], World)}, holding the index of each listed entity plus 1, by
+     * entity ID -- or null until the first transfer. Always left filled with zeros.
+     */
+    private int[] transferIndices;
 
     /**
      * The default -- and only -- constructor for the {@link World} class.
@@ -136,9 +173,16 @@ public class World {
         }
 
         this.maxEntities = maxEntityCount;
-        componentManager = new ECSComponentManager(maxEntities);
-        entityManager = new ECSEntityManager(maxEntities);
+        componentManager = createComponentManager(maxEntities);
+        entityManager = createEntityManager(maxEntities);
         systemManager = new ECSSystemManager();
+        hierarchyManager = new ECSHierarchyManager(maxEntities);
+        eventManager = new ECSEventManager();
+        spatialIndex = null;
+        metrics = null;
+        replicationLeader = null;
+        listedEntities = new BitSet(maxEntities);
+        transferIndices = null;
     }
 
     /**
@@ -187,7 +231,65 @@ public class World {
      * @author Andrew Dey
      */
     public int createEntity() {
-        return entityManager.createEntity();
+        int entity = entityManager.createEntity();
+
+        if (metrics != null) {
+            metrics.entityCreated();
+        }
+
+        if (replicationLeader != null) {
+            replicationLeader.entityCreated(entity);
+        }
+
+        return entity;
+    }
+
+    /**
+     * Creates as many entities as the specified array can hold, writing their IDs into it.
+     *
+     * <h4>About</h4>
+     * This is the bulk equivalent of {@link #createEntity()}. Either every entity is created, or -- if there is not
+     * enough space left in the {@code World} for all of them -- none are, and an {@link IllegalStateException} is
+     * thrown.
+     * <p>
+     * If a Java Flight Recorder recording has {@link EntitySpawnEvent} enabled, a single event covering the whole spawn
+     * is committed.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * World world = new World();
+     * world.init(100);
+     *
+     * int[] entities = new int[64];
+     * world.createEntities(entities);
+     * System.out.println("Entity count: " + world.getEntityManager().getLivingEntityCount());
+     *
+     * // This code will print the following:
+     * // Entity count: 64
+     * }</pre>
+     *
+     * @param entities The array to write the IDs of the created entities into. Its length is the amount of entities to
+     *                 create.
+     * @author Andrew Dey
+     */
+    public void createEntities(int[] entities) {
+        if (entities.length > entityManager.getAvailableEntityCount()) {
+            throw new IllegalStateException("Cannot create " + entities.length + " entities: only " + entityManager.getAvailableEntityCount() + " more can be created.");
+        }
+
+        EntitySpawnEvent event = new EntitySpawnEvent();
+        event.begin();
+
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = createEntity();
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.spawnedCount = entities.length;
+            event.livingEntityCount = entityManager.getLivingEntityCount();
+            event.commit();
+        }
     }
 
     /**
@@ -199,6 +301,13 @@ public class World {
      * having been destroyed -- any components the entity had, or systems the entity were in, have those corresponding
      * values removed.
      * <p>
+     * If the entity has children (see: {@link #setParent(int, int)}), all of its descendants are destroyed in the same
+     * pass. The descendants are gathered by walking the child and sibling links kept by the {@link #hierarchyManager},
+     * so this costs time proportional to the size of the destroyed subtree.
+     * <p>
+     * If a Java Flight Recorder recording has {@link EntityDestroyEvent} enabled, a single event covering the entity and
+     * its descendants is committed.
+     * <p>
      * If you try to remove an entity that is not alive within the {@code World}'s list of entities, an {@link
      * IllegalStateException} will be thrown. The exception will be thrown for one of a few reasons:
      * <ul>
@@ -243,9 +352,380 @@ public class World {
      * @author Andrew Dey
      */
     public void destroyEntity(int entity) {
-        entityManager.destroyEntity(entity);
-        componentManager.entityDestroyed(entity);
-        systemManager.entityDestroyed(entity);
+        EntityDestroyEvent event = new EntityDestroyEvent();
+        event.begin();
+
+        if (!entityManager.isAlive(entity)) {
+            throw new IllegalStateException("Entity " + entity + " is not alive in the ECS.");
+        }
+
+        int destroyedCount = destroyWithDescendants(entity);
+        commitDestroyEvent(event, destroyedCount);
+    }
+
+    /**
+     * Destroys each of the specified entities, along with their descendants, and removes their associated components
+     * from the ECS.
+     *
+     * <h4>About</h4>
+     * This is the bulk equivalent of {@link #destroyEntity(int)}. Each entity's signature decides which component
+     * arrays and systems are visited, so destroying an entity costs nothing for the component types and systems it is
+     * not part of. If the specified entities are every living entity, the {@code World} is cleared wholesale instead
+     * (see: {@link #clear()}).
+     * <p>
+     * Every entity is checked to be alive before any are destroyed -- if one is not, an {@link IllegalStateException}
+     * is thrown and nothing changes. Entities listed more than once, or which are descendants of other listed entities,
+     * are only destroyed once.
+     * <p>
+     * If a Java Flight Recorder recording has {@link EntityDestroyEvent} enabled, a single event covering every
+     * destroyed entity is committed.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * World world = new World();
+     * world.init(100);
+     *
+     * int[] wave = new int[50];
+     * world.createEntities(wave);
+     *
+     * // ...
+     *
+     * world.destroyEntities(wave);
+     * }</pre>
+     *
+     * @param entities The entities to destroy. Each must be alive in the {@code World}.
+     * @author Andrew Dey
+     */
+    public void destroyEntities(int[] entities) {
+        EntityDestroyEvent event = new EntityDestroyEvent();
+        event.begin();
+
+        // Validate everything before making any changes
+        int listedCount = 0;
+        int validatedCount = 0;
+        try {
+            for (int entity : entities) {
+                if (!entityManager.isAlive(entity)) {
+                    throw new IllegalStateException("Entity " + entity + " is not alive in the ECS.");
+                }
+
+                if (!listedEntities.get(entity)) {
+                    listedEntities.set(entity);
+                    listedCount++;
+                }
+
+                validatedCount++;
+            }
+        } finally {
+            // Only the listed bits were set, so clearing them is cheaper than clearing the whole set
+            for (int i = 0; i < validatedCount; i++) {
+                listedEntities.clear(entities[i]);
+            }
+        }
+
+        int destroyedCount;
+        if (listedCount == entityManager.getLivingEntityCount()) {
+            destroyedCount = clearEntities();
+        } else {
+            destroyedCount = 0;
+            for (int entity : entities) {
+                // Skip entities already destroyed as a duplicate, or as a descendant of an earlier entity
+                if (entityManager.isAlive(entity)) {
+                    destroyedCount += destroyWithDescendants(entity);
+                }
+            }
+        }
+
+        commitDestroyEvent(event, destroyedCount);
+    }
+
+    /**
+     * Destroys every entity in the {@code World}, keeping its registered component types and systems.
+     *
+     * <h4>About</h4>
+     * Rather than destroying entities one at a time, every component array, system, relationship and the spatial index
+     * is emptied wholesale, and the {@link #entityManager} forgets every entity at once, making every entity ID
+     * available again. Events still in the world's event channels are discarded as well, since they may refer to the
+     * destroyed entities.
+     * <p>
+     * If a Java Flight Recorder recording has {@link EntityDestroyEvent} enabled, a single event covering every
+     * destroyed entity is committed.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // at the end of a match, throw away every entity but keep the world's setup
+     * world.clear();
+     * System.out.println("Entities left: " + world.getEntityManager().getLivingEntityCount());
+     *
+     * // This code prints the following:
+     * // Entities left: 0
+     * }</pre>
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        EntityDestroyEvent event = new EntityDestroyEvent();
+        event.begin();
+
+        int destroyedCount = clearEntities();
+        eventManager.clear();
+        commitDestroyEvent(event, destroyedCount);
+    }
+
+    /**
+     * Moves the specified entities, along with their components, from this {@code World} into the specified target
+     * {@code World}.
+     *
+     * <h4>About</h4>
+     * This is the bulk alternative to destroying entities and re-creating them with {@link #addComponent(int,
+     * IComponent)} in another {@code World}. For each entity, a new entity is created in the target, and the entity's
+     * component instances are moved straight into the target's component arrays. Component types are matched by class
+     * -- so they do not need to be registered in the same order in both worlds -- and each entity's signature is
+     * remapped to the target's component types.
+     * <p>
+     * Moved entities are grouped by their new signature, and the target's systems are updated once per group rather
+     * than once per entity. Parent/child relationships between moved entities are kept; relationships with entities
+     * that are not moved are removed, rather than destroying those relatives.
+     * <p>
+     * An {@link IllegalStateException} will be thrown -- before anything is moved -- if any of the following is true:
+     * <ul>
+     *     <li>The target is this {@code World}.</li>
+     *     <li>An entity is not alive, or is specified more than once.</li>
+     *     <li>An entity has a component whose class is not registered in the target.</li>
+     *     <li>The target does not have space for all of the entities.</li>
+     * </ul>
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume class SomeComponent exists
+     * World lobby = new World();
+     * lobby.init(10);
+     * lobby.registerComponent(SomeComponent.class);
+     *
+     * World match = new World();
+     * match.init(10);
+     * match.registerComponent(SomeComponent.class);
+     *
+     * int player = lobby.createEntity();
+     * lobby.addComponent(player, new SomeComponent());
+     *
+     * int[] moved = lobby.transferEntities(new int[] {player}, match);
+     * SomeComponent component = match.getComponent(moved[0], SomeComponent.class);
+     * }</pre>
+     *
+     * @param entities The entities to move.
+     * @param target   The {@code World} to move the entities into.
+     * @return The new IDs of the entities in the target {@code World}, in the same order as {@code entities}.
+     * @author Andrew Dey
+     */
+    public int[] transferEntities(int[] entities, World target) {
+        if (target == this) {
+            throw new IllegalStateException("Cannot transfer entities into the world they are already in.");
+        }
+
+        if (entities.length > target.entityManager.getAvailableEntityCount()) {
+            throw new IllegalStateException("Cannot transfer " + entities.length + " entities: only " + target.entityManager.getAvailableEntityCount() + " more can be created in the target world.");
+        }
+
+        // Map each of our component types to the matching component type in the target
+        int[] componentTypeMap = new int[componentManager.getRegisteredComponentCount()];
+        for (int componentType = 0; componentType < componentTypeMap.length; componentType++) {
+            Class<? extends IComponent> componentClass = componentManager.getComponentClass(componentType);
+            componentTypeMap[componentType] = target.componentManager.isComponentRegistered(componentClass)
+                    ? target.componentManager.getComponentType(componentClass)
+                    : -1;
+        }
+
+        if (transferIndices == null) {
+            transferIndices = new int[maxEntities];
+        }
+
+        // Validate everything before making any changes
+        int listedCount = 0;
+        try {
+            long[] signatures = entityManager.getSignatureTable();
+            int width = entityManager.getSignatureWidth();
+            for (int i = 0; i < entities.length; i++) {
+                int entity = entities[i];
+                if (!entityManager.isAlive(entity)) {
+                    throw new IllegalStateException("Entity " + entity + " is not alive in the ECS.");
+                }
+
+                if (transferIndices[entity] != 0) {
+                    throw new IllegalStateException("Entity " + entity + " was specified more than once.");
+                }
+
+                transferIndices[entity] = i + 1;
+                listedCount++;
+
+                int offset = entityManager.getSignatureOffset(entity);
+                for (int componentType = ECSSignatures.nextSetBit(signatures, offset, width, 0); componentType >= 0; componentType = ECSSignatures.nextSetBit(signatures, offset, width, componentType + 1)) {
+                    if (componentTypeMap[componentType] == -1) {
+                        throw new IllegalStateException("Component type " + componentManager.getComponentClass(componentType).getTypeName() + " is not registered in the target world.");
+                    }
+                }
+            }
+
+            return transferListed(entities, target, componentTypeMap);
+        } finally {
+            // Only the listed entries were set, so clearing them is cheaper than clearing the whole array
+            for (int i = 0; i < listedCount; i++) {
+                transferIndices[entities[i]] = 0;
+            }
+        }
+    }
+
+    /**
+     * Moves the specified validated entities into the specified target, with their entries in {@link
+     * #transferIndices} set.
+     *
+     * @param entities         The entities to move.
+     * @param target           The {@code World} to move the entities into.
+     * @param componentTypeMap The target's component type of each of our component types.
+     * @return The new IDs of the entities in the target {@code World}, in the same order as {@code entities}.
+     */
+    private int[] transferListed(int[] entities, World target, int[] componentTypeMap) {
+        long[] signatures = entityManager.getSignatureTable();
+        int width = entityManager.getSignatureWidth();
+        int[] transferred = new int[entities.length];
+
+        // Create each entity in the target, moving its components over
+        for (int i = 0; i < entities.length; i++) {
+            int entity = entities[i];
+            int newEntity = target.createEntity();
+            transferred[i] = newEntity;
+
+            int offset = entityManager.getSignatureOffset(entity);
+            if (ECSSignatures.isEmpty(signatures, offset, width)) {
+                continue;
+            }
+
+            for (int componentType = ECSSignatures.nextSetBit(signatures, offset, width, 0); componentType >= 0; componentType = ECSSignatures.nextSetBit(signatures, offset, width, componentType + 1)) {
+                int targetComponentType = componentTypeMap[componentType];
+                IComponent component = componentManager.getComponentArray(componentType).getData(entity);
+
+                target.componentManager.addComponent(newEntity, targetComponentType, component);
+                target.entityManager.addToSignature(newEntity, targetComponentType);
+
+                if (target.metrics != null) {
+                    target.metrics.componentAdded();
+                }
+
+                if (target.replicationLeader != null) {
+                    target.replicationLeader.componentAdded(newEntity, targetComponentType);
+                }
+
+                if (target.spatialIndex != null && target.spatialIndex.getComponentClass() == component.getClass()) {
+                    insertIntoSpatialIndex(target.spatialIndex, newEntity, component);
+                }
+            }
+        }
+
+        // Keep the relationships between transferred entities, and detach everything else
+        int[] targetParents = new int[entities.length];
+        int[] children = new int[0];
+        for (int i = 0; i < entities.length; i++) {
+            int entity = entities[i];
+            int parent = hierarchyManager.getParent(entity);
+
+            int parentIndex = parent != ECSHierarchyManager.noEntity ? transferIndices[parent] - 1 : -1;
+            targetParents[i] = parentIndex != -1 ? transferred[parentIndex] : ECSHierarchyManager.noEntity;
+        }
+
+        for (int entity : entities) {
+            hierarchyManager.removeParent(entity);
+
+            int childCount = hierarchyManager.getChildCount(entity);
+            if (childCount > children.length) {
+                children = new int[childCount];
+            }
+
+            hierarchyManager.getChildren(entity, children);
+            for (int i = 0; i < childCount; i++) {
+                hierarchyManager.removeParent(children[i]);
+            }
+        }
+
+        // Remove the entities from this world
+        for (int entity : entities) {
+            destroyWithoutDescendants(entity);
+        }
+
+        for (int i = 0; i < entities.length; i++) {
+            if (targetParents[i] != ECSHierarchyManager.noEntity) {
+                target.hierarchyManager.setParent(transferred[i], targetParents[i]);
+            }
+        }
+
+        target.updateSystemsBySignature(transferred);
+        return transferred;
+    }
+
+    /**
+     * Sets the parent of the specified child entity, detaching it from its previous parent if it had one.
+     *
+     * <h4>About</h4>
+     * Relationships are stored by the {@code World}'s {@link #hierarchyManager} in primitive arrays. Once an entity has
+     * a parent, destroying the parent (see: {@link #destroyEntity(int)}) destroys the child too -- so a child never
+     * refers to a recycled entity ID.
+     * <p>
+     * If either entity is not alive, or if the parent is a descendant of the child, an {@link IllegalStateException}
+     * will be thrown.
+     * <p>
+     * For top-down iteration (for example, transform propagation), use {@link
+     * ECSHierarchyManager#getDepthFirstOrder()}, where parents always come before their children.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * World world = new World();
+     * world.init(3);
+     * int body = world.createEntity();
+     * int arm = world.createEntity();
+     * int hand = world.createEntity();
+     *
+     * world.setParent(arm, body);
+     * world.setParent(hand, arm);
+     *
+     * world.destroyEntity(body);
+     * System.out.println("Entity count: " + world.getEntityManager().getLivingEntityCount());
+     *
+     * // This code will print the following:
+     * // Entity count: 0
+     * }</pre>
+     *
+     * @param child  The entity to set the parent of.
+     * @param parent The new parent entity.
+     * @author Andrew Dey
+     */
+    public void setParent(int child, int parent) {
+        if (!entityManager.isAlive(child) || !entityManager.isAlive(parent)) {
+            throw new IllegalStateException("Cannot set the parent of entity " + child + " to entity " + parent + ": both entities must be alive.");
+        }
+
+        hierarchyManager.setParent(child, parent);
+    }
+
+    /**
+     * Removes the specified entity from its parent, if it has one. Its own children stay attached to it.
+     *
+     * @param child The entity to remove from its parent.
+     * @author Andrew Dey
+     * @see #setParent(int, int)
+     */
+    public void removeParent(int child) {
+        hierarchyManager.removeParent(child);
+    }
+
+    /**
+     * Gets the parent of the specified entity.
+     *
+     * @param entity The entity to get the parent of.
+     * @return The parent of the entity, or {@link ECSHierarchyManager#noEntity} if it has none.
+     * @author Andrew Dey
+     * @see #setParent(int, int)
+     */
+    public int getParent(int entity) {
+        return hierarchyManager.getParent(entity);
     }
 
     /**
@@ -286,6 +766,7 @@ public class World {
      */
     public <T extends IComponent> void registerComponent(Class<T> componentClass) {
         componentManager.registerComponent(componentClass);
+        entityManager.ensureComponentTypeCount(componentManager.getRegisteredComponentCount());
     }
 
     /**
@@ -344,14 +825,21 @@ public class World {
     public <T extends IComponent> void addComponent(int entity, T component) {
         componentManager.addComponent(entity, component);
 
-        BitSet signature = entityManager.getSignature(entity);
-        if (signature == null) {
-            signature = new BitSet();
+        int componentType = componentManager.getComponentType(component.getClass());
+        entityManager.addToSignature(entity, componentType);
+        notifySignatureChanged(entity);
+
+        if (metrics != null) {
+            metrics.componentAdded();
+        }
+
+        if (replicationLeader != null) {
+            replicationLeader.componentAdded(entity, componentType);
         }
-        signature.set(componentManager.getComponentType(component.getClass()));
 
-        entityManager.setSignature(entity, signature);
-        systemManager.entitySignatureChanged(entity, signature);
+        if (spatialIndex != null && spatialIndex.getComponentClass() == component.getClass()) {
+            insertIntoSpatialIndex(spatialIndex, entity, component);
+        }
     }
 
     /**
@@ -406,11 +894,21 @@ public class World {
     public <T extends IComponent> void removeComponent(int entity, Class<T> componentClass) {
         componentManager.removeComponent(entity, componentClass);
 
-        BitSet signature = entityManager.getSignature(entity);
-        signature.set(componentManager.getComponentType(componentClass), false);
-        entityManager.setSignature(entity, signature);
+        int componentType = componentManager.getComponentType(componentClass);
+        entityManager.removeFromSignature(entity, componentType);
+        notifySignatureChanged(entity);
+
+        if (metrics != null) {
+            metrics.componentRemoved();
+        }
+
+        if (replicationLeader != null) {
+            replicationLeader.componentRemoved(entity, componentType);
+        }
 
-        systemManager.entitySignatureChanged(entity, signature);
+        if (spatialIndex != null && spatialIndex.getComponentClass() == componentClass) {
+            spatialIndex.remove(entity);
+        }
     }
 
     /**
@@ -546,7 +1044,7 @@ public class World {
      * @author Andrew Dey
      */
     public <T extends ECSSystem> T registerSystem(Class<T> systemClass) {
-        return registerSystem(systemClass, null);
+        return registerSystem(systemClass, (LinkedHashMap<Class<?>, Object>) null);
     }
 
     /**
@@ -596,6 +1094,39 @@ public class World {
         return system;
     }
 
+    /**
+     * Creates and registers a {@code ECSSystem} of the specified class, using the specified factory.
+     *
+     * <h4>About</h4>
+     * For general information about this method, see {@link #registerSystem(Class)}. Unlike the other overloads, this
+     * method does not use reflection -- the system is created by calling the factory once. This is the fastest way to
+     * register systems, and it works in native images and without opening system packages to {@code slope.ecs}.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // Assume classes SomeSystem and CustomClass exist.
+     * // Assume the SomeSystem class has a constructor that takes a String, int, and CustomClass instance.
+     * World world = new World();
+     * world.init(1);
+     *
+     * SomeSystem system = world.registerSystem(SomeSystem.class, () -> new SomeSystem("parameter 1", 42, new CustomClass()));
+     * }</pre>
+     *
+     * @param systemClass   The class to register the system as.
+     * @param systemFactory The factory which creates the system.
+     * @param <T>           The generic type of the system to create and register. Uses of {@code T} must extend
+     *                      {@code ECSSystem}.
+     * @return The created and registered {@code ECSSystem}.
+     * @author Andrew Dey
+     * @see ECSSystemManager#registerSystem(Class, Supplier)
+     */
+    public <T extends ECSSystem> T registerSystem(Class<T> systemClass, Supplier<? extends T> systemFactory) {
+        T system = systemManager.registerSystem(systemClass, systemFactory);
+        system.setWorld(this);
+
+        return system;
+    }
+
     /**
      * Sets the signature of the specified system class to the specified signature.
      *
@@ -636,6 +1167,468 @@ public class World {
         systemManager.setSignature(systemClass, signature);
     }
 
+    /**
+     * Sets the exclusion signature of the specified system class to the specified signature.
+     *
+     * <h4>About</h4>
+     * Where the system's signature (see: {@link #setSystemSignature(Class, BitSet)}) lists the components an entity must
+     * have, the exclusion signature lists components it must <strong>not</strong> have. An entity with any of the
+     * excluded components is kept out of the system's entities entirely, so the system never has to check for those
+     * components while iterating.
+     * <p>
+     * Exclusions are only evaluated for systems with a signature. Like the signature, the exclusion signature is
+     * evaluated as entities' signatures change -- it is usually set through {@link ECSSystemBuilder#without(Class)}
+     * rather than directly.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume classes SomeSystem, SomeComponent, DeadComponent exist
+     * BitSet someSystemSignature = new BitSet();
+     * someSystemSignature.set(world.getComponentType(SomeComponent.class));
+     * world.setSystemSignature(SomeSystem.class, someSystemSignature);
+     *
+     * BitSet someSystemExclusion = new BitSet();
+     * someSystemExclusion.set(world.getComponentType(DeadComponent.class));
+     * world.setSystemExclusion(SomeSystem.class, someSystemExclusion);
+     * // now the system only accepts entities with SomeComponent, and without DeadComponent
+     * }</pre>
+     *
+     * @param systemClass The class of the system to the set the exclusion signature for.
+     * @param exclusion   The exclusion signature to set, or null to exclude no components.
+     * @param <T>         The generic type of the system to set the exclusion signature for. Uses of {@code T} must
+     *                    extend {@code ECSSystem}.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> void setSystemExclusion(Class<T> systemClass, BitSet exclusion) {
+        systemManager.setExclusion(systemClass, exclusion);
+    }
+
+    /**
+     * Sets the optional components of the specified system class.
+     *
+     * <h4>About</h4>
+     * Optional components are components a system uses only when an entity has them. Unlike the signature and the
+     * exclusion signature, they do not decide which entities are in the system -- they are stored so that the system's
+     * use of them is known, and can be read back through {@link ECSSystemManager#getSystemOptional(Class)}, for
+     * example by tools or by the system itself.
+     * <p>
+     * Optional components are usually set through {@link ECSSystemBuilder#optional(Class)} rather than directly.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume classes SomeSystem, SpriteComponent exist
+     * BitSet someSystemOptional = new BitSet();
+     * someSystemOptional.set(world.getComponentType(SpriteComponent.class));
+     * world.setSystemOptional(SomeSystem.class, someSystemOptional);
+     * }</pre>
+     *
+     * @param systemClass The class of the system to set the optional components for.
+     * @param optional    The optional components to set, or null to declare none.
+     * @param <T>         The generic type of the system to set the optional components for. Uses of {@code T} must
+     *                    extend {@code ECSSystem}.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> void setSystemOptional(Class<T> systemClass, BitSet optional) {
+        systemManager.setOptional(systemClass, optional);
+    }
+
+    /**
+     * Sets the run criteria of the specified system class.
+     *
+     * <h4>About</h4>
+     * A system with run criteria is only updated by {@link #update()} during updates where its criteria are met -- for
+     * example, every few ticks (see: {@link ECSRunCriteria#everyNthTick(int)}), or only when entities have joined or
+     * left it (see: {@link ECSRunCriteria#membershipChanged()}). Skipped systems cost only the check. Systems updated
+     * manually are unaffected.
+     * <p>
+     * Run criteria are usually set through {@link ECSSystemBuilder#runIf(IRunCriteria)} rather than directly.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume class SomeSystem exists
+     * world.registerSystem(SomeSystem.class);
+     * world.setSystemRunCriteria(SomeSystem.class, ECSRunCriteria.everyNthTick(10));
+     * // now SomeSystem only updates on every 10th update of the world
+     * }</pre>
+     *
+     * @param systemClass The class of the system to set the run criteria for.
+     * @param criteria    The run criteria to set, or null to run the system on every update.
+     * @param <T>         The generic type of the system to set the run criteria for. Uses of {@code T} must extend
+     *                    {@code ECSSystem}.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> void setSystemRunCriteria(Class<T> systemClass, IRunCriteria criteria) {
+        systemManager.setRunCriteria(systemClass, criteria);
+    }
+
+    /**
+     * Updates every registered system once, in the order the systems were registered.
+     *
+     * <h4>About</h4>
+     * This calls {@link ECSSystem#update()} for each system in the {@link #systemManager}. Systems which do not override
+     * that method are unaffected, so systems may still be updated manually instead. Systems whose run criteria are not
+     * met are skipped (see: {@link #setSystemRunCriteria(Class, IRunCriteria)}).
+     * <p>
+     * Once every system has updated, the tick of every event channel ends (see: {@link ECSEventChannel#update()}) --
+     * events published during this update stay readable until the end of the next one.
+     * <p>
+     * If metrics are enabled (see: {@link #enableMetrics()}), the duration of each system's update is recorded. If
+     * replication is enabled (see: {@link #enableReplication()}), the update's changes are then sent to followers.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume class MovementSystem exists, and overrides ECSSystem#update()
+     * World world = new World();
+     * world.init();
+     * world.registerSystem(MovementSystem.class);
+     *
+     * while (running) {
+     *     world.update();
+     * }
+     * }</pre>
+     *
+     * @author Andrew Dey
+     */
+    public void update() {
+        systemManager.update();
+        eventManager.update();
+
+        if (replicationLeader != null) {
+            replicationLeader.publish();
+        }
+    }
+
+    /**
+     * Registers an event channel for the specified event class, returning the new channel.
+     *
+     * <h4>About</h4>
+     * Event channels let systems send each other events without creating entities or components for them -- for more
+     * information on how they work, see {@link ECSEventChannel}. The factory creates each event object the first time
+     * it is needed; after that, event objects are reused.
+     * <p>
+     * If a channel is already registered for the event class, an {@link IllegalStateException} will be thrown.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume class CollisionEvent exists
+     * ECSEventChannel<CollisionEvent> collisions = world.registerEventChannel(CollisionEvent.class, CollisionEvent::new);
+     *
+     * // elsewhere, for example in a system's constructor
+     * ECSEventReader<CollisionEvent> reader = world.getEventChannel(CollisionEvent.class).createReader();
+     * }</pre>
+     *
+     * @param eventClass   The class of the channel's events.
+     * @param eventFactory The factory creating each event object.
+     * @param <E>          The generic type of the channel's events.
+     * @return The new event channel.
+     * @author Andrew Dey
+     */
+    public <E> ECSEventChannel<E> registerEventChannel(Class<E> eventClass, Supplier<? extends E> eventFactory) {
+        return eventManager.registerChannel(eventClass, eventFactory);
+    }
+
+    /**
+     * Gets the event channel of the specified event class.
+     *
+     * <h4>About</h4>
+     * If no channel is registered for the event class (see: {@link #registerEventChannel(Class, Supplier)}), an {@link
+     * IllegalStateException} will be thrown.
+     *
+     * @param eventClass The class of the channel's events.
+     * @param <E>        The generic type of the channel's events.
+     * @return The requested event channel.
+     * @author Andrew Dey
+     */
+    public <E> ECSEventChannel<E> getEventChannel(Class<E> eventClass) {
+        return eventManager.getChannel(eventClass);
+    }
+
+    /**
+     * Enables the {@code World}'s metrics, returning them so that they can be queried.
+     *
+     * <h4>About</h4>
+     * Metrics are disabled by default, and cost a single null check per recording site while disabled. Once enabled,
+     * per-system update timings and counts of structural changes are recorded -- for more information on what is
+     * recorded, see {@link ECSMetrics}.
+     * <p>
+     * If metrics are already enabled, the existing metrics are returned unchanged.
+     *
+     * @return The {@code World}'s metrics.
+     * @author Andrew Dey
+     * @see #disableMetrics()
+     */
+    public ECSMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new ECSMetrics();
+            systemManager.setMetrics(metrics);
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Disables the {@code World}'s metrics. Any metrics previously returned keep their values, but stop recording.
+     *
+     * @author Andrew Dey
+     * @see #enableMetrics()
+     */
+    public void disableMetrics() {
+        metrics = null;
+        systemManager.setMetrics(null);
+    }
+
+    /**
+     * Gets the {@code World}'s metrics.
+     *
+     * @return The metrics, or null if they are disabled.
+     * @author Andrew Dey
+     * @see #enableMetrics()
+     */
+    public ECSMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Estimates the heap memory used by the {@code World}'s storage.
+     *
+     * <h4>About</h4>
+     * The report has an entry for each component storage, the entity signatures, the queue of unused entity IDs, each
+     * system's entity set, the hierarchy, and the spatial index if one is enabled. Each entry estimates both the bytes
+     * holding live data and the bytes allocated in total -- the difference is capacity that is reserved but unused.
+     * <p>
+     * The report is a snapshot: it does not update as the {@code World} changes. The component objects themselves are
+     * not counted. For more information, see {@link ECSMemoryReport}.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * World world = new World();
+     * world.init();
+     *
+     * // ...
+     *
+     * ECSMemoryReport report = world.memoryReport();
+     * System.out.println(report);
+     * }</pre>
+     *
+     * @return A report of the estimated memory usage.
+     * @author Andrew Dey
+     */
+    public ECSMemoryReport memoryReport() {
+        ECSMemoryReport report = new ECSMemoryReport();
+
+        componentManager.reportMemory(report);
+        entityManager.reportMemory(report);
+        systemManager.reportMemory(report);
+        hierarchyManager.reportMemory(report);
+        eventManager.reportMemory(report);
+
+        if (spatialIndex != null) {
+            spatialIndex.reportMemory(report);
+        }
+
+        return report;
+    }
+
+    /**
+     * Enables the {@code World}'s spatial index, bound to the specified position component.
+     *
+     * <h4>About</h4>
+     * Once enabled, every entity with a component of the specified class is kept in a uniform-grid spatial index --
+     * entities are added and removed as the component is added to them, removed from them, or as they are destroyed.
+     * Any components of the class which already exist are indexed immediately.
+     * <p>
+     * Since components are plain data, moving an entity does not notify the index. After changing positions, call
+     * {@link ECSSpatialIndex#update(int)} for the moved entities, or {@link ECSSpatialIndex#updateAll()} once per tick.
+     * <p>
+     * A {@code World} can only have one spatial index. If one has already been enabled, or if the component class has
+     * not been registered, an {@link IllegalStateException} will be thrown.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume class PositionComponent exists, with public float fields x and y
+     * World world = new World();
+     * world.init();
+     * world.registerComponent(PositionComponent.class);
+     *
+     * ECSSpatialIndex<PositionComponent> index = world.enableSpatialIndex(
+     *         PositionComponent.class,
+     *         new IPositionAccessor<>() {
+     *             public float getX(PositionComponent component) { return component.x; }
+     *             public float getY(PositionComponent component) { return component.y; }
+     *         },
+     *         32f
+     * );
+     *
+     * int[] nearby = new int[16];
+     * int count = index.queryRadius(0f, 0f, 50f, nearby);
+     * }</pre>
+     *
+     * @param componentClass   The class of the position component to bind the index to.
+     * @param positionAccessor The accessor used to read positions from the component.
+     * @param cellSize         The width and height of a grid cell. Ideally, this is close to the usual query radius.
+     * @param <T>              The generic type of the position component. Uses of {@code T} must implement {@code
+     *                         IComponent}.
+     * @return The spatial index.
+     * @author Andrew Dey
+     */
+    public <T extends IComponent> ECSSpatialIndex<T> enableSpatialIndex(Class<T> componentClass, IPositionAccessor<T> positionAccessor, float cellSize) {
+        if (spatialIndex != null) {
+            throw new IllegalStateException("A spatial index is already enabled for component type " + spatialIndex.getComponentClass().getTypeName() + ".");
+        }
+
+        ECSComponentArray<T> componentArray = componentManager.getComponentArray(componentClass);
+        ECSSpatialIndex<T> index = new ECSSpatialIndex<>(componentClass, positionAccessor, cellSize, maxEntities);
+
+        // Index the components which already exist
+        for (int i = 0; i < componentArray.getValidEntryCount(); i++) {
+            int entity = componentArray.getEntity(i);
+            index.insert(entity, componentArray.getData(entity));
+        }
+
+        spatialIndex = index;
+        return index;
+    }
+
+    /**
+     * Gets the {@code World}'s spatial index.
+     *
+     * @return The spatial index, or null if it has not been enabled.
+     * @author Andrew Dey
+     * @see #enableSpatialIndex(Class, IPositionAccessor, float)
+     */
+    public ECSSpatialIndex<?> getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * Enables replication of the {@code World} to follower worlds, returning its replication leader.
+     *
+     * <h4>About</h4>
+     * Once enabled, the {@code World} records every entity created or destroyed and every replicated component added or
+     * removed, and sends them -- along with the components marked dirty -- to the leader's sinks at the end of each
+     * {@link #update()}. For more information, see {@link ECSReplicationLeader}. Replication may be enabled at any
+     * time, since each sink starts with a snapshot of the whole {@code World}.
+     * <p>
+     * If replication is already enabled, an {@link IllegalStateException} will be thrown.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume class PositionComponent exists, with a codec positionCodec
+     * ECSQueueTransport transport = new ECSQueueTransport();
+     * ECSReplicationLeader leader = world.enableReplication();
+     * leader.registerCodec(PositionComponent.class, positionCodec);
+     * leader.addSink(transport);
+     * }</pre>
+     *
+     * @return The replication leader.
+     * @author Andrew Dey
+     */
+    public ECSReplicationLeader enableReplication() {
+        if (replicationLeader != null) {
+            throw new IllegalStateException("Replication is already enabled.");
+        }
+
+        replicationLeader = new ECSReplicationLeader(this);
+        return replicationLeader;
+    }
+
+    /**
+     * Gets the {@code World}'s replication leader.
+     *
+     * @return The replication leader, or null if replication has not been enabled.
+     * @author Andrew Dey
+     * @see #enableReplication()
+     */
+    public ECSReplicationLeader getReplicationLeader() {
+        return replicationLeader;
+    }
+
+    /**
+     * Creates an incremental sorter of the component array of the specified component class.
+     *
+     * <h4>About</h4>
+     * After many components have been added and removed, a component array is left in effectively random order. The
+     * returned sorter reorders it by the specified comparator -- or by entity ID, if the comparator is null -- either all
+     * at once, or a little at a time within a time budget. For more information, see {@link ECSStorageSorter}.
+     * <p>
+     * Component arrays owned by a group (see: {@link #createGroup(Class[])}) cannot be sorted, since that would break
+     * the group's alignment.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume class SpriteComponent exists, with a public float field depth
+     * ECSStorageSorter<SpriteComponent> sorter = world.createStorageSorter(
+     *         SpriteComponent.class,
+     *         Comparator.comparingDouble(sprite -> sprite.depth)
+     * );
+     *
+     * // each frame, spend at most half a millisecond sorting
+     * sorter.step(500_000L);
+     * }</pre>
+     *
+     * @param componentClass The class of the components to sort.
+     * @param comparator     The comparator of the components, or null to sort by entity ID.
+     * @param <T>            The generic type of the components to sort. Uses of {@code T} must implement {@code
+     *                       IComponent}.
+     * @return The new sorter.
+     * @author Andrew Dey
+     */
+    public <T extends IComponent> ECSStorageSorter<T> createStorageSorter(Class<T> componentClass, Comparator<? super T> comparator) {
+        if (componentManager.getGroup(componentManager.getComponentType(componentClass)) != null) {
+            throw new IllegalStateException("Component type " + componentClass.getTypeName() + " is owned by a group, and cannot be sorted.");
+        }
+
+        return new ECSStorageSorter<>(componentManager.getComponentArray(componentClass), comparator);
+    }
+
+    /**
+     * Sorts the component array of the specified component class completely, by the specified comparator -- or by
+     * entity ID, if the comparator is null.
+     *
+     * @param componentClass The class of the components to sort.
+     * @param comparator     The comparator of the components, or null to sort by entity ID.
+     * @param <T>            The generic type of the components to sort. Uses of {@code T} must implement {@code
+     *                       IComponent}.
+     * @author Andrew Dey
+     * @see #createStorageSorter(Class, Comparator)
+     */
+    public <T extends IComponent> void sortComponents(Class<T> componentClass, Comparator<? super T> comparator) {
+        createStorageSorter(componentClass, comparator).sort();
+    }
+
+    /**
+     * Creates an owning group of the specified component classes, keeping their component arrays aligned.
+     *
+     * <h4>About</h4>
+     * Once created, every entity which has all of the specified components is packed at the front of each of their
+     * component arrays, in the same order -- so the group can be iterated as a linear scan of parallel arrays. Each
+     * component class can only be owned by one group. For more information, see {@link ECSGroup}.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume classes PositionComponent and VelocityComponent exist
+     * World world = new World();
+     * world.init();
+     * world.registerComponent(PositionComponent.class);
+     * world.registerComponent(VelocityComponent.class);
+     *
+     * ECSGroup movement = world.createGroup(PositionComponent.class, VelocityComponent.class);
+     * }</pre>
+     *
+     * @param componentClasses The component classes the group should own.
+     * @return The new group.
+     * @author Andrew Dey
+     */
+    @SafeVarargs
+    public final ECSGroup createGroup(Class<? extends IComponent>... componentClasses) {
+        int[] componentTypes = new int[componentClasses.length];
+        for (int i = 0; i < componentClasses.length; i++) {
+            componentTypes[i] = componentManager.getComponentType(componentClasses[i]);
+        }
+
+        return componentManager.createGroup(componentTypes);
+    }
+
     public int getMaxEntities() {
         return maxEntities;
     }
@@ -651,4 +1644,213 @@ public class World {
     public ECSSystemManager getSystemManager() {
         return systemManager;
     }
+
+    public ECSHierarchyManager getHierarchyManager() {
+        return hierarchyManager;
+    }
+
+    public ECSEventManager getEventManager() {
+        return eventManager;
+    }
+
+    /**
+     * Creates the {@code World}'s manager of entities, when the {@code World} is initialized.
+     *
+     * <h4>About</h4>
+     * Subclasses override this to use a different entity manager (see: {@link ConcurrentWorld}).
+     *
+     * @param maxEntityCount The maximum number of entities to allow within the ECS.
+     * @return The new entity manager.
+     * @author Andrew Dey
+     */
+    protected ECSEntityManager createEntityManager(int maxEntityCount) {
+        return new ECSEntityManager(maxEntityCount);
+    }
+
+    /**
+     * Creates the {@code World}'s manager of components, when the {@code World} is initialized.
+     *
+     * <h4>About</h4>
+     * Subclasses override this to use a different component manager (see: {@link ConcurrentWorld}).
+     *
+     * @param maxEntityCount The maximum number of entities to allow within the ECS.
+     * @return The new component manager.
+     * @author Andrew Dey
+     */
+    protected ECSComponentManager createComponentManager(int maxEntityCount) {
+        return new ECSComponentManager(maxEntityCount);
+    }
+
+    /**
+     * Destroys the specified living entity and its descendants.
+     *
+     * @param entity The entity to destroy.
+     * @return The number of entities destroyed.
+     */
+    private int destroyWithDescendants(int entity) {
+        destroyWithoutDescendants(entity);
+
+        // Cascade the destruction to the entity's descendants, if it has any
+        int[] descendants = hierarchyManager.entityDestroyed(entity);
+        for (int descendant : descendants) {
+            destroyWithoutDescendants(descendant);
+        }
+
+        return descendants.length + 1;
+    }
+
+    /**
+     * Removes the specified living entity's components and system entries, then destroys it in the {@link
+     * #entityManager}. Its signature decides which component arrays are visited, so this must happen before the
+     * signature is cleared.
+     *
+     * @param entity The entity to destroy.
+     */
+    private void destroyWithoutDescendants(int entity) {
+        long[] signatures = entityManager.getSignatureTable();
+        int offset = entityManager.getSignatureOffset(entity);
+        int width = entityManager.getSignatureWidth();
+
+        componentManager.entityDestroyed(entity, signatures, offset, width);
+        systemManager.entityDestroyed(entity);
+
+        if (spatialIndex != null) {
+            spatialIndex.remove(entity);
+        }
+
+        entityManager.destroyEntity(entity);
+
+        if (metrics != null) {
+            metrics.entityDestroyed();
+        }
+
+        if (replicationLeader != null) {
+            replicationLeader.entityDestroyed(entity);
+        }
+    }
+
+    /**
+     * Empties every storage of the {@code World} wholesale, destroying every entity.
+     *
+     * @return The number of entities destroyed.
+     */
+    private int clearEntities() {
+        int destroyedCount = entityManager.getLivingEntityCount();
+
+        componentManager.clear();
+        systemManager.clear();
+        hierarchyManager.clear();
+        if (spatialIndex != null) {
+            spatialIndex.clear();
+        }
+
+        entityManager.clear();
+
+        if (metrics != null) {
+            metrics.entitiesDestroyed(destroyedCount);
+        }
+
+        if (replicationLeader != null) {
+            replicationLeader.entitiesCleared();
+        }
+
+        return destroyedCount;
+    }
+
+    /** Commits the specified destroy event, if there is one and it should be committed. */
+    private void commitDestroyEvent(EntityDestroyEvent event, int destroyedCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.destroyedCount = destroyedCount;
+            event.livingEntityCount = entityManager.getLivingEntityCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * Groups the specified entities by signature, then notifies the {@link #systemManager} once per group. Each group's
+     * signature is matched against the systems' signature masks, the same way a single entity's signature is.
+     * <p>
+     * Entities are grouped on their signature words in place, through an open-addressing table of the first entity of
+     * each group, so no signature is copied and no entity is boxed.
+     *
+     * @param entities The entities whose signatures have changed. Entities without components are skipped.
+     */
+    private void updateSystemsBySignature(int[] entities) {
+        long[] signatures = entityManager.getSignatureTable();
+        int width = entityManager.getSignatureWidth();
+
+        // Each slot holds the ID of a group plus 1, or 0 if it is empty -- at most half of the slots are ever used
+        int slotMask = (Integer.highestOneBit(Math.max(2 * entities.length - 1, 1)) << 1) - 1;
+        int[] slots = new int[slotMask + 1];
+        int[] groupFirsts = new int[entities.length];
+        int[] groupOf = new int[entities.length];
+        int[] groupStarts = new int[entities.length + 1];
+        int groupCount = 0;
+
+        for (int i = 0; i < entities.length; i++) {
+            int offset = entityManager.getSignatureOffset(entities[i]);
+            if (ECSSignatures.isEmpty(signatures, offset, width)) {
+                groupOf[i] = -1;
+                continue;
+            }
+
+            int slot = ECSSignatures.hash(signatures, offset, width) & slotMask;
+            while (slots[slot] != 0) {
+                int groupOffset = entityManager.getSignatureOffset(groupFirsts[slots[slot] - 1]);
+                if (ECSSignatures.equal(signatures, groupOffset, offset, width)) {
+                    break;
+                }
+
+                slot = (slot + 1) & slotMask;
+            }
+
+            if (slots[slot] == 0) {
+                groupFirsts[groupCount] = entities[i];
+                slots[slot] = ++groupCount;
+            }
+
+            int groupId = slots[slot] - 1;
+            groupOf[i] = groupId;
+            groupStarts[groupId + 1]++;
+        }
+
+        // Lay the groups out one after another, so that each group is a contiguous range
+        for (int groupId = 0; groupId < groupCount; groupId++) {
+            groupStarts[groupId + 1] += groupStarts[groupId];
+        }
+
+        int[] grouped = new int[entities.length];
+        int[] groupEnds = Arrays.copyOf(groupStarts, groupCount);
+        for (int i = 0; i < entities.length; i++) {
+            if (groupOf[i] != -1) {
+                grouped[groupEnds[groupOf[i]]++] = entities[i];
+            }
+        }
+
+        for (int groupId = 0; groupId < groupCount; groupId++) {
+            int offset = entityManager.getSignatureOffset(groupFirsts[groupId]);
+            systemManager.entitiesSignatureChanged(grouped, groupStarts[groupId], groupStarts[groupId + 1], signatures, offset, width);
+        }
+    }
+
+    /**
+     * Notifies the {@link #systemManager} that the specified entity's signature has changed, passing the signature in
+     * place.
+     *
+     * @param entity The entity whose signature has changed.
+     */
+    protected void notifySignatureChanged(int entity) {
+        systemManager.entitySignatureChanged(
+                entity,
+                entityManager.getSignatureTable(),
+                entityManager.getSignatureOffset(entity),
+                entityManager.getSignatureWidth()
+        );
+    }
+
+    /** Inserts the specified component into the specified index, capturing the index's component type. */
+    private <T extends IComponent> void insertIntoSpatialIndex(ECSSpatialIndex<T> index, int entity, IComponent component) {
+        index.insert(entity, index.getComponentClass().cast(component));
+    }
 }
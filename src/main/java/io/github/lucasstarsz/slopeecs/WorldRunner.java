@@ -0,0 +1,343 @@
+package io.github.lucasstarsz.slopeecs;
+
+import io.github.lucasstarsz.slopeecs.util.ECSDefaults;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link World} at a fixed timestep.
+ *
+ * <h2>About</h2>
+ * Calling {@link World#update()} once per loop iteration ties the simulation to the frame rate, and drifts whenever a
+ * frame takes longer than expected. A {@code WorldRunner} instead keeps an accumulator of elapsed time, and updates the
+ * world once for every full step of it:
+ * <ul>
+ *     <li><strong>Catch-up is bounded.</strong> A slow frame leaves more time in the accumulator, so the next frame
+ *     runs several updates to catch up -- but never more than {@link #setMaxStepsPerFrame(int)}. Time beyond that is
+ *     dropped (see: {@link #getDroppedStepCount()}), so a world which cannot keep up slows down instead of falling
+ *     further and further behind.</li>
+ *     <li><strong>Rendering can interpolate.</strong> After each frame's updates, the time left in the accumulator is
+ *     given to the frame listener as an alpha between 0 and 1 (see: {@link IFrameListener}).</li>
+ *     <li><strong>Overruns are reported.</strong> A frame whose updates and listener take longer than the frame budget
+ *     -- by default, one step -- counts as an overrun (see: {@link #getOverrunFrameCount()}).</li>
+ * </ul>
+ * {@link #start()} runs frames on a dedicated thread. Between frames, the thread parks until shortly before the next
+ * step is due, then spins for the rest of the wait, since parking alone can oversleep by a millisecond or more. Frames
+ * can also be run by hand with {@link #runFrame(long)}, for example from an existing game loop.
+ * <p>
+ * While started, the runner's thread is the one updating the world. A regular {@link World} must then only be used
+ * from systems, the frame listener, or while the runner is stopped -- use a {@link ConcurrentWorld} to change the
+ * world from other threads.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * WorldRunner runner = new WorldRunner(world, 1_000_000_000L / 60, TimeUnit.NANOSECONDS);
+ * runner.setFrameListener(alpha -> render(alpha));
+ * runner.start();
+ *
+ * // later
+ * runner.stop();
+ * System.out.println("Frames over budget: " + runner.getOverrunFrameCount());
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class WorldRunner {
+
+    /** The world to update. */
+    private final World world;
+    /** The fixed time between world updates. */
+    private final long stepNanos;
+
+    /** The most world updates run in a single frame. */
+    private int maxStepsPerFrame = ECSDefaults.defaultMaxStepsPerFrame;
+    /** The time a frame may take before it counts as an overrun. */
+    private long frameBudgetNanos;
+    /** The time before a deadline at which waiting switches from parking to spinning. */
+    private long spinNanos = ECSDefaults.defaultRunnerSpinNanos;
+    /** The listener called after each frame's updates, or null if there is none. */
+    private IFrameListener frameListener;
+
+    /** The elapsed time not yet used up by world updates. */
+    private long accumulatorNanos;
+
+    private volatile double alpha;
+    private volatile long stepCount;
+    private volatile long frameCount;
+    private volatile long droppedStepCount;
+    private volatile long overrunFrameCount;
+    private volatile long totalOverrunNanos;
+    private volatile long maxOverrunNanos;
+    private volatile long lastFrameNanos;
+
+    /** The thread running frames, or null if the runner is not started. */
+    private Thread thread;
+    private volatile boolean running;
+    /** The throwable which stopped the runner's thread, or null if there is none. */
+    private volatile Throwable failure;
+
+    /**
+     * Creates a runner which updates the specified world once per the specified step.
+     *
+     * <h4>About</h4>
+     * The frame budget starts out equal to the step. The step must be positive.
+     *
+     * @param world The world to update.
+     * @param step  The fixed time between world updates.
+     * @param unit  The unit of {@code step}.
+     * @author Andrew Dey
+     */
+    public WorldRunner(World world, long step, TimeUnit unit) {
+        long nanos = unit.toNanos(step);
+        if (nanos <= 0) {
+            throw new IllegalStateException("Step must be positive, but was " + step + " " + unit + ".");
+        }
+
+        this.world = world;
+        this.stepNanos = nanos;
+        this.frameBudgetNanos = nanos;
+    }
+
+    /**
+     * Runs a single frame, as if the specified time had passed since the last one.
+     *
+     * <h4>About</h4>
+     * The elapsed time is added to the accumulator, and the world is updated once per full step in it -- up to the
+     * maximum steps per frame, dropping any time left beyond that. The frame listener is then called with the new
+     * alpha, and the frame's duration is checked against the frame budget.
+     * <p>
+     * This is the method the runner's thread calls for each frame, but it may also be called directly while the runner
+     * is not started.
+     *
+     * @param elapsedNanos The time passed since the last frame.
+     * @return The number of world updates run.
+     * @author Andrew Dey
+     */
+    public int runFrame(long elapsedNanos) {
+        long frameStart = System.nanoTime();
+
+        accumulatorNanos += Math.max(elapsedNanos, 0);
+        int steps = 0;
+        while (accumulatorNanos >= stepNanos && steps < maxStepsPerFrame) {
+            world.update();
+            accumulatorNanos -= stepNanos;
+            steps++;
+        }
+
+        // Drop the time which could not be caught up on, keeping only the progress towards the next step
+        if (accumulatorNanos >= stepNanos) {
+            droppedStepCount += accumulatorNanos / stepNanos;
+            accumulatorNanos %= stepNanos;
+        }
+
+        stepCount += steps;
+        alpha = accumulatorNanos / (double) stepNanos;
+        if (frameListener != null) {
+            frameListener.frame(alpha);
+        }
+
+        long frameNanos = System.nanoTime() - frameStart;
+        lastFrameNanos = frameNanos;
+        frameCount++;
+
+        long overrunNanos = frameNanos - frameBudgetNanos;
+        if (overrunNanos > 0) {
+            overrunFrameCount++;
+            totalOverrunNanos += overrunNanos;
+            maxOverrunNanos = Math.max(maxOverrunNanos, overrunNanos);
+        }
+
+        return steps;
+    }
+
+    /**
+     * Starts running frames on a dedicated thread, until {@link #stop()} is called.
+     *
+     * <h4>About</h4>
+     * If the runner is already started, an {@link IllegalStateException} will be thrown. If a world update or the frame
+     * listener throws, the thread stops, and the failure is reported by {@link #stop()}.
+     *
+     * @author Andrew Dey
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("The world runner is already started.");
+        }
+
+        failure = null;
+        running = true;
+        thread = new Thread(this::runFrames, "slope-ecs-world-runner");
+        thread.start();
+    }
+
+    /**
+     * Stops the runner's thread, waiting for its current frame to finish.
+     *
+     * <h4>About</h4>
+     * If the thread stopped because of an exception, an {@link IllegalStateException} caused by that exception will be
+     * thrown. If it stopped because of an {@link Error}, that error is rethrown as-is. Stopping a runner which is not
+     * started does nothing.
+     *
+     * @author Andrew Dey
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(thread);
+
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        thread = null;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new IllegalStateException("The world runner stopped because of an exception.", failure);
+        }
+    }
+
+    /** The body of the runner's thread. */
+    private void runFrames() {
+        long previous = System.nanoTime();
+
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                runFrame(now - previous);
+                previous = now;
+
+                // The next step is due once the accumulator holds a full step
+                waitUntil(now + (stepNanos - accumulatorNanos));
+            }
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            running = false;
+        }
+    }
+
+    /** Waits until the specified deadline, parking until shortly before it and spinning for the rest. */
+    private void waitUntil(long deadline) {
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > spinNanos) {
+                LockSupport.parkNanos(this, remaining - spinNanos);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public void setFrameListener(IFrameListener frameListener) {
+        this.frameListener = frameListener;
+    }
+
+    /**
+     * Sets the most world updates run in a single frame, which must be at least 1.
+     *
+     * @param maxStepsPerFrame The most world updates per frame.
+     * @author Andrew Dey
+     */
+    public void setMaxStepsPerFrame(int maxStepsPerFrame) {
+        if (maxStepsPerFrame < 1) {
+            throw new IllegalStateException("Max steps per frame must be at least 1, but was " + maxStepsPerFrame + ".");
+        }
+
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Sets the time a frame may take before it counts as an overrun.
+     *
+     * @param frameBudget The frame budget.
+     * @param unit        The unit of {@code frameBudget}.
+     * @author Andrew Dey
+     */
+    public void setFrameBudget(long frameBudget, TimeUnit unit) {
+        this.frameBudgetNanos = unit.toNanos(frameBudget);
+    }
+
+    /**
+     * Sets how long before a deadline the runner's thread stops parking and spins instead.
+     *
+     * <h4>About</h4>
+     * Spinning wakes up on time, but keeps a core busy; a spin time of 0 always parks, trading timing precision for
+     * idle CPU.
+     *
+     * @param spinTime The time to spin before each deadline.
+     * @param unit     The unit of {@code spinTime}.
+     * @author Andrew Dey
+     */
+    public void setSpinTime(long spinTime, TimeUnit unit) {
+        this.spinNanos = Math.max(unit.toNanos(spinTime), 0);
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+
+    public long getFrameBudgetNanos() {
+        return frameBudgetNanos;
+    }
+
+    /** Gets the alpha given to the frame listener by the last frame. */
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /** Gets the number of steps skipped because a frame would have needed more than the maximum steps per frame. */
+    public long getDroppedStepCount() {
+        return droppedStepCount;
+    }
+
+    /** Gets the number of frames which took longer than the frame budget. */
+    public long getOverrunFrameCount() {
+        return overrunFrameCount;
+    }
+
+    public long getTotalOverrunNanos() {
+        return totalOverrunNanos;
+    }
+
+    public long getMaxOverrunNanos() {
+        return maxOverrunNanos;
+    }
+
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
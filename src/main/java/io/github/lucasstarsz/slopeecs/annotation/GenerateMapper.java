@@ -0,0 +1,42 @@
+package io.github.lucasstarsz.slopeecs.annotation;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link IComponent} class for which a component mapper should be generated.
+ *
+ * <h2>About</h2>
+ * For a component class {@code SomeComponent}, the annotation processor generates {@code SomeComponentMapper} in the
+ * same package. The mapper looks up the component's storage once, when it is constructed, so that getting a component
+ * from it needs no {@code Class} lookup or cast -- unlike {@link World#getComponent(int, Class)}.
+ * <p>
+ * Mappers must be created after the component has been registered, and recreated if the {@code World} is initialized
+ * again.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * @GenerateMapper
+ * public class PositionComponent implements IComponent {
+ *     public float x;
+ *     public float y;
+ * }
+ *
+ * // elsewhere, once PositionComponent is registered
+ * PositionComponentMapper positions = new PositionComponentMapper(world);
+ * positions.get(entity).x += 1f;
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMapper {
+}
@@ -0,0 +1,61 @@
+package io.github.lucasstarsz.slopeecs.annotation;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link ECSSystem} class for which a typed query should be generated.
+ *
+ * <h2>About</h2>
+ * For a system class {@code SomeSystem}, the annotation processor generates {@code SomeSystemQuery} in the same
+ * package. The query holds the storages of the listed component types, and its {@code forEach} method visits every
+ * entity which has all of them, passing the components to a generated, statically typed callback.
+ * <p>
+ * The query walks the storage of the <strong>first</strong> listed component in order, checking the others for each
+ * entity -- so list the rarest component first. Components must not be added or removed while the query is running.
+ * <p>
+ * Entities with any of the components listed in {@link #without()} are skipped. Components listed in {@link
+ * #optional()} follow the required ones in the callback, and are null for entities which do not have them.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * @GenerateQuery({VelocityComponent.class, PositionComponent.class})
+ * public class MovementSystem extends ECSSystem {
+ *     private MovementSystemQuery query;
+ *
+ *     @Override
+ *     public void update() {
+ *         if (query == null) {
+ *             query = new MovementSystemQuery(world);
+ *         }
+ *
+ *         query.forEach((entity, velocity, position) -> {
+ *             position.x += velocity.x;
+ *             position.y += velocity.y;
+ *         });
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateQuery {
+
+    /** The component types which every visited entity must have, rarest first. */
+    Class<? extends IComponent>[] value();
+
+    /** The component types which no visited entity may have. */
+    Class<? extends IComponent>[] without() default {};
+
+    /** The component types passed to the callback when the visited entity has them, and as null otherwise. */
+    Class<? extends IComponent>[] optional() default {};
+}
@@ -0,0 +1,7 @@
+/**
+ * The package where the annotations read by the Slope-ECS annotation processor are found.
+ * <p>
+ * These annotations have no effect at runtime. When the {@code slope-ecs-processor} module is on the annotation
+ * processor path, it generates statically typed accessors for the annotated components and systems at compile time.
+ */
+package io.github.lucasstarsz.slopeecs.annotation;
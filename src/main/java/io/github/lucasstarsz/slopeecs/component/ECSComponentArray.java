@@ -1,25 +1,31 @@
 package io.github.lucasstarsz.slopeecs.component;
 
-import java.util.HashMap;
-import java.util.Map;
+import io.github.lucasstarsz.slopeecs.util.ECSDefaults;
+import io.github.lucasstarsz.slopeecs.util.ECSMemoryEstimates;
+
+import java.util.Arrays;
 
 /**
  * The container of components for each type of component to be stored.
  *
+ * <h2>About</h2>
+ * Components are kept in a packed (dense) array, so that they can be iterated without gaps. A sparse array maps each
+ * entity ID to its component's index in the dense array.
+ * <p>
+ * Both arrays are split into fixed-size pages, which are only allocated once an entry falls within them, and released
+ * once they no longer hold any entries. Since the dense array is packed, its pages fill from the front -- so a
+ * component type used by a handful of entities only holds a page or two, no matter how many entities the world
+ * allows. The page size is always a power of two, no larger than needed to hold the maximum number of entities.
+ * <p>
+ * The most recently released dense and sparse pages are kept as spares, and reused by the next page allocated -- so an
+ * entity repeatedly gaining and losing the only component on a page does not allocate and discard a page every time.
+ *
  * @param <T> The generic type of the component to be stored in a given component array. Uses of {@code (.)} must
  *            implement {@code IComponent}.
  * @author Andrew Dey
  */
 public class ECSComponentArray<T extends IComponent> implements IComponentArray {
 
-    /**
-     * The packed array of components set to a specified maximum amount, matching the maximum number of entities allowed
-     * to exist simultaneously, so that each entity has a unique spot.
-     *
-     * Uses of generic type {@code T} must implement {@code IComponent}.
-     */
-    private final T[] componentArray;
-
     /**
      * The maximum number of entities allowed within a component array.
      *
@@ -30,25 +36,74 @@ public class ECSComponentArray<T extends IComponent> implements IComponentArray
      */
     private final int maxEntities;
 
-    /** A map from an entity ID to an array index. */
-    private final Map<Integer, Integer> entityToIndexMap;
-    /** A map from an array index to an entity ID. */
-    private final Map<Integer, Integer> indexToEntityMap;
+    /** The number of entries in each page. */
+    private final int pageSize;
+    /** The number of bits to shift an entity or index by to get its page. */
+    private final int pageShift;
+    /** The mask of an entity or index's position within its page. */
+    private final int pageMask;
+
+    /** The pages of the packed component array, or null for pages holding no components. */
+    private final T[][] componentPages;
+    /** The pages of the entity bound to each component of the packed array, or null for pages holding no components. */
+    private final int[][] entityPages;
+    /**
+     * The pages of the index of each entity's component, plus 1 -- so that 0 marks an entity without a component -- or
+     * null for pages with no such entities.
+     */
+    private final int[][] sparsePages;
+    /** The number of entities with a component, in each sparse page. */
+    private final int[] sparsePageCounts;
+
+    /** A released page of {@link #componentPages}, holding only nulls, kept for reuse -- or null if there is none. */
+    private T[] spareComponentPage;
+    /** A released page of {@link #entityPages}, kept for reuse -- or null if there is none. */
+    private int[] spareEntityPage;
+    /** A released page of {@link #sparsePages}, holding only zeros, kept for reuse -- or null if there is none. */
+    private int[] spareSparsePage;
+
     /** Total size of valid entries in the component array. */
     private int validEntries;
+    /** The number of times the packed component array has been changed, so that iterators can detect changes. */
+    private int modificationCount;
+    /** The number of dense pages allocated so far, not counting spare pages reused. */
+    private int densePageAllocationCount;
 
     /**
-     * Creates an {@code ECSComponentArray} with the specified maximum entity count.
+     * Creates an {@code ECSComponentArray} with the specified maximum entity count, and the default page size (see:
+     * {@link ECSDefaults#defaultComponentPageSize}).
      *
      * @param maxEntityCount The maximum amount of entities allowed within the component array.
      * @author Andrew Dey
      */
-    @SuppressWarnings("unchecked")
     public ECSComponentArray(int maxEntityCount) {
+        this(maxEntityCount, ECSDefaults.defaultComponentPageSize);
+    }
+
+    /**
+     * Creates an {@code ECSComponentArray} with the specified maximum entity count and page size.
+     *
+     * @param maxEntityCount The maximum amount of entities allowed within the component array.
+     * @param pageSize       The number of entries in each page. Must be a power of two. If larger than needed to hold
+     *                       {@code maxEntityCount} entries, a smaller page size is used.
+     * @author Andrew Dey
+     */
+    @SuppressWarnings("unchecked")
+    public ECSComponentArray(int maxEntityCount, int pageSize) {
+        if (pageSize <= 0 || Integer.bitCount(pageSize) != 1) {
+            throw new IllegalStateException("Page size must be a power of two, but was " + pageSize + ".");
+        }
+
         this.maxEntities = maxEntityCount;
-        componentArray = (T[]) new IComponent[maxEntities];
-        entityToIndexMap = new HashMap<>();
-        indexToEntityMap = new HashMap<>();
+        this.pageSize = Math.min(pageSize, Integer.highestOneBit(Math.max(maxEntityCount - 1, 1)) << 1);
+        this.pageShift = Integer.numberOfTrailingZeros(this.pageSize);
+        this.pageMask = this.pageSize - 1;
+
+        int pageCount = (maxEntityCount + pageMask) >>> pageShift;
+        componentPages = (T[][]) new IComponent[pageCount][];
+        entityPages = new int[pageCount][];
+        sparsePages = new int[pageCount][];
+        sparsePageCounts = new int[pageCount];
     }
 
     /**
@@ -62,16 +117,44 @@ public class ECSComponentArray<T extends IComponent> implements IComponentArray
      */
     @SuppressWarnings("unchecked")
     public <C extends IComponent> void insertData(int entity, C component) {
-        if (entityToIndexMap.get(entity) != null) {
+        if (indexOf(entity) != -1) {
             throw new IllegalStateException("Component of class " + component.getClass() + " was added to same entity more than once.");
         }
 
-        // Put new entry at end and update the maps
+        // Put new entry at end, allocating its dense page if it starts one
         int newIndex = validEntries;
-        entityToIndexMap.put(entity, newIndex);
-        indexToEntityMap.put(newIndex, entity);
-        componentArray[newIndex] = (T) component;
+        int densePage = newIndex >>> pageShift;
+        if (componentPages[densePage] == null) {
+            if (spareComponentPage != null) {
+                componentPages[densePage] = spareComponentPage;
+                entityPages[densePage] = spareEntityPage;
+                spareComponentPage = null;
+                spareEntityPage = null;
+            } else {
+                componentPages[densePage] = (T[]) new IComponent[pageSize];
+                entityPages[densePage] = new int[pageSize];
+                densePageAllocationCount++;
+            }
+        }
+
+        componentPages[densePage][newIndex & pageMask] = (T) component;
+        entityPages[densePage][newIndex & pageMask] = entity;
+
+        int sparsePage = entity >>> pageShift;
+        if (sparsePages[sparsePage] == null) {
+            if (spareSparsePage != null) {
+                sparsePages[sparsePage] = spareSparsePage;
+                spareSparsePage = null;
+            } else {
+                sparsePages[sparsePage] = new int[pageSize];
+            }
+        }
+
+        sparsePages[sparsePage][entity & pageMask] = newIndex + 1;
+        sparsePageCounts[sparsePage]++;
+
         validEntries++;
+        modificationCount++;
     }
 
     /**
@@ -81,25 +164,37 @@ public class ECSComponentArray<T extends IComponent> implements IComponentArray
      * @author Andrew Dey
      */
     public void removeData(int entity) {
-        if (entityToIndexMap.get(entity) == null) {
+        int removedEntityIndex = indexOf(entity);
+        if (removedEntityIndex == -1) {
             throw new IllegalStateException("Entity with ID: " + entity + " does not have data in this component array.");
         }
 
         // Copy element at end into deleted element's place to maintain density
-        int removedEntityIndex = entityToIndexMap.get(entity);
         int lastElementIndex = validEntries - 1;
-        componentArray[removedEntityIndex] = componentArray[lastElementIndex];
-
-        // Update map to point to moved spot
-        int lastElementEntity = indexToEntityMap.get(lastElementIndex);
-        entityToIndexMap.put(lastElementEntity, removedEntityIndex);
-        indexToEntityMap.put(removedEntityIndex, lastElementEntity);
+        int lastElementEntity = entityAt(lastElementIndex);
+        componentPages[removedEntityIndex >>> pageShift][removedEntityIndex & pageMask] = componentAt(lastElementIndex);
+        entityPages[removedEntityIndex >>> pageShift][removedEntityIndex & pageMask] = lastElementEntity;
+        componentPages[lastElementIndex >>> pageShift][lastElementIndex & pageMask] = null;
+        sparsePages[lastElementEntity >>> pageShift][lastElementEntity & pageMask] = removedEntityIndex + 1;
 
-        // Remove the entity and its corresponding index
-        entityToIndexMap.remove(entity);
-        indexToEntityMap.remove(lastElementIndex);
+        // Remove the entity's index, releasing its sparse page if it was the last entry
+        int sparsePage = entity >>> pageShift;
+        sparsePages[sparsePage][entity & pageMask] = 0;
+        if (--sparsePageCounts[sparsePage] == 0) {
+            spareSparsePage = sparsePages[sparsePage];
+            sparsePages[sparsePage] = null;
+        }
 
+        // Release the last dense page once it holds nothing
         validEntries--;
+        if ((validEntries & pageMask) == 0) {
+            spareComponentPage = componentPages[validEntries >>> pageShift];
+            spareEntityPage = entityPages[validEntries >>> pageShift];
+            componentPages[validEntries >>> pageShift] = null;
+            entityPages[validEntries >>> pageShift] = null;
+        }
+
+        modificationCount++;
     }
 
     /**
@@ -110,11 +205,97 @@ public class ECSComponentArray<T extends IComponent> implements IComponentArray
      * @author Andrew Dey
      */
     public T getData(int entity) {
-        if (entityToIndexMap.get(entity) == null) {
+        int index = indexOf(entity);
+        if (index == -1) {
+            throw new IllegalStateException("Entity with ID: " + entity + " does not have data in this component array.");
+        }
+
+        return componentAt(index);
+    }
+
+    /**
+     * Gets the component stored at the specified index of the packed component array.
+     *
+     * @param index The index within the packed component array. Must be less than {@link #getValidEntryCount()}.
+     * @return The component at that index.
+     * @author Andrew Dey
+     */
+    public T getDataAtIndex(int index) {
+        if (index < 0 || index >= validEntries) {
+            throw new IllegalStateException("Index " + index + " is not a valid entry in this component array.");
+        }
+
+        return componentAt(index);
+    }
+
+    /**
+     * Gets the index of the specified entity's component within the packed component array.
+     *
+     * @param entity The entity to get the index of.
+     * @return The index of the entity's component.
+     * @author Andrew Dey
+     */
+    public int getIndex(int entity) {
+        int index = indexOf(entity);
+        if (index == -1) {
             throw new IllegalStateException("Entity with ID: " + entity + " does not have data in this component array.");
         }
 
-        return componentArray[entityToIndexMap.get(entity)];
+        return index;
+    }
+
+    /**
+     * Swaps the components at the specified indices of the packed component array, along with their entities.
+     *
+     * @param firstIndex  The index of the first component. Must be less than {@link #getValidEntryCount()}.
+     * @param secondIndex The index of the second component. Must be less than {@link #getValidEntryCount()}.
+     * @author Andrew Dey
+     */
+    public void swap(int firstIndex, int secondIndex) {
+        if (firstIndex == secondIndex) {
+            return;
+        }
+
+        int firstEntity = getEntity(firstIndex);
+        int secondEntity = getEntity(secondIndex);
+
+        T[] firstComponentPage = componentPages[firstIndex >>> pageShift];
+        T[] secondComponentPage = componentPages[secondIndex >>> pageShift];
+        T firstComponent = firstComponentPage[firstIndex & pageMask];
+        firstComponentPage[firstIndex & pageMask] = secondComponentPage[secondIndex & pageMask];
+        secondComponentPage[secondIndex & pageMask] = firstComponent;
+
+        entityPages[firstIndex >>> pageShift][firstIndex & pageMask] = secondEntity;
+        entityPages[secondIndex >>> pageShift][secondIndex & pageMask] = firstEntity;
+        sparsePages[firstEntity >>> pageShift][firstEntity & pageMask] = secondIndex + 1;
+        sparsePages[secondEntity >>> pageShift][secondEntity & pageMask] = firstIndex + 1;
+        modificationCount++;
+    }
+
+    /**
+     * Checks whether the specified entity has a component in this component array.
+     *
+     * @param entity The entity to check.
+     * @return Whether the entity has a component in this component array.
+     * @author Andrew Dey
+     */
+    public boolean hasData(int entity) {
+        return indexOf(entity) != -1;
+    }
+
+    /**
+     * Gets the entity whose component is stored at the specified index of the packed component array.
+     *
+     * @param index The index within the packed component array. Must be less than {@link #getValidEntryCount()}.
+     * @return The entity bound to the component at that index.
+     * @author Andrew Dey
+     */
+    public int getEntity(int index) {
+        if (index < 0 || index >= validEntries) {
+            throw new IllegalStateException("Index " + index + " is not a valid entry in this component array.");
+        }
+
+        return entityAt(index);
     }
 
     /**
@@ -125,14 +306,31 @@ public class ECSComponentArray<T extends IComponent> implements IComponentArray
      */
     @Override
     public void entityDestroyed(int entity) {
-        Integer idx = entityToIndexMap.get(entity);
-        if (idx == null || idx.equals(entityToIndexMap.get(entityToIndexMap.size()))) {
+        if (indexOf(entity) == -1) {
             return;
         }
 
         removeData(entity);
     }
 
+    /**
+     * Removes every component, releasing every page -- including the spare pages.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        Arrays.fill(componentPages, null);
+        Arrays.fill(entityPages, null);
+        Arrays.fill(sparsePages, null);
+        Arrays.fill(sparsePageCounts, 0);
+        spareComponentPage = null;
+        spareEntityPage = null;
+        spareSparsePage = null;
+
+        validEntries = 0;
+        modificationCount++;
+    }
+
     /**
      * Gets the maximum number of entities allowed within the component array.
      *
@@ -152,4 +350,98 @@ public class ECSComponentArray<T extends IComponent> implements IComponentArray
     public int getValidEntryCount() {
         return validEntries;
     }
+
+    /**
+     * Estimates the heap memory held by the component array, not counting the components themselves.
+     *
+     * @return The estimated bytes holding components and their entity indices.
+     * @author Andrew Dey
+     */
+    public long estimateUsedBytes() {
+        // Each entry has a component reference, its entity, and its index in the sparse array
+        return getPageTableBytes() + ECSMemoryEstimates.referenceBytes(validEntries) + 2 * 4L * validEntries;
+    }
+
+    /**
+     * Estimates the heap memory allocated by the component array, including unused capacity and spare pages.
+     *
+     * @return The estimated bytes allocated by the component array.
+     * @author Andrew Dey
+     */
+    public long estimateReservedBytes() {
+        int densePages = spareComponentPage != null ? 1 : 0;
+        for (T[] componentPage : componentPages) {
+            if (componentPage != null) {
+                densePages++;
+            }
+        }
+
+        int allocatedSparsePages = spareSparsePage != null ? 1 : 0;
+        for (int[] sparsePage : sparsePages) {
+            if (sparsePage != null) {
+                allocatedSparsePages++;
+            }
+        }
+
+        return getPageTableBytes()
+                + densePages * (ECSMemoryEstimates.referenceArrayBytes(pageSize) + ECSMemoryEstimates.intArrayBytes(pageSize))
+                + allocatedSparsePages * ECSMemoryEstimates.intArrayBytes(pageSize);
+    }
+
+    /**
+     * Gets the number of components the packed component array can hold without allocating another page.
+     *
+     * @return The capacity of the allocated dense pages.
+     * @author Andrew Dey
+     */
+    public int getCapacity() {
+        return ((validEntries + pageMask) >>> pageShift) << pageShift;
+    }
+
+    /**
+     * Gets the number of dense pages the component array has allocated so far. Reusing a spare page does not count.
+     *
+     * @return The number of dense pages allocated.
+     * @author Andrew Dey
+     */
+    public int getDensePageAllocationCount() {
+        return densePageAllocationCount;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Gets the index of the specified entity's component, or -1 if it has none.
+     *
+     * @param entity The entity to get the index of.
+     * @return The index of the entity's component, or -1.
+     */
+    private int indexOf(int entity) {
+        int page = entity >>> pageShift;
+        if (page >= sparsePages.length || sparsePages[page] == null) {
+            return -1;
+        }
+
+        return sparsePages[page][entity & pageMask] - 1;
+    }
+
+    private T componentAt(int index) {
+        return componentPages[index >>> pageShift][index & pageMask];
+    }
+
+    private int entityAt(int index) {
+        return entityPages[index >>> pageShift][index & pageMask];
+    }
+
+    /** Estimates the bytes of the arrays of pages, which are allocated up front. */
+    private long getPageTableBytes() {
+        int pageCount = sparsePages.length;
+        return 3 * ECSMemoryEstimates.referenceArrayBytes(pageCount) + ECSMemoryEstimates.intArrayBytes(pageCount);
+    }
 }
@@ -2,9 +2,14 @@ package io.github.lucasstarsz.slopeecs.component;
 
 import io.github.lucasstarsz.slopeecs.World;
 import io.github.lucasstarsz.slopeecs.entity.ECSEntityManager;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import io.github.lucasstarsz.slopeecs.metrics.StorageGrowthEvent;
 import io.github.lucasstarsz.slopeecs.system.ECSSystemManager;
+import io.github.lucasstarsz.slopeecs.util.ECSSignatures;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,6 +36,12 @@ public class ECSComponentManager {
     private final Map<String, Integer> componentTypes = new HashMap<>();
     /** Mapping from class string to a component array */
     private final Map<String, IComponentArray> componentArrays = new HashMap<>();
+    /** The component class of each component type, indexed by component type. */
+    private final List<Class<? extends IComponent>> componentClasses = new ArrayList<>();
+    /** The component array of each component type, indexed by component type. */
+    private final List<ECSComponentArray<?>> componentArraysByType = new ArrayList<>();
+    /** The group owning each component type, indexed by component type, or null for types no group owns. */
+    private final List<ECSGroup> groupsByType = new ArrayList<>();
     /** The component type to be assigned to the next registered component, starting at 0. */
     private int nextComponentType;
 
@@ -84,7 +95,11 @@ public class ECSComponentManager {
         componentTypes.put(typeName, nextComponentType);
 
         // Create a ComponentArray and add it to the component arrays map
-        componentArrays.put(typeName, new ECSComponentArray<T>(maxEntities));
+        ECSComponentArray<T> componentArray = new ECSComponentArray<>(maxEntities);
+        componentArrays.put(typeName, componentArray);
+        componentClasses.add(componentClass);
+        componentArraysByType.add(componentArray);
+        groupsByType.add(null);
 
         // Increment the value so that the next component registered will be different
         nextComponentType++;
@@ -117,6 +132,43 @@ public class ECSComponentManager {
         return componentTypes.get(typeName);
     }
 
+    /**
+     * Checks whether the specified component class has been registered as a component type.
+     *
+     * @param componentClass The class of the component type.
+     * @param <T>            The generic type of the component class to check. Uses of {@code T} must implement {@code
+     *                       IComponent}.
+     * @return Whether the component class has been registered.
+     * @author Andrew Dey
+     */
+    public <T extends IComponent> boolean isComponentRegistered(Class<T> componentClass) {
+        return componentTypes.containsKey(componentClass.getTypeName());
+    }
+
+    /**
+     * Gets the component class registered with the specified component type.
+     *
+     * @param componentType The component type, as returned by {@link #getComponentType(Class)}.
+     * @return The class of the component type.
+     * @author Andrew Dey
+     */
+    public Class<? extends IComponent> getComponentClass(int componentType) {
+        checkComponentType(componentType);
+        return componentClasses.get(componentType);
+    }
+
+    /**
+     * Gets the component array of the specified component type, without looking up its class.
+     *
+     * @param componentType The component type, as returned by {@link #getComponentType(Class)}.
+     * @return The component array of the component type.
+     * @author Andrew Dey
+     */
+    public ECSComponentArray<?> getComponentArray(int componentType) {
+        checkComponentType(componentType);
+        return componentArraysByType.get(componentType);
+    }
+
     /**
      * Adds the specified component to the specified entity's component array.
      *
@@ -132,7 +184,41 @@ public class ECSComponentManager {
      * @author Andrew Dey
      */
     public <T extends IComponent> void addComponent(int entity, T component) {
-        getComponentArray(component.getClass()).insertData(entity, component);
+        addComponent(entity, getComponentType(component.getClass()), component);
+    }
+
+    /**
+     * Adds the specified component to the specified entity's component array, where the component type is already
+     * known.
+     *
+     * @param entity        The entity to add the component to.
+     * @param componentType The component type of the component, as returned by {@link #getComponentType(Class)}.
+     * @param component     The component to add.
+     * @author Andrew Dey
+     */
+    public void addComponent(int entity, int componentType, IComponent component) {
+        ECSComponentArray<?> componentArray = getComponentArray(componentType);
+        int oldCapacity = componentArray.getCapacity();
+        int oldAllocationCount = componentArray.getDensePageAllocationCount();
+        componentArray.insertData(entity, component);
+
+        // Component arrays allocate their pages on first use, so growth happens here rather than at registration. Only
+        // real allocations are reported -- reusing a spare page is common, and should not even create the event.
+        if (componentArray.getDensePageAllocationCount() != oldAllocationCount) {
+            StorageGrowthEvent event = new StorageGrowthEvent();
+            if (event.shouldCommit()) {
+                event.componentClass = componentClasses.get(componentType).getTypeName();
+                event.oldCapacity = oldCapacity;
+                event.newCapacity = componentArray.getCapacity();
+                event.registeredComponentCount = nextComponentType;
+                event.commit();
+            }
+        }
+
+        ECSGroup group = groupsByType.get(componentType);
+        if (group != null) {
+            group.include(entity);
+        }
     }
 
     /**
@@ -150,6 +236,11 @@ public class ECSComponentManager {
      * @author Andrew Dey
      */
     public <T extends IComponent> void removeComponent(int entity, Class<T> componentClass) {
+        ECSGroup group = groupsByType.get(getComponentType(componentClass));
+        if (group != null) {
+            group.exclude(entity);
+        }
+
         getComponentArray(componentClass).removeData(entity);
     }
 
@@ -183,12 +274,147 @@ public class ECSComponentManager {
      * @author Andrew Dey
      */
     public void entityDestroyed(int entity) {
+        for (ECSGroup group : groupsByType) {
+            if (group != null) {
+                group.exclude(entity);
+            }
+        }
+
         for (var pair : componentArrays.entrySet()) {
             IComponentArray component = pair.getValue();
             component.entityDestroyed(entity);
         }
     }
 
+    /**
+     * Removes the components of a destroyed entity, visiting only the component arrays in its signature.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#destroyEntity(int)} and {@link World#destroyEntities(int[])}, before
+     * the entity's signature is cleared. Unlike {@link #entityDestroyed(int)}, it costs nothing for component types the
+     * entity does not have.
+     *
+     * @param entity     The entity being destroyed.
+     * @param signatures The table holding the entity's signature (see: {@link ECSEntityManager#getSignatureTable()}).
+     * @param offset     The index of the signature's first word in {@code signatures}.
+     * @param width      The number of words in the signature.
+     * @author Andrew Dey
+     */
+    public void entityDestroyed(int entity, long[] signatures, int offset, int width) {
+        for (int componentType = ECSSignatures.nextSetBit(signatures, offset, width, 0); componentType >= 0; componentType = ECSSignatures.nextSetBit(signatures, offset, width, componentType + 1)) {
+            removeDestroyedComponent(entity, componentType);
+        }
+    }
+
+    /**
+     * Removes every component of every component type, keeping the component types registered.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#clear()}. Each component array is emptied wholesale, rather than one
+     * entity at a time.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        for (int componentType = 0; componentType < nextComponentType; componentType++) {
+            componentArraysByType.get(componentType).clear();
+
+            ECSGroup group = groupsByType.get(componentType);
+            if (group != null) {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes the specified entity's component of the specified component type, which it is known to have.
+     *
+     * @param entity        The entity being destroyed.
+     * @param componentType The component type to remove.
+     */
+    protected void removeDestroyedComponent(int entity, int componentType) {
+        ECSGroup group = groupsByType.get(componentType);
+        if (group != null) {
+            group.exclude(entity);
+        }
+
+        componentArraysByType.get(componentType).removeData(entity);
+    }
+
+    /**
+     * Creates an owning group of the specified component types.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#createGroup(Class[])}. For more information, see {@link ECSGroup}.
+     *
+     * @param componentTypes The component types the group should own. None of them may already be owned by a group.
+     * @return The new group.
+     * @author Andrew Dey
+     */
+    public ECSGroup createGroup(int... componentTypes) {
+        if (componentTypes.length == 0) {
+            throw new IllegalStateException("A group must own at least one component type.");
+        }
+
+        ECSComponentArray<?>[] groupArrays = new ECSComponentArray<?>[componentTypes.length];
+        Class<?>[] groupClasses = new Class<?>[componentTypes.length];
+
+        for (int i = 0; i < componentTypes.length; i++) {
+            int componentType = componentTypes[i];
+            checkComponentType(componentType);
+
+            if (groupsByType.get(componentType) != null) {
+                throw new IllegalStateException("Component type " + componentClasses.get(componentType).getTypeName() + " is already owned by a group.");
+            }
+
+            for (int j = 0; j < i; j++) {
+                if (componentTypes[j] == componentType) {
+                    throw new IllegalStateException("Component type " + componentClasses.get(componentType).getTypeName() + " was specified more than once.");
+                }
+            }
+
+            groupArrays[i] = componentArraysByType.get(componentType);
+            groupClasses[i] = componentClasses.get(componentType);
+        }
+
+        ECSGroup group = new ECSGroup(componentTypes.clone(), groupArrays, groupClasses);
+        for (int componentType : componentTypes) {
+            groupsByType.set(componentType, group);
+        }
+
+        return group;
+    }
+
+    /**
+     * Gets the group owning the specified component type.
+     *
+     * @param componentType The component type, as returned by {@link #getComponentType(Class)}.
+     * @return The group owning the component type, or null if no group owns it.
+     * @author Andrew Dey
+     */
+    public ECSGroup getGroup(int componentType) {
+        checkComponentType(componentType);
+        return groupsByType.get(componentType);
+    }
+
+    /**
+     * Adds an entry for the storage of each component type to the specified memory report.
+     *
+     * @param report The report to add to.
+     * @author Andrew Dey
+     */
+    public void reportMemory(ECSMemoryReport report) {
+        for (int componentType = 0; componentType < nextComponentType; componentType++) {
+            ECSComponentArray<?> componentArray = componentArraysByType.get(componentType);
+            report.add(
+                    ECSMemoryReport.componentStorageCategory,
+                    componentClasses.get(componentType).getTypeName(),
+                    componentArray.estimateUsedBytes(),
+                    componentArray.estimateReservedBytes()
+            );
+        }
+    }
+
     public int getRegisteredComponentCount() {
         return nextComponentType;
     }
@@ -207,7 +433,7 @@ public class ECSComponentManager {
      * @author Andrew Dey
      */
     @SuppressWarnings("unchecked")
-    private <T extends IComponent> ECSComponentArray<T> getComponentArray(Class<T> componentClass) {
+    public <T extends IComponent> ECSComponentArray<T> getComponentArray(Class<T> componentClass) {
         String typeName = componentClass.getTypeName();
 
         if (componentTypes.get(typeName) == null) {
@@ -216,4 +442,10 @@ public class ECSComponentManager {
 
         return (ECSComponentArray<T>) componentArrays.get(typeName);
     }
+
+    private void checkComponentType(int componentType) {
+        if (componentType < 0 || componentType >= nextComponentType) {
+            throw new IllegalStateException("Component type " + componentType + " was not found in the component manager.");
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package io.github.lucasstarsz.slopeecs.component;
+
+import io.github.lucasstarsz.slopeecs.ConcurrentWorld;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A manager of components and component types which locks each component type separately.
+ *
+ * <h2>About</h2>
+ * This is the component manager used by {@link ConcurrentWorld}. Every component type is given its own read/write
+ * lock, so that the manager stays consistent when it is used directly, from several threads: threads reading
+ * components only wait on writers of the same type.
+ * <p>
+ * Within a {@code ConcurrentWorld}, these locks do not add any concurrency. The world serializes every structural
+ * change -- including adding and removing components -- under its own structure lock, and reads take that lock's
+ * read side, so the per-type locks are never contended there.
+ * <p>
+ * Component types must all be registered before the manager is shared between threads -- registration itself is not
+ * guarded by these locks.
+ *
+ * @author Andrew Dey
+ */
+public class ECSConcurrentComponentManager extends ECSComponentManager {
+
+    /** The lock of each component type, indexed by component type. */
+    private final List<ReadWriteLock> componentLocks = new ArrayList<>();
+
+    /**
+     * Constructs a component manager with the specified maximum entity count.
+     *
+     * @param maxEntityCount The maximum amount of entities allowed within the component manager.
+     * @author Andrew Dey
+     */
+    public ECSConcurrentComponentManager(int maxEntityCount) {
+        super(maxEntityCount);
+    }
+
+    @Override
+    public <T extends IComponent> void registerComponent(Class<T> componentClass) {
+        super.registerComponent(componentClass);
+        componentLocks.add(new ReentrantReadWriteLock());
+    }
+
+    @Override
+    public void addComponent(int entity, int componentType, IComponent component) {
+        ReadWriteLock lock = componentLocks.get(componentType);
+
+        lock.writeLock().lock();
+        try {
+            super.addComponent(entity, componentType, component);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends IComponent> void removeComponent(int entity, Class<T> componentClass) {
+        ReadWriteLock lock = componentLocks.get(getComponentType(componentClass));
+
+        lock.writeLock().lock();
+        try {
+            super.removeComponent(entity, componentClass);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T extends IComponent> T getComponent(int entity, Class<T> componentClass) {
+        ReadWriteLock lock = componentLocks.get(getComponentType(componentClass));
+
+        lock.readLock().lock();
+        try {
+            return super.getComponent(entity, componentClass);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Notifies each component array that an entity has been destroyed, locking one component type at a time.
+     *
+     * @param entity The entity being destroyed.
+     * @author Andrew Dey
+     */
+    @Override
+    public void entityDestroyed(int entity) {
+        for (int componentType = 0; componentType < componentLocks.size(); componentType++) {
+            ReadWriteLock lock = componentLocks.get(componentType);
+
+            lock.writeLock().lock();
+            try {
+                getComponentArray(componentType).entityDestroyed(entity);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes a destroyed entity's component of the specified type, holding the lock of that component type.
+     *
+     * @param entity        The entity being destroyed.
+     * @param componentType The component type to remove.
+     * @author Andrew Dey
+     */
+    @Override
+    protected void removeDestroyedComponent(int entity, int componentType) {
+        ReadWriteLock lock = componentLocks.get(componentType);
+
+        lock.writeLock().lock();
+        try {
+            super.removeDestroyedComponent(entity, componentType);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every component of every component type, locking one component type at a time.
+     *
+     * @author Andrew Dey
+     */
+    @Override
+    public void clear() {
+        for (int componentType = 0; componentType < componentLocks.size(); componentType++) {
+            ReadWriteLock lock = componentLocks.get(componentType);
+
+            lock.writeLock().lock();
+            try {
+                getComponentArray(componentType).clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Groups are not supported by {@code ECSConcurrentComponentManager}, since they reorder several component arrays at
+     * once. Calling this will always throw an {@link IllegalStateException}.
+     */
+    @Override
+    public ECSGroup createGroup(int... componentTypes) {
+        throw new IllegalStateException("Groups are not supported by " + ECSConcurrentComponentManager.class.getSimpleName() + ".");
+    }
+
+    /**
+     * Gets the lock of the specified component type, for callers which access its component array directly.
+     *
+     * @param componentType The component type, as returned by {@link #getComponentType(Class)}.
+     * @return The lock of the component type.
+     * @author Andrew Dey
+     */
+    public ReadWriteLock getComponentLock(int componentType) {
+        return componentLocks.get(componentType);
+    }
+}
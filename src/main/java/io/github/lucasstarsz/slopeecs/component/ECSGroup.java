@@ -0,0 +1,183 @@
+package io.github.lucasstarsz.slopeecs.component;
+
+import io.github.lucasstarsz.slopeecs.World;
+
+/**
+ * An owning group of component types, whose component arrays are kept aligned.
+ *
+ * <h2>About</h2>
+ * Normally, each {@link ECSComponentArray} stores its components in whatever order they were added -- so visiting the
+ * entities which have two components means looking each entity up in both arrays, in no particular order. A group
+ * fixes this for a chosen set of component types: every entity which has <strong>all</strong> of the group's
+ * components is packed at the front of each of the group's arrays, in the same order. The components of the entity at
+ * index {@code i} (for {@code i < size()}) are then at index {@code i} of every member array, and the group can be
+ * visited with a linear scan of parallel arrays.
+ * <p>
+ * The group owns its component arrays: it reorders them as components are added and removed, so a component type can
+ * only belong to one group. Components must not be added or removed while the group is being iterated.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume classes PositionComponent and VelocityComponent exist, and are registered
+ * ECSGroup group = world.createGroup(PositionComponent.class, VelocityComponent.class);
+ * ECSComponentArray<PositionComponent> positions = group.getComponentArray(PositionComponent.class);
+ * ECSComponentArray<VelocityComponent> velocities = group.getComponentArray(VelocityComponent.class);
+ *
+ * for (int i = 0; i < group.size(); i++) {
+ *     PositionComponent position = positions.getDataAtIndex(i);
+ *     VelocityComponent velocity = velocities.getDataAtIndex(i);
+ *
+ *     position.x += velocity.x;
+ *     position.y += velocity.y;
+ * }
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class ECSGroup {
+
+    /** The component types owned by the group. */
+    private final int[] componentTypes;
+    /** The component arrays owned by the group, in the same order as {@link #componentTypes}. */
+    private final ECSComponentArray<?>[] componentArrays;
+    /** The component classes owned by the group, in the same order as {@link #componentTypes}. */
+    private final Class<?>[] componentClasses;
+    /** The number of entities packed at the front of every member array. */
+    private int size;
+
+    /**
+     * Creates a group owning the specified component types, then packs the entities which already have all of them.
+     *
+     * <h4>About</h4>
+     * This is called by {@link ECSComponentManager#createGroup(int[])}. Use {@link World#createGroup(Class[])} to
+     * create groups.
+     *
+     * @param componentTypes   The component types owned by the group.
+     * @param componentArrays  The component arrays of those component types.
+     * @param componentClasses The component classes of those component types.
+     * @author Andrew Dey
+     */
+    ECSGroup(int[] componentTypes, ECSComponentArray<?>[] componentArrays, Class<?>[] componentClasses) {
+        this.componentTypes = componentTypes;
+        this.componentArrays = componentArrays;
+        this.componentClasses = componentClasses;
+
+        ECSComponentArray<?> first = componentArrays[0];
+        for (int i = 0; i < first.getValidEntryCount(); i++) {
+            include(first.getEntity(i));
+        }
+    }
+
+    /**
+     * Packs the specified entity into the group, if it has every member component and is not already packed.
+     *
+     * @param entity The entity which may have gained a member component.
+     */
+    void include(int entity) {
+        for (ECSComponentArray<?> componentArray : componentArrays) {
+            if (!componentArray.hasData(entity)) {
+                return;
+            }
+        }
+
+        if (contains(entity)) {
+            return;
+        }
+
+        for (ECSComponentArray<?> componentArray : componentArrays) {
+            componentArray.swap(componentArray.getIndex(entity), size);
+        }
+        size++;
+    }
+
+    /**
+     * Unpacks the specified entity from the group if it is packed, moving it just past the end of the group in every
+     * member array. This must happen before any of its member components are removed.
+     *
+     * @param entity The entity which is about to lose a member component.
+     */
+    void exclude(int entity) {
+        if (!contains(entity)) {
+            return;
+        }
+
+        size--;
+        for (ECSComponentArray<?> componentArray : componentArrays) {
+            componentArray.swap(componentArray.getIndex(entity), size);
+        }
+    }
+
+    /** Empties the group, once every member array has been cleared. */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Checks whether the specified entity is packed into the group.
+     *
+     * @param entity The entity to check.
+     * @return Whether the entity has every member component.
+     * @author Andrew Dey
+     */
+    public boolean contains(int entity) {
+        ECSComponentArray<?> first = componentArrays[0];
+        return first.hasData(entity) && first.getIndex(entity) < size;
+    }
+
+    /**
+     * Gets the entity at the specified index of the group.
+     *
+     * @param index The index within the group. Must be less than {@link #size()}.
+     * @return The entity at that index.
+     * @author Andrew Dey
+     */
+    public int getEntity(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalStateException("Index " + index + " is not within the group.");
+        }
+
+        return componentArrays[0].getEntity(index);
+    }
+
+    /**
+     * Gets the component array of the specified member component class, whose first {@link #size()} entries are aligned
+     * with the group.
+     *
+     * @param componentClass The class of the member component.
+     * @param <T>            The generic type of the member component. Uses of {@code T} must implement {@code
+     *                       IComponent}.
+     * @return The component array of the member component.
+     * @author Andrew Dey
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends IComponent> ECSComponentArray<T> getComponentArray(Class<T> componentClass) {
+        for (int i = 0; i < componentClasses.length; i++) {
+            if (componentClasses[i] == componentClass) {
+                return (ECSComponentArray<T>) componentArrays[i];
+            }
+        }
+
+        throw new IllegalStateException("Component type " + componentClass.getTypeName() + " is not owned by this group.");
+    }
+
+    /**
+     * Checks whether the specified component type is owned by the group.
+     *
+     * @param componentType The component type to check.
+     * @return Whether the group owns the component type.
+     * @author Andrew Dey
+     */
+    public boolean owns(int componentType) {
+        for (int ownedType : componentTypes) {
+            if (ownedType == componentType) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,210 @@
+package io.github.lucasstarsz.slopeecs.component;
+
+import io.github.lucasstarsz.slopeecs.World;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * An incremental sorter of a single {@link ECSComponentArray}.
+ *
+ * <h2>About</h2>
+ * Removing a component moves the last component of the packed array into its place, so after enough adds and removes a
+ * component array ends up in effectively random entity order. This class restores a chosen order -- by entity ID, or by
+ * a comparator over the components themselves (for example, render depth) -- so that iterating the array visits memory
+ * sequentially again.
+ * <p>
+ * Sorting happens in two parts:
+ * <ol>
+ *     <li>A plan is made: the array's current entries are sorted by key, which decides which entity belongs at each
+ *     index.</li>
+ *     <li>The plan is applied by swapping each entity into place, one index at a time. Swaps keep the array's entity
+ *     indices up to date, so the array stays fully usable between steps.</li>
+ * </ol>
+ * {@link #step(long)} applies as much of the plan as fits within a time budget, so a large array can be sorted over
+ * several frames without stalling any one of them. If components are added or removed between steps, the plan is
+ * remade from the array's new contents on the next step. Once a comparator sort has finished, the next step sorts again
+ * from the components' current keys, so keys changed in place are picked up.
+ * <p>
+ * Sorters are created by {@link World#createStorageSorter(Class, Comparator)}, which refuses arrays owned by a group
+ * (see: {@link ECSGroup}), since reordering them would break the group's alignment.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class SpriteComponent exists, with a public float field depth
+ * ECSStorageSorter<SpriteComponent> sorter = world.createStorageSorter(
+ *         SpriteComponent.class,
+ *         Comparator.comparingDouble(sprite -> sprite.depth)
+ * );
+ *
+ * // each frame, spend at most half a millisecond sorting
+ * sorter.step(500_000L);
+ * }</pre>
+ *
+ * @param <T> The generic type of the components being sorted. Uses of {@code T} must implement {@code IComponent}.
+ * @author Andrew Dey
+ */
+public class ECSStorageSorter<T extends IComponent> {
+
+    /** The number of swaps made between checks of the time budget. */
+    private static final int swapsPerBudgetCheck = 64;
+
+    /** The component array being sorted. */
+    private final ECSComponentArray<T> componentArray;
+    /** The comparator of the components, or null to sort by entity ID. */
+    private final Comparator<? super T> comparator;
+
+    /** The entity which belongs at each index, according to the current plan. */
+    private int[] plan = new int[0];
+    /** The components of the array when the plan was made, indexed by their index at that time. */
+    private IComponent[] plannedComponents = new IComponent[0];
+    /** The entities of the array when the plan was made, indexed by their index at that time. */
+    private int[] plannedEntities = new int[0];
+    /** Scratch space for sorting the plan. */
+    private int[] sortBuffer = new int[0];
+    /** The number of entries in the current plan. */
+    private int planSize;
+    /** The next index of the plan to put in place. */
+    private int cursor;
+    /** The modification count the array should have if nothing else has changed it, or -1 if there is no plan. */
+    private int expectedModificationCount = -1;
+
+    /**
+     * Creates a sorter of the specified component array.
+     *
+     * @param componentArray The component array to sort.
+     * @param comparator     The comparator of the components, or null to sort by entity ID.
+     * @author Andrew Dey
+     */
+    public ECSStorageSorter(ECSComponentArray<T> componentArray, Comparator<? super T> comparator) {
+        this.componentArray = componentArray;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Sorts the component array for at most roughly the specified amount of time.
+     *
+     * <h4>About</h4>
+     * If the component array has changed since the last step, or the previous sort has finished, a new plan is made
+     * first -- making the plan is not interrupted by the budget. Then entities are swapped into place until the plan is
+     * complete or the budget runs out.
+     * <p>
+     * A comparator's keys can change in place (for example, a sprite's depth), without the array itself changing, so
+     * when sorting by a comparator every step after a finished sort re-plans from the components' current keys. When
+     * sorting by entity ID, a finished sort stays valid until the array changes, so no new plan is needed.
+     *
+     * @param budgetNanos The time budget, in nanoseconds.
+     * @return Whether the component array is now sorted.
+     * @author Andrew Dey
+     */
+    public boolean step(long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+
+        boolean finished = cursor == planSize;
+        if (expectedModificationCount != componentArray.getModificationCount() || (finished && comparator != null)) {
+            makePlan();
+        }
+
+        int swaps = 0;
+        while (cursor < planSize) {
+            int entity = plan[cursor];
+            componentArray.swap(cursor, componentArray.getIndex(entity));
+            cursor++;
+
+            if (++swaps == swapsPerBudgetCheck) {
+                swaps = 0;
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+        }
+
+        expectedModificationCount = componentArray.getModificationCount();
+        if (cursor < planSize) {
+            return false;
+        }
+
+        // Let go of the components, so the sorter does not keep removed components alive
+        Arrays.fill(plannedComponents, 0, planSize, null);
+        return true;
+    }
+
+    /**
+     * Sorts the component array completely.
+     *
+     * @author Andrew Dey
+     */
+    public void sort() {
+        makePlan();
+        step(Long.MAX_VALUE / 2);
+    }
+
+    public boolean isSorted() {
+        return expectedModificationCount == componentArray.getModificationCount() && cursor == planSize;
+    }
+
+    public ECSComponentArray<T> getComponentArray() {
+        return componentArray;
+    }
+
+    /** Snapshots the array's entries, and sorts them by key to decide which entity belongs at each index. */
+    private void makePlan() {
+        planSize = componentArray.getValidEntryCount();
+        cursor = 0;
+
+        if (plan.length < planSize) {
+            plan = new int[planSize];
+            plannedComponents = new IComponent[planSize];
+            plannedEntities = new int[planSize];
+            sortBuffer = new int[planSize];
+        }
+
+        for (int i = 0; i < planSize; i++) {
+            plannedComponents[i] = componentArray.getDataAtIndex(i);
+            plannedEntities[i] = componentArray.getEntity(i);
+            plan[i] = i;
+        }
+
+        mergeSort(0, planSize);
+
+        // Turn the sorted snapshot indices into the entities that belong at each index
+        for (int i = 0; i < planSize; i++) {
+            plan[i] = plannedEntities[plan[i]];
+        }
+    }
+
+    /** Stably sorts the snapshot indices in {@code plan[from, to)} by key. */
+    private void mergeSort(int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        mergeSort(from, middle);
+        mergeSort(middle, to);
+
+        if (compare(plan[middle - 1], plan[middle]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(plan, from, sortBuffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && compare(sortBuffer[left], sortBuffer[right]) <= 0)) {
+                plan[i] = sortBuffer[left++];
+            } else {
+                plan[i] = sortBuffer[right++];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(int firstIndex, int secondIndex) {
+        if (comparator == null) {
+            return Integer.compare(plannedEntities[firstIndex], plannedEntities[secondIndex]);
+        }
+
+        return comparator.compare((T) plannedComponents[firstIndex], (T) plannedComponents[secondIndex]);
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.lucasstarsz.slopeecs.entity;
+
+import io.github.lucasstarsz.slopeecs.ConcurrentWorld;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import io.github.lucasstarsz.slopeecs.util.ECSMemoryEstimates;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe manager of entities, entity counts, and entity signatures.
+ *
+ * <h2>About</h2>
+ * This is the entity manager used by {@link ConcurrentWorld}. Instead of the queue of unused IDs kept by {@link
+ * ECSEntityManager}, unused IDs form a lock-free stack: each unused ID stores the next unused ID in {@link #nextFree},
+ * and the top of the stack is swapped in with a compare-and-set. The top is stored alongside a counter which is bumped
+ * on every change, so an ID that is taken and returned between two reads cannot be mistaken for an unchanged stack.
+ * <p>
+ * A destroyed ID is not reused straight away. It is first retired to a second stack, and only returned to the stack of
+ * unused IDs by {@link #releaseRetiredEntities()} -- this gives the caller a chance to finish removing the entity's
+ * components before another thread can create an entity with the same ID. {@link ConcurrentWorld} releases retired IDs
+ * at the end of each {@link ConcurrentWorld#destroyEntity(int)}.
+ * <p>
+ * Signatures are kept in the signature table inherited from {@link ECSEntityManager}, which is not itself
+ * thread-safe: {@link ConcurrentWorld} only changes signatures while holding its structure lock for writing (see:
+ * {@link ConcurrentWorld#addComponent(int, io.github.lucasstarsz.slopeecs.component.IComponent)}), and only reads them
+ * while holding it for reading.
+ *
+ * @author Andrew Dey
+ */
+public class ECSConcurrentEntityManager extends ECSEntityManager {
+
+    /** The value marking the bottom of the stack of unused IDs. */
+    private static final int noEntity = -1;
+
+    /** For each unused ID, the next unused ID in the stack. */
+    private final AtomicIntegerArray nextFree;
+    /** Whether each entity is alive, as 1 or 0. */
+    private final AtomicIntegerArray aliveEntities;
+    /** The top of the stack of unused IDs in the low 32 bits, and a change counter in the high 32 bits. */
+    private final AtomicLong freeHead;
+    /** The top of the stack of retired IDs, which are not yet available for reuse. */
+    private final AtomicLong retiredHead = new AtomicLong(pack(noEntity, 0));
+    /** Total amount of living entities. */
+    private final AtomicInteger livingEntityCount = new AtomicInteger();
+
+    /**
+     * Constructs the entity manager with all possible entity IDs unused.
+     *
+     * @param maxEntityCount The maximum amount of entities to allow in the ECS.
+     * @author Andrew Dey
+     */
+    public ECSConcurrentEntityManager(int maxEntityCount) {
+        super(maxEntityCount, false);
+
+        nextFree = new AtomicIntegerArray(maxEntityCount);
+        aliveEntities = new AtomicIntegerArray(maxEntityCount);
+
+        // Link every ID together, so that 0 is taken first
+        for (int i = 0; i < maxEntityCount - 1; i++) {
+            nextFree.set(i, i + 1);
+        }
+        nextFree.set(maxEntityCount - 1, noEntity);
+
+        freeHead = new AtomicLong(pack(0, 0));
+    }
+
+    /**
+     * Takes an unused ID from the stack without locking, then returns it.
+     *
+     * @return The ID of the created entity.
+     * @author Andrew Dey
+     */
+    @Override
+    public int createEntity() {
+        while (true) {
+            long head = freeHead.get();
+            int entity = (int) head;
+
+            if (entity == noEntity) {
+                throw new IllegalStateException("Maximum number of entities (" + getMaxEntities() + ") was exceeded. No more could be created.");
+            }
+
+            int next = nextFree.get(entity);
+            if (freeHead.compareAndSet(head, pack(next, version(head) + 1))) {
+                aliveEntities.set(entity, 1);
+                livingEntityCount.incrementAndGet();
+                return entity;
+            }
+        }
+    }
+
+    /**
+     * Destroys the specified entity, clearing its signature and retiring its ID without locking.
+     * <p>
+     * The ID cannot be reused until {@link #releaseRetiredEntities()} is called.
+     *
+     * @param entity The ID of the entity to destroy.
+     * @author Andrew Dey
+     */
+    @Override
+    public void destroyEntity(int entity) {
+        checkRange(entity);
+
+        // Only one thread can win this, so an entity is never returned to the stack twice
+        if (!aliveEntities.compareAndSet(entity, 1, 0)) {
+            throw new IllegalStateException("Entity " + entity + " is not alive in the ECS.");
+        }
+
+        retire(entity);
+    }
+
+    /**
+     * Destroys every living entity, retiring their IDs without locking.
+     *
+     * <h4>About</h4>
+     * Unlike {@link ECSEntityManager#clear()}, this visits every ID, since other threads may be creating entities at
+     * the same time. As with {@link #destroyEntity(int)}, the IDs cannot be reused until {@link
+     * #releaseRetiredEntities()} is called.
+     *
+     * @author Andrew Dey
+     */
+    @Override
+    public void clear() {
+        for (int entity = 0; entity < getMaxEntities(); entity++) {
+            if (aliveEntities.compareAndSet(entity, 1, 0)) {
+                retire(entity);
+            }
+        }
+    }
+
+    /**
+     * Makes every retired ID available for reuse by {@link #createEntity()}.
+     *
+     * @author Andrew Dey
+     */
+    public void releaseRetiredEntities() {
+        long retired = retiredHead.get();
+        while (!retiredHead.compareAndSet(retired, pack(noEntity, version(retired) + 1))) {
+            retired = retiredHead.get();
+        }
+
+        int first = (int) retired;
+        if (first == noEntity) {
+            return;
+        }
+
+        // The retired chain now belongs to this thread alone, so it can be walked safely
+        int last = first;
+        while (nextFree.get(last) != noEntity) {
+            last = nextFree.get(last);
+        }
+
+        while (true) {
+            long head = freeHead.get();
+            nextFree.set(last, (int) head);
+
+            if (freeHead.compareAndSet(head, pack(first, version(head) + 1))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isAlive(int entity) {
+        checkRange(entity);
+        return aliveEntities.get(entity) == 1;
+    }
+
+    @Override
+    public void reportMemory(ECSMemoryReport report) {
+        int maxEntities = getMaxEntities();
+        reportSignatureMemory(report, livingEntityCount.get());
+
+        // The stack links and alive flags are fixed-size arrays, always in use
+        long freeListBytes = 2 * ECSMemoryEstimates.intArrayBytes(maxEntities);
+        report.add(ECSMemoryReport.freeListCategory, "Unused entity IDs", freeListBytes, freeListBytes);
+    }
+
+    @Override
+    public int getLivingEntityCount() {
+        return livingEntityCount.get();
+    }
+
+    @Override
+    public int getAvailableEntityCount() {
+        return getMaxEntities() - livingEntityCount.get();
+    }
+
+    /** Clears the signature of an entity which has just stopped being alive, and pushes it onto the retired stack. */
+    private void retire(int entity) {
+        clearSignature(entity);
+        livingEntityCount.decrementAndGet();
+
+        while (true) {
+            long head = retiredHead.get();
+            nextFree.set(entity, (int) head);
+
+            if (retiredHead.compareAndSet(head, pack(entity, version(head) + 1))) {
+                return;
+            }
+        }
+    }
+
+    private void checkRange(int entity) {
+        if (entity < 0 || entity >= getMaxEntities()) {
+            throw new IllegalStateException("Entity " + entity + " out of range.");
+        }
+    }
+
+    private static long pack(int entity, int version) {
+        return ((long) version << 32) | (entity & 0xFFFFFFFFL);
+    }
+
+    private static int version(long head) {
+        return (int) (head >>> 32);
+    }
+}
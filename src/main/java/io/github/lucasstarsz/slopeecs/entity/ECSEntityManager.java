@@ -2,11 +2,13 @@ package io.github.lucasstarsz.slopeecs.entity;
 
 import io.github.lucasstarsz.slopeecs.World;
 import io.github.lucasstarsz.slopeecs.component.ECSComponentManager;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
 import io.github.lucasstarsz.slopeecs.system.ECSSystemManager;
+import io.github.lucasstarsz.slopeecs.util.ECSMemoryEstimates;
+import io.github.lucasstarsz.slopeecs.util.ECSSignatures;
 
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Deque;
-import java.util.LinkedList;
 
 /**
  * The manager of entities, entity counts, and entity signatures.
@@ -25,10 +27,36 @@ import java.util.LinkedList;
  */
 public class ECSEntityManager {
 
-    /** The array of signatures for each entity. */
-    private final BitSet[] entitySignatures;
-    /** The queue of unused entity IDs. */
-    private final Deque<Integer> availableEntities = new LinkedList<>();
+    /**
+     * The signatures of every entity, {@link #signatureWidth} words each.
+     *
+     * <h4>About</h4>
+     * Entity {@code e}'s signature occupies {@code entitySignatures[e * signatureWidth]} up to (but not including)
+     * {@code entitySignatures[(e + 1) * signatureWidth]}. For the operations on signatures in this form, see {@link
+     * ECSSignatures}.
+     */
+    private long[] entitySignatures;
+    /** The number of words in each entity's signature, enough to hold every registered component type. */
+    private int signatureWidth = 1;
+    /**
+     * The stack of destroyed entity IDs, available for reuse before any ID that has never been used.
+     *
+     * <h4>About</h4>
+     * IDs which have never been used are not stored -- they are handed out from {@link #nextUnusedEntity} downwards
+     * once this stack is empty. This way, forgetting every entity (see: {@link #clear()}) takes constant time.
+     */
+    private final int[] destroyedEntities;
+    /** The number of IDs in {@link #destroyedEntities}. */
+    private int destroyedEntityCount;
+    /** The highest ID which has never been used, or -1 if every ID has been used. */
+    private int nextUnusedEntity;
+    /**
+     * The generation in which each entity was created. An entity is alive only while this matches {@link #generation},
+     * so that {@link #clear()} can kill every entity at once by moving to a new generation.
+     */
+    private final int[] entityGenerations;
+    /** The current generation of entities, starting at 1 -- a generation of 0 marks an entity that is not alive. */
+    private int generation = 1;
     /** Total amount of living entities. */
     private int livingEntityCount;
 
@@ -64,12 +92,28 @@ public class ECSEntityManager {
      * @author Andrew Dey
      */
     public ECSEntityManager(int maxEntityCount) {
+        this(maxEntityCount, true);
+    }
+
+    /**
+     * Constructs the entity manager, optionally without allocating its storage.
+     *
+     * <h4>About</h4>
+     * This constructor is for subclasses which replace the ID storage of this class with their own (see: {@link
+     * ECSConcurrentEntityManager}). Such subclasses must override every public method of this class which deals with
+     * entity IDs -- the signature table is always allocated, and shared with subclasses.
+     *
+     * @param maxEntityCount  The maximum amount of entities to allow in the ECS.
+     * @param allocateStorage Whether to allocate the queue of unused entity IDs.
+     * @author Andrew Dey
+     */
+    protected ECSEntityManager(int maxEntityCount, boolean allocateStorage) {
         this.maxEntities = maxEntityCount;
-        entitySignatures = new BitSet[maxEntities];
+        entitySignatures = new long[maxEntities];
+        nextUnusedEntity = maxEntities - 1;
 
-        for (int i = 0; i < maxEntities; i++) {
-            availableEntities.push(i);
-        }
+        destroyedEntities = allocateStorage ? new int[maxEntities] : null;
+        entityGenerations = allocateStorage ? new int[maxEntities] : null;
     }
 
     /**
@@ -105,16 +149,18 @@ public class ECSEntityManager {
             throw new IllegalStateException("Maximum number of entities (" + maxEntities + ") was exceeded. No more could be created.");
         }
 
-        // Take an ID from the front of the queue
-        int id = availableEntities.pop();
+        // Reuse the most recently destroyed ID, or else take one which has never been used
+        int id = destroyedEntityCount > 0 ? destroyedEntities[--destroyedEntityCount] : nextUnusedEntity--;
+        entityGenerations[id] = generation;
+        clearSignature(id);
         livingEntityCount++;
 
         return id;
     }
 
     /**
-     * Destroys the entity of the specified type, invalidating its signature and moving it to the back of the {@link
-     * #availableEntities} queue.
+     * Destroys the entity of the specified type, invalidating its signature and pushing it onto the {@link
+     * #destroyedEntities} stack.
      *
      * <h4>About</h4>
      * This is the method called by {@link World#createEntity()}, allowing you to create an entity within Slope-ECS. For
@@ -165,45 +211,199 @@ public class ECSEntityManager {
         }
 
         // invalidate the destroyed entity's signature
-        if (entitySignatures[entity] != null) {
-            entitySignatures[entity].clear();
-        }
+        clearSignature(entity);
 
-        // Put the destroyed ID at the back of the queue
-        availableEntities.push(entity);
+        // Put the destroyed ID on top of the stack, so it is the next to be reused
+        entityGenerations[entity] = 0;
+        destroyedEntities[destroyedEntityCount++] = entity;
         livingEntityCount--;
     }
 
-    public void setSignature(int entity, BitSet signature) {
-        if (!isAlive(entity)) {
-            throw new IllegalStateException("Entity " + entity + " is not alive in the ECS.");
+    /**
+     * Widens every signature to hold the specified number of component types, if they cannot already.
+     *
+     * <h4>About</h4>
+     * This is called by {@link World#registerComponent(Class)}. Signatures start one word (64 component types) wide, so
+     * this only reallocates the signature table when registering the 65th, 129th, ... component type.
+     *
+     * @param componentTypeCount The number of registered component types.
+     * @author Andrew Dey
+     */
+    public void ensureComponentTypeCount(int componentTypeCount) {
+        int newWidth = ECSSignatures.wordsFor(componentTypeCount);
+        if (newWidth <= signatureWidth) {
+            return;
+        }
+
+        long[] newSignatures = new long[maxEntities * newWidth];
+        for (int entity = 0; entity < maxEntities; entity++) {
+            System.arraycopy(entitySignatures, entity * signatureWidth, newSignatures, entity * newWidth, signatureWidth);
         }
 
-        // Put this entity's signature into the array
-        entitySignatures[entity] = signature;
+        entitySignatures = newSignatures;
+        signatureWidth = newWidth;
     }
 
-    public BitSet getSignature(int entity) {
-        if (!isAlive(entity)) {
-            throw new IllegalStateException("Entity " + entity + " is not alive in the ECS.");
+    /**
+     * Sets the specified component type in the specified entity's signature.
+     *
+     * @param entity        The entity whose signature is to change.
+     * @param componentType The component type to set.
+     * @author Andrew Dey
+     */
+    public void addToSignature(int entity, int componentType) {
+        checkAlive(entity);
+        ECSSignatures.set(entitySignatures, entity * signatureWidth, componentType);
+    }
+
+    /**
+     * Clears the specified component type from the specified entity's signature.
+     *
+     * @param entity        The entity whose signature is to change.
+     * @param componentType The component type to clear.
+     * @author Andrew Dey
+     */
+    public void removeFromSignature(int entity, int componentType) {
+        checkAlive(entity);
+        ECSSignatures.clear(entitySignatures, entity * signatureWidth, componentType);
+    }
+
+    /**
+     * Checks whether the specified component type is set in the specified entity's signature.
+     *
+     * @param entity        The entity whose signature is to be checked.
+     * @param componentType The component type to check.
+     * @return Whether the entity has a component of the component type.
+     * @author Andrew Dey
+     */
+    public boolean hasComponentType(int entity, int componentType) {
+        checkAlive(entity);
+        return ECSSignatures.get(entitySignatures, entity * signatureWidth, signatureWidth, componentType);
+    }
+
+    /**
+     * Sets the specified entity's signature to a copy of the specified signature.
+     *
+     * @param entity    The entity whose signature is to be set.
+     * @param signature The signature to copy.
+     * @author Andrew Dey
+     */
+    public void setSignature(int entity, BitSet signature) {
+        checkAlive(entity);
+
+        int offset = entity * signatureWidth;
+        ECSSignatures.clearAll(entitySignatures, offset, signatureWidth);
+        for (int componentType = signature.nextSetBit(0); componentType >= 0; componentType = signature.nextSetBit(componentType + 1)) {
+            ECSSignatures.set(entitySignatures, offset, componentType);
         }
+    }
 
-        // Get this entity's signature from the array
-        return entitySignatures[entity];
+    /**
+     * Gets a copy of the specified entity's signature.
+     *
+     * <h4>About</h4>
+     * The copy is a new {@link BitSet}, which does not change with the entity. To check signatures without allocating,
+     * use {@link #hasComponentType(int, int)}, or read the signature table directly (see: {@link #getSignatureTable()}).
+     *
+     * @param entity The entity whose signature is to be copied.
+     * @return A copy of the entity's signature.
+     * @author Andrew Dey
+     */
+    public BitSet getSignature(int entity) {
+        checkAlive(entity);
+        return ECSSignatures.toBitSet(entitySignatures, entity * signatureWidth, signatureWidth);
+    }
+
+    /**
+     * Gets the table holding every entity's signature. The table is replaced when it is widened (see: {@link
+     * #ensureComponentTypeCount(int)}), so it should not be kept across component registrations.
+     *
+     * @return The signature table.
+     * @author Andrew Dey
+     */
+    public long[] getSignatureTable() {
+        return entitySignatures;
+    }
+
+    public int getSignatureWidth() {
+        return signatureWidth;
+    }
+
+    public int getSignatureOffset(int entity) {
+        return entity * signatureWidth;
     }
 
     public boolean isAlive(int entity) {
-        if (entity < 0 || entity > maxEntities) {
+        if (entity < 0 || entity >= maxEntities) {
             throw new IllegalStateException("Entity " + entity + " out of range.");
         }
 
-        for (int e : availableEntities) {
-            if (e == entity) {
-                return false;
-            }
+        return entityGenerations[entity] == generation;
+    }
+
+    /**
+     * Destroys every entity at once, making every ID available again.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#clear()}. Rather than visiting each living entity, the manager moves to
+     * a new generation, in which no entity is alive yet, and forgets its stack of destroyed IDs -- so IDs are handed out
+     * in the same order as by a new manager. Signatures are cleared as their IDs are reused.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        if (++generation == 0) {
+            // The generations have wrapped around, so old generations could be mistaken for the current one
+            Arrays.fill(entityGenerations, 0);
+            generation = 1;
         }
 
-        return true;
+        destroyedEntityCount = 0;
+        nextUnusedEntity = maxEntities - 1;
+        livingEntityCount = 0;
+    }
+
+    /**
+     * Adds entries for the entity signatures and the queue of unused IDs to the specified memory report.
+     * <p>
+     * Signatures count as used only for living entities, since the table holds a signature for every possible entity.
+     *
+     * @param report The report to add to.
+     * @author Andrew Dey
+     */
+    public void reportMemory(ECSMemoryReport report) {
+        reportSignatureMemory(report, getLivingEntityCount());
+
+        // The destroyed ID stack and the generations are fixed-size arrays, always in use
+        long freeListBytes = 2 * ECSMemoryEstimates.intArrayBytes(maxEntities);
+        report.add(ECSMemoryReport.freeListCategory, "Unused entity IDs", freeListBytes, freeListBytes);
+    }
+
+    /**
+     * Adds an entry for the signature table to the specified memory report.
+     *
+     * @param report            The report to add to.
+     * @param livingEntityCount The number of living entities, whose signatures are in use.
+     */
+    protected void reportSignatureMemory(ECSMemoryReport report, int livingEntityCount) {
+        long usedBytes = 8L * signatureWidth * livingEntityCount;
+        long reservedBytes = ECSMemoryEstimates.longArrayBytes(entitySignatures.length);
+        report.add(ECSMemoryReport.signaturesCategory, "Entity signatures", usedBytes, reservedBytes);
+    }
+
+    /**
+     * Clears the specified entity's signature, without checking whether it is alive.
+     *
+     * @param entity The entity whose signature is to be cleared.
+     */
+    protected void clearSignature(int entity) {
+        ECSSignatures.clearAll(entitySignatures, entity * signatureWidth, signatureWidth);
+    }
+
+    private void checkAlive(int entity) {
+        if (!isAlive(entity)) {
+            throw new IllegalStateException("Entity " + entity + " is not alive in the ECS.");
+        }
     }
 
     public int getLivingEntityCount() {
@@ -211,6 +411,10 @@ public class ECSEntityManager {
     }
 
     public int getAvailableEntityCount() {
-        return availableEntities.size();
+        return maxEntities - livingEntityCount;
+    }
+
+    public int getMaxEntities() {
+        return maxEntities;
     }
 }
@@ -0,0 +1,482 @@
+package io.github.lucasstarsz.slopeecs.entity;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import io.github.lucasstarsz.slopeecs.util.ECSMemoryEstimates;
+
+import java.util.Arrays;
+
+/**
+ * The manager of parent/child relationships between entities.
+ *
+ * <h2>About</h2>
+ * This class stores the hierarchy of entities (for example, a transform hierarchy) entirely in primitive arrays indexed
+ * by entity ID. Each entity's children are kept as an intrusive linked list ({@link #firstChildren}, {@link
+ * #nextSiblings}, {@link #previousSiblings}), so attaching and detaching a child never allocates.
+ * <p>
+ * On top of those links, the manager keeps a depth-first (pre-order) ordering of every entity taking part in a
+ * hierarchy. In that ordering, each entity is immediately followed by all of its descendants -- so every subtree is one
+ * contiguous range, and a parent always comes before its children. Iterating the ordering from front to back is exactly
+ * what top-down work such as transform propagation needs. The ordering is rebuilt lazily, only when it is requested
+ * after the hierarchy has changed.
+ * <p>
+ * Considering this manager only handles relationships, it is better to use the {@link World} class, which also
+ * destroys an entity's descendants when the entity itself is destroyed (see: {@link World#destroyEntity(int)}).
+ *
+ * @author Andrew Dey
+ */
+public class ECSHierarchyManager {
+
+    /** The value used in place of an entity ID when an entity has no parent, child, or sibling. */
+    public static final int noEntity = -1;
+
+    /** An empty array of entities, returned when a destroyed entity has no descendants. */
+    private static final int[] noEntities = new int[0];
+
+    /** The parent of each entity, or {@link #noEntity}. */
+    private final int[] parents;
+    /** The first child of each entity, or {@link #noEntity}. */
+    private final int[] firstChildren;
+    /** The next sibling of each entity, or {@link #noEntity}. */
+    private final int[] nextSiblings;
+    /** The previous sibling of each entity, or {@link #noEntity}. */
+    private final int[] previousSiblings;
+    /** The number of direct children of each entity. */
+    private final int[] childCounts;
+
+    /** The entities taking part in a hierarchy, in depth-first (pre-order) order. */
+    private final int[] depthFirstOrder;
+    /** The index of each entity in {@link #depthFirstOrder}. */
+    private final int[] depthFirstIndices;
+    /** The size of each entity's subtree, including the entity itself. */
+    private final int[] subtreeSizes;
+    /** The number of valid entries in {@link #depthFirstOrder}. */
+    private int depthFirstCount;
+    /** Whether {@link #depthFirstOrder} needs to be rebuilt before use. */
+    private boolean orderDirty;
+
+    /**
+     * The maximum number of entities allowed within the hierarchy manager.
+     *
+     * <h4>About</h4>
+     * This number is the same across all portions of the ECS. To change it, one must call {@link World#init(int)} and
+     * set the maximum number of entities manually. Doing this a second time during use of the ECS
+     * <strong>will</strong> remove any existing relationships, and invalidate entity IDs.
+     */
+    private final int maxEntities;
+
+    /**
+     * Constructs a hierarchy manager with the specified maximum entity count, where no entity has a parent.
+     *
+     * @param maxEntityCount The maximum amount of entities allowed within the hierarchy manager.
+     * @author Andrew Dey
+     */
+    public ECSHierarchyManager(int maxEntityCount) {
+        this.maxEntities = maxEntityCount;
+
+        parents = new int[maxEntities];
+        firstChildren = new int[maxEntities];
+        nextSiblings = new int[maxEntities];
+        previousSiblings = new int[maxEntities];
+        childCounts = new int[maxEntities];
+
+        depthFirstOrder = new int[maxEntities];
+        depthFirstIndices = new int[maxEntities];
+        subtreeSizes = new int[maxEntities];
+
+        Arrays.fill(parents, noEntity);
+        Arrays.fill(firstChildren, noEntity);
+        Arrays.fill(nextSiblings, noEntity);
+        Arrays.fill(previousSiblings, noEntity);
+    }
+
+    /**
+     * Sets the parent of the specified child entity, detaching it from its previous parent if it had one.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#setParent(int, int)}. For more information and example usages, see
+     * {@link World#setParent(int, int)}.
+     *
+     * @param child  The entity to set the parent of.
+     * @param parent The new parent entity.
+     * @author Andrew Dey
+     */
+    public void setParent(int child, int parent) {
+        checkRange(child);
+        checkRange(parent);
+
+        // Walk up from the new parent -- if we find the child, the change would create a cycle
+        for (int ancestor = parent; ancestor != noEntity; ancestor = parents[ancestor]) {
+            if (ancestor == child) {
+                throw new IllegalStateException("Entity " + parent + " cannot be the parent of its own ancestor " + child + ".");
+            }
+        }
+
+        if (parents[child] == parent) {
+            return;
+        }
+
+        detach(child);
+
+        // Link the child in at the front of the parent's children
+        int oldFirstChild = firstChildren[parent];
+        nextSiblings[child] = oldFirstChild;
+        if (oldFirstChild != noEntity) {
+            previousSiblings[oldFirstChild] = child;
+        }
+
+        firstChildren[parent] = child;
+        parents[child] = parent;
+        childCounts[parent]++;
+
+        orderDirty = true;
+    }
+
+    /**
+     * Removes the specified entity from its parent, if it has one. Its own children are left untouched.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#removeParent(int)}. For more information, see {@link
+     * World#removeParent(int)}.
+     *
+     * @param child The entity to remove from its parent.
+     * @author Andrew Dey
+     */
+    public void removeParent(int child) {
+        checkRange(child);
+
+        if (parents[child] != noEntity) {
+            detach(child);
+            orderDirty = true;
+        }
+    }
+
+    /**
+     * Removes the specified entity and all of its descendants from the hierarchy, returning the descendants.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#destroyEntity(int)}. The returned descendants are in depth-first order,
+     * and do not include the destroyed entity itself -- the {@code World} destroys each of them in the same pass.
+     * <p>
+     * The descendants are found by walking the entity's child and sibling links, so this costs time proportional to the
+     * size of the destroyed subtree, and never rebuilds the depth-first ordering. Destroying many entities in a row
+     * therefore stays cheap; the ordering is rebuilt once, the next time it is requested.
+     *
+     * @param entity The entity which was destroyed.
+     * @return The descendants of the destroyed entity, which need to be destroyed as well.
+     * @author Andrew Dey
+     */
+    public int[] entityDestroyed(int entity) {
+        checkRange(entity);
+
+        if (parents[entity] == noEntity && childCounts[entity] == 0) {
+            return noEntities;
+        }
+
+        int[] descendants = noEntities;
+        if (childCounts[entity] > 0) {
+            descendants = new int[collectDescendants(entity, null)];
+            collectDescendants(entity, descendants);
+        }
+
+        detach(entity);
+        reset(entity);
+        for (int descendant : descendants) {
+            reset(descendant);
+        }
+
+        orderDirty = true;
+        return descendants;
+    }
+
+    /**
+     * Removes every relationship, as part of {@link World#clear()}.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        Arrays.fill(parents, noEntity);
+        Arrays.fill(firstChildren, noEntity);
+        Arrays.fill(nextSiblings, noEntity);
+        Arrays.fill(previousSiblings, noEntity);
+        Arrays.fill(childCounts, 0);
+
+        orderDirty = true;
+    }
+
+    /**
+     * Gets the parent of the specified entity.
+     *
+     * @param entity The entity to get the parent of.
+     * @return The parent of the entity, or {@link #noEntity} if it has none.
+     * @author Andrew Dey
+     */
+    public int getParent(int entity) {
+        checkRange(entity);
+        return parents[entity];
+    }
+
+    /**
+     * Gets the number of direct children of the specified entity.
+     *
+     * @param entity The entity to get the child count of.
+     * @return The number of direct children of the entity.
+     * @author Andrew Dey
+     */
+    public int getChildCount(int entity) {
+        checkRange(entity);
+        return childCounts[entity];
+    }
+
+    /**
+     * Copies the direct children of the specified entity into the specified array, without allocating.
+     *
+     * @param entity   The entity to get the children of.
+     * @param children The array to copy the children into. It must be able to hold {@link #getChildCount(int)}
+     *                 entries.
+     * @return The number of children copied.
+     * @author Andrew Dey
+     */
+    public int getChildren(int entity, int[] children) {
+        checkRange(entity);
+
+        int count = 0;
+        for (int child = firstChildren[entity]; child != noEntity; child = nextSiblings[child]) {
+            children[count++] = child;
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the depth-first (pre-order) ordering of every entity taking part in a hierarchy.
+     *
+     * <h4>About</h4>
+     * Only the first {@link #getDepthFirstCount()} entries of the returned array are valid. Parents always appear
+     * before their children, and each entity's subtree is the contiguous range starting at {@link
+     * #getDepthFirstIndex(int)} with a length of {@link #getSubtreeSize(int)}.
+     * <p>
+     * The returned array is the manager's own storage, so it must not be modified. It stays valid until the hierarchy
+     * next changes.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume class TransformComponent exists, and world has entities with parents
+     * ECSHierarchyManager hierarchyManager = world.getHierarchyManager();
+     * int[] order = hierarchyManager.getDepthFirstOrder();
+     * int count = hierarchyManager.getDepthFirstCount();
+     *
+     * for (int i = 0; i < count; i++) {
+     *     int entity = order[i];
+     *     int parent = hierarchyManager.getParent(entity);
+     *     // the parent's transform has already been updated at this point
+     * }
+     * }</pre>
+     *
+     * @return The depth-first ordering of the hierarchy.
+     * @author Andrew Dey
+     */
+    public int[] getDepthFirstOrder() {
+        rebuildOrderIfDirty();
+        return depthFirstOrder;
+    }
+
+    /**
+     * Gets the number of entities taking part in a hierarchy -- that is, the entities that have a parent or children.
+     *
+     * @return The number of valid entries in {@link #getDepthFirstOrder()}.
+     * @author Andrew Dey
+     */
+    public int getDepthFirstCount() {
+        rebuildOrderIfDirty();
+        return depthFirstCount;
+    }
+
+    /**
+     * Gets the index of the specified entity within {@link #getDepthFirstOrder()}.
+     *
+     * @param entity The entity to get the index of. It must have a parent or children.
+     * @return The index of the entity within the depth-first ordering.
+     * @author Andrew Dey
+     */
+    public int getDepthFirstIndex(int entity) {
+        checkInHierarchy(entity);
+        rebuildOrderIfDirty();
+        return depthFirstIndices[entity];
+    }
+
+    /**
+     * Gets the size of the specified entity's subtree, including the entity itself.
+     *
+     * @param entity The entity to get the subtree size of. It must have a parent or children.
+     * @return The number of entries the entity's subtree spans in {@link #getDepthFirstOrder()}.
+     * @author Andrew Dey
+     */
+    public int getSubtreeSize(int entity) {
+        checkInHierarchy(entity);
+        rebuildOrderIfDirty();
+        return subtreeSizes[entity];
+    }
+
+    /**
+     * Adds an entry for the hierarchy's arrays to the specified memory report.
+     * <p>
+     * The arrays are allocated in full up front -- only the entries of entities which have a parent or children count
+     * as used.
+     *
+     * @param report The report to add to.
+     * @author Andrew Dey
+     */
+    public void reportMemory(ECSMemoryReport report) {
+        int relatedEntities = 0;
+        for (int entity = 0; entity < maxEntities; entity++) {
+            if (parents[entity] != noEntity || childCounts[entity] > 0) {
+                relatedEntities++;
+            }
+        }
+
+        int arrayCount = 8;
+        report.add(
+                ECSMemoryReport.hierarchyCategory,
+                "Relationships",
+                arrayCount * 4L * relatedEntities,
+                arrayCount * ECSMemoryEstimates.intArrayBytes(maxEntities)
+        );
+    }
+
+    /**
+     * Unlinks the specified entity from its parent's children, if it has a parent.
+     *
+     * @param child The entity to unlink.
+     */
+    private void detach(int child) {
+        int parent = parents[child];
+        if (parent == noEntity) {
+            return;
+        }
+
+        int previous = previousSiblings[child];
+        int next = nextSiblings[child];
+
+        if (previous != noEntity) {
+            nextSiblings[previous] = next;
+        } else {
+            firstChildren[parent] = next;
+        }
+
+        if (next != noEntity) {
+            previousSiblings[next] = previous;
+        }
+
+        parents[child] = noEntity;
+        nextSiblings[child] = noEntity;
+        previousSiblings[child] = noEntity;
+        childCounts[parent]--;
+    }
+
+    /**
+     * Clears all relationships of the specified entity, without updating its relatives.
+     *
+     * @param entity The entity to clear.
+     */
+    private void reset(int entity) {
+        parents[entity] = noEntity;
+        firstChildren[entity] = noEntity;
+        nextSiblings[entity] = noEntity;
+        previousSiblings[entity] = noEntity;
+        childCounts[entity] = 0;
+    }
+
+    /**
+     * Walks the descendants of the specified entity in depth-first (pre-order) order, using the sibling links.
+     *
+     * @param entity      The entity whose descendants are walked. It is not included itself.
+     * @param descendants The array to copy the descendants into, or null to only count them.
+     * @return The number of descendants.
+     */
+    private int collectDescendants(int entity, int[] descendants) {
+        int count = 0;
+        int node = firstChildren[entity];
+        while (node != noEntity) {
+            if (descendants != null) {
+                descendants[count] = node;
+            }
+            count++;
+
+            if (firstChildren[node] != noEntity) {
+                node = firstChildren[node];
+                continue;
+            }
+
+            // Climb back up until we reach a node with a sibling left to visit, stopping at the entity itself
+            while (node != entity && nextSiblings[node] == noEntity) {
+                node = parents[node];
+            }
+
+            node = node == entity ? noEntity : nextSiblings[node];
+        }
+
+        return count;
+    }
+
+    /** Rebuilds {@link #depthFirstOrder}, {@link #depthFirstIndices} and {@link #subtreeSizes} if needed. */
+    private void rebuildOrderIfDirty() {
+        if (!orderDirty) {
+            return;
+        }
+
+        int count = 0;
+        for (int root = 0; root < maxEntities; root++) {
+            if (parents[root] != noEntity || childCounts[root] == 0) {
+                continue;
+            }
+
+            // Walk the tree using the sibling links, so no stack is needed
+            int node = root;
+            while (node != noEntity) {
+                depthFirstOrder[count] = node;
+                depthFirstIndices[node] = count;
+                count++;
+
+                if (firstChildren[node] != noEntity) {
+                    node = firstChildren[node];
+                    continue;
+                }
+
+                // Close finished subtrees until we reach one with a sibling left to visit
+                while (true) {
+                    subtreeSizes[node] = count - depthFirstIndices[node];
+
+                    if (node == root) {
+                        node = noEntity;
+                        break;
+                    }
+
+                    if (nextSiblings[node] != noEntity) {
+                        node = nextSiblings[node];
+                        break;
+                    }
+
+                    node = parents[node];
+                }
+            }
+        }
+
+        depthFirstCount = count;
+        orderDirty = false;
+    }
+
+    private void checkRange(int entity) {
+        if (entity < 0 || entity >= maxEntities) {
+            throw new IllegalStateException("Entity " + entity + " out of range.");
+        }
+    }
+
+    private void checkInHierarchy(int entity) {
+        checkRange(entity);
+
+        if (parents[entity] == noEntity && childCounts[entity] == 0) {
+            throw new IllegalStateException("Entity " + entity + " has no parent or children.");
+        }
+    }
+}
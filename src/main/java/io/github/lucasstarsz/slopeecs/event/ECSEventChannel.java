@@ -0,0 +1,230 @@
+package io.github.lucasstarsz.slopeecs.event;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import io.github.lucasstarsz.slopeecs.util.ECSDefaults;
+import io.github.lucasstarsz.slopeecs.util.ECSMemoryEstimates;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A typed queue of events, published by some systems and read by others.
+ *
+ * <h2>About</h2>
+ * Sending an event by creating a short-lived entity with an event component changes signatures, system memberships and
+ * component storage every time. An event channel avoids all of that: events are plain objects kept in two reusable
+ * arrays, and publishing an event only hands out the next object in the current array.
+ * <ul>
+ *     <li><strong>Event objects are reused.</strong> {@link #publish()} returns an object created by the channel's
+ *     factory the first time its slot is used, and the same object again every time the slot is reused -- so the
+ *     publisher must set every field of it. Once the arrays have grown to the number of events published per tick,
+ *     publishing allocates nothing.</li>
+ *     <li><strong>Events are double-buffered.</strong> {@link #update()}, called by {@link World#update()} after every
+ *     system has updated, moves the current tick's events into the previous buffer and empties the buffer they were
+ *     in. Events therefore stay readable until the end of the following tick, so a reader sees every event once no
+ *     matter whether its system runs before or after the publishing system.</li>
+ *     <li><strong>Readers are independent.</strong> Each {@link ECSEventReader} keeps its own cursor into the channel,
+ *     so any number of systems can read the same events without consuming them for each other.</li>
+ * </ul>
+ * Every event is numbered, starting at 0, in the order it was published; a reader's cursor is the number of the next
+ * event it will read. Event channels are not thread-safe -- publish and read events from the thread updating the world.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class CollisionEvent exists, with int fields first and second
+ * ECSEventChannel<CollisionEvent> collisions = world.registerEventChannel(CollisionEvent.class, CollisionEvent::new);
+ *
+ * // in the collision system
+ * CollisionEvent collision = collisions.publish();
+ * collision.first = entity;
+ * collision.second = other;
+ *
+ * // in the damage system, which created its reader once with collisions.createReader()
+ * while (reader.hasNext()) {
+ *     CollisionEvent event = reader.next();
+ *     // handle the collision
+ * }
+ * }</pre>
+ *
+ * @param <E> The class of the channel's events.
+ * @author Andrew Dey
+ */
+public class ECSEventChannel<E> {
+
+    /** The class of the channel's events. */
+    private final Class<E> eventClass;
+    /** The factory creating each event object, the first time its slot is used. */
+    private final Supplier<? extends E> eventFactory;
+
+    /** The events published during the previous tick, followed by reusable objects. */
+    private E[] previousEvents;
+    /** The number of events in {@link #previousEvents}. */
+    private int previousCount;
+    /** The events published during the current tick, followed by reusable objects. */
+    private E[] currentEvents;
+    /** The number of events in {@link #currentEvents}. */
+    private int currentCount;
+    /** The number of the first event in {@link #previousEvents}, which is also the oldest event still readable. */
+    private long previousStart;
+
+    /**
+     * Constructs an event channel with the default initial capacity, as {@link ECSDefaults#defaultEventCapacity}.
+     *
+     * @param eventClass   The class of the channel's events.
+     * @param eventFactory The factory creating each event object.
+     * @author Andrew Dey
+     */
+    public ECSEventChannel(Class<E> eventClass, Supplier<? extends E> eventFactory) {
+        this(eventClass, eventFactory, ECSDefaults.defaultEventCapacity);
+    }
+
+    /**
+     * Constructs an event channel with the specified initial capacity.
+     *
+     * <h4>About</h4>
+     * Each of the channel's two buffers starts with room for {@code initialCapacity} events, and doubles whenever it is
+     * full. The capacity must be at least 1.
+     *
+     * @param eventClass      The class of the channel's events.
+     * @param eventFactory    The factory creating each event object.
+     * @param initialCapacity The number of events each buffer can hold before it grows.
+     * @author Andrew Dey
+     */
+    @SuppressWarnings("unchecked")
+    public ECSEventChannel(Class<E> eventClass, Supplier<? extends E> eventFactory, int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalStateException("Event capacity must be at least 1.");
+        }
+
+        this.eventClass = eventClass;
+        this.eventFactory = eventFactory;
+        this.previousEvents = (E[]) new Object[initialCapacity];
+        this.currentEvents = (E[]) new Object[initialCapacity];
+    }
+
+    /**
+     * Publishes an event, returning the event object to fill in.
+     *
+     * <h4>About</h4>
+     * The returned object may have been used for an earlier event, and still hold that event's values -- set every
+     * field of it before the event is read. The event can be read as soon as this method returns.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * CollisionEvent collision = collisions.publish();
+     * collision.first = entity;
+     * collision.second = other;
+     * }</pre>
+     *
+     * @return The object of the published event.
+     * @author Andrew Dey
+     */
+    public E publish() {
+        if (currentCount == currentEvents.length) {
+            currentEvents = Arrays.copyOf(currentEvents, currentEvents.length * 2);
+        }
+
+        E event = currentEvents[currentCount];
+        if (event == null) {
+            event = eventFactory.get();
+            currentEvents[currentCount] = event;
+        }
+
+        currentCount++;
+        return event;
+    }
+
+    /**
+     * Creates a reader which starts at the oldest event still in the channel.
+     *
+     * <h4>About</h4>
+     * A reader created during a tick therefore also reads the events of the previous tick. To only read events published
+     * from now on, call {@link ECSEventReader#skipAll()} on the new reader.
+     *
+     * @return The new reader.
+     * @author Andrew Dey
+     */
+    public ECSEventReader<E> createReader() {
+        return new ECSEventReader<>(this, previousStart);
+    }
+
+    /**
+     * Ends the current tick, discarding the previous tick's events and keeping the current tick's events readable for
+     * one more tick.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#update()} after every system has updated, through {@link
+     * ECSEventManager#update()}. The two buffers are swapped, so no event objects are created or discarded.
+     *
+     * @author Andrew Dey
+     */
+    public void update() {
+        E[] emptiedEvents = previousEvents;
+
+        previousStart += previousCount;
+        previousEvents = currentEvents;
+        previousCount = currentCount;
+        currentEvents = emptiedEvents;
+        currentCount = 0;
+    }
+
+    /**
+     * Discards every event in the channel, keeping the event objects for reuse.
+     *
+     * <h4>About</h4>
+     * Event numbers keep counting up, so readers simply find nothing left to read -- unread events are counted in each
+     * reader's {@link ECSEventReader#getMissedEventCount()}.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        previousStart += previousCount + currentCount;
+        previousCount = 0;
+        currentCount = 0;
+    }
+
+    /**
+     * Adds an entry for the channel's two buffers to the specified memory report.
+     *
+     * @param report The report to add to.
+     * @author Andrew Dey
+     */
+    public void reportMemory(ECSMemoryReport report) {
+        long usedBytes = ECSMemoryEstimates.referenceBytes(previousCount + currentCount);
+        long reservedBytes = ECSMemoryEstimates.referenceArrayBytes(previousEvents.length)
+                + ECSMemoryEstimates.referenceArrayBytes(currentEvents.length);
+
+        report.add(ECSMemoryReport.eventsCategory, eventClass.getTypeName(), usedBytes, reservedBytes);
+    }
+
+    /**
+     * Gets the event with the specified number, which must be readable.
+     *
+     * @param sequence The number of the event, between {@link #getOldestSequence()} (inclusive) and {@link
+     *                 #getNextSequence()} (exclusive).
+     * @return The event.
+     */
+    E getEvent(long sequence) {
+        int index = (int) (sequence - previousStart);
+        return index < previousCount ? previousEvents[index] : currentEvents[index - previousCount];
+    }
+
+    public Class<E> getEventClass() {
+        return eventClass;
+    }
+
+    public int getEventCount() {
+        return previousCount + currentCount;
+    }
+
+    /** Gets the number of the oldest event still in the channel. */
+    public long getOldestSequence() {
+        return previousStart;
+    }
+
+    /** Gets the number the next published event will have. */
+    public long getNextSequence() {
+        return previousStart + previousCount + currentCount;
+    }
+}
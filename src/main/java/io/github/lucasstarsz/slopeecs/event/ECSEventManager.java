@@ -0,0 +1,115 @@
+package io.github.lucasstarsz.slopeecs.event;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The manager of event channels.
+ *
+ * <h2>About</h2>
+ * This class holds one {@link ECSEventChannel} per event class, and ends the tick of every channel at once. As with the
+ * other managers, it is better to use the {@link World} class than to use this manager directly.
+ *
+ * @author Andrew Dey
+ */
+public class ECSEventManager {
+
+    /** Mapping from class string to an event channel. */
+    private final Map<String, ECSEventChannel<?>> channels = new HashMap<>();
+    /** The channels, in registration order, for updating without going through {@link #channels}. */
+    private ECSEventChannel<?>[] channelArray = new ECSEventChannel<?>[0];
+
+    /**
+     * Registers an event channel for the specified event class, returning the new channel.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#registerEventChannel(Class, Supplier)}. For more information, see
+     * {@link World#registerEventChannel(Class, Supplier)}.
+     *
+     * @param eventClass   The class of the channel's events.
+     * @param eventFactory The factory creating each event object.
+     * @param <E>          The generic type of the channel's events.
+     * @return The new event channel.
+     * @author Andrew Dey
+     */
+    public <E> ECSEventChannel<E> registerChannel(Class<E> eventClass, Supplier<? extends E> eventFactory) {
+        String typeName = eventClass.getTypeName();
+
+        if (channels.get(typeName) != null) {
+            throw new IllegalStateException("Event type " + typeName + " was registered more than once.");
+        }
+
+        ECSEventChannel<E> channel = new ECSEventChannel<>(eventClass, eventFactory);
+        channels.put(typeName, channel);
+
+        channelArray = Arrays.copyOf(channelArray, channelArray.length + 1);
+        channelArray[channelArray.length - 1] = channel;
+
+        return channel;
+    }
+
+    /**
+     * Gets the event channel of the specified event class.
+     *
+     * <h4>About</h4>
+     * If no channel is registered for the event class, an {@link IllegalStateException} will be thrown.
+     *
+     * @param eventClass The class of the channel's events.
+     * @param <E>        The generic type of the channel's events.
+     * @return The requested event channel.
+     * @author Andrew Dey
+     */
+    @SuppressWarnings("unchecked")
+    public <E> ECSEventChannel<E> getChannel(Class<E> eventClass) {
+        ECSEventChannel<E> channel = (ECSEventChannel<E>) channels.get(eventClass.getTypeName());
+
+        if (channel == null) {
+            throw new IllegalStateException("Event type " + eventClass.getTypeName() + " was used before it was registered.");
+        }
+
+        return channel;
+    }
+
+    /**
+     * Ends the current tick of every channel (see: {@link ECSEventChannel#update()}).
+     *
+     * @author Andrew Dey
+     */
+    public void update() {
+        for (ECSEventChannel<?> channel : channelArray) {
+            channel.update();
+        }
+    }
+
+    /**
+     * Discards the events of every channel, as part of {@link World#clear()}.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        for (ECSEventChannel<?> channel : channelArray) {
+            channel.clear();
+        }
+    }
+
+    /**
+     * Adds an entry for each channel to the specified memory report.
+     *
+     * @param report The report to add to.
+     * @author Andrew Dey
+     */
+    public void reportMemory(ECSMemoryReport report) {
+        for (ECSEventChannel<?> channel : channelArray) {
+            channel.reportMemory(report);
+        }
+    }
+
+    public int getChannelCount() {
+        return channelArray.length;
+    }
+}
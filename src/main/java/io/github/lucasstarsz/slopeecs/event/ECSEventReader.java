@@ -0,0 +1,103 @@
+package io.github.lucasstarsz.slopeecs.event;
+
+/**
+ * A reader of an {@link ECSEventChannel}, with its own cursor.
+ *
+ * <h2>About</h2>
+ * Each reader remembers the number of the next event it will read, so readers of the same channel never affect each
+ * other. Reading allocates nothing:
+ * <pre>{@code
+ * // created once, for example when the system is constructed
+ * ECSEventReader<CollisionEvent> reader = collisions.createReader();
+ *
+ * // every update
+ * while (reader.hasNext()) {
+ *     CollisionEvent event = reader.next();
+ *     // handle the collision
+ * }
+ * }</pre>
+ * Events only stay in the channel until the end of the tick after they were published (see: {@link
+ * ECSEventChannel#update()}). A reader which is not read for longer than that skips the events it missed, and counts
+ * them in {@link #getMissedEventCount()}.
+ * <p>
+ * The event objects returned by {@link #next()} are reused by the channel once they are discarded, so they should not
+ * be kept past the end of the next tick.
+ *
+ * @param <E> The class of the channel's events.
+ * @author Andrew Dey
+ */
+public class ECSEventReader<E> {
+
+    /** The channel being read. */
+    private final ECSEventChannel<E> channel;
+    /** The number of the next event to read. */
+    private long cursor;
+    /** The number of events discarded by the channel before this reader read them. */
+    private long missedEventCount;
+
+    ECSEventReader(ECSEventChannel<E> channel, long cursor) {
+        this.channel = channel;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Checks whether there is an event this reader has not read yet.
+     *
+     * @return Whether {@link #next()} can be called.
+     * @author Andrew Dey
+     */
+    public boolean hasNext() {
+        skipDiscardedEvents();
+        return cursor < channel.getNextSequence();
+    }
+
+    /**
+     * Reads the next event, moving the cursor past it.
+     *
+     * <h4>About</h4>
+     * If there are no unread events, an {@link IllegalStateException} will be thrown -- check with {@link #hasNext()}
+     * first.
+     *
+     * @return The next event.
+     * @author Andrew Dey
+     */
+    public E next() {
+        if (!hasNext()) {
+            throw new IllegalStateException("There are no unread events of type " + channel.getEventClass().getTypeName() + ".");
+        }
+
+        return channel.getEvent(cursor++);
+    }
+
+    /**
+     * Moves the cursor past every event currently in the channel, without reading them.
+     *
+     * @author Andrew Dey
+     */
+    public void skipAll() {
+        cursor = channel.getNextSequence();
+    }
+
+    public int getUnreadCount() {
+        skipDiscardedEvents();
+        return (int) (channel.getNextSequence() - cursor);
+    }
+
+    public long getMissedEventCount() {
+        skipDiscardedEvents();
+        return missedEventCount;
+    }
+
+    public ECSEventChannel<E> getChannel() {
+        return channel;
+    }
+
+    /** Moves the cursor up to the oldest event in the channel, counting the events skipped over. */
+    private void skipDiscardedEvents() {
+        long oldest = channel.getOldestSequence();
+        if (cursor < oldest) {
+            missedEventCount += oldest - cursor;
+            cursor = oldest;
+        }
+    }
+}
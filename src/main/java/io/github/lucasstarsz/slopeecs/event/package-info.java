@@ -0,0 +1,7 @@
+/**
+ * The package where event channels between systems are found.
+ * <p>
+ * An event channel holds reusable event objects of a single class, and is read through any number of independent
+ * readers -- so systems can send each other events without creating entities or components.
+ */
+package io.github.lucasstarsz.slopeecs.event;
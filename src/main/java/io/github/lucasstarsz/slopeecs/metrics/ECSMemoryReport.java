@@ -0,0 +1,164 @@
+package io.github.lucasstarsz.slopeecs.metrics;
+
+import io.github.lucasstarsz.slopeecs.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An estimate of the heap memory used by a {@link World}.
+ *
+ * <h2>About</h2>
+ * A memory report is a list of entries, each naming a part of the world's storage and estimating two amounts:
+ * <ul>
+ *     <li>The <strong>reserved</strong> bytes: everything the part has allocated, including capacity which is not in
+ *     use yet.</li>
+ *     <li>The <strong>used</strong> bytes: the portion of the reserved bytes which holds live data.</li>
+ * </ul>
+ * Entries are grouped into categories -- component storage (one entry per component type), signatures, free lists,
+ * system memberships (one entry per system), the hierarchy, the spatial index if one is enabled, and event channels (one
+ * entry per channel).
+ * <p>
+ * All amounts are estimates, based on the usual object layout of a 64-bit JVM with compressed object pointers. Only
+ * the ECS's own storage is counted -- the component objects themselves are not, since their size depends entirely on
+ * their classes.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * ECSMemoryReport report = world.memoryReport();
+ * System.out.println("Reserved: " + report.getReservedBytes() + " bytes");
+ * System.out.println("Component storage used: " + report.getUsedBytes(ECSMemoryReport.componentStorageCategory) + " bytes");
+ * System.out.println(report); // prints a table of every entry
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class ECSMemoryReport {
+
+    public static final String componentStorageCategory = "Component storage";
+    public static final String signaturesCategory = "Signatures";
+    public static final String freeListCategory = "Free list";
+    public static final String systemMembershipCategory = "System membership";
+    public static final String hierarchyCategory = "Hierarchy";
+    public static final String spatialIndexCategory = "Spatial index";
+    public static final String eventsCategory = "Events";
+
+    /** The entries of the report, in the order they were added. */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Adds an entry to the report.
+     *
+     * @param category      The category of the entry.
+     * @param name          The name of the entry within its category.
+     * @param usedBytes     The estimated bytes holding live data.
+     * @param reservedBytes The estimated bytes allocated in total.
+     * @author Andrew Dey
+     */
+    public void add(String category, String name, long usedBytes, long reservedBytes) {
+        entries.add(new Entry(category, name, usedBytes, reservedBytes));
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public long getUsedBytes() {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.usedBytes;
+        }
+
+        return total;
+    }
+
+    public long getReservedBytes() {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.reservedBytes;
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the estimated bytes holding live data, across every entry in the specified category.
+     *
+     * @param category The category to total.
+     * @return The total used bytes of the category.
+     * @author Andrew Dey
+     */
+    public long getUsedBytes(String category) {
+        long total = 0;
+        for (Entry entry : entries) {
+            if (entry.category.equals(category)) {
+                total += entry.usedBytes;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the estimated bytes allocated, across every entry in the specified category.
+     *
+     * @param category The category to total.
+     * @return The total reserved bytes of the category.
+     * @author Andrew Dey
+     */
+    public long getReservedBytes(String category) {
+        long total = 0;
+        for (Entry entry : entries) {
+            if (entry.category.equals(category)) {
+                total += entry.reservedBytes;
+            }
+        }
+
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("%-20s %-50s %14s %14s%n", "Category", "Name", "Used (bytes)", "Reserved (bytes)"));
+
+        for (Entry entry : entries) {
+            result.append(String.format("%-20s %-50s %14d %14d%n", entry.category, entry.name, entry.usedBytes, entry.reservedBytes));
+        }
+
+        result.append(String.format("%-20s %-50s %14d %14d%n", "Total", "", getUsedBytes(), getReservedBytes()));
+        return result.toString();
+    }
+
+    /** A single entry of a memory report. */
+    public static class Entry {
+        private final String category;
+        private final String name;
+        private final long usedBytes;
+        private final long reservedBytes;
+
+        private Entry(String category, String name, long usedBytes, long reservedBytes) {
+            this.category = category;
+            this.name = name;
+            this.usedBytes = usedBytes;
+            this.reservedBytes = reservedBytes;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getUsedBytes() {
+            return usedBytes;
+        }
+
+        public long getReservedBytes() {
+            return reservedBytes;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.lucasstarsz.slopeecs.metrics;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The opt-in metrics of a {@link World}: per-system update timings, and counts of structural changes.
+ *
+ * <h2>About</h2>
+ * Metrics are disabled by default. When disabled, the {@code World} and its managers skip all recording behind a
+ * single null check. Once enabled through {@link World#enableMetrics()}, the following is recorded:
+ * <ul>
+ *     <li>The duration of each system update run by {@link World#update()}, and the entity count of the system at
+ *     that time (see: {@link ECSSystemMetrics}).</li>
+ *     <li>The number of entities created and destroyed.</li>
+ *     <li>The number of components added and removed.</li>
+ *     <li>The number of times a system's signature was evaluated against a changed entity signature.</li>
+ * </ul>
+ * Each count is also available as a rate per second, measured from when the metrics were enabled or last reset.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class SomeSystem exists, and is registered in world
+ * ECSMetrics metrics = world.enableMetrics();
+ *
+ * world.update();
+ *
+ * ECSSystemMetrics someSystemMetrics = metrics.getSystemMetrics(SomeSystem.class);
+ * System.out.println("SomeSystem p99: " + someSystemMetrics.getP99Nanos() + "ns");
+ * System.out.println("Entities created per second: " + metrics.getEntitiesCreatedPerSecond());
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class ECSMetrics {
+
+    /** The map of the metrics of each system. */
+    private final Map<String, ECSSystemMetrics> systemMetrics = new HashMap<>();
+
+    private long entitiesCreated;
+    private long entitiesDestroyed;
+    private long componentsAdded;
+    private long componentsRemoved;
+    private long signatureEvaluations;
+
+    /** The time the metrics were enabled or last reset, in nanoseconds. */
+    private long startNanos = System.nanoTime();
+
+    /**
+     * Records a single update of the specified system.
+     *
+     * @param system        The system which was updated.
+     * @param durationNanos The duration of the update, in nanoseconds.
+     * @author Andrew Dey
+     */
+    public void systemUpdated(ECSSystem system, long durationNanos) {
+        systemMetrics.computeIfAbsent(system.getClass().getTypeName(), typeName -> new ECSSystemMetrics())
+                .recordUpdate(system, durationNanos);
+    }
+
+    public void entityCreated() {
+        entitiesCreated++;
+    }
+
+    public void entityDestroyed() {
+        entitiesDestroyed++;
+    }
+
+    public void entitiesDestroyed(int count) {
+        entitiesDestroyed += count;
+    }
+
+    public void componentAdded() {
+        componentsAdded++;
+    }
+
+    public void componentRemoved() {
+        componentsRemoved++;
+    }
+
+    /**
+     * Records the evaluation of system signatures against a changed entity signature.
+     *
+     * @param systemCount The number of system signatures which were evaluated.
+     * @author Andrew Dey
+     */
+    public void signaturesEvaluated(int systemCount) {
+        signatureEvaluations += systemCount;
+    }
+
+    /**
+     * Gets the metrics of the system with the specified class.
+     *
+     * @param systemClass The class of the system to get the metrics of.
+     * @param <T>         The generic type of the system. Uses of {@code T} must extend {@code ECSSystem}.
+     * @return The system's metrics. If the system has not been updated since metrics were enabled or reset, all of its
+     * values are 0.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> ECSSystemMetrics getSystemMetrics(Class<T> systemClass) {
+        return systemMetrics.computeIfAbsent(systemClass.getTypeName(), typeName -> new ECSSystemMetrics());
+    }
+
+    /**
+     * Clears every recorded value, and restarts the time window used for rates.
+     *
+     * @author Andrew Dey
+     */
+    public void reset() {
+        for (ECSSystemMetrics metrics : systemMetrics.values()) {
+            metrics.reset();
+        }
+
+        entitiesCreated = 0;
+        entitiesDestroyed = 0;
+        componentsAdded = 0;
+        componentsRemoved = 0;
+        signatureEvaluations = 0;
+        startNanos = System.nanoTime();
+    }
+
+    public long getEntitiesCreated() {
+        return entitiesCreated;
+    }
+
+    public long getEntitiesDestroyed() {
+        return entitiesDestroyed;
+    }
+
+    public long getComponentsAdded() {
+        return componentsAdded;
+    }
+
+    public long getComponentsRemoved() {
+        return componentsRemoved;
+    }
+
+    public long getSignatureEvaluations() {
+        return signatureEvaluations;
+    }
+
+    public double getEntitiesCreatedPerSecond() {
+        return perSecond(entitiesCreated);
+    }
+
+    public double getEntitiesDestroyedPerSecond() {
+        return perSecond(entitiesDestroyed);
+    }
+
+    public double getComponentsAddedPerSecond() {
+        return perSecond(componentsAdded);
+    }
+
+    public double getComponentsRemovedPerSecond() {
+        return perSecond(componentsRemoved);
+    }
+
+    public double getSignatureEvaluationsPerSecond() {
+        return perSecond(signatureEvaluations);
+    }
+
+    /** Converts the specified count to a rate over the time since the metrics were enabled or last reset. */
+    private double perSecond(long count) {
+        long elapsedNanos = Math.max(1L, System.nanoTime() - startNanos);
+        return count * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.lucasstarsz.slopeecs.metrics;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+
+import java.util.Arrays;
+
+/**
+ * The update timings and entity count recorded for a single system.
+ *
+ * <h2>About</h2>
+ * Each time its system is updated by {@link io.github.lucasstarsz.slopeecs.World#update()}, the duration of the update
+ * is recorded here. The minimum, maximum and average cover every update since the metrics were last reset, while the
+ * 99th percentile covers the most recent {@link #sampleWindow} updates.
+ *
+ * @author Andrew Dey
+ */
+public class ECSSystemMetrics {
+
+    /** The amount of recent update durations kept for percentile calculations. */
+    public static final int sampleWindow = 1024;
+
+    /** The most recent update durations in nanoseconds, as a ring buffer. */
+    private final long[] samples = new long[sampleWindow];
+    /** The index in {@link #samples} to write the next duration to. */
+    private int nextSample;
+
+    private long updateCount;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+    private int lastEntityCount;
+
+    /**
+     * Records a single update of the system.
+     *
+     * @param system        The system which was updated.
+     * @param durationNanos  The duration of the update, in nanoseconds.
+     * @author Andrew Dey
+     */
+    void recordUpdate(ECSSystem system, long durationNanos) {
+        samples[nextSample] = durationNanos;
+        nextSample = (nextSample + 1) % sampleWindow;
+
+        updateCount++;
+        totalNanos += durationNanos;
+        minNanos = Math.min(minNanos, durationNanos);
+        maxNanos = Math.max(maxNanos, durationNanos);
+        lastEntityCount = system.getEntityCount();
+    }
+
+    /** Clears every recorded value. */
+    void reset() {
+        nextSample = 0;
+        updateCount = 0;
+        totalNanos = 0;
+        minNanos = Long.MAX_VALUE;
+        maxNanos = 0;
+        lastEntityCount = 0;
+    }
+
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * Gets the shortest recorded update duration.
+     *
+     * @return The shortest update duration in nanoseconds, or 0 if the system has not been updated.
+     * @author Andrew Dey
+     */
+    public long getMinNanos() {
+        return updateCount == 0 ? 0 : minNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Gets the average recorded update duration.
+     *
+     * @return The average update duration in nanoseconds, or 0 if the system has not been updated.
+     * @author Andrew Dey
+     */
+    public double getAverageNanos() {
+        return updateCount == 0 ? 0 : (double) totalNanos / updateCount;
+    }
+
+    /**
+     * Gets the 99th percentile of the most recent update durations.
+     *
+     * <h4>About</h4>
+     * This is computed on request from the last {@link #sampleWindow} updates, so it reflects recent behavior rather
+     * than the whole run.
+     *
+     * @return The 99th percentile update duration in nanoseconds, or 0 if the system has not been updated.
+     * @author Andrew Dey
+     */
+    public long getP99Nanos() {
+        int sampleCount = (int) Math.min(updateCount, sampleWindow);
+        if (sampleCount == 0) {
+            return 0;
+        }
+
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sampleCount * 0.99) - 1];
+    }
+
+    /**
+     * Gets the number of entities the system contained at its most recent update.
+     *
+     * @return The system's entity count at its last update.
+     * @author Andrew Dey
+     */
+    public int getLastEntityCount() {
+        return lastEntityCount;
+    }
+}
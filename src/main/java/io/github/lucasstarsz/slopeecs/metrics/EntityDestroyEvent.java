@@ -0,0 +1,28 @@
+package io.github.lucasstarsz.slopeecs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event covering a single call to {@link io.github.lucasstarsz.slopeecs.World#destroyEntity(int)},
+ * including the descendants destroyed along with the entity.
+ *
+ * @author Andrew Dey
+ */
+@Name("slopeecs.EntityDestroy")
+@Label("Entity Destroy")
+@Category("Slope-ECS")
+@Description("The destruction of an entity, and of its descendants.")
+public class EntityDestroyEvent extends Event {
+
+    @Label("Destroyed Count")
+    @Description("The number of entities destroyed, including descendants.")
+    public int destroyedCount;
+
+    @Label("Living Entity Count")
+    @Description("The number of living entities after the destruction.")
+    public int livingEntityCount;
+}
@@ -0,0 +1,28 @@
+package io.github.lucasstarsz.slopeecs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event covering a bulk spawn of entities, through {@link
+ * io.github.lucasstarsz.slopeecs.World#createEntities(int[])}.
+ *
+ * @author Andrew Dey
+ */
+@Name("slopeecs.EntitySpawn")
+@Label("Entity Spawn")
+@Category("Slope-ECS")
+@Description("The creation of many entities at once.")
+public class EntitySpawnEvent extends Event {
+
+    @Label("Spawned Count")
+    @Description("The number of entities created.")
+    public int spawnedCount;
+
+    @Label("Living Entity Count")
+    @Description("The number of living entities after the spawn.")
+    public int livingEntityCount;
+}
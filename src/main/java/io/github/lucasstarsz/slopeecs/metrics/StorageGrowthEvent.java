@@ -0,0 +1,34 @@
+package io.github.lucasstarsz.slopeecs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event covering the allocation or growth of a component storage.
+ *
+ * @author Andrew Dey
+ */
+@Name("slopeecs.StorageGrowth")
+@Label("Storage Growth")
+@Category("Slope-ECS")
+@Description("The allocation or growth of the storage for a component type.")
+public class StorageGrowthEvent extends Event {
+
+    @Label("Component Class")
+    public String componentClass;
+
+    @Label("Old Capacity")
+    @Description("The number of component slots before the growth.")
+    public int oldCapacity;
+
+    @Label("New Capacity")
+    @Description("The number of component slots after the growth.")
+    public int newCapacity;
+
+    @Label("Registered Component Count")
+    @Description("The number of component types registered in the world.")
+    public int registeredComponentCount;
+}
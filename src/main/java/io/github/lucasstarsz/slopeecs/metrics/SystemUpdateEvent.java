@@ -0,0 +1,26 @@
+package io.github.lucasstarsz.slopeecs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event covering a single system update, run by {@link io.github.lucasstarsz.slopeecs.World#update()}.
+ *
+ * @author Andrew Dey
+ */
+@Name("slopeecs.SystemUpdate")
+@Label("System Update")
+@Category("Slope-ECS")
+@Description("The update of a single system during a world update.")
+public class SystemUpdateEvent extends Event {
+
+    @Label("System Class")
+    public String systemClass;
+
+    @Label("Entity Count")
+    @Description("The number of entities in the system.")
+    public int entityCount;
+}
@@ -0,0 +1,8 @@
+/**
+ * The package where opt-in instrumentation of the ECS is found.
+ * <p>
+ * Metrics are disabled by default. To enable them, see
+ * {@link io.github.lucasstarsz.slopeecs.World#enableMetrics()}. This package also contains the Java Flight Recorder
+ * events emitted by the ECS, which are only committed while a recording has them enabled.
+ */
+package io.github.lucasstarsz.slopeecs.metrics;
@@ -0,0 +1,43 @@
+package io.github.lucasstarsz.slopeecs.replication;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A replication transport within a single process, backed by a queue.
+ *
+ * <h2>About</h2>
+ * Each batch sent is copied into the queue, and received in the order it was sent. The leader and follower may be on
+ * different threads.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * ECSQueueTransport transport = new ECSQueueTransport();
+ * leaderWorld.enableReplication().addSink(transport);
+ *
+ * // on the follower's thread
+ * follower.poll(transport);
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class ECSQueueTransport implements IReplicationSink, IReplicationSource {
+
+    private final Queue<byte[]> batches = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void send(byte[] batch, int length) {
+        batches.add(Arrays.copyOf(batch, length));
+    }
+
+    @Override
+    public byte[] receive() {
+        return batches.poll();
+    }
+
+    /** Gets the number of batches sent but not yet received. */
+    public int getPendingBatchCount() {
+        return batches.size();
+    }
+}
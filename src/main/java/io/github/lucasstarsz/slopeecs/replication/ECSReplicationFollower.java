@@ -0,0 +1,275 @@
+package io.github.lucasstarsz.slopeecs.replication;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.component.ECSComponentArray;
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.lucasstarsz.slopeecs.replication.ECSReplicationProtocol.*;
+
+/**
+ * The follower's end of replication, which applies a leader's batches to a follower world.
+ *
+ * <h2>About</h2>
+ * Batches are applied straight to the follower's world -- entities are created and destroyed, and components added,
+ * overwritten and removed -- so the follower's systems gain and lose entities as they would on the leader, but are
+ * never run by the follower. Whether and when to run them (for example, only rendering systems on a spectator) is up to
+ * the follower's owner.
+ * <p>
+ * Entity IDs on the follower may differ from the leader's, since the follower may have been joined mid-game; use {@link
+ * #getLocalEntity(int)} to find the follower's entity for a leader's entity. The follower's world must be able to hold
+ * as many entities as the leader's, and must have a codec registered for every component class the leader replicates
+ * (see: {@link #registerCodec(Class, IComponentCodec)}).
+ * <p>
+ * The first batch applied must be a snapshot, and each batch after it must follow the last one -- a batch which was
+ * lost or applied twice causes an {@link IllegalStateException}, since the follower's state would no longer match the
+ * leader's.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class PositionComponent exists, with a codec positionCodec
+ * ECSReplicationFollower follower = new ECSReplicationFollower(followerWorld);
+ * follower.registerCodec(PositionComponent.class, positionCodec);
+ *
+ * while (running) {
+ *     follower.poll(transport);
+ *     render(followerWorld);
+ * }
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class ECSReplicationFollower {
+
+    /** The world batches are applied to. */
+    private final World world;
+
+    /** The codecs registered with the follower, keyed by the name of their component class. */
+    private final Map<String, IComponentCodec<? extends IComponent>> codecsByName = new HashMap<>();
+    private final Map<String, Class<? extends IComponent>> classesByName = new HashMap<>();
+    /** The codecs of the leader's codec table, by the leader's codec index. */
+    private IComponentCodec<?>[] codecs;
+    /** The component classes of the leader's codec table, by the leader's codec index. */
+    private Class<? extends IComponent>[] codecClasses;
+
+    /** The follower's entity for each of the leader's entities, or -1 for leader entities which are not alive. */
+    private int[] localEntities = new int[0];
+    /** The sequence number of the next delta batch, or -1 if no snapshot has been applied yet. */
+    private long expectedSequence = -1;
+
+    private long appliedBatchCount;
+    private long appliedEntityCount;
+    private long applyNanos;
+
+    /**
+     * Constructs a follower which applies batches to the specified world.
+     *
+     * @param world The world to apply batches to.
+     * @author Andrew Dey
+     */
+    public ECSReplicationFollower(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Registers the codec for the specified component class.
+     *
+     * <h4>About</h4>
+     * The component class must be registered in the follower's world. Codecs must be registered before the first
+     * snapshot is applied.
+     *
+     * @param componentClass The class of the replicated components.
+     * @param codec          The codec for the components.
+     * @param <T>            The generic type of the component. Uses of {@code T} must implement {@code IComponent}.
+     * @author Andrew Dey
+     */
+    public <T extends IComponent> void registerCodec(Class<T> componentClass, IComponentCodec<T> codec) {
+        if (!world.getComponentManager().isComponentRegistered(componentClass)) {
+            throw new IllegalStateException("Component " + componentClass.getTypeName() + " is not registered in the follower's world.");
+        }
+
+        if (codecsByName.put(componentClass.getName(), codec) != null) {
+            throw new IllegalStateException("Component " + componentClass.getTypeName() + " already has a codec.");
+        }
+
+        classesByName.put(componentClass.getName(), componentClass);
+    }
+
+    /**
+     * Applies every batch which is ready in the specified source.
+     *
+     * @param source The source to receive batches from.
+     * @return The number of batches applied.
+     * @throws IOException If receiving fails.
+     * @author Andrew Dey
+     */
+    public int poll(IReplicationSource source) throws IOException {
+        int batchCount = 0;
+        for (byte[] batch = source.receive(); batch != null; batch = source.receive()) {
+            apply(batch, batch.length);
+            batchCount++;
+        }
+
+        return batchCount;
+    }
+
+    /**
+     * Applies the specified batch.
+     *
+     * @param batch  The array holding the batch.
+     * @param length The number of bytes in the batch.
+     * @author Andrew Dey
+     */
+    public void apply(byte[] batch, int length) {
+        long start = System.nanoTime();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(batch, 0, length));
+
+        try {
+            byte kind = in.readByte();
+            long sequence = in.readLong();
+            if (kind == snapshotBatch) {
+                expectedSequence = sequence;
+            } else if (expectedSequence == -1) {
+                throw new IllegalStateException("The first batch applied must be a snapshot.");
+            } else if (sequence != expectedSequence) {
+                throw new IllegalStateException("Expected batch " + expectedSequence + ", but received batch " + sequence + ".");
+            } else {
+                expectedSequence++;
+            }
+
+            int entityCount = 0;
+            for (byte op = in.readByte(); op != opEnd; op = in.readByte()) {
+                applyOp(op, in);
+                if (op != opCodecs && op != opClear) {
+                    entityCount++;
+                }
+            }
+
+            appliedBatchCount++;
+            appliedEntityCount += entityCount;
+            applyNanos += System.nanoTime() - start;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read replication batch.", e);
+        }
+    }
+
+    /**
+     * Gets the follower's entity for the specified leader entity.
+     *
+     * @param leaderEntity The leader's entity.
+     * @return The follower's entity, or -1 if the leader's entity is not alive as of the last batch applied.
+     * @author Andrew Dey
+     */
+    public int getLocalEntity(int leaderEntity) {
+        return leaderEntity < localEntities.length ? localEntities[leaderEntity] : -1;
+    }
+
+    public long getAppliedBatchCount() {
+        return appliedBatchCount;
+    }
+
+    /** Gets the number of entity changes and component updates applied so far. */
+    public long getAppliedEntityCount() {
+        return appliedEntityCount;
+    }
+
+    public long getApplyNanos() {
+        return applyNanos;
+    }
+
+    /** Gets the rate batches have been applied at so far, in entity changes and component updates per second. */
+    public double getEntitiesPerSecond() {
+        return applyNanos == 0 ? 0 : appliedEntityCount * 1_000_000_000.0 / applyNanos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyOp(byte op, DataInputStream in) throws IOException {
+        switch (op) {
+            case opCodecs: {
+                int codecCount = in.readInt();
+                codecs = new IComponentCodec<?>[codecCount];
+                codecClasses = (Class<? extends IComponent>[]) new Class<?>[codecCount];
+                for (int i = 0; i < codecCount; i++) {
+                    String name = in.readUTF();
+                    codecs[i] = codecsByName.get(name);
+                    codecClasses[i] = classesByName.get(name);
+                    if (codecs[i] == null) {
+                        throw new IllegalStateException("The leader replicates component " + name + ", which has no codec on the follower.");
+                    }
+                }
+
+                break;
+            }
+            case opClear: {
+                world.clear();
+                Arrays.fill(localEntities, -1);
+                break;
+            }
+            case opCreate: {
+                int leaderEntity = in.readInt();
+                if (leaderEntity >= localEntities.length) {
+                    int oldLength = localEntities.length;
+                    localEntities = Arrays.copyOf(localEntities, Math.max(leaderEntity + 1, oldLength * 2));
+                    Arrays.fill(localEntities, oldLength, localEntities.length, -1);
+                }
+
+                localEntities[leaderEntity] = world.createEntity();
+                break;
+            }
+            case opDestroy: {
+                int leaderEntity = in.readInt();
+                int entity = getLocalEntity(leaderEntity);
+                if (entity != -1) {
+                    localEntities[leaderEntity] = -1;
+                    if (world.getEntityManager().isAlive(entity)) {
+                        world.destroyEntity(entity);
+                    }
+                }
+
+                break;
+            }
+            case opAdd: {
+                int entity = requireLocalEntity(in.readInt());
+                int codecIndex = in.readInt();
+                IComponentCodec<IComponent> codec = (IComponentCodec<IComponent>) codecs[codecIndex];
+                ECSComponentArray<IComponent> components = (ECSComponentArray<IComponent>) world.getComponentManager().getComponentArray(codecClasses[codecIndex]);
+
+                if (components.hasData(entity)) {
+                    codec.read(components.getData(entity), in);
+                } else {
+                    IComponent component = codec.create();
+                    codec.read(component, in);
+                    world.addComponent(entity, component);
+                }
+
+                break;
+            }
+            case opRemove: {
+                int entity = requireLocalEntity(in.readInt());
+                Class<? extends IComponent> componentClass = codecClasses[in.readInt()];
+                if (world.getComponentManager().getComponentArray(componentClass).hasData(entity)) {
+                    world.removeComponent(entity, componentClass);
+                }
+
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown replication op code " + op + ".");
+        }
+    }
+
+    private int requireLocalEntity(int leaderEntity) {
+        int entity = getLocalEntity(leaderEntity);
+        if (entity == -1) {
+            throw new IllegalStateException("Leader entity " + leaderEntity + " does not exist on the follower.");
+        }
+
+        return entity;
+    }
+}
@@ -0,0 +1,528 @@
+package io.github.lucasstarsz.slopeecs.replication;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.component.ECSComponentArray;
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.lucasstarsz.slopeecs.replication.ECSReplicationProtocol.*;
+
+/**
+ * The leader's end of replication, which sends a world's changes to follower worlds.
+ *
+ * <h2>About</h2>
+ * Once replication is enabled (see: {@link World#enableReplication()}), the world tells its leader about every entity
+ * created or destroyed, and every replicated component added or removed. At the end of each {@link World#update()},
+ * those changes are written as a single batch and given to every sink (see: {@link #addSink(IReplicationSink)}),
+ * along with the current data of every component marked dirty during the tick.
+ * <p>
+ * Components are changed in place, so the world cannot see changes to their data -- whatever changes a component's data
+ * must mark it dirty (see: {@link #markDirty(int, Class)}), or mark every component of its class dirty (see: {@link
+ * #markAllDirty(Class)}). Added components are always sent with their data. Only component classes with a codec (see:
+ * {@link #registerCodec(Class, IComponentCodec)}) are replicated; parent/child relationships and events are not.
+ * <p>
+ * A sink added to a running leader first receives a snapshot of the whole world, at the end of the next update. While
+ * there are no sinks, changes are not recorded at all.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class PositionComponent exists, with a codec positionCodec
+ * ECSReplicationLeader leader = world.enableReplication();
+ * leader.registerCodec(PositionComponent.class, positionCodec);
+ * leader.addSink(transport);
+ *
+ * // in a movement system
+ * position.x += velocity.x;
+ * leader.markDirty(entity, PositionComponent.class);
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class ECSReplicationLeader {
+
+    /** The world being replicated. */
+    private final World world;
+
+    /** The class of each codec, by codec index. */
+    private final List<Class<? extends IComponent>> codecClasses = new ArrayList<>();
+    /** The codecs, by codec index. */
+    private final List<IComponentCodec<? extends IComponent>> codecs = new ArrayList<>();
+    /** The codec index of each of the world's component types, or -1 for component types which are not replicated. */
+    private int[] codecIndices = new int[0];
+
+    /** The sinks receiving each tick's batch. */
+    private final List<IReplicationSink> sinks = new ArrayList<>();
+    /** The sinks which receive a snapshot at the end of the next update, then join {@link #sinks}. */
+    private final List<IReplicationSink> joiningSinks = new ArrayList<>();
+
+    /** The op code of each change recorded during the current tick. */
+    private byte[] changeOps = new byte[64];
+    /** The entity of each change recorded during the current tick. */
+    private int[] changeEntities = new int[64];
+    /** The codec index of each change recorded during the current tick, or -1 for changes without a component. */
+    private int[] changeCodecs = new int[64];
+    private int changeCount;
+
+    /** The entities marked dirty during the current tick, by codec index. */
+    private int[][] dirtyEntities = new int[0][];
+    /** The entities marked dirty during the current tick as one bit per entity, by codec index. */
+    private long[][] dirtyBits = new long[0][];
+    private int[] dirtyCounts = new int[0];
+    /** Whether every component has been marked dirty during the current tick, by codec index. */
+    private boolean[] allDirty = new boolean[0];
+
+    private final BatchBuffer buffer = new BatchBuffer();
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    /** The sequence number of the next delta batch. */
+    private long sequence;
+
+    private long publishedBatchCount;
+    private long publishedBytes;
+    private int lastBatchBytes;
+    private int lastBatchEntityCount;
+    private int droppedSinkCount;
+    /** The exception thrown by the last sink to be dropped, or null if no sink has been dropped. */
+    private IOException lastSinkFailure;
+
+    /**
+     * Constructs a leader for the specified world.
+     *
+     * <h4>About</h4>
+     * This is called by {@link World#enableReplication()} -- a leader which the world does not tell about its changes
+     * does not replicate anything.
+     *
+     * @param world The world to replicate.
+     * @author Andrew Dey
+     */
+    public ECSReplicationLeader(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Registers the codec for the specified component class, so that components of the class are replicated.
+     *
+     * <h4>About</h4>
+     * The component class must be registered in the world, and every codec must be registered before the first sink is
+     * added -- otherwise, an {@link IllegalStateException} will be thrown.
+     *
+     * @param componentClass The class of the components to replicate.
+     * @param codec          The codec for the components.
+     * @param <T>            The generic type of the component. Uses of {@code T} must implement {@code IComponent}.
+     * @author Andrew Dey
+     */
+    public <T extends IComponent> void registerCodec(Class<T> componentClass, IComponentCodec<T> codec) {
+        if (!sinks.isEmpty() || !joiningSinks.isEmpty()) {
+            throw new IllegalStateException("Codecs must be registered before any sink is added.");
+        }
+
+        int componentType = world.getComponentType(componentClass);
+        if (componentType < codecIndices.length && codecIndices[componentType] != -1) {
+            throw new IllegalStateException("Component " + componentClass.getTypeName() + " already has a codec.");
+        }
+
+        if (componentType >= codecIndices.length) {
+            int oldLength = codecIndices.length;
+            codecIndices = Arrays.copyOf(codecIndices, componentType + 1);
+            Arrays.fill(codecIndices, oldLength, codecIndices.length, -1);
+        }
+
+        int codecIndex = codecs.size();
+        codecIndices[componentType] = codecIndex;
+        codecClasses.add(componentClass);
+        codecs.add(codec);
+
+        dirtyEntities = Arrays.copyOf(dirtyEntities, codecIndex + 1);
+        dirtyEntities[codecIndex] = new int[16];
+        dirtyBits = Arrays.copyOf(dirtyBits, codecIndex + 1);
+        dirtyBits[codecIndex] = new long[(world.getMaxEntities() + 63) >>> 6];
+        dirtyCounts = Arrays.copyOf(dirtyCounts, codecIndex + 1);
+        allDirty = Arrays.copyOf(allDirty, codecIndex + 1);
+    }
+
+    /**
+     * Adds a sink, which receives a snapshot of the whole world at the end of the next update, then every batch after
+     * it.
+     *
+     * @param sink The sink to add.
+     * @author Andrew Dey
+     */
+    public void addSink(IReplicationSink sink) {
+        joiningSinks.add(sink);
+    }
+
+    public void removeSink(IReplicationSink sink) {
+        sinks.remove(sink);
+        joiningSinks.remove(sink);
+    }
+
+    /**
+     * Marks the specified component of the specified entity dirty, so that its data is sent at the end of the current
+     * update.
+     *
+     * <h4>About</h4>
+     * Marking a component more than once per tick sends it once. If the component's class is not replicated, or there
+     * are no sinks, this does nothing. An entity outside of the world's range causes an {@link IllegalStateException};
+     * otherwise the entity is not checked -- if it no longer has the component when the batch is written, the mark is
+     * ignored.
+     *
+     * @param entity         The entity whose component changed.
+     * @param componentClass The class of the component which changed.
+     * @param <T>            The generic type of the component. Uses of {@code T} must implement {@code IComponent}.
+     * @author Andrew Dey
+     */
+    public <T extends IComponent> void markDirty(int entity, Class<T> componentClass) {
+        if (entity < 0 || entity >= world.getMaxEntities()) {
+            throw new IllegalStateException("Entity " + entity + " out of range.");
+        }
+
+        if (sinks.isEmpty()) {
+            return;
+        }
+
+        int codecIndex = getCodecIndex(world.getComponentType(componentClass));
+        if (codecIndex == -1 || allDirty[codecIndex]) {
+            return;
+        }
+
+        long[] bits = dirtyBits[codecIndex];
+        if ((bits[entity >>> 6] & (1L << entity)) != 0) {
+            return;
+        }
+
+        bits[entity >>> 6] |= 1L << entity;
+        int count = dirtyCounts[codecIndex];
+        if (count == dirtyEntities[codecIndex].length) {
+            dirtyEntities[codecIndex] = Arrays.copyOf(dirtyEntities[codecIndex], count * 2);
+        }
+
+        dirtyEntities[codecIndex][count] = entity;
+        dirtyCounts[codecIndex] = count + 1;
+    }
+
+    /**
+     * Marks every component of the specified class dirty, so that all of their data is sent at the end of the current
+     * update.
+     *
+     * <h4>About</h4>
+     * This is cheaper than marking each component when most of them change every tick, such as the positions of moving
+     * entities.
+     *
+     * @param componentClass The class of the components which changed.
+     * @param <T>            The generic type of the component. Uses of {@code T} must implement {@code IComponent}.
+     * @author Andrew Dey
+     */
+    public <T extends IComponent> void markAllDirty(Class<T> componentClass) {
+        if (sinks.isEmpty()) {
+            return;
+        }
+
+        int codecIndex = getCodecIndex(world.getComponentType(componentClass));
+        if (codecIndex != -1) {
+            allDirty[codecIndex] = true;
+        }
+    }
+
+    /**
+     * Records that the specified entity was created. This is called by the world.
+     *
+     * @param entity The created entity.
+     * @author Andrew Dey
+     */
+    public void entityCreated(int entity) {
+        recordChange(opCreate, entity, -1);
+    }
+
+    /**
+     * Records that the specified entity was destroyed. This is called by the world.
+     *
+     * @param entity The destroyed entity.
+     * @author Andrew Dey
+     */
+    public void entityDestroyed(int entity) {
+        recordChange(opDestroy, entity, -1);
+    }
+
+    /**
+     * Records that a component of the specified type was added to the specified entity. This is called by the world.
+     *
+     * @param entity        The entity the component was added to.
+     * @param componentType The type of the added component.
+     * @author Andrew Dey
+     */
+    public void componentAdded(int entity, int componentType) {
+        int codecIndex = getCodecIndex(componentType);
+        if (codecIndex != -1) {
+            recordChange(opAdd, entity, codecIndex);
+        }
+    }
+
+    /**
+     * Records that a component of the specified type was removed from the specified entity. This is called by the
+     * world.
+     *
+     * @param entity        The entity the component was removed from.
+     * @param componentType The type of the removed component.
+     * @author Andrew Dey
+     */
+    public void componentRemoved(int entity, int componentType) {
+        int codecIndex = getCodecIndex(componentType);
+        if (codecIndex != -1) {
+            recordChange(opRemove, entity, codecIndex);
+        }
+    }
+
+    /**
+     * Records that every entity was destroyed at once. This is called by the world.
+     *
+     * @author Andrew Dey
+     */
+    public void entitiesCleared() {
+        if (sinks.isEmpty()) {
+            return;
+        }
+
+        // Nothing recorded before the clear can matter to followers any more
+        changeCount = 0;
+        clearDirty();
+        recordChange(opClear, -1, -1);
+    }
+
+    /**
+     * Writes the changes of the current tick as a batch, and sends it to every sink. Sinks added since the last
+     * publish are sent a snapshot afterwards.
+     *
+     * <h4>About</h4>
+     * This is called at the end of {@link World#update()}. A sink which fails is dropped (see: {@link
+     * #getDroppedSinkCount()}), rather than failing the update.
+     *
+     * @author Andrew Dey
+     */
+    public void publish() {
+        if (!sinks.isEmpty()) {
+            buffer.reset();
+            int entityCount = writeDelta();
+            send(sinks);
+
+            sequence++;
+            lastBatchEntityCount = entityCount;
+        }
+
+        changeCount = 0;
+        clearDirty();
+
+        if (!joiningSinks.isEmpty()) {
+            buffer.reset();
+            writeSnapshot();
+            send(joiningSinks);
+
+            sinks.addAll(joiningSinks);
+            joiningSinks.clear();
+        }
+    }
+
+    public int getSinkCount() {
+        return sinks.size() + joiningSinks.size();
+    }
+
+    public long getPublishedBatchCount() {
+        return publishedBatchCount;
+    }
+
+    public long getPublishedBytes() {
+        return publishedBytes;
+    }
+
+    public int getLastBatchBytes() {
+        return lastBatchBytes;
+    }
+
+    /** Gets the number of entity changes and component updates in the last delta batch. */
+    public int getLastBatchEntityCount() {
+        return lastBatchEntityCount;
+    }
+
+    public int getDroppedSinkCount() {
+        return droppedSinkCount;
+    }
+
+    public IOException getLastSinkFailure() {
+        return lastSinkFailure;
+    }
+
+    /** Writes the recorded changes, then the dirty components, returning the number of operations written. */
+    private int writeDelta() {
+        try {
+            out.writeByte(deltaBatch);
+            out.writeLong(sequence);
+
+            int opCount = 0;
+            for (int i = 0; i < changeCount; i++) {
+                byte op = changeOps[i];
+                int entity = changeEntities[i];
+                int codecIndex = changeCodecs[i];
+
+                if (op == opAdd) {
+                    // The component is written as it is now, so it may have been removed again since it was added
+                    ECSComponentArray<IComponent> components = getComponentArray(codecIndex);
+                    if (world.getEntityManager().isAlive(entity) && components.hasData(entity)) {
+                        writeComponent(entity, codecIndex, components.getData(entity));
+                        opCount++;
+                    }
+
+                    continue;
+                }
+
+                out.writeByte(op);
+                if (op != opClear) {
+                    out.writeInt(entity);
+                }
+
+                if (op == opRemove) {
+                    out.writeInt(codecIndex);
+                }
+
+                opCount++;
+            }
+
+            for (int codecIndex = 0; codecIndex < codecs.size(); codecIndex++) {
+                ECSComponentArray<IComponent> components = getComponentArray(codecIndex);
+                if (allDirty[codecIndex]) {
+                    for (int i = 0; i < components.getValidEntryCount(); i++) {
+                        writeComponent(components.getEntity(i), codecIndex, components.getDataAtIndex(i));
+                    }
+
+                    opCount += components.getValidEntryCount();
+                    continue;
+                }
+
+                int[] entities = dirtyEntities[codecIndex];
+                for (int i = 0; i < dirtyCounts[codecIndex]; i++) {
+                    int entity = entities[i];
+                    if (world.getEntityManager().isAlive(entity) && components.hasData(entity)) {
+                        writeComponent(entity, codecIndex, components.getData(entity));
+                        opCount++;
+                    }
+                }
+            }
+
+            out.writeByte(opEnd);
+            return opCount;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write replication batch.", e);
+        }
+    }
+
+    /** Writes the codec table, then every living entity and its replicated components. */
+    private void writeSnapshot() {
+        try {
+            out.writeByte(snapshotBatch);
+            out.writeLong(sequence);
+
+            out.writeByte(opCodecs);
+            out.writeInt(codecClasses.size());
+            for (Class<? extends IComponent> codecClass : codecClasses) {
+                out.writeUTF(codecClass.getName());
+            }
+
+            out.writeByte(opClear);
+            for (int entity = 0; entity < world.getMaxEntities(); entity++) {
+                if (world.getEntityManager().isAlive(entity)) {
+                    out.writeByte(opCreate);
+                    out.writeInt(entity);
+                }
+            }
+
+            for (int codecIndex = 0; codecIndex < codecs.size(); codecIndex++) {
+                ECSComponentArray<IComponent> components = getComponentArray(codecIndex);
+                for (int i = 0; i < components.getValidEntryCount(); i++) {
+                    writeComponent(components.getEntity(i), codecIndex, components.getDataAtIndex(i));
+                }
+            }
+
+            out.writeByte(opEnd);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write replication snapshot.", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeComponent(int entity, int codecIndex, IComponent component) throws IOException {
+        out.writeByte(opAdd);
+        out.writeInt(entity);
+        out.writeInt(codecIndex);
+        ((IComponentCodec<IComponent>) codecs.get(codecIndex)).write(component, out);
+    }
+
+    /** Sends the batch in the {@link #buffer} to each of the specified sinks, dropping any which fail. */
+    private void send(List<IReplicationSink> targets) {
+        for (int i = targets.size() - 1; i >= 0; i--) {
+            try {
+                targets.get(i).send(buffer.getArray(), buffer.size());
+            } catch (IOException e) {
+                targets.remove(i);
+                droppedSinkCount++;
+                lastSinkFailure = e;
+            }
+        }
+
+        publishedBatchCount++;
+        publishedBytes += buffer.size();
+        lastBatchBytes = buffer.size();
+    }
+
+    private void recordChange(byte op, int entity, int codecIndex) {
+        if (sinks.isEmpty()) {
+            return;
+        }
+
+        if (changeCount == changeOps.length) {
+            changeOps = Arrays.copyOf(changeOps, changeCount * 2);
+            changeEntities = Arrays.copyOf(changeEntities, changeCount * 2);
+            changeCodecs = Arrays.copyOf(changeCodecs, changeCount * 2);
+        }
+
+        changeOps[changeCount] = op;
+        changeEntities[changeCount] = entity;
+        changeCodecs[changeCount] = codecIndex;
+        changeCount++;
+    }
+
+    private void clearDirty() {
+        for (int codecIndex = 0; codecIndex < codecs.size(); codecIndex++) {
+            long[] bits = dirtyBits[codecIndex];
+            int[] entities = dirtyEntities[codecIndex];
+            for (int i = 0; i < dirtyCounts[codecIndex]; i++) {
+                bits[entities[i] >>> 6] = 0L;
+            }
+
+            dirtyCounts[codecIndex] = 0;
+            allDirty[codecIndex] = false;
+        }
+    }
+
+    private int getCodecIndex(int componentType) {
+        return componentType < codecIndices.length ? codecIndices[componentType] : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ECSComponentArray<IComponent> getComponentArray(int codecIndex) {
+        return (ECSComponentArray<IComponent>) world.getComponentManager().getComponentArray(codecClasses.get(codecIndex));
+    }
+
+    /** A byte array output stream whose array can be sent without copying it. */
+    private static final class BatchBuffer extends ByteArrayOutputStream {
+        private BatchBuffer() {
+            super(1024);
+        }
+
+        private byte[] getArray() {
+            return buf;
+        }
+    }
+}
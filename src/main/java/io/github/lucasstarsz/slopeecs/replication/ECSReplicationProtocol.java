@@ -0,0 +1,34 @@
+package io.github.lucasstarsz.slopeecs.replication;
+
+/**
+ * The constants of the replication batch format, shared by {@link ECSReplicationLeader} and {@link
+ * ECSReplicationFollower}.
+ *
+ * <h2>About</h2>
+ * A batch starts with its kind and its sequence number, followed by operations, each starting with its op code, and
+ * ends with {@link #opEnd}. Entities are always the leader's entity IDs, and components are referred to by the index of
+ * their codec in the codec table, which starts every snapshot.
+ */
+final class ECSReplicationProtocol {
+    /** A batch holding the changes of a single tick. */
+    static final byte deltaBatch = 0;
+    /** A batch holding the whole state of the leader, sent to followers as they join. */
+    static final byte snapshotBatch = 1;
+
+    static final byte opEnd = 0;
+    /** The class names of the leader's codecs: a count, then each name. */
+    static final byte opCodecs = 1;
+    /** Destroy every entity. */
+    static final byte opClear = 2;
+    /** Create an entity: the entity. */
+    static final byte opCreate = 3;
+    /** Destroy an entity: the entity. */
+    static final byte opDestroy = 4;
+    /** Add a component, or overwrite one: the entity, the codec index, then the component's data. */
+    static final byte opAdd = 5;
+    /** Remove a component: the entity, then the codec index. */
+    static final byte opRemove = 6;
+
+    private ECSReplicationProtocol() {
+    }
+}
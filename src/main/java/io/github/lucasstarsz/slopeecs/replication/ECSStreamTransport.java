@@ -0,0 +1,113 @@
+package io.github.lucasstarsz.slopeecs.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * A replication transport over a pair of byte streams, such as those of a localhost TCP socket.
+ *
+ * <h2>About</h2>
+ * Each batch is written as its length followed by its bytes. The leader's end only needs the output stream, and the
+ * follower's end only needs the input stream. A batch is reported as ready (see: {@link #receive()}) once any of it
+ * has arrived -- the rest of it is then waited for.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // on the leader
+ * ServerSocket server = new ServerSocket(25565, 1, InetAddress.getLoopbackAddress());
+ * leaderWorld.enableReplication().addSink(ECSStreamTransport.of(server.accept()));
+ *
+ * // on the follower
+ * ECSStreamTransport transport = ECSStreamTransport.of(new Socket(InetAddress.getLoopbackAddress(), 25565));
+ * follower.poll(transport);
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public class ECSStreamTransport implements IReplicationSink, IReplicationSource, Closeable {
+
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    /** The socket the streams belong to, or null if the streams were given directly. */
+    private final Socket socket;
+
+    /**
+     * Constructs a transport over the specified streams.
+     *
+     * @param in  The stream to receive batches from, or null if this end only sends.
+     * @param out The stream to send batches to, or null if this end only receives.
+     * @author Andrew Dey
+     */
+    public ECSStreamTransport(InputStream in, OutputStream out) {
+        this(in, out, null);
+    }
+
+    private ECSStreamTransport(InputStream in, OutputStream out, Socket socket) {
+        this.in = in == null ? null : new DataInputStream(new BufferedInputStream(in));
+        this.out = out == null ? null : new DataOutputStream(new BufferedOutputStream(out));
+        this.socket = socket;
+    }
+
+    /**
+     * Creates a transport over the streams of the specified connected socket. Nagle's algorithm is disabled, so each
+     * batch is sent as soon as the leader publishes it.
+     *
+     * @param socket The connected socket.
+     * @return The transport.
+     * @throws IOException If the socket's streams cannot be opened.
+     * @author Andrew Dey
+     */
+    public static ECSStreamTransport of(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        return new ECSStreamTransport(socket.getInputStream(), socket.getOutputStream(), socket);
+    }
+
+    @Override
+    public void send(byte[] batch, int length) throws IOException {
+        if (out == null) {
+            throw new IllegalStateException("This transport has no output stream to send to.");
+        }
+
+        out.writeInt(length);
+        out.write(batch, 0, length);
+        out.flush();
+    }
+
+    @Override
+    public byte[] receive() throws IOException {
+        if (in == null) {
+            throw new IllegalStateException("This transport has no input stream to receive from.");
+        }
+
+        if (in.available() == 0) {
+            return null;
+        }
+
+        byte[] batch = new byte[in.readInt()];
+        in.readFully(batch);
+        return batch;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (socket != null) {
+            socket.close();
+            return;
+        }
+
+        if (in != null) {
+            in.close();
+        }
+
+        if (out != null) {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.lucasstarsz.slopeecs.replication;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * An interface for writing a component's data to a replication batch, and reading it back.
+ *
+ * <h2>About</h2>
+ * Components are Plain Old Data with no shared structure, so each replicated component class needs a codec, registered
+ * under the same class on both the leader (see: {@link ECSReplicationLeader#registerCodec(Class, IComponentCodec)}) and
+ * its followers (see: {@link ECSReplicationFollower#registerCodec(Class, IComponentCodec)}), like so:
+ * <pre>{@code
+ * // assume class PositionComponent exists, with public float fields x and y
+ * IComponentCodec<PositionComponent> positionCodec = new IComponentCodec<>() {
+ *     public void write(PositionComponent component, DataOutput out) throws IOException {
+ *         out.writeFloat(component.x);
+ *         out.writeFloat(component.y);
+ *     }
+ *
+ *     public PositionComponent create() {
+ *         return new PositionComponent();
+ *     }
+ *
+ *     public void read(PositionComponent component, DataInput in) throws IOException {
+ *         component.x = in.readFloat();
+ *         component.y = in.readFloat();
+ *     }
+ * };
+ * }</pre>
+ *
+ * @param <T> The generic type of the component. Uses of {@code T} must implement {@code IComponent}.
+ * @author Andrew Dey
+ */
+public interface IComponentCodec<T extends IComponent> {
+    /**
+     * Writes the data of the specified component.
+     *
+     * @param component The component to write.
+     * @param out       The output to write to.
+     * @throws IOException If writing fails.
+     * @author Andrew Dey
+     */
+    void write(T component, DataOutput out) throws IOException;
+
+    /**
+     * Creates a component to read data into, for a follower's entity which does not have one yet.
+     *
+     * @return The new component.
+     * @author Andrew Dey
+     */
+    T create();
+
+    /**
+     * Reads data written by {@link #write(IComponent, DataOutput)} into the specified component.
+     *
+     * @param component The component to read into.
+     * @param in        The input to read from.
+     * @throws IOException If reading fails.
+     * @author Andrew Dey
+     */
+    void read(T component, DataInput in) throws IOException;
+}
@@ -0,0 +1,28 @@
+package io.github.lucasstarsz.slopeecs.replication;
+
+import java.io.IOException;
+
+/**
+ * An interface for the leader's end of a replication transport.
+ *
+ * <h2>About</h2>
+ * The leader gives each tick's batch to every sink (see: {@link ECSReplicationLeader#addSink(IReplicationSink)}). A
+ * sink which throws is dropped by the leader, since its follower can no longer keep up with the batches.
+ *
+ * @author Andrew Dey
+ * @see ECSQueueTransport
+ * @see ECSStreamTransport
+ */
+@FunctionalInterface
+public interface IReplicationSink {
+    /**
+     * Sends the specified batch to the follower.
+     *
+     * @param batch  The array holding the batch. The leader reuses the array once this returns, so a sink which keeps
+     *               the batch must copy it.
+     * @param length The number of bytes in the batch.
+     * @throws IOException If sending fails.
+     * @author Andrew Dey
+     */
+    void send(byte[] batch, int length) throws IOException;
+}
@@ -0,0 +1,21 @@
+package io.github.lucasstarsz.slopeecs.replication;
+
+import java.io.IOException;
+
+/**
+ * An interface for the follower's end of a replication transport.
+ *
+ * @author Andrew Dey
+ * @see ECSReplicationFollower#poll(IReplicationSource)
+ */
+@FunctionalInterface
+public interface IReplicationSource {
+    /**
+     * Receives the next batch from the leader, if one is ready.
+     *
+     * @return The next batch, or null if none is ready yet.
+     * @throws IOException If receiving fails.
+     * @author Andrew Dey
+     */
+    byte[] receive() throws IOException;
+}
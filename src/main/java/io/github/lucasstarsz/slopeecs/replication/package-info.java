@@ -0,0 +1,7 @@
+/**
+ * The package where replication of a world to follower worlds is found.
+ * <p>
+ * A leader world records its structural changes and the components marked dirty each tick, and sends them as a single
+ * batch over one or more transports. Follower worlds apply those batches without running their own systems.
+ */
+package io.github.lucasstarsz.slopeecs.replication;
@@ -0,0 +1,410 @@
+package io.github.lucasstarsz.slopeecs.spatial;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import io.github.lucasstarsz.slopeecs.util.ECSMemoryEstimates;
+
+import java.util.Arrays;
+
+/**
+ * A uniform-grid spatial index over the entities that have a specific position component.
+ *
+ * <h2>About</h2>
+ * The index divides space into square cells of a fixed size. Each indexed entity belongs to exactly one cell, and
+ * cells are hashed into a fixed number of buckets -- so the grid is unbounded, and no memory is spent on empty space.
+ * Every bucket's entities are kept as an intrusive linked list in primitive arrays, and the position of each entity is
+ * cached alongside it, so neither updating the index nor querying it allocates or reads components.
+ * <p>
+ * The {@link World} keeps the index in sync as the bound component is added to and removed from entities (see:
+ * {@link World#enableSpatialIndex(Class, IPositionAccessor, float)}). Components are plain data, however, so the index
+ * cannot know when a position changes in place. After moving an entity, call {@link #update(int)} for it -- or call
+ * {@link #updateAll()} once per tick. Only entities which have moved to a different cell are relinked.
+ * <p>
+ * Queries write entity IDs into an array supplied by the caller, and return the amount written.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class PositionComponent exists, and positionAccessor reads its x and y fields
+ * ECSSpatialIndex<PositionComponent> index = world.enableSpatialIndex(PositionComponent.class, positionAccessor, 16f);
+ * int[] nearby = new int[64];
+ *
+ * // each tick, after moving entities
+ * index.updateAll();
+ * int count = index.queryRadius(playerX, playerY, 100f, nearby);
+ * for (int i = 0; i < count; i++) {
+ *     // nearby[i] is within 100 units of the player
+ * }
+ * }</pre>
+ *
+ * @param <T> The generic type of the position component. Uses of {@code T} must implement {@code IComponent}.
+ * @author Andrew Dey
+ */
+public class ECSSpatialIndex<T extends IComponent> {
+
+    /** The value used to mark an empty link, or an entity that is not indexed. */
+    private static final int none = -1;
+
+    /** The class of the position component this index is bound to. */
+    private final Class<T> componentClass;
+    /** The accessor used to read positions from the bound component. */
+    private final IPositionAccessor<T> positionAccessor;
+    /** The width and height of a cell. */
+    private final float cellSize;
+    /** The inverse of {@link #cellSize}, to avoid divisions. */
+    private final float inverseCellSize;
+
+    /** The first entity of each bucket, or {@link #none}. */
+    private final int[] bucketHeads;
+    /** The bit mask used to map a cell hash to a bucket. The bucket count is always a power of two. */
+    private final int bucketMask;
+
+    /** The bucket of each entity, or {@link #none} if the entity is not indexed. */
+    private final int[] entityBuckets;
+    /** The next entity in the same bucket, or {@link #none}. */
+    private final int[] nextInBucket;
+    /** The previous entity in the same bucket, or {@link #none}. */
+    private final int[] previousInBucket;
+    /** The cell column of each indexed entity. */
+    private final int[] cellXs;
+    /** The cell row of each indexed entity. */
+    private final int[] cellYs;
+    /** The cached x position of each indexed entity. */
+    private final float[] positionXs;
+    /** The cached y position of each indexed entity. */
+    private final float[] positionYs;
+    /** The position component of each indexed entity. */
+    private final T[] components;
+
+    /** The packed array of indexed entities, used by {@link #updateAll()}. */
+    private final int[] indexedEntities;
+    /** The index of each entity in {@link #indexedEntities}. */
+    private final int[] indexedEntityIndices;
+    /** The number of indexed entities. */
+    private int indexedEntityCount;
+
+    /**
+     * Constructs an empty spatial index bound to the specified position component.
+     *
+     * <h4>About</h4>
+     * It is better to use {@link World#enableSpatialIndex(Class, IPositionAccessor, float)}, which also keeps the index
+     * in sync with the bound component.
+     *
+     * @param componentClass   The class of the position component to bind to.
+     * @param positionAccessor The accessor used to read positions from the bound component.
+     * @param cellSize         The width and height of a cell. Must be greater than 0.
+     * @param maxEntityCount   The maximum amount of entities allowed within the index.
+     * @author Andrew Dey
+     */
+    @SuppressWarnings("unchecked")
+    public ECSSpatialIndex(Class<T> componentClass, IPositionAccessor<T> positionAccessor, float cellSize, int maxEntityCount) {
+        if (!(cellSize > 0f)) {
+            throw new IllegalStateException("Cell size must be greater than 0.");
+        }
+
+        this.componentClass = componentClass;
+        this.positionAccessor = positionAccessor;
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+
+        int bucketCount = Integer.highestOneBit(Math.max(16, maxEntityCount) - 1) << 1;
+        bucketHeads = new int[bucketCount];
+        bucketMask = bucketCount - 1;
+        Arrays.fill(bucketHeads, none);
+
+        entityBuckets = new int[maxEntityCount];
+        nextInBucket = new int[maxEntityCount];
+        previousInBucket = new int[maxEntityCount];
+        cellXs = new int[maxEntityCount];
+        cellYs = new int[maxEntityCount];
+        positionXs = new float[maxEntityCount];
+        positionYs = new float[maxEntityCount];
+        components = (T[]) new IComponent[maxEntityCount];
+        indexedEntities = new int[maxEntityCount];
+        indexedEntityIndices = new int[maxEntityCount];
+        Arrays.fill(entityBuckets, none);
+    }
+
+    /**
+     * Adds the specified entity to the index, at the position stored in its component.
+     *
+     * @param entity    The entity to add.
+     * @param component The entity's position component.
+     * @author Andrew Dey
+     */
+    public void insert(int entity, T component) {
+        if (entityBuckets[entity] != none) {
+            throw new IllegalStateException("Entity " + entity + " was added to the spatial index more than once.");
+        }
+
+        components[entity] = component;
+        indexedEntities[indexedEntityCount] = entity;
+        indexedEntityIndices[entity] = indexedEntityCount;
+        indexedEntityCount++;
+
+        positionXs[entity] = positionAccessor.getX(component);
+        positionYs[entity] = positionAccessor.getY(component);
+        cellXs[entity] = toCell(positionXs[entity]);
+        cellYs[entity] = toCell(positionYs[entity]);
+        link(entity);
+    }
+
+    /**
+     * Removes the specified entity from the index, if it is indexed.
+     *
+     * @param entity The entity to remove.
+     * @author Andrew Dey
+     */
+    public void remove(int entity) {
+        if (entityBuckets[entity] == none) {
+            return;
+        }
+
+        unlink(entity);
+        components[entity] = null;
+
+        // Copy the last indexed entity into the removed entity's place to maintain density
+        int removedIndex = indexedEntityIndices[entity];
+        int lastEntity = indexedEntities[indexedEntityCount - 1];
+        indexedEntities[removedIndex] = lastEntity;
+        indexedEntityIndices[lastEntity] = removedIndex;
+        indexedEntityCount--;
+    }
+
+    /**
+     * Removes every entity from the index.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        for (int i = 0; i < indexedEntityCount; i++) {
+            int entity = indexedEntities[i];
+            entityBuckets[entity] = none;
+            components[entity] = null;
+        }
+
+        Arrays.fill(bucketHeads, none);
+        indexedEntityCount = 0;
+    }
+
+    /**
+     * Re-reads the position of the specified entity from its component, moving it to a different cell if needed.
+     *
+     * @param entity The entity whose position has changed.
+     * @author Andrew Dey
+     */
+    public void update(int entity) {
+        if (entityBuckets[entity] == none) {
+            throw new IllegalStateException("Entity with ID: " + entity + " is not in the spatial index.");
+        }
+
+        T component = components[entity];
+        float x = positionAccessor.getX(component);
+        float y = positionAccessor.getY(component);
+        positionXs[entity] = x;
+        positionYs[entity] = y;
+
+        int cellX = toCell(x);
+        int cellY = toCell(y);
+        if (cellX != cellXs[entity] || cellY != cellYs[entity]) {
+            unlink(entity);
+            cellXs[entity] = cellX;
+            cellYs[entity] = cellY;
+            link(entity);
+        }
+    }
+
+    /**
+     * Re-reads the position of every indexed entity, moving entities to different cells where needed.
+     *
+     * @author Andrew Dey
+     */
+    public void updateAll() {
+        for (int i = 0; i < indexedEntityCount; i++) {
+            update(indexedEntities[i]);
+        }
+    }
+
+    /**
+     * Finds the indexed entities within the specified distance of the specified point.
+     *
+     * <h4>About</h4>
+     * The matching entities are written to the front of {@code result}, in no particular order. If there are more
+     * matches than {@code result} can hold, the query stops once it is full.
+     *
+     * @param x      The x coordinate of the center of the query.
+     * @param y      The y coordinate of the center of the query.
+     * @param radius The maximum distance from the center.
+     * @param result The array to write matching entity IDs into.
+     * @return The number of entity IDs written to {@code result}.
+     * @author Andrew Dey
+     */
+    public int queryRadius(float x, float y, float radius, int[] result) {
+        return query(x - radius, y - radius, x + radius, y + radius, x, y, radius * radius, result);
+    }
+
+    /**
+     * Finds the indexed entities within the specified axis-aligned bounding box, including its edges.
+     *
+     * <h4>About</h4>
+     * The matching entities are written to the front of {@code result}, in no particular order. If there are more
+     * matches than {@code result} can hold, the query stops once it is full.
+     *
+     * @param minX   The smallest x coordinate of the box.
+     * @param minY   The smallest y coordinate of the box.
+     * @param maxX   The largest x coordinate of the box.
+     * @param maxY   The largest y coordinate of the box.
+     * @param result The array to write matching entity IDs into.
+     * @return The number of entity IDs written to {@code result}.
+     * @author Andrew Dey
+     */
+    public int queryBox(float minX, float minY, float maxX, float maxY, int[] result) {
+        return query(minX, minY, maxX, maxY, 0f, 0f, -1f, result);
+    }
+
+    /**
+     * Adds an entry for the index's arrays to the specified memory report.
+     *
+     * @param report The report to add to.
+     * @author Andrew Dey
+     */
+    public void reportMemory(ECSMemoryReport report) {
+        int maxEntities = entityBuckets.length;
+
+        // 9 int/float arrays and 1 component array per entity, plus the bucket heads
+        long reservedBytes = ECSMemoryEstimates.intArrayBytes(bucketHeads.length)
+                + 9 * ECSMemoryEstimates.intArrayBytes(maxEntities)
+                + ECSMemoryEstimates.referenceArrayBytes(maxEntities);
+        long usedBytes = ECSMemoryEstimates.intArrayBytes(bucketHeads.length)
+                + indexedEntityCount * (9 * 4L + ECSMemoryEstimates.referenceBytes(1));
+
+        report.add(ECSMemoryReport.spatialIndexCategory, componentClass.getTypeName(), usedBytes, reservedBytes);
+    }
+
+    /**
+     * Gets the class of the position component this index is bound to.
+     *
+     * @return The class of the bound position component.
+     * @author Andrew Dey
+     */
+    public Class<T> getComponentClass() {
+        return componentClass;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int getIndexedEntityCount() {
+        return indexedEntityCount;
+    }
+
+    /**
+     * Collects the entities within the specified box, and (if {@code radiusSquared} is not negative) within the
+     * specified circle as well.
+     */
+    private int query(float minX, float minY, float maxX, float maxY, float centerX, float centerY, float radiusSquared, int[] result) {
+        int minCellX = toCell(minX);
+        int minCellY = toCell(minY);
+        int maxCellX = toCell(maxX);
+        int maxCellY = toCell(maxY);
+
+        int count = 0;
+        long cellsInRange = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+
+        if (cellsInRange > bucketHeads.length) {
+            // Visiting every bucket once is cheaper than visiting every cell in range
+            for (int bucket = 0; bucket < bucketHeads.length && count < result.length; bucket++) {
+                for (int entity = bucketHeads[bucket]; entity != none && count < result.length; entity = nextInBucket[entity]) {
+                    if (matches(entity, minX, minY, maxX, maxY, centerX, centerY, radiusSquared)) {
+                        result[count++] = entity;
+                    }
+                }
+            }
+
+            return count;
+        }
+
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                int bucket = bucketOf(cellX, cellY);
+
+                for (int entity = bucketHeads[bucket]; entity != none; entity = nextInBucket[entity]) {
+                    // Other cells can share this bucket -- only take entities from this cell, so none are found twice
+                    if (cellXs[entity] != cellX || cellYs[entity] != cellY) {
+                        continue;
+                    }
+
+                    if (matches(entity, minX, minY, maxX, maxY, centerX, centerY, radiusSquared)) {
+                        if (count == result.length) {
+                            return count;
+                        }
+
+                        result[count++] = entity;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private boolean matches(int entity, float minX, float minY, float maxX, float maxY, float centerX, float centerY, float radiusSquared) {
+        float x = positionXs[entity];
+        float y = positionYs[entity];
+
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return false;
+        }
+
+        if (radiusSquared < 0f) {
+            return true;
+        }
+
+        float dx = x - centerX;
+        float dy = y - centerY;
+        return dx * dx + dy * dy <= radiusSquared;
+    }
+
+    /** Links the specified entity in at the front of the bucket for its cell. */
+    private void link(int entity) {
+        int bucket = bucketOf(cellXs[entity], cellYs[entity]);
+        int oldHead = bucketHeads[bucket];
+
+        previousInBucket[entity] = none;
+        nextInBucket[entity] = oldHead;
+        if (oldHead != none) {
+            previousInBucket[oldHead] = entity;
+        }
+
+        bucketHeads[bucket] = entity;
+        entityBuckets[entity] = bucket;
+    }
+
+    /** Unlinks the specified entity from its bucket. */
+    private void unlink(int entity) {
+        int previous = previousInBucket[entity];
+        int next = nextInBucket[entity];
+
+        if (previous != none) {
+            nextInBucket[previous] = next;
+        } else {
+            bucketHeads[entityBuckets[entity]] = next;
+        }
+
+        if (next != none) {
+            previousInBucket[next] = previous;
+        }
+
+        entityBuckets[entity] = none;
+    }
+
+    private int toCell(float position) {
+        return (int) Math.floor(position * inverseCellSize);
+    }
+
+    private int bucketOf(int cellX, int cellY) {
+        int hash = cellX * 0x8da6b343 ^ cellY * 0xd8163841;
+        return (hash ^ (hash >>> 16)) & bucketMask;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.lucasstarsz.slopeecs.spatial;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+/**
+ * An interface for reading a 2D position out of a component.
+ *
+ * <h2>About</h2>
+ * Since components are Plain Old Data with no shared structure, the {@link ECSSpatialIndex} needs to be told how to
+ * read a position from the component it is bound to, like so:
+ * <pre>{@code
+ * // assume class PositionComponent exists, with public float fields x and y
+ * IPositionAccessor<PositionComponent> accessor = new IPositionAccessor<>() {
+ *     public float getX(PositionComponent component) { return component.x; }
+ *     public float getY(PositionComponent component) { return component.y; }
+ * };
+ * }</pre>
+ *
+ * @param <T> The generic type of the position component. Uses of {@code T} must implement {@code IComponent}.
+ * @author Andrew Dey
+ */
+public interface IPositionAccessor<T extends IComponent> {
+    /**
+     * Gets the x coordinate stored in the specified component.
+     *
+     * @param component The component to read from.
+     * @return The x coordinate of the component.
+     * @author Andrew Dey
+     */
+    float getX(T component);
+
+    /**
+     * Gets the y coordinate stored in the specified component.
+     *
+     * @param component The component to read from.
+     * @return The y coordinate of the component.
+     * @author Andrew Dey
+     */
+    float getY(T component);
+}
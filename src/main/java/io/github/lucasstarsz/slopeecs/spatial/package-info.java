@@ -0,0 +1,7 @@
+/**
+ * The package where spatial indexing of entities is found.
+ * <p>
+ * A spatial index is bound to a single position component, and answers proximity queries without visiting every
+ * entity in the {@link io.github.lucasstarsz.slopeecs.World}.
+ */
+package io.github.lucasstarsz.slopeecs.spatial;
@@ -0,0 +1,271 @@
+package io.github.lucasstarsz.slopeecs.system;
+
+import io.github.lucasstarsz.slopeecs.CommandBuffer;
+import io.github.lucasstarsz.slopeecs.ConcurrentWorld;
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+import io.github.lucasstarsz.slopeecs.util.ECSDefaults;
+import io.github.lucasstarsz.slopeecs.util.ECSExecutors;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A system whose work may block, run off the world's thread.
+ *
+ * <h2>About</h2>
+ * Some systems spend most of their time waiting -- on a database, a file, or a network call. Rather than stalling the
+ * whole world loop, a system extending {@code ECSBlockingSystem} runs its work as tasks on the shared blocking task
+ * executor (see: {@link ECSExecutors}), which uses virtual threads where the runtime supports them.
+ * <p>
+ * When the system is updated (see: {@link World#update()}):
+ * <ol>
+ *     <li>A task is started for each of its entities -- or a single task for all of them, if per-entity tasks are
+ *     disabled (see: {@link #setPerEntityTasks(boolean)}). Each task calls {@link #updateEntity(int, CommandBuffer)}.
+ *     </li>
+ *     <li>The world's thread waits for the tasks, until the tick deadline (see: {@link #setTickDeadline(long,
+ *     TimeUnit)}) has passed. Tasks still running at the deadline are interrupted, and whatever they recorded is
+ *     discarded.</li>
+ *     <li>At this sync point, the structural changes recorded by the finished tasks are applied to the world, in the
+ *     order the entities were visited.</li>
+ * </ol>
+ * Tasks must not change the world directly -- structural changes must go through the {@link CommandBuffer} they are
+ * given. Reading components is safe while the world's thread is waiting, but tasks which outlive the deadline by
+ * ignoring interruption must not touch the world any further. In a {@link ConcurrentWorld}, read components through
+ * {@link #getComponent(int, Class)} rather than {@link World#getComponent(int, Class)}, since the latter waits on the
+ * structure lock held for the whole update.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume classes PlayerComponent, ProfileComponent and ProfileService exist
+ * public class ProfileLoadingSystem extends ECSBlockingSystem {
+ *     @Override
+ *     protected void updateEntity(int entity, CommandBuffer commands) {
+ *         PlayerComponent player = getComponent(entity, PlayerComponent.class);
+ *         ProfileComponent profile = ProfileService.load(player.name); // blocks on the network
+ *
+ *         commands.addComponent(entity, profile);
+ *         commands.removeComponent(entity, PlayerComponent.class);
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public abstract class ECSBlockingSystem extends ECSSystem {
+
+    /** The executor which tasks are run on. */
+    private ExecutorService executor = ECSExecutors.getBlockingTaskExecutor();
+    /** How long the world's thread waits for tasks each update, in nanoseconds. */
+    private long tickDeadlineNanos = TimeUnit.MILLISECONDS.toNanos(ECSDefaults.defaultBlockingTickDeadlineMillis);
+    /** Whether a task is started for each entity, rather than one task for all of them. */
+    private boolean perEntityTasks = true;
+
+    /** The entities visited by the current update, in order. */
+    private int[] taskEntities = new int[0];
+    /** The command buffer of each task, reused between updates unless the task timed out. */
+    private CommandBuffer[] taskCommands = new CommandBuffer[0];
+    /** The pending result of each task. */
+    private Future<?>[] taskFutures = new Future<?>[0];
+    /** The number of tasks which did not finish before the deadline, during the last update. */
+    private int timedOutTaskCount;
+
+    /**
+     * Updates the specified entity, recording any structural changes into the specified command buffer.
+     *
+     * <h4>About</h4>
+     * This method is called from the tasks started by {@link #update()}, off the world's thread. It may block.
+     *
+     * @param entity   The entity to update.
+     * @param commands The command buffer to record structural changes into.
+     * @author Andrew Dey
+     */
+    protected abstract void updateEntity(int entity, CommandBuffer commands);
+
+    /**
+     * Runs this system's tasks, waits for them until the tick deadline, then applies their recorded changes.
+     *
+     * <h4>About</h4>
+     * For more information, see {@link ECSBlockingSystem}.
+     * <p>
+     * If a task throws an exception, the changes of every other finished task are still applied, then an {@link
+     * IllegalStateException} is thrown with the first exception as its cause.
+     *
+     * @author Andrew Dey
+     */
+    @Override
+    public final void update() {
+        long deadline = System.nanoTime() + tickDeadlineNanos;
+
+        int entityCount = entities.size();
+        int taskCount = perEntityTasks ? entityCount : Math.min(entityCount, 1);
+        ensureCapacity(entityCount, taskCount);
+
+        int index = 0;
+        for (int entity : entities) {
+            taskEntities[index++] = entity;
+        }
+
+        startTasks(entityCount, taskCount);
+        Throwable failure = joinTasks(taskCount, deadline);
+
+        // Sync point: only the world's thread applies structural changes
+        for (int i = 0; i < taskCount; i++) {
+            taskCommands[i].apply(world);
+        }
+
+        if (failure != null) {
+            throw new IllegalStateException("A task of " + getClass().getTypeName() + " failed.", failure);
+        }
+    }
+
+    /**
+     * Gets the component of the specified class from the specified entity, without taking any world-level lock.
+     *
+     * <h4>About</h4>
+     * This is the way tasks should read components. It is equivalent to {@link World#getComponent(int, Class)}, except
+     * in a {@link ConcurrentWorld}, where it only takes the lock of the component type rather than the structure lock
+     * held by the world's thread during the update.
+     *
+     * @param entity         The entity to get the component from.
+     * @param componentClass The class of the component to get.
+     * @param <T>            The generic type of the component to get. Uses of {@code T} must implement {@code
+     *                       IComponent}.
+     * @return The requested component.
+     * @author Andrew Dey
+     */
+    protected <T extends IComponent> T getComponent(int entity, Class<T> componentClass) {
+        return world.getComponentManager().getComponent(entity, componentClass);
+    }
+
+    /**
+     * Sets how long the world's thread waits for this system's tasks each update.
+     *
+     * @param deadline The length of the deadline.
+     * @param unit     The unit of {@code deadline}.
+     * @author Andrew Dey
+     */
+    public void setTickDeadline(long deadline, TimeUnit unit) {
+        if (deadline < 0) {
+            throw new IllegalStateException("Tick deadline must not be negative.");
+        }
+
+        tickDeadlineNanos = unit.toNanos(deadline);
+    }
+
+    public long getTickDeadlineNanos() {
+        return tickDeadlineNanos;
+    }
+
+    /**
+     * Sets whether a task is started for each entity, or a single task for all of them.
+     *
+     * @param perEntityTasks Whether to start a task for each entity.
+     * @author Andrew Dey
+     */
+    public void setPerEntityTasks(boolean perEntityTasks) {
+        this.perEntityTasks = perEntityTasks;
+    }
+
+    public boolean isPerEntityTasks() {
+        return perEntityTasks;
+    }
+
+    /**
+     * Sets the executor which this system's tasks are run on.
+     *
+     * @param executor The executor to run tasks on.
+     * @author Andrew Dey
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public int getTimedOutTaskCount() {
+        return timedOutTaskCount;
+    }
+
+    private void startTasks(int entityCount, int taskCount) {
+        if (perEntityTasks) {
+            for (int i = 0; i < taskCount; i++) {
+                int entity = taskEntities[i];
+                CommandBuffer commands = taskCommands[i];
+                taskFutures[i] = executor.submit(() -> updateEntity(entity, commands));
+            }
+        } else if (taskCount == 1) {
+            int[] visitedEntities = taskEntities;
+            CommandBuffer commands = taskCommands[0];
+            taskFutures[0] = executor.submit(() -> {
+                for (int i = 0; i < entityCount; i++) {
+                    updateEntity(visitedEntities[i], commands);
+                }
+            });
+        }
+    }
+
+    private Throwable joinTasks(int taskCount, long deadline) {
+        Throwable failure = null;
+        boolean interrupted = false;
+        timedOutTaskCount = 0;
+
+        for (int i = 0; i < taskCount; i++) {
+            Future<?> future = taskFutures[i];
+            taskFutures[i] = null;
+
+            try {
+                if (interrupted) {
+                    throw new TimeoutException();
+                }
+
+                future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                timeOut(i, future);
+            } catch (InterruptedException e) {
+                interrupted = true;
+                timeOut(i, future);
+            } catch (ExecutionException e) {
+                taskCommands[i].clear();
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        return failure;
+    }
+
+    /** Cancels a task which missed the deadline, and gives up its buffers since it may still be writing to them. */
+    private void timeOut(int taskIndex, Future<?> future) {
+        future.cancel(true);
+        timedOutTaskCount++;
+
+        taskCommands[taskIndex] = new CommandBuffer();
+        if (!perEntityTasks) {
+            taskEntities = taskEntities.clone();
+        }
+    }
+
+    private void ensureCapacity(int entityCount, int taskCount) {
+        if (taskEntities.length < entityCount) {
+            taskEntities = new int[entityCount];
+        }
+
+        if (taskCommands.length < taskCount) {
+            CommandBuffer[] newTaskCommands = new CommandBuffer[taskCount];
+            System.arraycopy(taskCommands, 0, newTaskCommands, 0, taskCommands.length);
+            for (int i = taskCommands.length; i < taskCount; i++) {
+                newTaskCommands[i] = new CommandBuffer();
+            }
+
+            taskCommands = newTaskCommands;
+            taskFutures = new Future<?>[taskCount];
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.lucasstarsz.slopeecs.system;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The common {@link IRunCriteria} for systems.
+ *
+ * <h2>About</h2>
+ * Each method creates new criteria, to be given to a single system through {@link ECSSystemBuilder#runIf(IRunCriteria)}
+ * -- criteria which keep state, such as {@link #fixedInterval(long, TimeUnit)}, must not be shared between systems.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume classes PathfindingSystem, RespawnSystem, PathComponent exist
+ * PathfindingSystem pathfindingSystem = new ECSSystemBuilder<>(world, PathfindingSystem.class)
+ *         .withComponent(PathComponent.class)
+ *         .runIf(ECSRunCriteria.everyNthTick(4))
+ *         .build();
+ *
+ * RespawnSystem respawnSystem = new ECSSystemBuilder<>(world, RespawnSystem.class)
+ *         .runIf(ECSRunCriteria.fixedInterval(1, TimeUnit.SECONDS))
+ *         .build();
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public final class ECSRunCriteria {
+
+    private ECSRunCriteria() {
+    }
+
+    /**
+     * Gets criteria which are met on every {@code n}th update, starting with the first.
+     *
+     * @param n How many updates apart the system runs, which must be at least 1.
+     * @return The criteria.
+     * @author Andrew Dey
+     */
+    public static IRunCriteria everyNthTick(int n) {
+        return tickModulo(n, 0);
+    }
+
+    /**
+     * Gets criteria which are met on updates whose tick leaves the specified remainder when divided by the specified
+     * modulus.
+     *
+     * <h4>About</h4>
+     * Giving systems which run equally often different remainders spreads them over different updates, rather than
+     * having them all run in the same one.
+     *
+     * @param modulus   How many updates apart the system runs, which must be at least 1.
+     * @param remainder The remainder of the ticks the system runs on, from 0 (inclusive) to {@code modulus}
+     *                  (exclusive).
+     * @return The criteria.
+     * @author Andrew Dey
+     */
+    public static IRunCriteria tickModulo(int modulus, int remainder) {
+        if (modulus < 1) {
+            throw new IllegalStateException("Tick modulus must be at least 1, but was " + modulus + ".");
+        }
+
+        if (remainder < 0 || remainder >= modulus) {
+            throw new IllegalStateException("Tick remainder must be from 0 to " + (modulus - 1) + ", but was " + remainder + ".");
+        }
+
+        return (tick, membershipChanged) -> tick % modulus == remainder;
+    }
+
+    /**
+     * Gets criteria which are met when at least the specified interval of real time has passed since they were last
+     * met, measured with {@link System#nanoTime()}. They are met on the first check.
+     *
+     * @param interval The interval between runs, which must be positive.
+     * @param unit     The unit of {@code interval}.
+     * @return The criteria.
+     * @author Andrew Dey
+     */
+    public static IRunCriteria fixedInterval(long interval, TimeUnit unit) {
+        return fixedInterval(interval, unit, System::nanoTime);
+    }
+
+    /**
+     * Gets criteria which are met when at least the specified interval has passed on the specified clock since they
+     * were last met. They are met on the first check.
+     *
+     * <h4>About</h4>
+     * Runs are scheduled a whole interval apart, so they do not drift when checks land late -- unless a whole interval
+     * was missed, in which case the schedule restarts from the current time rather than running to catch up. The clock
+     * does not have to be real time: with a {@link io.github.lucasstarsz.slopeecs.WorldRunner}, for example, counting
+     * simulated time keeps the system running at the same simulated rate however fast frames are.
+     *
+     * @param interval  The interval between runs, which must be positive.
+     * @param unit      The unit of {@code interval}.
+     * @param nanoClock The clock, in nanoseconds.
+     * @return The criteria.
+     * @author Andrew Dey
+     */
+    public static IRunCriteria fixedInterval(long interval, TimeUnit unit, LongSupplier nanoClock) {
+        if (interval <= 0) {
+            throw new IllegalStateException("Run interval must be positive, but was " + interval + " " + unit + ".");
+        }
+
+        return new IntervalCriteria(unit.toNanos(interval), nanoClock);
+    }
+
+    /**
+     * Gets criteria which are met when any entity has joined or left the system since it last ran. They are met on the
+     * first check.
+     *
+     * @return The criteria.
+     * @author Andrew Dey
+     */
+    public static IRunCriteria membershipChanged() {
+        return (tick, membershipChanged) -> membershipChanged;
+    }
+
+    /** The criteria created by {@link #fixedInterval(long, TimeUnit, LongSupplier)}. */
+    private static final class IntervalCriteria implements IRunCriteria {
+        private final long intervalNanos;
+        private final LongSupplier nanoClock;
+
+        private boolean started;
+        /** The clock time at which the criteria are next met. */
+        private long nextRunNanos;
+
+        private IntervalCriteria(long intervalNanos, LongSupplier nanoClock) {
+            this.intervalNanos = intervalNanos;
+            this.nanoClock = nanoClock;
+        }
+
+        @Override
+        public boolean shouldRun(long tick, boolean membershipChanged) {
+            long now = nanoClock.getAsLong();
+            if (!started) {
+                started = true;
+                nextRunNanos = now + intervalNanos;
+                return true;
+            }
+
+            if (now - nextRunNanos < 0) {
+                return false;
+            }
+
+            nextRunNanos += intervalNanos;
+            if (now - nextRunNanos >= 0) {
+                nextRunNanos = now + intervalNanos;
+            }
+
+            return true;
+        }
+    }
+}
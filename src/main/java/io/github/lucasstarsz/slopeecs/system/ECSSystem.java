@@ -25,7 +25,7 @@ import java.util.Set;
  * @author Andrew Dey
  */
 public class ECSSystem {
-    /** The entities available in this system. */
+    /** The entities available in this system. Kept up to date by the {@link ECSSystemManager} -- do not modify it. */
     protected Set<Integer> entities;
     /** The manager of this system. */
     protected World world;
@@ -35,6 +35,52 @@ public class ECSSystem {
         entities = new HashSet<>();
     }
 
+    /**
+     * Updates the system, operating on its {@link #entities}.
+     *
+     * <h4>About</h4>
+     * This method is called for each registered system, in registration order, by {@link World#update()}. By default,
+     * it does nothing -- systems which are driven by the world loop override it, while systems which are updated
+     * manually can ignore it.
+     *
+     * @author Andrew Dey
+     */
+    public void update() {
+    }
+
+    /**
+     * Called by the {@link ECSSystemManager} right after the specified entity joins {@link #entities}.
+     *
+     * <h4>About</h4>
+     * By default, this does nothing. Systems which keep their own view of their entities -- such as {@link
+     * ECSTimeSlicedSystem} -- override it, along with {@link #entityRemoved(int)} and {@link #entitiesCleared()}.
+     *
+     * @param entity The entity which joined the system.
+     * @author Andrew Dey
+     */
+    protected void entityAdded(int entity) {
+    }
+
+    /**
+     * Called by the {@link ECSSystemManager} right after the specified entity leaves {@link #entities}.
+     *
+     * @param entity The entity which left the system.
+     * @author Andrew Dey
+     * @see #entityAdded(int)
+     */
+    protected void entityRemoved(int entity) {
+    }
+
+    /**
+     * Called by the {@link ECSSystemManager} right after every entity is removed from {@link #entities} at once, as
+     * part of {@link World#clear()}.
+     *
+     * @author Andrew Dey
+     * @see #entityAdded(int)
+     */
+    protected void entitiesCleared() {
+    }
+
     public void setWorld(World world) {
         this.world = world;
     }
@@ -5,6 +5,7 @@ import io.github.lucasstarsz.slopeecs.component.IComponent;
 
 import java.util.BitSet;
 import java.util.LinkedHashMap;
+import java.util.function.Supplier;
 
 /**
  * An {@link ECSSystem} builder, providing an easy way to create ECS systems.
@@ -49,6 +50,27 @@ import java.util.LinkedHashMap;
  * // we can now use transformSystem, woo!
  * }</pre>
  * <p>
+ * Systems can also leave out entities with certain components, using {@link #without(Class)}, and declare components
+ * they use only when present, using {@link #optional(Class)}:
+ * <pre>{@code
+ * // assume DeadComponent and SpriteComponent also exist
+ *
+ * TransformSystem transformSystem = new ECSSystemBuilder<>(world, TransformSystem.class)
+ *         .withComponent(TransformComponent.class)
+ *         .withComponent(VelocityComponent.class)
+ *         .without(DeadComponent.class)
+ *         .optional(SpriteComponent.class)
+ *         .build();
+ * }</pre>
+ * <p>
+ * Systems which do not need to run on every update can be given run criteria, using {@link #runIf(IRunCriteria)}:
+ * <pre>{@code
+ * TransformSystem transformSystem = new ECSSystemBuilder<>(world, TransformSystem.class)
+ *         .withComponent(TransformComponent.class)
+ *         .runIf(ECSRunCriteria.everyNthTick(2))
+ *         .build();
+ * }</pre>
+ * <p>
  * For more information on how to create systems, check the
  * <a href="https://github.com/lucasstarsz/Slope-ECS/wiki/Systems" target="_blank">wiki page for systems</a>.
  *
@@ -64,9 +86,17 @@ public class ECSSystemBuilder<T extends ECSSystem> {
     private final Class<T> systemClass;
     /** The signature of the system, used to store component bits. */
     private final BitSet systemSignature;
+    /** The exclusion signature of the system, used to store the bits of components entities must not have. */
+    private final BitSet systemExclusion;
+    /** The bits of the components the system uses only when present, which do not affect its entities. */
+    private final BitSet optionalComponents;
+    /** The run criteria of the system, or null if it runs on every update. */
+    private IRunCriteria runCriteria;
 
     /** Arguments to construct the system with, if necessary. */
     private final LinkedHashMap<Class<?>, Object> arguments;
+    /** The factory to create the system with, if one is used instead of reflection. */
+    private final Supplier<? extends T> systemFactory;
     /** The system to create and eventually return. */
     private T system;
 
@@ -89,7 +119,7 @@ public class ECSSystemBuilder<T extends ECSSystem> {
      * @author Andrew Dey
      */
     public ECSSystemBuilder(World world, Class<T> systemClass) {
-        this(world, systemClass, null);
+        this(world, systemClass, (LinkedHashMap<Class<?>, Object>) null);
     }
 
     /**
@@ -122,15 +152,58 @@ public class ECSSystemBuilder<T extends ECSSystem> {
     public ECSSystemBuilder(World world, Class<T> systemClass, LinkedHashMap<Class<?>, Object> arguments) {
         this.world = world;
         this.systemSignature = new BitSet();
+        this.systemExclusion = new BitSet();
+        this.optionalComponents = new BitSet();
         this.systemClass = systemClass;
         this.arguments = arguments;
+        this.systemFactory = null;
+
+        construct();
+    }
+
+    /**
+     * Constructs an ECSSystemBuilder with the specified ecs world and the class of the system to create, as well as a
+     * factory to create the system with.
+     *
+     * <h4>About</h4>
+     * For general information about the method, see {@link #ECSSystemBuilder(World, Class)}. For information about the
+     * {@code systemFactory} parameter, see {@link ECSSystemManager#registerSystem(Class, Supplier)}.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // Assume classes SomeSystem and CustomClass exist.
+     * // Assume the SomeSystem class has a constructor that takes a String, int, and CustomClass instance.
+     * ECSSystemBuilder<SomeSystem> someSystemBuilder = new ECSSystemBuilder<>(
+     *         world,
+     *         SomeSystem.class,
+     *         () -> new SomeSystem("parameter 1", 42, new CustomClass())
+     * );
+     * }</pre>
+     *
+     * @param world         The ecs world to create a system for.
+     * @param systemClass   The class of the system to create.
+     * @param systemFactory The factory which creates the system.
+     * @author Andrew Dey
+     */
+    public ECSSystemBuilder(World world, Class<T> systemClass, Supplier<? extends T> systemFactory) {
+        this.world = world;
+        this.systemSignature = new BitSet();
+        this.systemExclusion = new BitSet();
+        this.optionalComponents = new BitSet();
+        this.systemClass = systemClass;
+        this.arguments = null;
+        this.systemFactory = systemFactory;
 
         construct();
     }
 
     /** Instantiates the system by registering it in the {@link #world}. */
     private void construct() {
-        system = world.registerSystem(systemClass, arguments);
+        if (systemFactory != null) {
+            system = world.registerSystem(systemClass, systemFactory);
+        } else {
+            system = world.registerSystem(systemClass, arguments);
+        }
     }
 
     /**
@@ -162,13 +235,91 @@ public class ECSSystemBuilder<T extends ECSSystem> {
      * @author Andrew Dey
      */
     public <U extends IComponent> ECSSystemBuilder<T> withComponent(Class<U> componentClass) {
-        if (system == null) {
-            throw new IllegalStateException(
-                    "Cannot add components until the system has been constructed by calling \"construct()\"."
-            );
-        }
+        addComponentType(systemSignature, componentClass);
+        return this;
+    }
 
-        systemSignature.set(world.getComponentType(componentClass), true);
+    /**
+     * Excludes a component from the system.
+     *
+     * <h4>About</h4>
+     * Entities with a component excluded in this way are never added to the resulting system -- and are removed from
+     * it as soon as they gain the component. This is checked as entities' signatures change, so the system does not
+     * need to check for the component while iterating over its entities.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume classes SomeSystem, SomeComponent, DeadComponent exist
+     * SomeSystem someSystem = new ECSSystemBuilder<>(world, SomeSystem.class)
+     *              .withComponent(SomeComponent.class)
+     *              .without(DeadComponent.class)
+     *              .build();
+     * }</pre>
+     *
+     * @param componentClass The class of the component to exclude.
+     * @param <U>            The generic type of the component to exclude. Uses of {@code U} must implement {@code
+     *                       IComponent}.
+     * @return The builder, in order to chain method calls.
+     * @author Andrew Dey
+     */
+    public <U extends IComponent> ECSSystemBuilder<T> without(Class<U> componentClass) {
+        addComponentType(systemExclusion, componentClass);
+        return this;
+    }
+
+    /**
+     * Declares a component the system uses only when an entity has it.
+     *
+     * <h4>About</h4>
+     * Optional components do not affect which entities are in the resulting system -- the system checks for them
+     * itself, for example with a generated mapper's {@code has} method. Declaring them makes the system's use of the
+     * component explicit, and ensures the component is registered and not also required or excluded. Once built, the
+     * system's optional components can be read back through {@link ECSSystemManager#getSystemOptional(Class)} (see:
+     * {@link World#setSystemOptional(Class, BitSet)}).
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume classes SomeSystem, SomeComponent, SpriteComponent exist
+     * SomeSystem someSystem = new ECSSystemBuilder<>(world, SomeSystem.class)
+     *              .withComponent(SomeComponent.class)
+     *              .optional(SpriteComponent.class)
+     *              .build();
+     * }</pre>
+     *
+     * @param componentClass The class of the optional component.
+     * @param <U>            The generic type of the optional component. Uses of {@code U} must implement {@code
+     *                       IComponent}.
+     * @return The builder, in order to chain method calls.
+     * @author Andrew Dey
+     */
+    public <U extends IComponent> ECSSystemBuilder<T> optional(Class<U> componentClass) {
+        addComponentType(optionalComponents, componentClass);
+        return this;
+    }
+
+    /**
+     * Sets the criteria deciding which updates of the world the system runs during.
+     *
+     * <h4>About</h4>
+     * For more information, see {@link World#setSystemRunCriteria(Class, IRunCriteria)}. Common criteria can be found in
+     * {@link ECSRunCriteria}, and may be combined with {@link IRunCriteria#and(IRunCriteria)}/{@link
+     * IRunCriteria#or(IRunCriteria)}.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // assume classes SomeSystem, SomeComponent exist
+     * SomeSystem someSystem = new ECSSystemBuilder<>(world, SomeSystem.class)
+     *              .withComponent(SomeComponent.class)
+     *              .runIf(ECSRunCriteria.membershipChanged())
+     *              .build();
+     * }</pre>
+     *
+     * @param criteria The run criteria, or null to run the system on every update.
+     * @return The builder, in order to chain method calls.
+     * @author Andrew Dey
+     */
+    public ECSSystemBuilder<T> runIf(IRunCriteria criteria) {
+        this.runCriteria = criteria;
         return this;
     }
 
@@ -204,6 +355,42 @@ public class ECSSystemBuilder<T extends ECSSystem> {
      */
     public T build() {
         world.setSystemSignature(systemClass, systemSignature);
+        if (!systemExclusion.isEmpty()) {
+            world.setSystemExclusion(systemClass, systemExclusion);
+        }
+
+        if (!optionalComponents.isEmpty()) {
+            world.setSystemOptional(systemClass, optionalComponents);
+        }
+
+        if (runCriteria != null) {
+            world.setSystemRunCriteria(systemClass, runCriteria);
+        }
+
         return system;
     }
+
+    /**
+     * Sets the bit of the specified component in the specified set, which is one of {@link #systemSignature}, {@link
+     * #systemExclusion} or {@link #optionalComponents}. A component may only be in one of those sets.
+     */
+    private void addComponentType(BitSet componentTypes, Class<? extends IComponent> componentClass) {
+        if (system == null) {
+            throw new IllegalStateException(
+                    "Cannot add components until the system has been constructed by calling \"construct()\"."
+            );
+        }
+
+        int componentType = world.getComponentType(componentClass);
+        for (BitSet otherComponentTypes : new BitSet[]{systemSignature, systemExclusion, optionalComponents}) {
+            if (otherComponentTypes != componentTypes && otherComponentTypes.get(componentType)) {
+                throw new IllegalStateException(
+                        "Component " + componentClass.getTypeName() + " cannot be required, excluded or optional in "
+                                + systemClass.getTypeName() + " at the same time."
+                );
+            }
+        }
+
+        componentTypes.set(componentType, true);
+    }
 }
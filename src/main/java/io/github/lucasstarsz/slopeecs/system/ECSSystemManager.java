@@ -4,13 +4,23 @@ import io.github.lucasstarsz.slopeecs.World;
 import io.github.lucasstarsz.slopeecs.component.ECSComponentManager;
 import io.github.lucasstarsz.slopeecs.component.IComponent;
 import io.github.lucasstarsz.slopeecs.entity.ECSEntityManager;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMetrics;
+import io.github.lucasstarsz.slopeecs.metrics.SystemUpdateEvent;
+import io.github.lucasstarsz.slopeecs.util.ECSMemoryEstimates;
+import io.github.lucasstarsz.slopeecs.util.ECSSignatureMask;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * The manager of systems and system signatures.
@@ -29,10 +39,54 @@ import java.util.Map;
  */
 public class ECSSystemManager {
 
+    /**
+     * The constructors of each system class which have been used so far, keyed by their parameter types.
+     *
+     * <h4>About</h4>
+     * Looking up a constructor reflectively is slow compared to calling it, so each constructor is looked up once and
+     * kept as a {@link MethodHandle}. This is shared between all managers, since the same system classes are usually
+     * registered in every world.
+     */
+    private static final ClassValue<Map<List<Class<?>>, MethodHandle>> constructorHandles = new ClassValue<>() {
+        @Override
+        protected Map<List<Class<?>>, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /** The map of the signatures of each system. */
     private final Map<String, BitSet> systemSignatures = new HashMap<>();
-    /** The map of signatures. */
-    private final Map<String, ECSSystem> systems = new HashMap<>();
+    /** The map of the exclusion signatures of each system, for systems which exclude any components. */
+    private final Map<String, BitSet> systemExclusions = new HashMap<>();
+    /** The map of the optional components of each system, for systems which declare any. */
+    private final Map<String, BitSet> systemOptionals = new HashMap<>();
+    /** The map of systems, in registration order. */
+    private final Map<String, ECSSystem> systems = new LinkedHashMap<>();
+    /** The systems, in registration order, for iterating without going through {@link #systems}. */
+    private ECSSystem[] systemArray = new ECSSystem[0];
+    /**
+     * The signature of each system in {@link #systemArray} as a mask of only its non-empty words (see: {@link
+     * ECSSignatureMask}), or null for systems without a signature.
+     */
+    private ECSSignatureMask[] systemMasks = new ECSSignatureMask[0];
+    /**
+     * The exclusion signature of each system in {@link #systemArray} as a mask, or null for systems which exclude no
+     * components.
+     */
+    private ECSSignatureMask[] systemExclusionMasks = new ECSSignatureMask[0];
+    /**
+     * The entities of each system in {@link #systemArray}, as one bit per entity. Membership is checked here first, so
+     * that a system's entity set is only touched -- boxing the entity -- when the entity actually joins or leaves it.
+     */
+    private long[][] systemMembers = new long[0][];
+    /** The run criteria of each system in {@link #systemArray}, or null for systems which run on every update. */
+    private IRunCriteria[] systemRunCriteria = new IRunCriteria[0];
+    /** Whether any entity has joined or left each system in {@link #systemArray} since the system last ran. */
+    private boolean[] systemMembershipChanged = new boolean[0];
+    /** The number of updates so far. */
+    private long tick;
+    /** The metrics to record system updates and signature evaluations to, or null if metrics are disabled. */
+    private ECSMetrics metrics;
 
     /**
      * Registers the specified class as a system in the manager, returning a new system of the specified class.
@@ -56,6 +110,7 @@ public class ECSSystemManager {
      *     opens packagepathto.yoursystems to slope.ecs;
      * }
      * }</pre>
+     * Alternatively, use {@link #registerSystem(Class, Supplier)}, which does not use reflection at all.
      *
      * @param systemClass The class to register as a system.
      * @param <T>         The generic type of the system to create and register. Uses of {@code T} must extend {@code
@@ -64,7 +119,7 @@ public class ECSSystemManager {
      * @author Andrew Dey
      */
     public <T extends ECSSystem> T registerSystem(Class<T> systemClass) {
-        return registerSystem(systemClass, null);
+        return registerSystem(systemClass, (LinkedHashMap<Class<?>, Object>) null);
     }
 
     /**
@@ -123,20 +178,64 @@ public class ECSSystemManager {
         // Create a reference to the system and return it so it can be used externally
         T system;
 
-        // use reflection to instantiate the system
+        // use the cached constructor handle to instantiate the system
         try {
             if (arguments == null) {
-                system = systemClass.getDeclaredConstructor().newInstance();
+                system = systemClass.cast(getConstructorHandle(systemClass, null).invoke());
             } else {
-                Constructor<T> constructor = systemClass.getDeclaredConstructor(arguments.keySet().toArray(new Class[0]));
-                constructor.setAccessible(true);
-                system = constructor.newInstance(arguments.values().toArray());
+                MethodHandle constructor = getConstructorHandle(systemClass, arguments.keySet().toArray(new Class<?>[0]));
+                system = systemClass.cast(constructor.invokeWithArguments(arguments.values().toArray()));
             }
-        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+        } catch (Error e) {
+            // Errors such as OutOfMemoryError are not the system's fault, and should not be disguised as one
+            throw e;
+        } catch (Throwable e) {
             throw new IllegalStateException(e);
         }
 
-        systems.put(typeName, system);
+        addSystem(typeName, system);
+        return system;
+    }
+
+    /**
+     * Registers the specified class as a system in the manager, using the specified factory to create the system.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#registerSystem(Class, Supplier)}. Unlike the other overloads, it does
+     * not use reflection: the factory is called exactly once, and the system it returns is registered under the
+     * specified class. This makes it the fastest way to register systems, and the only way that works without opening
+     * system packages to the {@code slope.ecs} module.
+     *
+     * <h4>Example Usages</h4>
+     * <pre>{@code
+     * // Assume classes SomeSystem and CustomClass exist.
+     * // Assume the SomeSystem class has a constructor that takes a String, int, and CustomClass instance.
+     * ECSSystemManager systemManager = new ECSSystemManager();
+     * SomeSystem system = systemManager.registerSystem(
+     *         SomeSystem.class,
+     *         () -> new SomeSystem("parameter 1", 42, new CustomClass())
+     * );
+     * }</pre>
+     *
+     * @param systemClass   The class to register the system as.
+     * @param systemFactory The factory which creates the system.
+     * @param <T>           The generic type of the system to create and register. Uses of {@code T} must extend
+     *                      {@code ECSSystem}.
+     * @return The newly created system.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> T registerSystem(Class<T> systemClass, Supplier<? extends T> systemFactory) {
+        String typeName = systemClass.getTypeName();
+        if (systems.get(typeName) != null) {
+            throw new IllegalStateException("System with class " + typeName + " is already registered.");
+        }
+
+        T system = systemFactory.get();
+        if (!systemClass.isInstance(system)) {
+            throw new IllegalStateException("System factory for class " + typeName + " did not create a " + typeName + ".");
+        }
+
+        addSystem(typeName, system);
         return system;
     }
 
@@ -175,6 +274,103 @@ public class ECSSystemManager {
 
         // Set the signature for this system
         systemSignatures.put(typeName, signature);
+
+        ECSSystem system = systems.get(typeName);
+        for (int i = 0; i < systemArray.length; i++) {
+            if (systemArray[i] == system) {
+                systemMasks[i] = ECSSignatureMask.of(signature);
+            }
+        }
+    }
+
+    /**
+     * Sets the exclusion signature for the specified system class to the specified signature.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#setSystemExclusion(Class, BitSet)}. For more information, see {@link
+     * World#setSystemExclusion(Class, BitSet)}.
+     *
+     * @param systemClass The class whose exclusion signature is to be set.
+     * @param exclusion   The exclusion signature, or null to exclude no components.
+     * @param <T>         The generic type of the class whose exclusion signature is to be set. Uses of {@code T} must
+     *                    extend {@code ECSSystem}.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> void setExclusion(Class<T> systemClass, BitSet exclusion) {
+        String typeName = systemClass.getTypeName();
+
+        if (systems.get(typeName) == null) {
+            throw new IllegalStateException("System with class " + typeName + " was used before it was registered.");
+        }
+
+        boolean excludesNothing = exclusion == null || exclusion.isEmpty();
+        if (excludesNothing) {
+            systemExclusions.remove(typeName);
+        } else {
+            systemExclusions.put(typeName, exclusion);
+        }
+
+        ECSSystem system = systems.get(typeName);
+        for (int i = 0; i < systemArray.length; i++) {
+            if (systemArray[i] == system) {
+                systemExclusionMasks[i] = excludesNothing ? null : ECSSignatureMask.of(exclusion);
+            }
+        }
+    }
+
+    /**
+     * Sets the optional components of the specified system class.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#setSystemOptional(Class, BitSet)}. For more information, see {@link
+     * World#setSystemOptional(Class, BitSet)}.
+     *
+     * @param systemClass The class whose optional components are to be set.
+     * @param optional    The optional components, or null to declare none.
+     * @param <T>         The generic type of the class whose optional components are to be set. Uses of {@code T} must
+     *                    extend {@code ECSSystem}.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> void setOptional(Class<T> systemClass, BitSet optional) {
+        String typeName = systemClass.getTypeName();
+
+        if (systems.get(typeName) == null) {
+            throw new IllegalStateException("System with class " + typeName + " was used before it was registered.");
+        }
+
+        if (optional == null || optional.isEmpty()) {
+            systemOptionals.remove(typeName);
+        } else {
+            systemOptionals.put(typeName, optional);
+        }
+    }
+
+    /**
+     * Sets the run criteria for the specified system class.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#setSystemRunCriteria(Class, IRunCriteria)}. For more information, see
+     * {@link World#setSystemRunCriteria(Class, IRunCriteria)}.
+     *
+     * @param systemClass The class whose run criteria are to be set.
+     * @param criteria    The run criteria, or null to run the system on every update.
+     * @param <T>         The generic type of the class whose run criteria are to be set. Uses of {@code T} must extend
+     *                    {@code ECSSystem}.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> void setRunCriteria(Class<T> systemClass, IRunCriteria criteria) {
+        String typeName = systemClass.getTypeName();
+
+        ECSSystem system = systems.get(typeName);
+        if (system == null) {
+            throw new IllegalStateException("System with class " + typeName + " was used before it was registered.");
+        }
+
+        for (int i = 0; i < systemArray.length; i++) {
+            if (systemArray[i] == system) {
+                systemRunCriteria[i] = criteria;
+            }
+        }
     }
 
     /**
@@ -184,6 +380,9 @@ public class ECSSystemManager {
      * This is the method called by {@link World#destroyEntity(int)} -- it removes all instances of the entity from each
      * system in the manager. For more information, see {@link World#destroyEntity(int)}.
      * <p>
+     * Each system's membership bits are checked rather than its signature, so the entity is removed even from systems
+     * whose signature or exclusion signature has changed since it joined.
+     * <p>
      * If you are working with the {@link World} class, this method should not be called directly. The {@code World}
      * handles this internally.
      *
@@ -220,8 +419,22 @@ public class ECSSystemManager {
      * @author Andrew Dey
      */
     public void entityDestroyed(int entity) {
-        for (Map.Entry<String, ECSSystem> entry : systems.entrySet()) {
-            entry.getValue().entities.remove(entity);
+        for (int i = 0; i < systemArray.length; i++) {
+            removeMember(i, entity);
+        }
+    }
+
+    /**
+     * Erases every entity from every system, as part of {@link World#clear()}.
+     *
+     * @author Andrew Dey
+     */
+    public void clear() {
+        for (int i = 0; i < systemArray.length; i++) {
+            Arrays.fill(systemMembers[i], 0L);
+            systemArray[i].entities.clear();
+            systemArray[i].entitiesCleared();
+            systemMembershipChanged[i] = true;
         }
     }
 
@@ -235,7 +448,10 @@ public class ECSSystemManager {
      * <p>
      * When an entity is passed into this method, its signature is checked against each system's signature. If the
      * system's signature cannot be derived from within the entity's signature -- that is, a bitwise AND operation is
-     * performed to check if the system signature is a subset of the entity signature.
+     * performed to check if the system signature is a subset of the entity signature. If the system has an exclusion
+     * signature (see: {@link #setExclusion(Class, BitSet)}), the entity must also have none of the excluded components
+     * -- so excluded entities never enter the system's entities at all. The signature is compared in place, a word at a
+     * time, so no objects are allocated.
      *
      * <h4>Example Usages</h4>
      * This example specifically takes the approach of using the {@link World} class, as managing the {@link
@@ -256,7 +472,7 @@ public class ECSSystemManager {
      *
      * System.out.println("Entities in SomeSystem, before signature change: " + someSystem.getEntityCount());
      *
-     * // inside this method, entitySignatureChanged(entity, entitySignature) is called
+     * // inside this method, entitySignatureChanged(entity, signatures, offset, width) is called
      * world.removeComponent(entity, SomeComponent.class);
      *
      * System.out.println("Entities in SomeSystem, after signature change: " + someSystem.getEntityCount());
@@ -266,31 +482,126 @@ public class ECSSystemManager {
      * // Entities in SomeSystem, after signature change: 0
      * }</pre>
      *
-     * @param entity          The entity whose signature has changed.
-     * @param entitySignature The recently changed signature of the entity.
+     * @param entity     The entity whose signature has changed.
+     * @param signatures The table holding the recently changed signature of the entity (see: {@link
+     *                   ECSEntityManager#getSignatureTable()}).
+     * @param offset     The index of the signature's first word in {@code signatures}.
+     * @param width      The number of words in the signature.
      * @author Andrew Dey
      */
-    public void entitySignatureChanged(int entity, BitSet entitySignature) {
-        for (Map.Entry<String, ECSSystem> entry : systems.entrySet()) {
-            String type = entry.getKey();
-            ECSSystem system = entry.getValue();
-            BitSet systemSignature = systemSignatures.get(type);
-
-            /* The BitSet class in java does not produce a new BitSet when doing bitwise operations -- the operations
-             * are applied to the BitSet that the method is called on.
-             * As such, we need to create a clone to avoid messing up the original BitSet. */
-            BitSet entitySignatureClone = (BitSet) entitySignature.clone();
-            entitySignatureClone.and(systemSignature);
-            if (entitySignatureClone.equals(systemSignature)) {
+    public void entitySignatureChanged(int entity, long[] signatures, int offset, int width) {
+        if (metrics != null) {
+            metrics.signaturesEvaluated(systemArray.length);
+        }
+
+        for (int i = 0; i < systemArray.length; i++) {
+            if (systemMasks[i] == null) {
+                continue;
+            }
+
+            if (matches(i, signatures, offset, width)) {
                 // Entity signature contains system signature - insert into set
-                system.entities.add(entity);
+                addMember(i, entity);
             } else {
                 // Entity signature does not contain system signature - erase from set
-                system.entities.remove(entity);
+                removeMember(i, entity);
             }
         }
     }
 
+    /**
+     * Notifies each system in the manager that the specified range of entities now has the specified signature.
+     *
+     * <h4>About</h4>
+     * This is the bulk equivalent of {@link #entitySignatureChanged(int, long[], int, int)}, used by {@link
+     * World#transferEntities(int[], World)}. Each system's signature is evaluated only once for the whole range, rather
+     * than once per entity.
+     *
+     * @param entities   The array containing the entities whose signature has changed.
+     * @param fromIndex  The index of the first entity in the range, inclusive.
+     * @param toIndex    The index of the last entity in the range, exclusive.
+     * @param signatures The table holding the signature shared by every entity in the range.
+     * @param offset     The index of the signature's first word in {@code signatures}.
+     * @param width      The number of words in the signature.
+     * @author Andrew Dey
+     */
+    public void entitiesSignatureChanged(int[] entities, int fromIndex, int toIndex, long[] signatures, int offset, int width) {
+        if (metrics != null) {
+            metrics.signaturesEvaluated(systemArray.length);
+        }
+
+        for (int i = 0; i < systemArray.length; i++) {
+            if (systemMasks[i] == null) {
+                continue;
+            }
+
+            boolean matches = matches(i, signatures, offset, width);
+
+            for (int j = fromIndex; j < toIndex; j++) {
+                if (matches) {
+                    addMember(i, entities[j]);
+                } else {
+                    removeMember(i, entities[j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates each system in the manager, in the order they were registered.
+     *
+     * <h4>About</h4>
+     * This is the method called by {@link World#update()}. For more information, see {@link World#update()}.
+     * <p>
+     * Systems with run criteria (see: {@link #setRunCriteria(Class, IRunCriteria)}) which are not met are skipped. Once
+     * every system has been visited, the tick (see: {@link #getTick()}) advances.
+     * <p>
+     * If metrics are enabled (see: {@link #setMetrics(ECSMetrics)}), the duration of each system's update is recorded.
+     * If a Java Flight Recorder recording has {@link SystemUpdateEvent} enabled, an event is committed for each system
+     * as well.
+     *
+     * @author Andrew Dey
+     */
+    public void update() {
+        for (int i = 0; i < systemArray.length; i++) {
+            if (!shouldRun(i)) {
+                continue;
+            }
+
+            // When no recording has the event enabled, the JIT removes the event entirely
+            ECSSystem system = systemArray[i];
+            SystemUpdateEvent event = new SystemUpdateEvent();
+            event.begin();
+
+            if (metrics != null) {
+                long start = System.nanoTime();
+                system.update();
+                metrics.systemUpdated(system, System.nanoTime() - start);
+            } else {
+                system.update();
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.systemClass = system.getClass().getTypeName();
+                event.entityCount = system.getEntityCount();
+                event.commit();
+            }
+        }
+
+        tick++;
+    }
+
+    /**
+     * Sets the metrics to record system updates and signature evaluations to.
+     *
+     * @param metrics The metrics to record to, or null to disable recording.
+     * @author Andrew Dey
+     */
+    public void setMetrics(ECSMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Gets the signature of the system with the specified system class.
      *
@@ -310,6 +621,40 @@ public class ECSSystemManager {
         return systemSignatures.get(systemClass.getTypeName());
     }
 
+    /**
+     * Gets the exclusion signature of the system with the specified system class.
+     *
+     * <h4>About</h4>
+     * If the system class is not registered, or the system excludes no components (see: {@link #setExclusion(Class,
+     * BitSet)}), then the returned value will be null.
+     *
+     * @param systemClass The class of the system to retrieve the exclusion signature of.
+     * @param <T>         The generic type of the system class to get the exclusion signature for. Uses of {@code T}
+     *                    must extend {@code ECSSystem}.
+     * @return The requested exclusion signature, if found.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> BitSet getSystemExclusion(Class<T> systemClass) {
+        return systemExclusions.get(systemClass.getTypeName());
+    }
+
+    /**
+     * Gets the optional components of the system with the specified system class.
+     *
+     * <h4>About</h4>
+     * If the system class is not registered, or the system declares no optional components (see: {@link
+     * #setOptional(Class, BitSet)}), then the returned value will be null.
+     *
+     * @param systemClass The class of the system to retrieve the optional components of.
+     * @param <T>         The generic type of the system class to get the optional components for. Uses of {@code T}
+     *                    must extend {@code ECSSystem}.
+     * @return The requested optional components, if found.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> BitSet getSystemOptional(Class<T> systemClass) {
+        return systemOptionals.get(systemClass.getTypeName());
+    }
+
     /**
      * Gets the system with the specified system class.
      *
@@ -335,7 +680,152 @@ public class ECSSystemManager {
         return system;
     }
 
+    /**
+     * Adds an entry for the entity set and signature of each system to the specified memory report.
+     *
+     * @param report The report to add to.
+     * @author Andrew Dey
+     */
+    public void reportMemory(ECSMemoryReport report) {
+        int systemIndex = 0;
+        for (Map.Entry<String, ECSSystem> entry : systems.entrySet()) {
+            long bytes = ECSMemoryEstimates.integerHashSetBytes(entry.getValue().entities.size())
+                    + ECSMemoryEstimates.longArrayBytes(systemMembers[systemIndex].length);
+
+            if (systemMasks[systemIndex] != null) {
+                bytes += systemMasks[systemIndex].estimateBytes();
+            }
+
+            if (systemExclusionMasks[systemIndex] != null) {
+                bytes += systemExclusionMasks[systemIndex].estimateBytes();
+            }
+
+            systemIndex++;
+            report.add(ECSMemoryReport.systemMembershipCategory, entry.getKey(), bytes, bytes);
+        }
+    }
+
     public int getSystemCount() {
         return systems.values().size();
     }
+
+    /**
+     * Gets the run criteria of the system with the specified system class.
+     *
+     * <h4>About</h4>
+     * If the system class is not registered, or the system runs on every update, then the returned value will be null.
+     *
+     * @param systemClass The class of the system to retrieve the run criteria of.
+     * @param <T>         The generic type of the system class to get the run criteria for. Uses of {@code T} must
+     *                    extend {@code ECSSystem}.
+     * @return The requested run criteria, if found.
+     * @author Andrew Dey
+     */
+    public <T extends ECSSystem> IRunCriteria getRunCriteria(Class<T> systemClass) {
+        ECSSystem system = systems.get(systemClass.getTypeName());
+        for (int i = 0; i < systemArray.length; i++) {
+            if (systemArray[i] == system) {
+                return systemRunCriteria[i];
+            }
+        }
+
+        return null;
+    }
+
+    /** Gets the number of updates so far, which is the tick given to run criteria during the next update. */
+    public long getTick() {
+        return tick;
+    }
+
+    /** Adds the specified system to the end of the registration order. */
+    private void addSystem(String typeName, ECSSystem system) {
+        systems.put(typeName, system);
+
+        systemArray = Arrays.copyOf(systemArray, systemArray.length + 1);
+        systemArray[systemArray.length - 1] = system;
+        systemMasks = Arrays.copyOf(systemMasks, systemMasks.length + 1);
+        systemExclusionMasks = Arrays.copyOf(systemExclusionMasks, systemExclusionMasks.length + 1);
+        systemMembers = Arrays.copyOf(systemMembers, systemMembers.length + 1);
+        systemMembers[systemMembers.length - 1] = new long[0];
+        systemRunCriteria = Arrays.copyOf(systemRunCriteria, systemRunCriteria.length + 1);
+        systemMembershipChanged = Arrays.copyOf(systemMembershipChanged, systemMembershipChanged.length + 1);
+        systemMembershipChanged[systemMembershipChanged.length - 1] = true;
+    }
+
+    /**
+     * Checks the run criteria of the system at the specified index, clearing its membership change if it is to run.
+     */
+    private boolean shouldRun(int systemIndex) {
+        IRunCriteria criteria = systemRunCriteria[systemIndex];
+        if (criteria != null && !criteria.shouldRun(tick, systemMembershipChanged[systemIndex])) {
+            return false;
+        }
+
+        systemMembershipChanged[systemIndex] = false;
+        return true;
+    }
+
+    /** Adds the entity to the system at the specified index, if it is not in the system already. */
+    private void addMember(int systemIndex, int entity) {
+        long[] members = systemMembers[systemIndex];
+        int word = entity >>> 6;
+        if (word >= members.length) {
+            members = Arrays.copyOf(members, Math.max(word + 1, members.length * 2));
+            systemMembers[systemIndex] = members;
+        }
+
+        if ((members[word] & (1L << entity)) == 0) {
+            members[word] |= 1L << entity;
+            systemArray[systemIndex].entities.add(entity);
+            systemArray[systemIndex].entityAdded(entity);
+            systemMembershipChanged[systemIndex] = true;
+        }
+    }
+
+    /** Removes the entity from the system at the specified index, if it is in the system. */
+    private void removeMember(int systemIndex, int entity) {
+        long[] members = systemMembers[systemIndex];
+        int word = entity >>> 6;
+        if (word < members.length && (members[word] & (1L << entity)) != 0) {
+            members[word] &= ~(1L << entity);
+            systemArray[systemIndex].entities.remove(entity);
+            systemArray[systemIndex].entityRemoved(entity);
+            systemMembershipChanged[systemIndex] = true;
+        }
+    }
+
+    /**
+     * Checks whether the specified signature has every component required by the system at the specified index, and
+     * none of the components it excludes. The system must have a signature.
+     */
+    private boolean matches(int systemIndex, long[] signatures, int offset, int width) {
+        ECSSignatureMask exclusionMask = systemExclusionMasks[systemIndex];
+        return systemMasks[systemIndex].isContainedIn(signatures, offset, width)
+                && (exclusionMask == null || !exclusionMask.intersects(signatures, offset, width));
+    }
+
+    /**
+     * Gets the constructor handle of the specified system class with the specified parameter types, looking it up and
+     * caching it the first time.
+     * <p>
+     * As with {@link Class#getDeclaredConstructor(Class[])}, a null {@code parameterTypes} is the no-arguments
+     * constructor, which must be accessible to this module. Constructors with arguments are made accessible.
+     */
+    private static MethodHandle getConstructorHandle(Class<?> systemClass, Class<?>[] parameterTypes) throws ReflectiveOperationException {
+        List<Class<?>> key = parameterTypes == null ? List.of() : Arrays.asList(parameterTypes);
+        Map<List<Class<?>>, MethodHandle> handles = constructorHandles.get(systemClass);
+
+        MethodHandle handle = handles.get(key);
+        if (handle == null) {
+            Constructor<?> constructor = systemClass.getDeclaredConstructor(parameterTypes);
+            if (parameterTypes != null) {
+                constructor.setAccessible(true);
+            }
+
+            handle = MethodHandles.lookup().unreflectConstructor(constructor);
+            handles.put(key, handle);
+        }
+
+        return handle;
+    }
 }
@@ -0,0 +1,213 @@
+package io.github.lucasstarsz.slopeecs.system;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A system which spreads the work of visiting its entities across several ticks.
+ *
+ * <h2>About</h2>
+ * A system visiting every one of a large number of entities in one update -- re-planning AI, for example -- makes
+ * that tick far slower than the ones around it. A system extending {@code ECSTimeSlicedSystem} instead visits its
+ * entities in <strong>passes</strong>, each of which may span several updates:
+ * <ul>
+ *     <li>Each update visits entities, calling {@link #updateEntity(int)}, until the entity budget (see: {@link
+ *     #setEntityBudget(int)}) or time budget (see: {@link #setTimeBudget(long, TimeUnit)}) runs out, or the pass is
+ *     complete.</li>
+ *     <li>The next update resumes where the last one stopped. Once every entity has been visited, the pass is complete
+ *     -- {@link #passCompleted()} is called, and the next update starts a new pass.</li>
+ * </ul>
+ * The system keeps its entities in its own packed list, with a cursor marking how far the current pass has come. The
+ * list is kept in step with the system's {@link #entities}, and stays correct as entities join and leave between
+ * updates: an entity which is a member for a whole pass is visited exactly once in it, an entity which joins during a
+ * pass is visited later in that pass, and an entity which leaves is never visited again.
+ *
+ * <h4>Example Usages</h4>
+ * <pre>{@code
+ * // assume class AgentComponent exists
+ * public class PlanningSystem extends ECSTimeSlicedSystem {
+ *     public PlanningSystem() {
+ *         setTimeBudget(2, TimeUnit.MILLISECONDS);
+ *     }
+ *
+ *     @Override
+ *     protected void updateEntity(int entity) {
+ *         world.getComponent(entity, AgentComponent.class).replan();
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+public abstract class ECSTimeSlicedSystem extends ECSSystem {
+
+    /** The system's entities, packed. Entities before {@link #cursor} have been visited in the current pass. */
+    private int[] members = new int[0];
+    /** The index of each entity in {@link #members}, or -1 for entities which are not members. */
+    private int[] memberIndices = new int[0];
+    private int memberCount;
+    /** The index in {@link #members} of the next entity to visit in the current pass. */
+    private int cursor;
+
+    /** The most entities visited per update. */
+    private int entityBudget = Integer.MAX_VALUE;
+    /** The most time spent visiting entities per update, in nanoseconds. */
+    private long timeBudgetNanos = Long.MAX_VALUE;
+
+    /** The number of passes completed so far. */
+    private long passCount;
+    /** The number of entities visited by the last update. */
+    private int lastVisitedCount;
+
+    /**
+     * Updates the specified entity, as part of the current pass.
+     *
+     * @param entity The entity to update.
+     * @author Andrew Dey
+     */
+    protected abstract void updateEntity(int entity);
+
+    /**
+     * Called once a pass has visited every entity, before the next pass starts.
+     *
+     * <h4>About</h4>
+     * By default, this does nothing.
+     *
+     * @author Andrew Dey
+     */
+    protected void passCompleted() {
+    }
+
+    /**
+     * Visits entities of the current pass, until a budget runs out or the pass is complete.
+     *
+     * <h4>About</h4>
+     * For more information, see {@link ECSTimeSlicedSystem}. The time budget is checked after each entity, so an update
+     * always visits at least one entity, and may overrun the time budget by up to one entity's work.
+     *
+     * @author Andrew Dey
+     */
+    @Override
+    public final void update() {
+        long start = timeBudgetNanos == Long.MAX_VALUE ? 0 : System.nanoTime();
+        int visited = 0;
+
+        while (cursor < memberCount && visited < entityBudget) {
+            updateEntity(members[cursor++]);
+            visited++;
+
+            if (timeBudgetNanos != Long.MAX_VALUE && System.nanoTime() - start >= timeBudgetNanos) {
+                break;
+            }
+        }
+
+        lastVisitedCount = visited;
+        if (cursor >= memberCount) {
+            cursor = 0;
+            passCount++;
+            passCompleted();
+        }
+    }
+
+    @Override
+    protected void entityAdded(int entity) {
+        if (entity >= memberIndices.length) {
+            int oldLength = memberIndices.length;
+            memberIndices = Arrays.copyOf(memberIndices, Math.max(entity + 1, oldLength * 2));
+            Arrays.fill(memberIndices, oldLength, memberIndices.length, -1);
+        }
+
+        if (memberCount == members.length) {
+            members = Arrays.copyOf(members, Math.max(16, members.length * 2));
+        }
+
+        // New members go at the end, so they are still visited in the current pass
+        members[memberCount] = entity;
+        memberIndices[entity] = memberCount;
+        memberCount++;
+    }
+
+    @Override
+    protected void entityRemoved(int entity) {
+        int index = memberIndices[entity];
+        memberIndices[entity] = -1;
+
+        // Keep the visited entities packed before the cursor: fill the gap with the last visited entity, which moves the
+        // gap to the cursor
+        if (index < cursor) {
+            cursor--;
+            moveMember(cursor, index);
+            index = cursor;
+        }
+
+        // Fill the gap, which is among the unvisited entities, with the last entity
+        memberCount--;
+        if (index != memberCount) {
+            moveMember(memberCount, index);
+        }
+    }
+
+    @Override
+    protected void entitiesCleared() {
+        Arrays.fill(memberIndices, -1);
+        memberCount = 0;
+        cursor = 0;
+    }
+
+    /** Moves the member at one index of {@link #members} to another. */
+    private void moveMember(int from, int to) {
+        int entity = members[from];
+        members[to] = entity;
+        memberIndices[entity] = to;
+    }
+
+    /**
+     * Sets the most entities visited per update, which must be at least 1.
+     *
+     * @param entityBudget The most entities visited per update.
+     * @author Andrew Dey
+     */
+    public void setEntityBudget(int entityBudget) {
+        if (entityBudget < 1) {
+            throw new IllegalStateException("Entity budget must be at least 1, but was " + entityBudget + ".");
+        }
+
+        this.entityBudget = entityBudget;
+    }
+
+    /**
+     * Sets the most time spent visiting entities per update.
+     *
+     * @param timeBudget The most time spent per update, which must be positive.
+     * @param unit       The unit of {@code timeBudget}.
+     * @author Andrew Dey
+     */
+    public void setTimeBudget(long timeBudget, TimeUnit unit) {
+        if (timeBudget <= 0) {
+            throw new IllegalStateException("Time budget must be positive, but was " + timeBudget + " " + unit + ".");
+        }
+
+        this.timeBudgetNanos = unit.toNanos(timeBudget);
+    }
+
+    public int getEntityBudget() {
+        return entityBudget;
+    }
+
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    public long getPassCount() {
+        return passCount;
+    }
+
+    public int getLastVisitedCount() {
+        return lastVisitedCount;
+    }
+
+    /** Gets the number of entities the current pass has yet to visit. */
+    public int getRemainingCount() {
+        return memberCount - cursor;
+    }
+}
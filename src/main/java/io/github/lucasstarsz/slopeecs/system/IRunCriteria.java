@@ -0,0 +1,66 @@
+package io.github.lucasstarsz.slopeecs.system;
+
+import io.github.lucasstarsz.slopeecs.World;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An interface for deciding whether a system runs during an update of its {@link World}.
+ *
+ * <h2>About</h2>
+ * A system with run criteria (see: {@link ECSSystemBuilder#runIf(IRunCriteria)}) is only updated by {@link
+ * World#update()} when its criteria allow it -- a skipped system costs only the check, rather than each system
+ * checking for itself whether it has work to do. {@link ECSRunCriteria} holds the common criteria; any other can be
+ * given as a lambda, like so:
+ * <pre>{@code
+ * // assume classes AiSystem, ImpactEvent exist
+ * ECSEventChannel<ImpactEvent> impacts = world.getEventChannel(ImpactEvent.class);
+ * AiSystem aiSystem = new ECSSystemBuilder<>(world, AiSystem.class)
+ *         .runIf((tick, membershipChanged) -> impacts.getNextSequence() != impacts.getOldestSequence())
+ *         .build();
+ * }</pre>
+ *
+ * @author Andrew Dey
+ */
+@FunctionalInterface
+public interface IRunCriteria {
+    /**
+     * Checks whether the system should run during the current update.
+     *
+     * @param tick              The number of the current update, counting from 0 (see: {@link
+     *                          ECSSystemManager#getTick()}).
+     * @param membershipChanged Whether any entity has joined or left the system since it last ran.
+     * @return Whether the system should run.
+     * @author Andrew Dey
+     */
+    boolean shouldRun(long tick, boolean membershipChanged);
+
+    /**
+     * Gets criteria which are met only when both these criteria and the specified criteria are met.
+     *
+     * <h4>About</h4>
+     * The other criteria are only checked if these are met, so stateful criteria (such as {@link
+     * ECSRunCriteria#fixedInterval(long, TimeUnit)}) should come last.
+     *
+     * @param other The other criteria.
+     * @return The combined criteria.
+     * @author Andrew Dey
+     */
+    default IRunCriteria and(IRunCriteria other) {
+        return (tick, membershipChanged) -> shouldRun(tick, membershipChanged) && other.shouldRun(tick, membershipChanged);
+    }
+
+    /**
+     * Gets criteria which are met when either these criteria or the specified criteria are met.
+     *
+     * <h4>About</h4>
+     * The other criteria are only checked if these are not met.
+     *
+     * @param other The other criteria.
+     * @return The combined criteria.
+     * @author Andrew Dey
+     */
+    default IRunCriteria or(IRunCriteria other) {
+        return (tick, membershipChanged) -> shouldRun(tick, membershipChanged) || other.shouldRun(tick, membershipChanged);
+    }
+}
@@ -14,4 +14,14 @@ import io.github.lucasstarsz.slopeecs.World;
 public class ECSDefaults {
     /** The default maximum number of entities allowed. */
     public static final int defaultMaxEntityCount = 1000;
+    /** The default time the world waits for the tasks of a blocking system each update, in milliseconds. */
+    public static final long defaultBlockingTickDeadlineMillis = 16;
+    /** The default number of entries in each page of a component array. Must be a power of two. */
+    public static final int defaultComponentPageSize = 256;
+    /** The default number of events each buffer of an event channel holds before it grows. */
+    public static final int defaultEventCapacity = 64;
+    /** The default number of world updates a {@code WorldRunner} may run in a single frame to catch up. */
+    public static final int defaultMaxStepsPerFrame = 5;
+    /** The default time before a deadline at which a {@code WorldRunner} stops parking its thread and spins instead. */
+    public static final long defaultRunnerSpinNanos = 200_000;
 }
@@ -0,0 +1,73 @@
+package io.github.lucasstarsz.slopeecs.util;
+
+import io.github.lucasstarsz.slopeecs.system.ECSBlockingSystem;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors shared across the ECS.
+ *
+ * <h2>About</h2>
+ * This class provides the executor which {@link ECSBlockingSystem}s run their tasks on. On runtimes with virtual
+ * threads (Java 21 and later), every task gets its own virtual thread, so thousands of tasks can block on I/O at once
+ * without tying up platform threads. Slope itself targets an earlier Java version, so the virtual thread executor is
+ * looked up reflectively -- on runtimes without it, a cached pool of daemon platform threads is used instead.
+ * <p>
+ * It also provides the executor which the shards of a {@code PartitionedWorld} are updated on.
+ *
+ * @author Andrew Dey
+ */
+public class ECSExecutors {
+
+    private static final ExecutorService blockingTaskExecutor = createBlockingTaskExecutor();
+    private static final ExecutorService shardExecutor = createShardExecutor();
+
+    /**
+     * Gets the executor used for blocking tasks.
+     *
+     * @return The shared executor for blocking tasks.
+     * @author Andrew Dey
+     */
+    public static ExecutorService getBlockingTaskExecutor() {
+        return blockingTaskExecutor;
+    }
+
+    /**
+     * Gets the executor used to update the shards of a {@code PartitionedWorld}.
+     *
+     * <h4>About</h4>
+     * Shard updates are CPU-bound, so this is a fixed pool of daemon platform threads, one per available processor.
+     *
+     * @return The shared executor for shard updates.
+     * @author Andrew Dey
+     */
+    public static ExecutorService getShardExecutor() {
+        return shardExecutor;
+    }
+
+    private static ExecutorService createBlockingTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "slope-ecs-blocking-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static ExecutorService createShardExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "slope-ecs-shard-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
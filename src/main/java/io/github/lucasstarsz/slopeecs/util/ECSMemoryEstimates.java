@@ -0,0 +1,73 @@
+package io.github.lucasstarsz.slopeecs.util;
+
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+
+/**
+ * Estimates of the heap size of the objects used by the ECS.
+ *
+ * <h2>About</h2>
+ * Java offers no cheap way to measure the size of an object, so {@link ECSMemoryReport} is built from these estimates
+ * instead. They assume a 64-bit JVM with compressed object pointers (the default for heaps under 32GB): 12-byte object
+ * headers, 16-byte array headers, 4-byte references, and every object padded to a multiple of 8 bytes.
+ * <p>
+ * Boxed {@code Integer}s are always counted, even though small values are shared from the JVM's cache.
+ *
+ * @author Andrew Dey
+ */
+public class ECSMemoryEstimates {
+
+    private static final long objectHeaderSize = 12;
+    private static final long arrayHeaderSize = 16;
+    private static final long referenceSize = 4;
+    private static final long integerSize = 16;
+    /** The size of a {@code HashMap} itself, without its table or entries. */
+    private static final long hashMapSize = 48;
+    /** The size of each {@code HashMap} entry, without its key and value. */
+    private static final long hashMapNodeSize = 32;
+
+    public static long referenceBytes(int count) {
+        return count * referenceSize;
+    }
+
+    public static long referenceArrayBytes(int length) {
+        return align(arrayHeaderSize + length * referenceSize);
+    }
+
+    public static long intArrayBytes(int length) {
+        return align(arrayHeaderSize + length * 4L);
+    }
+
+    public static long floatArrayBytes(int length) {
+        return intArrayBytes(length);
+    }
+
+    public static long longArrayBytes(int length) {
+        return align(arrayHeaderSize + length * 8L);
+    }
+
+    /**
+     * Estimates the size of a {@code HashSet} of {@code Integer}s with the specified number of elements.
+     *
+     * @param size The number of elements in the set.
+     * @return The estimated size of the set, its backing map, and its elements.
+     * @author Andrew Dey
+     */
+    public static long integerHashSetBytes(int size) {
+        long tableBytes = size == 0 ? 0 : referenceArrayBytes(tableCapacity(size));
+        return align(objectHeaderSize + referenceSize) + hashMapSize + tableBytes + size * (hashMapNodeSize + integerSize);
+    }
+
+    /** Gets the table capacity a {@code HashMap} grows to for the specified number of entries. */
+    private static int tableCapacity(int size) {
+        int capacity = 16;
+        while (capacity * 0.75 < size) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
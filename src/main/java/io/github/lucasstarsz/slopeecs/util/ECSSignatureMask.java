@@ -0,0 +1,119 @@
+package io.github.lucasstarsz.slopeecs.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A signature mask which only stores, and only compares, the words it has bits in.
+ *
+ * <h2>About</h2>
+ * Signatures are stored as words of a flat {@code long} array (see: {@link ECSSignatures}), one bit per component type
+ * -- so with hundreds of component types, every signature is several words wide. A system usually requires only a few
+ * component types, though, which fall into one or two of those words, and comparing the rest is wasted work.
+ * <p>
+ * A {@code ECSSignatureMask} is a two-level mask: its summary lists the indices of the words which have any bit set,
+ * and only those words are kept. Comparing it with an entity's signature visits only the listed words, reading each
+ * straight out of the signature table, so the cost depends on how many words the mask uses rather than how many
+ * component types are registered. Comparisons do not allocate.
+ *
+ * @author Andrew Dey
+ */
+public final class ECSSignatureMask {
+
+    /** The indices of the words with any bit set, in increasing order. */
+    private final int[] wordIndices;
+    /** The words with any bit set, in the same order as {@link #wordIndices}. */
+    private final long[] words;
+
+    private ECSSignatureMask(int[] wordIndices, long[] words) {
+        this.wordIndices = wordIndices;
+        this.words = words;
+    }
+
+    /**
+     * Creates a mask of the component types set in the specified signature.
+     *
+     * @param signature The component types of the mask.
+     * @return The mask.
+     * @author Andrew Dey
+     */
+    public static ECSSignatureMask of(BitSet signature) {
+        long[] allWords = signature.toLongArray();
+        int[] wordIndices = new int[allWords.length];
+        long[] words = new long[allWords.length];
+
+        int count = 0;
+        for (int i = 0; i < allWords.length; i++) {
+            if (allWords[i] != 0) {
+                wordIndices[count] = i;
+                words[count] = allWords[i];
+                count++;
+            }
+        }
+
+        return new ECSSignatureMask(Arrays.copyOf(wordIndices, count), Arrays.copyOf(words, count));
+    }
+
+    /**
+     * Checks whether the specified signature has every component type set in the mask.
+     *
+     * @param signatures The table holding the signature.
+     * @param offset     The index of the signature's first word.
+     * @param width      The number of words in the signature.
+     * @return Whether the signature contains the mask.
+     * @author Andrew Dey
+     */
+    public boolean isContainedIn(long[] signatures, int offset, int width) {
+        for (int i = 0; i < words.length; i++) {
+            int wordIndex = wordIndices[i];
+            if (wordIndex >= width || (signatures[offset + wordIndex] & words[i]) != words[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether the specified signature has any component type set in the mask.
+     *
+     * @param signatures The table holding the signature.
+     * @param offset     The index of the signature's first word.
+     * @param width      The number of words in the signature.
+     * @return Whether the signature and the mask share a component type.
+     * @author Andrew Dey
+     */
+    public boolean intersects(long[] signatures, int offset, int width) {
+        for (int i = 0; i < words.length; i++) {
+            int wordIndex = wordIndices[i];
+            if (wordIndex >= width) {
+                return false;
+            }
+
+            if ((signatures[offset + wordIndex] & words[i]) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /** Gets the number of words the mask stores, which is the number of words with any bit set. */
+    public int getWordCount() {
+        return words.length;
+    }
+
+    /**
+     * Estimates the memory used by the mask.
+     *
+     * @return The estimated number of bytes used by the mask's arrays.
+     * @author Andrew Dey
+     */
+    public long estimateBytes() {
+        return ECSMemoryEstimates.intArrayBytes(wordIndices.length) + ECSMemoryEstimates.longArrayBytes(words.length);
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.lucasstarsz.slopeecs.util;
+
+import io.github.lucasstarsz.slopeecs.entity.ECSEntityManager;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Operations on signatures stored as words of a flat {@code long} array.
+ *
+ * <h2>About</h2>
+ * The {@link ECSEntityManager} stores every entity's signature in a single {@code long[]}: each entity owns {@code
+ * width} consecutive words starting at {@code entity * width}, and component type {@code t} is bit {@code t % 64} of
+ * word {@code t / 64}. These methods read and write a signature in place, given the table, the offset of its first word
+ * and its width -- none of them allocate, aside from the conversion to a {@link BitSet}.
+ * <p>
+ * Signatures are compared with system signatures only through {@link ECSSignatureMask}, which skips the system
+ * signature's empty words -- so there is a single matching path.
+ *
+ * @author Andrew Dey
+ */
+public class ECSSignatures {
+
+    /**
+     * Gets the number of words needed to hold a signature of the specified number of component types.
+     *
+     * @param componentTypeCount The number of component types.
+     * @return The number of words needed, which is at least 1.
+     * @author Andrew Dey
+     */
+    public static int wordsFor(int componentTypeCount) {
+        return Math.max((componentTypeCount + 63) >>> 6, 1);
+    }
+
+    public static void set(long[] signatures, int offset, int componentType) {
+        signatures[offset + (componentType >>> 6)] |= 1L << componentType;
+    }
+
+    public static void clear(long[] signatures, int offset, int componentType) {
+        signatures[offset + (componentType >>> 6)] &= ~(1L << componentType);
+    }
+
+    public static boolean get(long[] signatures, int offset, int width, int componentType) {
+        int word = componentType >>> 6;
+        return word < width && (signatures[offset + word] & (1L << componentType)) != 0;
+    }
+
+    public static void clearAll(long[] signatures, int offset, int width) {
+        Arrays.fill(signatures, offset, offset + width, 0L);
+    }
+
+    public static boolean isEmpty(long[] signatures, int offset, int width) {
+        for (int i = 0; i < width; i++) {
+            if (signatures[offset + i] != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether two signatures in the same table have exactly the same component types set.
+     *
+     * @param signatures   The table holding both signatures.
+     * @param firstOffset  The index of the first signature's first word.
+     * @param secondOffset The index of the second signature's first word.
+     * @param width        The number of words in each signature.
+     * @return Whether the signatures are equal.
+     * @author Andrew Dey
+     */
+    public static boolean equal(long[] signatures, int firstOffset, int secondOffset, int width) {
+        for (int i = 0; i < width; i++) {
+            if (signatures[firstOffset + i] != signatures[secondOffset + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets a hash of the specified signature, for grouping equal signatures (see: {@link #equal(long[], int, int,
+     * int)}). Its bits are well mixed, so it may be masked down to the size of a power-of-two table.
+     *
+     * @param signatures The table holding the signature.
+     * @param offset     The index of the signature's first word.
+     * @param width      The number of words in the signature.
+     * @return The hash of the signature.
+     * @author Andrew Dey
+     */
+    public static int hash(long[] signatures, int offset, int width) {
+        long hash = 0;
+        for (int i = 0; i < width; i++) {
+            hash = (hash + signatures[offset + i]) * 0x9E3779B97F4A7C15L;
+        }
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Gets the first component type set in the specified signature, at or after the specified component type.
+     *
+     * @param signatures    The table holding the signature.
+     * @param offset        The index of the signature's first word.
+     * @param width         The number of words in the signature.
+     * @param componentType The component type to start searching from.
+     * @return The next set component type, or -1 if there is none.
+     * @author Andrew Dey
+     */
+    public static int nextSetBit(long[] signatures, int offset, int width, int componentType) {
+        int wordIndex = componentType >>> 6;
+        if (wordIndex >= width) {
+            return -1;
+        }
+
+        long word = signatures[offset + wordIndex] & (-1L << componentType);
+        while (true) {
+            if (word != 0) {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+
+            if (++wordIndex == width) {
+                return -1;
+            }
+
+            word = signatures[offset + wordIndex];
+        }
+    }
+
+    public static BitSet toBitSet(long[] signatures, int offset, int width) {
+        return BitSet.valueOf(Arrays.copyOfRange(signatures, offset, offset + width));
+    }
+}
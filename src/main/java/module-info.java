@@ -5,8 +5,15 @@
  * <a href="https://github.com/lucasstarsz/Slope-ECS/wiki" target="_blank">wiki</a>.
  */
 module slope.ecs {
+    requires transitive jdk.jfr;
+
     exports io.github.lucasstarsz.slopeecs;
     exports io.github.lucasstarsz.slopeecs.entity;
     exports io.github.lucasstarsz.slopeecs.component;
     exports io.github.lucasstarsz.slopeecs.system;
+    exports io.github.lucasstarsz.slopeecs.spatial;
+    exports io.github.lucasstarsz.slopeecs.metrics;
+    exports io.github.lucasstarsz.slopeecs.event;
+    exports io.github.lucasstarsz.slopeecs.replication;
+    exports io.github.lucasstarsz.slopeecs.annotation;
 }
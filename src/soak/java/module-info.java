@@ -0,0 +1,7 @@
+/**
+ * This module contains the soak test harness for <a href="https://github.com/lucasstarsz/Slope-ECS">Slope ECS</a>.
+ */
+module slope.ecs.soak {
+    requires slope.ecs;
+    requires java.management;
+}
@@ -0,0 +1,131 @@
+package soak;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The settings of a soak test run, read from {@code --name=value} command line arguments.
+ *
+ * <h2>About</h2>
+ * The {@code --scenario} argument picks the defaults (see: {@link SoakScenario}); every other argument overrides one
+ * setting of it. Run with {@code --help} to list the arguments.
+ */
+public class SoakConfig {
+
+    static final String usage = """
+            Arguments, each given as --name=value:
+              scenario         steady, churn or burst (default: steady)
+              duration         seconds to run for (default: 60)
+              sample           seconds between samples (default: 5)
+              max-entities     maximum entity count of the world
+              initial          entities spawned before the first tick
+              spawn            entities spawned every tick
+              despawn          entities destroyed every tick
+              burst-interval   ticks between bursts, or 0 for none
+              burst-size       entities spawned by each burst
+              velocity         chance of a spawned entity having a velocity (default: 0.5)
+              health           chance of a spawned entity having health (default: 0.5)
+              tag              chance of a spawned entity having a tag (default: 0.25)
+              systems          number of systems to register, from 1 to 4 (default: 4)
+              seed             seed of the random spawns and despawns (default: 1)
+              csv              file to write the samples to (default: build/soak/soak-<scenario>.csv)
+            """;
+
+    SoakScenario scenario = SoakScenario.STEADY;
+    double durationSeconds = 60;
+    double sampleSeconds = 5;
+    int maxEntities;
+    int initialEntities;
+    int spawnPerTick;
+    int despawnPerTick;
+    int burstInterval;
+    int burstSize;
+    double velocityChance = 0.5;
+    double healthChance = 0.5;
+    double tagChance = 0.25;
+    int systemCount = 4;
+    long seed = 1;
+    Path csvPath;
+
+    /**
+     * Reads the settings from the specified arguments.
+     *
+     * @param args The command line arguments.
+     * @return The settings.
+     * @throws IllegalArgumentException If an argument is unknown or invalid.
+     */
+    static SoakConfig parse(String[] args) {
+        SoakConfig config = new SoakConfig();
+
+        // the scenario decides the defaults, so it is read before everything else
+        for (String arg : args) {
+            if (arg.startsWith("--scenario=")) {
+                config.scenario = SoakScenario.valueOf(valueOf(arg).toUpperCase(Locale.ROOT));
+            }
+        }
+
+        config.maxEntities = config.scenario.maxEntities;
+        config.initialEntities = config.scenario.initialEntities;
+        config.spawnPerTick = config.scenario.spawnPerTick;
+        config.despawnPerTick = config.scenario.despawnPerTick;
+        config.burstInterval = config.scenario.burstInterval;
+        config.burstSize = config.scenario.burstSize;
+        config.csvPath = Path.of("build", "soak", "soak-" + config.scenario.name().toLowerCase(Locale.ROOT) + ".csv");
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must be given as --name=value, but got \"" + arg + "\".");
+            }
+
+            String value = valueOf(arg);
+            switch (arg.substring(2, arg.indexOf('='))) {
+                case "scenario" -> {
+                }
+                case "duration" -> config.durationSeconds = Double.parseDouble(value);
+                case "sample" -> config.sampleSeconds = Double.parseDouble(value);
+                case "max-entities" -> config.maxEntities = Integer.parseInt(value);
+                case "initial" -> config.initialEntities = Integer.parseInt(value);
+                case "spawn" -> config.spawnPerTick = Integer.parseInt(value);
+                case "despawn" -> config.despawnPerTick = Integer.parseInt(value);
+                case "burst-interval" -> config.burstInterval = Integer.parseInt(value);
+                case "burst-size" -> config.burstSize = Integer.parseInt(value);
+                case "velocity" -> config.velocityChance = Double.parseDouble(value);
+                case "health" -> config.healthChance = Double.parseDouble(value);
+                case "tag" -> config.tagChance = Double.parseDouble(value);
+                case "systems" -> config.systemCount = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "csv" -> config.csvPath = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown argument \"" + arg + "\".");
+            }
+        }
+
+        if (config.systemCount < 1 || config.systemCount > 4) {
+            throw new IllegalArgumentException("The system count must be from 1 to 4, but was " + config.systemCount + ".");
+        }
+
+        if (config.initialEntities > config.maxEntities) {
+            throw new IllegalArgumentException("The initial entity count cannot exceed the maximum entity count.");
+        }
+
+        if (config.durationSeconds <= 0 || config.sampleSeconds <= 0) {
+            throw new IllegalArgumentException("The duration and sample interval must be positive.");
+        }
+
+        return config;
+    }
+
+    private static String valueOf(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                Locale.ROOT,
+                "scenario=%s duration=%.0fs max-entities=%d initial=%d spawn=%d despawn=%d burst=%d every %d ticks"
+                        + " mix=[velocity %.2f, health %.2f, tag %.2f] systems=%d seed=%d",
+                scenario, durationSeconds, maxEntities, initialEntities, spawnPerTick, despawnPerTick, burstSize,
+                burstInterval, velocityChance, healthChance, tagChance, systemCount, seed
+        );
+    }
+}
@@ -0,0 +1,130 @@
+package soak;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects tick durations, and turns them into one sample per interval -- printed, and written as a row of a CSV file.
+ *
+ * <h2>About</h2>
+ * Each sample covers the ticks since the previous one: their count and rate, and percentiles of their durations. The
+ * heap usage and the total garbage collection count and time of the JVM are read at the time of the sample, so the
+ * CSV shows them as trends over the run.
+ */
+public class SoakReport implements AutoCloseable {
+
+    private static final String csvHeader = "elapsed_seconds,ticks,ticks_per_second,p50_ms,p90_ms,p99_ms,max_ms,"
+            + "living_entities,heap_used_mb,heap_committed_mb,gc_count,gc_time_ms";
+
+    private final PrintWriter csv;
+    private final List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    /** The durations of the ticks since the last sample, in nanoseconds. */
+    private long[] tickDurations = new long[1024];
+    private int tickCount;
+    private long totalTicks;
+    private long lastSampleNanos;
+
+    private long firstHeapUsed = -1;
+    private long lastHeapUsed;
+    private long lastGcTime;
+    private long lastGcCount;
+
+    public SoakReport(Path csvPath, long startNanos) throws IOException {
+        Path parent = csvPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        csv = new PrintWriter(Files.newBufferedWriter(csvPath));
+        csv.println(csvHeader);
+        lastSampleNanos = startNanos;
+    }
+
+    public void recordTick(long durationNanos) {
+        if (tickCount == tickDurations.length) {
+            tickDurations = Arrays.copyOf(tickDurations, tickDurations.length * 2);
+        }
+
+        tickDurations[tickCount++] = durationNanos;
+        totalTicks++;
+    }
+
+    /**
+     * Records a sample of the ticks since the last sample, then starts the next interval.
+     *
+     * @param nanos          The current time, from {@link System#nanoTime()}.
+     * @param elapsedSeconds The time since the run started.
+     * @param livingEntities The number of living entities.
+     */
+    public void sample(long nanos, double elapsedSeconds, int livingEntities) {
+        double intervalSeconds = (nanos - lastSampleNanos) / 1e9;
+        Arrays.sort(tickDurations, 0, tickCount);
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        lastHeapUsed = heap.getUsed();
+        if (firstHeapUsed < 0) {
+            firstHeapUsed = lastHeapUsed;
+        }
+
+        lastGcCount = 0;
+        lastGcTime = 0;
+        for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+            lastGcCount += Math.max(garbageCollector.getCollectionCount(), 0);
+            lastGcTime += Math.max(garbageCollector.getCollectionTime(), 0);
+        }
+
+        String row = String.format(
+                Locale.ROOT,
+                "%.1f,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%.1f,%.1f,%d,%d",
+                elapsedSeconds, tickCount, tickCount / intervalSeconds,
+                percentileMillis(0.50), percentileMillis(0.90), percentileMillis(0.99), percentileMillis(1.0),
+                livingEntities, heap.getUsed() / 1048576.0, heap.getCommitted() / 1048576.0, lastGcCount, lastGcTime
+        );
+        csv.println(row);
+        csv.flush();
+
+        System.out.printf(
+                Locale.ROOT,
+                "[%7.1fs] %8.1f ticks/s  p50 %7.3f ms  p99 %7.3f ms  max %7.3f ms  entities %7d  heap %7.1f MB  gc %5d ms%n",
+                elapsedSeconds, tickCount / intervalSeconds, percentileMillis(0.50), percentileMillis(0.99),
+                percentileMillis(1.0), livingEntities, heap.getUsed() / 1048576.0, lastGcTime
+        );
+
+        tickCount = 0;
+        lastSampleNanos = nanos;
+    }
+
+    /** Prints the totals of the run. */
+    public void printSummary(double elapsedSeconds) {
+        System.out.printf(
+                Locale.ROOT,
+                "%nTotal: %d ticks in %.1f s (%.1f ticks/s), heap %+.1f MB since the first sample, %d collections taking %d ms%n",
+                totalTicks, elapsedSeconds, totalTicks / elapsedSeconds, (lastHeapUsed - firstHeapUsed) / 1048576.0,
+                lastGcCount, lastGcTime
+        );
+    }
+
+    @Override
+    public void close() {
+        csv.close();
+    }
+
+    /** Gets the specified percentile of the sorted tick durations, in milliseconds. */
+    private double percentileMillis(double percentile) {
+        if (tickCount == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile * tickCount) - 1;
+        return tickDurations[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,151 @@
+package soak;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import soak.components.HealthComponent;
+import soak.components.PositionComponent;
+import soak.components.TagComponent;
+import soak.components.VelocityComponent;
+import soak.systems.BoundsSystem;
+import soak.systems.HealthSystem;
+import soak.systems.MovementSystem;
+import soak.systems.TagSystem;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Drives a {@link World} with the load described by a {@link SoakConfig}, reporting to a {@link SoakReport}.
+ *
+ * <h2>About</h2>
+ * Each tick destroys random living entities, spawns new ones with a random mix of components, and updates the world.
+ * The tick is timed as a whole, so the reported durations cover the structural changes as well as the systems. Ticks
+ * run back to back, without any frame pacing.
+ */
+public class SoakRunner {
+
+    private final SoakConfig config;
+    private final SplittableRandom random;
+    private final World world = new World();
+
+    /** The living entities, in no particular order, so a random one can be destroyed in constant time. */
+    private final int[] living;
+    private int livingCount;
+
+    public SoakRunner(SoakConfig config) {
+        this.config = config;
+        this.random = new SplittableRandom(config.seed);
+        this.living = new int[config.maxEntities];
+    }
+
+    public void run() throws IOException {
+        setUpWorld();
+        spawn(config.initialEntities);
+
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + (long) (config.durationSeconds * 1e9);
+        long sampleNanos = (long) (config.sampleSeconds * 1e9);
+        long nextSampleNanos = startNanos + sampleNanos;
+        long tick = 0;
+
+        try (SoakReport report = new SoakReport(config.csvPath, startNanos)) {
+            long now = startNanos;
+            while (now < endNanos) {
+                long tickStart = System.nanoTime();
+
+                despawn(config.despawnPerTick);
+                spawn(config.spawnPerTick);
+                if (config.burstInterval > 0 && ++tick % config.burstInterval == 0) {
+                    spawn(config.burstSize);
+                }
+
+                world.update();
+
+                now = System.nanoTime();
+                report.recordTick(now - tickStart);
+
+                if (now >= nextSampleNanos) {
+                    report.sample(now, (now - startNanos) / 1e9, livingCount);
+                    nextSampleNanos += sampleNanos;
+                }
+            }
+
+            report.printSummary((now - startNanos) / 1e9);
+        }
+    }
+
+    private void setUpWorld() {
+        world.init(config.maxEntities);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+        world.registerComponent(HealthComponent.class);
+        world.registerComponent(TagComponent.class);
+
+        new ECSSystemBuilder<>(world, MovementSystem.class, MovementSystem::new)
+                .withComponent(PositionComponent.class)
+                .withComponent(VelocityComponent.class)
+                .build();
+
+        if (config.systemCount > 1) {
+            new ECSSystemBuilder<>(world, HealthSystem.class, HealthSystem::new)
+                    .withComponent(HealthComponent.class)
+                    .build();
+        }
+
+        if (config.systemCount > 2) {
+            new ECSSystemBuilder<>(world, TagSystem.class, TagSystem::new)
+                    .withComponent(TagComponent.class)
+                    .withComponent(PositionComponent.class)
+                    .build();
+        }
+
+        if (config.systemCount > 3) {
+            new ECSSystemBuilder<>(world, BoundsSystem.class, BoundsSystem::new)
+                    .withComponent(PositionComponent.class)
+                    .build();
+        }
+    }
+
+    /** Spawns up to the specified number of entities, stopping early if the world is full. */
+    private void spawn(int count) {
+        int spawnCount = Math.min(count, config.maxEntities - livingCount);
+
+        for (int i = 0; i < spawnCount; i++) {
+            int entity = world.createEntity();
+            living[livingCount++] = entity;
+
+            PositionComponent position = new PositionComponent();
+            position.x = (float) random.nextDouble(-100, 100);
+            position.y = (float) random.nextDouble(-100, 100);
+            world.addComponent(entity, position);
+
+            if (random.nextDouble() < config.velocityChance) {
+                VelocityComponent velocity = new VelocityComponent();
+                velocity.x = (float) random.nextDouble(-1, 1);
+                velocity.y = (float) random.nextDouble(-1, 1);
+                world.addComponent(entity, velocity);
+            }
+
+            if (random.nextDouble() < config.healthChance) {
+                HealthComponent health = new HealthComponent();
+                health.health = random.nextInt(100);
+                world.addComponent(entity, health);
+            }
+
+            if (random.nextDouble() < config.tagChance) {
+                world.addComponent(entity, new TagComponent());
+            }
+        }
+    }
+
+    /** Destroys up to the specified number of random living entities. */
+    private void despawn(int count) {
+        int despawnCount = Math.min(count, livingCount);
+
+        for (int i = 0; i < despawnCount; i++) {
+            int index = random.nextInt(livingCount);
+            world.destroyEntity(living[index]);
+            living[index] = living[--livingCount];
+        }
+    }
+}
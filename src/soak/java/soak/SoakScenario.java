@@ -0,0 +1,30 @@
+package soak;
+
+/**
+ * The preset load patterns of the soak test. Each scenario only sets the defaults of a {@link SoakConfig} -- any of
+ * them can still be overridden from the command line.
+ */
+public enum SoakScenario {
+    /** A stable population, replacing a small share of its entities every tick. */
+    STEADY(20_000, 10_000, 100, 100, 0, 0),
+    /** A stable population, replacing a large share of its entities every tick. */
+    CHURN(20_000, 10_000, 1_000, 1_000, 0, 0),
+    /** A small population which periodically spawns a large wave of entities, and then slowly loses them. */
+    BURST(20_000, 1_000, 10, 60, 120, 5_000);
+
+    final int maxEntities;
+    final int initialEntities;
+    final int spawnPerTick;
+    final int despawnPerTick;
+    final int burstInterval;
+    final int burstSize;
+
+    SoakScenario(int maxEntities, int initialEntities, int spawnPerTick, int despawnPerTick, int burstInterval, int burstSize) {
+        this.maxEntities = maxEntities;
+        this.initialEntities = initialEntities;
+        this.spawnPerTick = spawnPerTick;
+        this.despawnPerTick = despawnPerTick;
+        this.burstInterval = burstInterval;
+        this.burstSize = burstSize;
+    }
+}
@@ -0,0 +1,40 @@
+package soak;
+
+/**
+ * Runs the soak test harness.
+ *
+ * <h2>About</h2>
+ * The harness drives a world with a configurable load for a fixed time -- minutes to hours -- printing a sample every
+ * few seconds and writing every sample to a CSV file, so slow regressions in the world's hot paths show up as trends
+ * rather than single numbers. Run it through Gradle, passing arguments with {@code -PsoakArgs}:
+ * <pre>{@code
+ * ./gradlew soakTest -PsoakArgs="--scenario=churn --duration=3600 --csv=churn.csv"
+ * }</pre>
+ * For the available arguments, run with {@code --help} or see {@link SoakConfig}.
+ */
+public class SoakTest {
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (arg.equals("--help")) {
+                System.out.print(SoakConfig.usage);
+                return;
+            }
+        }
+
+        SoakConfig config;
+        try {
+            config = SoakConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(SoakConfig.usage);
+            System.exit(1);
+            return;
+        }
+
+        System.out.println("Slope-ECS soak test: " + config);
+        System.out.println("Writing samples to " + config.csvPath.toAbsolutePath() + System.lineSeparator());
+
+        new SoakRunner(config).run();
+    }
+}
@@ -0,0 +1,7 @@
+package soak.components;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+public class HealthComponent implements IComponent {
+    public int health;
+}
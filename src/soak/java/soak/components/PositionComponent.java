@@ -0,0 +1,8 @@
+package soak.components;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+public class PositionComponent implements IComponent {
+    public float x;
+    public float y;
+}
@@ -0,0 +1,7 @@
+package soak.components;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+public class TagComponent implements IComponent {
+    public int tag;
+}
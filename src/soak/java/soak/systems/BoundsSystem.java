@@ -0,0 +1,24 @@
+package soak.systems;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+import soak.components.PositionComponent;
+
+public class BoundsSystem extends ECSSystem {
+
+    /** The distance from the origin past which positions wrap around. */
+    private static final float bounds = 1000f;
+
+    @Override
+    public void update() {
+        for (int entity : entities) {
+            PositionComponent position = world.getComponent(entity, PositionComponent.class);
+
+            if (Math.abs(position.x) > bounds) {
+                position.x = 0f;
+            }
+            if (Math.abs(position.y) > bounds) {
+                position.y = 0f;
+            }
+        }
+    }
+}
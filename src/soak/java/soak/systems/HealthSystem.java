@@ -0,0 +1,17 @@
+package soak.systems;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+import soak.components.HealthComponent;
+
+public class HealthSystem extends ECSSystem {
+
+    @Override
+    public void update() {
+        for (int entity : entities) {
+            HealthComponent health = world.getComponent(entity, HealthComponent.class);
+
+            // regenerate, wrapping around so the values stay bounded over long runs
+            health.health = (health.health + 1) % 100;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package soak.systems;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+import soak.components.PositionComponent;
+import soak.components.VelocityComponent;
+
+public class MovementSystem extends ECSSystem {
+
+    @Override
+    public void update() {
+        for (int entity : entities) {
+            PositionComponent position = world.getComponent(entity, PositionComponent.class);
+            VelocityComponent velocity = world.getComponent(entity, VelocityComponent.class);
+
+            position.x += velocity.x;
+            position.y += velocity.y;
+        }
+    }
+}
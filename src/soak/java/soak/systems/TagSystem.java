@@ -0,0 +1,18 @@
+package soak.systems;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+import soak.components.PositionComponent;
+import soak.components.TagComponent;
+
+public class TagSystem extends ECSSystem {
+
+    @Override
+    public void update() {
+        for (int entity : entities) {
+            TagComponent tag = world.getComponent(entity, TagComponent.class);
+            PositionComponent position = world.getComponent(entity, PositionComponent.class);
+
+            tag.tag = (int) position.x;
+        }
+    }
+}
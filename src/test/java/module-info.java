@@ -1,5 +1,7 @@
 module Slope.ECS.test {
     requires junit;
+    requires jdk.jfr;
+    requires jdk.management;
     requires slope.ecs;
     exports unittest.testcases;
     exports unittest.mock.components;
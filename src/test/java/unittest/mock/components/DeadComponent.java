@@ -0,0 +1,6 @@
+package unittest.mock.components;
+
+import io.github.lucasstarsz.slopeecs.component.IComponent;
+
+public class DeadComponent implements IComponent {
+}
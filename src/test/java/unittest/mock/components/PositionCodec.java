@@ -0,0 +1,26 @@
+package unittest.mock.components;
+
+import io.github.lucasstarsz.slopeecs.replication.IComponentCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class PositionCodec implements IComponentCodec<PositionComponent> {
+    @Override
+    public void write(PositionComponent component, DataOutput out) throws IOException {
+        out.writeFloat(component.x);
+        out.writeFloat(component.y);
+    }
+
+    @Override
+    public PositionComponent create() {
+        return new PositionComponent();
+    }
+
+    @Override
+    public void read(PositionComponent component, DataInput in) throws IOException {
+        component.x = in.readFloat();
+        component.y = in.readFloat();
+    }
+}
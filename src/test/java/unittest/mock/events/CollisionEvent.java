@@ -0,0 +1,6 @@
+package unittest.mock.events;
+
+public class CollisionEvent {
+    public int first;
+    public int second;
+}
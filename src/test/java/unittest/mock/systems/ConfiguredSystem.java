@@ -0,0 +1,13 @@
+package unittest.mock.systems;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+
+public class ConfiguredSystem extends ECSSystem {
+    public final String name;
+    public final int priority;
+
+    public ConfiguredSystem(String name, int priority) {
+        this.name = name;
+        this.priority = priority;
+    }
+}
@@ -0,0 +1,21 @@
+package unittest.mock.systems;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+
+public class CountingSystem extends ECSSystem {
+    public int updateCount;
+    public long sleepMillis;
+
+    @Override
+    public void update() {
+        updateCount++;
+
+        if (sleepMillis > 0) {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
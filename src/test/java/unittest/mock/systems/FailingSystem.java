@@ -0,0 +1,9 @@
+package unittest.mock.systems;
+
+import io.github.lucasstarsz.slopeecs.system.ECSSystem;
+
+public class FailingSystem extends ECSSystem {
+    public FailingSystem() {
+        throw new AssertionError("FailingSystem cannot be constructed.");
+    }
+}
@@ -0,0 +1,39 @@
+package unittest.mock.systems;
+
+import io.github.lucasstarsz.slopeecs.CommandBuffer;
+import io.github.lucasstarsz.slopeecs.system.ECSBlockingSystem;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives each entity a velocity, pretending to block while it does so.
+ * <p>
+ * Entities with a negative x position block until interrupted, and entities with a negative y position fail.
+ */
+public class LoadingSystem extends ECSBlockingSystem {
+
+    public final Set<Thread> taskThreads = ConcurrentHashMap.newKeySet();
+
+    @Override
+    protected void updateEntity(int entity, CommandBuffer commands) {
+        taskThreads.add(Thread.currentThread());
+        PositionComponent positionComponent = getComponent(entity, PositionComponent.class);
+
+        if (positionComponent.x < 0) {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+
+        if (positionComponent.y < 0) {
+            throw new IllegalStateException("Could not load entity " + entity + ".");
+        }
+
+        commands.addComponent(entity, new VelocityComponent());
+    }
+}
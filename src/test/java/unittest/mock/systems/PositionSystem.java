@@ -5,6 +5,11 @@ import unittest.mock.components.PositionComponent;
 
 public class PositionSystem extends ECSSystem {
 
+    @Override
+    public void update() {
+        update(false);
+    }
+
     public void update(boolean printEntityInfo) {
         for (int entity : entities) {
 
@@ -0,0 +1,21 @@
+package unittest.mock.systems;
+
+import io.github.lucasstarsz.slopeecs.system.ECSTimeSlicedSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SlicedSystem extends ECSTimeSlicedSystem {
+    public final List<Integer> visited = new ArrayList<>();
+    public int passesCompleted;
+
+    @Override
+    protected void updateEntity(int entity) {
+        visited.add(entity);
+    }
+
+    @Override
+    protected void passCompleted() {
+        passesCompleted++;
+    }
+}
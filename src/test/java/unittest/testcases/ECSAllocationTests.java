@@ -0,0 +1,153 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.event.ECSEventChannel;
+import io.github.lucasstarsz.slopeecs.event.ECSEventReader;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.UniqueComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.events.CollisionEvent;
+import unittest.mock.systems.PositionSystem;
+
+import java.lang.management.ManagementFactory;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * Guards the hot paths of the world against allocation creeping back in.
+ * <p>
+ * Each test warms an operation up, then measures the bytes the test thread allocates while repeating it, failing if
+ * the average per operation exceeds the operation's budget. Budgets are averages over many operations, so a single
+ * allocation made once (such as growing an array) does not fail a test, while an allocation made every time does.
+ */
+public class ECSAllocationTests {
+    private static final int entityCount = 1000;
+    private static final int warmUpRounds = 20_000;
+    private static final int measuredRounds = 100_000;
+
+    private final World world = new World();
+    private PositionSystem positionSystem;
+    private int[] entities;
+    private com.sun.management.ThreadMXBean threadBean;
+
+    @Before
+    public void initialize() {
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue("Measuring allocations needs thread allocation tracking.", threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        world.init(entityCount);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+        world.registerComponent(UniqueComponent.class);
+        positionSystem = new ECSSystemBuilder<>(world, PositionSystem.class)
+                .withComponent(PositionComponent.class)
+                .build();
+
+        entities = new int[entityCount];
+        world.createEntities(entities);
+        for (int entity : entities) {
+            world.addComponent(entity, new PositionComponent());
+        }
+    }
+
+    @Test
+    public void checkGetComponent_shouldNotAllocate() {
+        int[] index = new int[1];
+        double bytes = bytesPerOperation(() -> {
+            world.getComponent(entities[index[0]], PositionComponent.class).x++;
+            index[0] = (index[0] + 1) % entityCount;
+        });
+
+        assertBudget("getComponent", bytes, 0.5);
+    }
+
+    @Test
+    public void checkSystemIteration_shouldNotAllocatePerEntity() {
+        double bytes = bytesPerOperation(warmUpRounds / 100, measuredRounds / 100, () -> positionSystem.update());
+
+        // the system's entity set hands out one iterator per update, no matter how many entities it holds
+        assertBudget("system iteration", bytes / entityCount, 0.1);
+    }
+
+    @Test
+    public void checkAddRemove_withoutMembershipChange_shouldNotAllocate() {
+        UniqueComponent component = new UniqueComponent();
+        int[] index = new int[1];
+        double bytes = bytesPerOperation(() -> {
+            int entity = entities[index[0]];
+            world.addComponent(entity, component);
+            world.removeComponent(entity, UniqueComponent.class);
+            index[0] = (index[0] + 1) % entityCount;
+        });
+
+        assertBudget("steady-state add/remove", bytes, 0.5);
+    }
+
+    @Test
+    public void checkAddRemove_withMembershipChange_shouldStayWithinBudget() {
+        PositionComponent component = new PositionComponent();
+        int[] index = new int[1];
+        double bytes = bytesPerOperation(() -> {
+            int entity = entities[index[0]];
+            world.removeComponent(entity, PositionComponent.class);
+            world.addComponent(entity, component);
+            index[0] = (index[0] + 1) % entityCount;
+        });
+
+        // re-entering a system's entity set boxes the entity and creates a hash set node
+        assertBudget("steady-state add/remove with system membership changes", bytes, 64);
+    }
+
+    @Test
+    public void checkEvents_shouldNotAllocateOncePooled() {
+        ECSEventChannel<CollisionEvent> collisions = world.registerEventChannel(CollisionEvent.class, CollisionEvent::new);
+        ECSEventReader<CollisionEvent> reader = collisions.createReader();
+        int[] sum = new int[1];
+
+        double bytes = bytesPerOperation(() -> {
+            for (int i = 0; i < 10; i++) {
+                collisions.publish().first = i;
+            }
+            while (reader.hasNext()) {
+                sum[0] += reader.next().first;
+            }
+            collisions.update();
+        });
+
+        assertBudget("event publishing and reading", bytes, 0.5);
+    }
+
+    private double bytesPerOperation(Runnable operation) {
+        return bytesPerOperation(warmUpRounds, measuredRounds, operation);
+    }
+
+    /** Runs the operation to warm it up, then gets the average bytes allocated by each of the measured runs. */
+    private double bytesPerOperation(int warmUpCount, int measuredCount, Runnable operation) {
+        for (int i = 0; i < warmUpCount; i++) {
+            operation.run();
+        }
+
+        // measuring allocates a little by itself, which is subtracted from the result
+        long overheadStart = threadBean.getCurrentThreadAllocatedBytes();
+        long overhead = threadBean.getCurrentThreadAllocatedBytes() - overheadStart;
+
+        long start = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < measuredCount; i++) {
+            operation.run();
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - start - overhead;
+
+        return Math.max(allocated, 0) / (double) measuredCount;
+    }
+
+    private static void assertBudget(String operation, double bytesPerOperation, double budget) {
+        assertTrue(
+                operation + " allocated " + bytesPerOperation + " bytes per operation, over its budget of " + budget + ".",
+                bytesPerOperation <= budget
+        );
+    }
+}
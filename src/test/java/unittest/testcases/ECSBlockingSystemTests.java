@@ -0,0 +1,98 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.LoadingSystem;
+
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.*;
+
+public class ECSBlockingSystemTests {
+    private final World world = new World();
+    private LoadingSystem loadingSystem;
+    private int[] entities;
+
+    @Before
+    public void initialize() {
+        world.init(8);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+
+        loadingSystem = new ECSSystemBuilder<>(world, LoadingSystem.class)
+                .withComponent(PositionComponent.class)
+                .build();
+        loadingSystem.setTickDeadline(2, TimeUnit.SECONDS);
+
+        entities = new int[4];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = world.createEntity();
+            world.addComponent(entities[i], new PositionComponent());
+        }
+    }
+
+    @Test
+    public void checkUpdate_shouldApplyRecordedChanges() {
+        world.update();
+
+        for (int entity : entities) {
+            assertNotNull("Each entity should have received a velocity.", world.getComponent(entity, VelocityComponent.class));
+        }
+        assertEquals("No task should have timed out.", 0, loadingSystem.getTimedOutTaskCount());
+    }
+
+    @Test
+    public void checkUpdate_shouldRunOffWorldThread() {
+        world.update();
+
+        assertFalse("Tasks should have run.", loadingSystem.taskThreads.isEmpty());
+        assertFalse("Tasks should not run on the world's thread.", loadingSystem.taskThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void checkUpdate_withSingleTask() {
+        loadingSystem.setPerEntityTasks(false);
+        world.update();
+
+        assertEquals("All entities should be updated by a single task.", 1, loadingSystem.taskThreads.size());
+        for (int entity : entities) {
+            assertNotNull("Each entity should have received a velocity.", world.getComponent(entity, VelocityComponent.class));
+        }
+    }
+
+    @Test
+    public void checkUpdate_whenTaskMissesDeadline() {
+        loadingSystem.setTickDeadline(100, TimeUnit.MILLISECONDS);
+        world.getComponent(entities[0], PositionComponent.class).x = -1f;
+
+        long start = System.nanoTime();
+        world.update();
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue("The update should not wait far past the deadline.", elapsed < TimeUnit.SECONDS.toNanos(5));
+        assertEquals("The blocked task should have timed out.", 1, loadingSystem.getTimedOutTaskCount());
+        assertFalse(
+                "The timed out task's changes should be discarded.",
+                world.getEntityManager().getSignature(entities[0]).get(world.getComponentType(VelocityComponent.class))
+        );
+        assertNotNull("Other tasks' changes should still be applied.", world.getComponent(entities[1], VelocityComponent.class));
+    }
+
+    @Test
+    public void tryUpdate_whenTaskFails() {
+        world.getComponent(entities[2], PositionComponent.class).y = -1f;
+
+        try {
+            world.update();
+            fail("The failed task should be reported.");
+        } catch (IllegalStateException e) {
+            assertNotNull("The task's exception should be the cause.", e.getCause());
+        }
+
+        assertNotNull("Other tasks' changes should still be applied.", world.getComponent(entities[0], VelocityComponent.class));
+    }
+}
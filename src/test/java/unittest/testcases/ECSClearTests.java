@@ -0,0 +1,128 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.ConcurrentWorld;
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.component.ECSComponentArray;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.PositionSystem;
+
+import static junit.framework.TestCase.*;
+
+public class ECSClearTests {
+    private final World world = new World();
+    private PositionSystem positionSystem;
+    private int[] entities;
+
+    @Before
+    public void initialize() {
+        world.init(100);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+        positionSystem = new ECSSystemBuilder<>(world, PositionSystem.class)
+                .withComponent(PositionComponent.class)
+                .build();
+
+        entities = new int[60];
+        world.createEntities(entities);
+        for (int i = 0; i < entities.length; i++) {
+            world.addComponent(entities[i], new PositionComponent());
+            if (i % 2 == 0) {
+                world.addComponent(entities[i], new VelocityComponent());
+            }
+        }
+    }
+
+    @Test
+    public void checkDestroyEntities_shouldRemoveOnlyListedEntities() {
+        int[] destroyed = {entities[0], entities[1], entities[2], entities[1]};
+        world.destroyEntities(destroyed);
+
+        assertEquals("Listed entities should be destroyed once each.", entities.length - 3, world.getEntityManager().getLivingEntityCount());
+        assertEquals("Destroyed entities should leave their systems.", entities.length - 3, positionSystem.getEntityCount());
+        assertEquals("Destroyed entities should lose their components.", entities.length - 3, world.getComponentManager().getComponentArray(PositionComponent.class).getValidEntryCount());
+        assertEquals("Destroyed entities should lose every component type.", entities.length / 2 - 2, world.getComponentManager().getComponentArray(VelocityComponent.class).getValidEntryCount());
+        assertTrue("Unlisted entities should survive.", world.getEntityManager().isAlive(entities[3]));
+    }
+
+    @Test
+    public void checkDestroyEntities_shouldCascadeToDescendants() {
+        world.setParent(entities[1], entities[0]);
+        world.setParent(entities[2], entities[1]);
+
+        world.destroyEntities(new int[]{entities[0], entities[2]});
+
+        assertFalse("Descendants should be destroyed.", world.getEntityManager().isAlive(entities[1]));
+        assertEquals("Listed descendants should not be destroyed twice.", entities.length - 3, world.getEntityManager().getLivingEntityCount());
+    }
+
+    @Test
+    public void tryDestroyEntities_withDeadEntity_shouldChangeNothing() {
+        world.destroyEntity(entities[5]);
+
+        try {
+            world.destroyEntities(new int[]{entities[0], entities[5]});
+            fail("Destroying a dead entity should throw.");
+        } catch (IllegalStateException expected) {
+            assertTrue("Nothing should be destroyed when validation fails.", world.getEntityManager().isAlive(entities[0]));
+        }
+    }
+
+    @Test
+    public void checkDestroyEntities_ofEveryEntity_shouldEmptyWorld() {
+        world.destroyEntities(entities);
+        assertWorldEmpty();
+    }
+
+    @Test
+    public void checkClear_shouldEmptyWorldAndKeepSetup() {
+        world.setParent(entities[1], entities[0]);
+        world.clear();
+        assertWorldEmpty();
+
+        int entity = world.createEntity();
+        assertTrue("New entities should start without components.", world.getEntityManager().getSignature(entity).isEmpty());
+        assertEquals("New entities should start without a parent.", -1, world.getParent(entities[1]));
+
+        world.addComponent(entity, new PositionComponent());
+        assertEquals("Systems should keep working after clearing.", 1, positionSystem.getEntityCount());
+    }
+
+    @Test
+    public void checkClear_inConcurrentWorld() {
+        World concurrentWorld = new ConcurrentWorld();
+        concurrentWorld.init(10);
+        concurrentWorld.registerComponent(PositionComponent.class);
+
+        int[] concurrentEntities = new int[10];
+        concurrentWorld.createEntities(concurrentEntities);
+        for (int entity : concurrentEntities) {
+            concurrentWorld.addComponent(entity, new PositionComponent());
+        }
+
+        concurrentWorld.clear();
+        assertEquals("Every entity should be destroyed.", 0, concurrentWorld.getEntityManager().getLivingEntityCount());
+        assertEquals("Every component should be removed.", 0, concurrentWorld.getComponentManager().getComponentArray(PositionComponent.class).getValidEntryCount());
+
+        concurrentWorld.createEntities(concurrentEntities);
+        assertEquals("Every ID should be reusable.", 10, concurrentWorld.getEntityManager().getLivingEntityCount());
+    }
+
+    private void assertWorldEmpty() {
+        ECSComponentArray<PositionComponent> positions = world.getComponentManager().getComponentArray(PositionComponent.class);
+
+        assertEquals("Every entity should be destroyed.", 0, world.getEntityManager().getLivingEntityCount());
+        assertEquals("Every ID should be available.", world.getMaxEntities(), world.getEntityManager().getAvailableEntityCount());
+        assertEquals("Every component should be removed.", 0, positions.getValidEntryCount());
+        assertEquals("Component pages should be released.", 0, positions.getCapacity());
+        assertEquals("Systems should be emptied.", 0, positionSystem.getEntityCount());
+        for (int entity : entities) {
+            assertFalse("Entity " + entity + " should not be alive.", world.getEntityManager().isAlive(entity));
+        }
+
+        assertEquals("Component types should stay registered.", 2, world.getComponentManager().getRegisteredComponentCount());
+    }
+}
@@ -0,0 +1,88 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.component.ECSComponentArray;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+
+import static junit.framework.TestCase.*;
+
+public class ECSComponentArrayTests {
+    private final ECSComponentArray<PositionComponent> positions = new ECSComponentArray<>(10_000, 64);
+
+    @Test
+    public void checkEmptyArray_shouldNotAllocatePages() {
+        ECSComponentArray<PositionComponent> empty = new ECSComponentArray<>(10_000, 64);
+        ECSComponentArray<PositionComponent> single = new ECSComponentArray<>(10_000, 64);
+        single.insertData(9_999, new PositionComponent());
+
+        assertEquals("An empty array should have no capacity.", 0, positions.getCapacity());
+        assertEquals("A single component should only allocate one page.", 64, single.getCapacity());
+        assertTrue("Reserved memory should scale with the components held, not the maximum entity count.",
+                single.estimateReservedBytes() - empty.estimateReservedBytes() < 64 * 16L);
+    }
+
+    @Test
+    public void checkInsertAndRemove_shouldKeepComponentsBound() {
+        PositionComponent[] components = new PositionComponent[500];
+        for (int i = 0; i < components.length; i++) {
+            components[i] = new PositionComponent();
+            positions.insertData(i * 17, components[i]);
+        }
+
+        for (int i = 0; i < components.length; i += 2) {
+            positions.removeData(i * 17);
+        }
+
+        assertEquals("Half of the components should remain.", 250, positions.getValidEntryCount());
+        for (int i = 0; i < components.length; i++) {
+            assertEquals("Only the remaining entities should have data.", i % 2 == 1, positions.hasData(i * 17));
+            if (i % 2 == 1) {
+                assertSame("Remaining entities should keep their components.", components[i], positions.getData(i * 17));
+                assertEquals("The packed entity should match its index.", i * 17, positions.getEntity(positions.getIndex(i * 17)));
+            }
+        }
+    }
+
+    @Test
+    public void checkRemoveAll_shouldReleasePages() {
+        long emptyBytes = positions.estimateReservedBytes();
+
+        for (int i = 0; i < 1000; i++) {
+            positions.insertData(i * 7, new PositionComponent());
+        }
+        assertEquals("Capacity should be rounded up to whole pages.", 1024, positions.getCapacity());
+
+        for (int i = 0; i < 1000; i++) {
+            positions.removeData(i * 7);
+        }
+
+        assertEquals("Every dense page should be released.", 0, positions.getCapacity());
+        assertTrue("Only the spare pages should be kept.", positions.estimateReservedBytes() - emptyBytes < 64 * 16L);
+
+        positions.clear();
+        assertEquals("Clearing should release the spare pages too.", emptyBytes, positions.estimateReservedBytes());
+    }
+
+    @Test
+    public void checkReleasedPages_shouldBeReused() {
+        PositionComponent component = new PositionComponent();
+        positions.insertData(5_000, component);
+        positions.removeData(5_000);
+
+        positions.insertData(9_000, component);
+        assertSame("The reused pages should hold the new component.", component, positions.getData(9_000));
+        assertFalse("The reused sparse page should not keep old entries.", positions.hasData(5_000 % 64 + 9_000 / 64 * 64));
+        assertEquals("The reused pages should be the only pages.", 64, positions.getCapacity());
+    }
+
+    @Test
+    public void checkPageSize_shouldNotExceedMaxEntities() {
+        ECSComponentArray<PositionComponent> small = new ECSComponentArray<>(10);
+        assertEquals("The page size should be clamped to the smallest power of two holding every entity.", 16, small.getPageSize());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryCreateArray_withInvalidPageSize() {
+        new ECSComponentArray<PositionComponent>(100, 48);
+    }
+}
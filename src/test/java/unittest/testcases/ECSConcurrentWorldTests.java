@@ -0,0 +1,158 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.ConcurrentWorld;
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.GravitySystem;
+import unittest.mock.systems.PositionSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static junit.framework.TestCase.*;
+
+public class ECSConcurrentWorldTests {
+    private static final int threadCount = 4;
+    private static final int entitiesPerThread = 250;
+
+    private final World world = new ConcurrentWorld();
+    private PositionSystem positionSystem;
+    private GravitySystem gravitySystem;
+
+    @Before
+    public void initialize() {
+        world.init(threadCount * entitiesPerThread);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+
+        positionSystem = new ECSSystemBuilder<>(world, PositionSystem.class)
+                .withComponent(PositionComponent.class)
+                .build();
+        gravitySystem = new ECSSystemBuilder<>(world, GravitySystem.class)
+                .withComponent(PositionComponent.class)
+                .withComponent(VelocityComponent.class)
+                .build();
+    }
+
+    @Test
+    public void checkEntityAndSystemCounts_afterConcurrentSpawns() throws InterruptedException {
+        runConcurrently(() -> {
+            for (int i = 0; i < entitiesPerThread; i++) {
+                int entity = world.createEntity();
+                world.addComponent(entity, new PositionComponent());
+                world.addComponent(entity, new VelocityComponent());
+            }
+        });
+
+        assertEquals("Every entity should have been created.", threadCount * entitiesPerThread, world.getEntityManager().getLivingEntityCount());
+        assertEquals("No entity slots should be left.", 0, world.getEntityManager().getAvailableEntityCount());
+        assertEquals("Every entity should be in the position system.", threadCount * entitiesPerThread, positionSystem.getEntityCount());
+        assertEquals("Every entity should be in the gravity system.", threadCount * entitiesPerThread, gravitySystem.getEntityCount());
+    }
+
+    @Test
+    public void checkEntityCount_afterConcurrentSpawnsAndDestroys() throws InterruptedException {
+        runConcurrently(() -> {
+            for (int i = 0; i < entitiesPerThread; i++) {
+                int entity = world.createEntity();
+                world.addComponent(entity, new PositionComponent());
+                world.destroyEntity(entity);
+            }
+        });
+
+        assertEquals("Every entity should have been destroyed.", 0, world.getEntityManager().getLivingEntityCount());
+        assertEquals("Every entity slot should be available again.", threadCount * entitiesPerThread, world.getEntityManager().getAvailableEntityCount());
+        assertEquals("No entities should be left in the position system.", 0, positionSystem.getEntityCount());
+    }
+
+    @Test
+    public void checkComponents_afterSpawningDuringUpdates() throws InterruptedException {
+        Thread updater = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                world.update();
+            }
+        });
+        updater.start();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < entitiesPerThread; i++) {
+                int entity = world.createEntity();
+                PositionComponent positionComponent = new PositionComponent();
+                world.addComponent(entity, positionComponent);
+                assertSame("Components should match.", positionComponent, world.getComponent(entity, PositionComponent.class));
+            }
+        });
+        updater.join();
+
+        assertEquals("Every entity should be in the position system.", threadCount * entitiesPerThread, positionSystem.getEntityCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryDestroyEntity_afterItWasAlreadyDestroyed() {
+        int entity = world.createEntity();
+        world.destroyEntity(entity);
+        world.destroyEntity(entity);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryAddComponent_afterEntityWasDestroyed() {
+        int entity = world.createEntity();
+        world.destroyEntity(entity);
+        world.addComponent(entity, new PositionComponent());
+    }
+
+    @Test
+    public void checkSystemCounts_afterAddingComponentsWhileDestroying() throws InterruptedException {
+        for (int i = 0; i < entitiesPerThread; i++) {
+            int entity = world.createEntity();
+            Thread adder = new Thread(() -> {
+                try {
+                    world.addComponent(entity, new PositionComponent());
+                } catch (IllegalStateException ignored) {
+                    // the entity was destroyed first
+                }
+            });
+            adder.start();
+            world.destroyEntity(entity);
+            adder.join();
+        }
+
+        assertEquals("Every entity should have been destroyed.", 0, world.getEntityManager().getLivingEntityCount());
+        assertEquals("No destroyed entities should be left in the position system.", 0, positionSystem.getEntityCount());
+    }
+
+    private static void runConcurrently(Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (Throwable t) {
+                    synchronized (failures) {
+                        failures.add(t);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.get(0));
+        }
+    }
+}
@@ -37,9 +37,9 @@ public class ECSEntityTests {
     }
 
     @Test
-    public void checkEntitySignatures_shouldAllBeNull() {
+    public void checkEntitySignatures_shouldAllBeEmpty() {
         for (int entity : entities) {
-            assertNull("Entity signature should not have been created.", world.getEntityManager().getSignature(entity));
+            assertTrue("Entity signature should not have any component types.", world.getEntityManager().getSignature(entity).isEmpty());
         }
     }
 
@@ -0,0 +1,106 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.event.ECSEventChannel;
+import io.github.lucasstarsz.slopeecs.event.ECSEventReader;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.events.CollisionEvent;
+
+import static junit.framework.TestCase.*;
+
+public class ECSEventTests {
+    private final World world = new World();
+    private ECSEventChannel<CollisionEvent> collisions;
+
+    @Before
+    public void initialize() {
+        world.init(10);
+        collisions = world.registerEventChannel(CollisionEvent.class, CollisionEvent::new);
+    }
+
+    @Test
+    public void checkReaders_shouldReadEventsIndependently() {
+        ECSEventReader<CollisionEvent> first = collisions.createReader();
+        ECSEventReader<CollisionEvent> second = collisions.createReader();
+        publish(1, 2);
+        publish(3, 4);
+
+        assertEquals("The first event should be read first.", 1, first.next().first);
+        assertEquals("The second event should be read next.", 3, first.next().first);
+        assertFalse("Every event should have been read.", first.hasNext());
+        assertEquals("Other readers should not be affected.", 2, second.getUnreadCount());
+    }
+
+    @Test
+    public void checkEvents_shouldStayReadableForOneMoreUpdate() {
+        ECSEventReader<CollisionEvent> reader = collisions.createReader();
+        publish(1, 2);
+
+        world.update();
+        assertEquals("Events should stay readable during the next tick.", 1, reader.getUnreadCount());
+
+        world.update();
+        assertFalse("Events should be discarded after the next tick.", reader.hasNext());
+        assertEquals("Discarded events should be counted as missed.", 1, reader.getMissedEventCount());
+    }
+
+    @Test
+    public void checkPublish_shouldReuseEventObjects() {
+        CollisionEvent[] published = new CollisionEvent[100];
+        for (int i = 0; i < published.length; i++) {
+            published[i] = collisions.publish();
+        }
+
+        world.update();
+        world.update();
+
+        for (int i = 0; i < published.length; i++) {
+            assertSame("Event objects should be reused once discarded.", published[i], collisions.publish());
+        }
+    }
+
+    @Test
+    public void checkSkipAll_shouldOnlyReadNewEvents() {
+        publish(1, 2);
+        ECSEventReader<CollisionEvent> reader = collisions.createReader();
+        assertEquals("New readers should start at the oldest event.", 1, reader.getUnreadCount());
+
+        reader.skipAll();
+        publish(5, 6);
+        assertEquals("Skipped events should not be read.", 5, reader.next().first);
+    }
+
+    @Test
+    public void checkClear_shouldDiscardEvents() {
+        ECSEventReader<CollisionEvent> reader = collisions.createReader();
+        publish(1, 2);
+
+        world.clear();
+        assertFalse("Cleared events should not be readable.", reader.hasNext());
+        assertEquals("The channel should be empty.", 0, collisions.getEventCount());
+    }
+
+    @Test
+    public void checkMemoryReport_shouldIncludeChannels() {
+        ECSMemoryReport report = world.memoryReport();
+        assertTrue("Each channel should be reported.", report.getReservedBytes(ECSMemoryReport.eventsCategory) > 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryReadEvent_withNoUnreadEvents() {
+        collisions.createReader().next();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryRegisterEventChannel_twice() {
+        world.registerEventChannel(CollisionEvent.class, CollisionEvent::new);
+    }
+
+    private void publish(int first, int second) {
+        CollisionEvent event = collisions.publish();
+        event.first = first;
+        event.second = second;
+    }
+}
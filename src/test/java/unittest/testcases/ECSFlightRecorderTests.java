@@ -0,0 +1,85 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.systems.PositionSystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class ECSFlightRecorderTests {
+    private final World world = new World();
+
+    @Before
+    public void initialize() {
+        world.init(10);
+    }
+
+    @Test
+    public void checkRecordedEvents_shouldMatchWorldActivity() throws IOException {
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("slopeecs.SystemUpdate");
+            recording.enable("slopeecs.EntitySpawn");
+            recording.enable("slopeecs.EntityDestroy");
+            recording.enable("slopeecs.StorageGrowth");
+            recording.start();
+
+            world.registerComponent(PositionComponent.class);
+            new ECSSystemBuilder<>(world, PositionSystem.class)
+                    .withComponent(PositionComponent.class)
+                    .build();
+
+            int[] entities = new int[4];
+            world.createEntities(entities);
+            world.setParent(entities[1], entities[0]);
+            world.addComponent(entities[2], new PositionComponent());
+
+            world.update();
+            world.destroyEntity(entities[0]);
+
+            recording.stop();
+
+            Path recordingFile = Files.createTempFile("slope-ecs", ".jfr");
+            recording.dump(recordingFile);
+            events = RecordingFile.readAllEvents(recordingFile);
+            Files.delete(recordingFile);
+        }
+
+        RecordedEvent spawnEvent = findEvent(events, "slopeecs.EntitySpawn");
+        assertEquals("The spawn event should count every created entity.", 4, spawnEvent.getInt("spawnedCount"));
+
+        RecordedEvent destroyEvent = findEvent(events, "slopeecs.EntityDestroy");
+        assertEquals("The destroy event should include the destroyed entity's child.", 2, destroyEvent.getInt("destroyedCount"));
+        assertEquals("The destroy event should report the remaining entities.", 2, destroyEvent.getInt("livingEntityCount"));
+
+        RecordedEvent updateEvent = findEvent(events, "slopeecs.SystemUpdate");
+        assertEquals("The update event should name the system.", PositionSystem.class.getTypeName(), updateEvent.getString("systemClass"));
+        assertEquals("The update event should report the system's entity count.", 1, updateEvent.getInt("entityCount"));
+
+        RecordedEvent storageEvent = findEvent(events, "slopeecs.StorageGrowth");
+        assertEquals("The storage event should report the first page being allocated.", 0, storageEvent.getInt("oldCapacity"));
+        assertEquals("The storage event should report the allocated capacity.", world.getComponentManager().getComponentArray(PositionComponent.class).getCapacity(), storageEvent.getInt("newCapacity"));
+    }
+
+    private static RecordedEvent findEvent(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+
+        throw new AssertionError("No " + name + " event was recorded.");
+    }
+}
@@ -0,0 +1,108 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.component.ECSComponentArray;
+import io.github.lucasstarsz.slopeecs.component.ECSGroup;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+
+import static junit.framework.TestCase.*;
+
+public class ECSGroupTests {
+    private final World world = new World();
+    private int[] entities;
+    private ECSGroup group;
+    private ECSComponentArray<PositionComponent> positions;
+    private ECSComponentArray<VelocityComponent> velocities;
+
+    @Before
+    public void initialize() {
+        world.init(16);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+
+        /* Every entity has a position, and every other entity has a velocity */
+        entities = new int[8];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = world.createEntity();
+            world.addComponent(entities[i], new PositionComponent());
+
+            if (i % 2 == 1) {
+                world.addComponent(entities[i], new VelocityComponent());
+            }
+        }
+
+        group = world.createGroup(PositionComponent.class, VelocityComponent.class);
+        positions = group.getComponentArray(PositionComponent.class);
+        velocities = group.getComponentArray(VelocityComponent.class);
+    }
+
+    @Test
+    public void checkGroupSize_shouldMatchExistingEntities() {
+        assertEquals("Entities which already had both components should be grouped.", entities.length / 2, group.size());
+        assertAligned();
+    }
+
+    @Test
+    public void checkGroup_afterComponentAdded() {
+        world.addComponent(entities[0], new VelocityComponent());
+
+        assertTrue("The entity should be grouped once it has both components.", group.contains(entities[0]));
+        assertEquals("The group should grow by one.", entities.length / 2 + 1, group.size());
+        assertAligned();
+    }
+
+    @Test
+    public void checkGroup_afterComponentRemoved() {
+        world.removeComponent(entities[1], PositionComponent.class);
+
+        assertFalse("The entity should leave the group once it loses a component.", group.contains(entities[1]));
+        assertEquals("The group should shrink by one.", entities.length / 2 - 1, group.size());
+        assertAligned();
+    }
+
+    @Test
+    public void checkGroup_afterEntityDestroyed() {
+        world.destroyEntity(entities[3]);
+        world.destroyEntity(entities[4]);
+
+        assertEquals("Only the destroyed grouped entity should leave the group.", entities.length / 2 - 1, group.size());
+        assertAligned();
+    }
+
+    @Test
+    public void checkGroup_afterChurn() {
+        for (int i = 0; i < entities.length; i++) {
+            if (i % 2 == 0) {
+                world.addComponent(entities[i], new VelocityComponent());
+            } else {
+                world.removeComponent(entities[i], VelocityComponent.class);
+            }
+        }
+
+        assertEquals("The group should contain exactly the entities with both components.", entities.length / 2, group.size());
+        for (int i = 0; i < entities.length; i++) {
+            assertEquals("Group membership should follow the components.", i % 2 == 0, group.contains(entities[i]));
+        }
+        assertAligned();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryCreateGroup_whenComponentAlreadyOwned() {
+        world.createGroup(VelocityComponent.class);
+    }
+
+    /** Checks that each grouped entity's components are at the same index of both arrays. */
+    private void assertAligned() {
+        for (int i = 0; i < group.size(); i++) {
+            int entity = group.getEntity(i);
+
+            assertEquals("Positions should be aligned with the group.", entity, positions.getEntity(i));
+            assertEquals("Velocities should be aligned with the group.", entity, velocities.getEntity(i));
+            assertSame("Positions should belong to their entity.", world.getComponent(entity, PositionComponent.class), positions.getDataAtIndex(i));
+            assertSame("Velocities should belong to their entity.", world.getComponent(entity, VelocityComponent.class), velocities.getDataAtIndex(i));
+        }
+    }
+}
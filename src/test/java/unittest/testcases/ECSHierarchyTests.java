@@ -0,0 +1,121 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.entity.ECSHierarchyManager;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+
+import java.util.Arrays;
+
+import static junit.framework.TestCase.*;
+
+public class ECSHierarchyTests {
+    private final World world = new World();
+
+    private int root;
+    private int child1;
+    private int child2;
+    private int grandchild;
+    private int unrelated;
+
+    @Before
+    public void initialize() {
+        world.init(6);
+        world.registerComponent(PositionComponent.class);
+
+        root = world.createEntity();
+        child1 = world.createEntity();
+        child2 = world.createEntity();
+        grandchild = world.createEntity();
+        unrelated = world.createEntity();
+
+        world.setParent(child1, root);
+        world.setParent(child2, root);
+        world.setParent(grandchild, child1);
+
+        world.addComponent(grandchild, new PositionComponent());
+    }
+
+    @Test
+    public void checkParents_shouldMatchSetParents() {
+        assertEquals("Child 1 should have root as its parent.", root, world.getParent(child1));
+        assertEquals("Grandchild should have child 1 as its parent.", child1, world.getParent(grandchild));
+        assertEquals("Root should have no parent.", ECSHierarchyManager.noEntity, world.getParent(root));
+        assertEquals("Root should have 2 children.", 2, world.getHierarchyManager().getChildCount(root));
+    }
+
+    @Test
+    public void checkDepthFirstOrder_parentsComeBeforeChildren() {
+        ECSHierarchyManager hierarchyManager = world.getHierarchyManager();
+        int[] order = hierarchyManager.getDepthFirstOrder();
+
+        assertEquals("Only entities with a parent or children should be ordered.", 4, hierarchyManager.getDepthFirstCount());
+        assertEquals("Root should be first.", root, order[0]);
+        assertTrue("Child 1 should come before the grandchild.", hierarchyManager.getDepthFirstIndex(child1) < hierarchyManager.getDepthFirstIndex(grandchild));
+        assertEquals("Root's subtree should contain all 4 entities.", 4, hierarchyManager.getSubtreeSize(root));
+        assertEquals("Child 1's subtree should contain itself and the grandchild.", 2, hierarchyManager.getSubtreeSize(child1));
+        assertEquals("The grandchild should directly follow child 1.", grandchild, order[hierarchyManager.getDepthFirstIndex(child1) + 1]);
+    }
+
+    @Test
+    public void checkDestroyParent_shouldDestroyDescendants() {
+        world.destroyEntity(root);
+
+        assertEquals("Only the unrelated entity should remain.", 1, world.getEntityManager().getLivingEntityCount());
+        assertTrue("The unrelated entity should still be alive.", world.getEntityManager().isAlive(unrelated));
+        assertEquals("No entities should remain in the hierarchy.", 0, world.getHierarchyManager().getDepthFirstCount());
+    }
+
+    @Test
+    public void checkDestroyChild_shouldDetachFromParent() {
+        world.destroyEntity(child1);
+
+        assertEquals("Root should have 1 child left.", 1, world.getHierarchyManager().getChildCount(root));
+        assertFalse("The grandchild should have been destroyed.", world.getEntityManager().isAlive(grandchild));
+
+        int recycled = world.createEntity();
+        assertEquals("A recycled entity should have no parent.", ECSHierarchyManager.noEntity, world.getParent(recycled));
+    }
+
+    @Test
+    public void checkDestroyedDescendants_shouldBeInDepthFirstOrder() {
+        ECSHierarchyManager hierarchyManager = world.getHierarchyManager();
+        int start = hierarchyManager.getDepthFirstIndex(root);
+        int[] expected = Arrays.copyOfRange(hierarchyManager.getDepthFirstOrder(), start + 1, start + hierarchyManager.getSubtreeSize(root));
+
+        assertTrue("Descendants should match the depth-first ordering.", Arrays.equals(expected, hierarchyManager.entityDestroyed(root)));
+        assertEquals("No entities should remain in the hierarchy.", 0, hierarchyManager.getDepthFirstCount());
+    }
+
+    @Test
+    public void checkDestroyEntities_afterFailedBatch() {
+        int dead = world.createEntity();
+        world.destroyEntity(dead);
+
+        try {
+            world.destroyEntities(new int[]{child2, unrelated, dead});
+            fail("Destroying a dead entity should fail.");
+        } catch (IllegalStateException ignored) {
+        }
+
+        world.destroyEntities(new int[]{child1, child2, child1});
+        assertEquals("Root and the unrelated entity should remain.", 2, world.getEntityManager().getLivingEntityCount());
+        assertEquals("Root should have no children left.", 0, world.getHierarchyManager().getChildCount(root));
+    }
+
+    @Test
+    public void checkRemoveParent_shouldKeepChildren() {
+        world.removeParent(child1);
+
+        assertEquals("Child 1 should have no parent.", ECSHierarchyManager.noEntity, world.getParent(child1));
+        assertEquals("Child 1 should keep its child.", child1, world.getParent(grandchild));
+        assertEquals("Root should have 1 child left.", 1, world.getHierarchyManager().getChildCount(root));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void trySetParent_whenParentIsDescendant() {
+        // root is an ancestor of grandchild, so this would create a cycle
+        world.setParent(root, grandchild);
+    }
+}
@@ -0,0 +1,81 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMemoryReport;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.PositionSystem;
+
+import java.util.BitSet;
+
+import static junit.framework.TestCase.*;
+
+public class ECSMemoryReportTests {
+    private final World world = new World();
+
+    @Before
+    public void initialize() {
+        world.init(256);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+        world.registerSystem(PositionSystem.class);
+
+        BitSet signature = new BitSet();
+        signature.set(world.getComponentType(PositionComponent.class));
+        world.setSystemSignature(PositionSystem.class, signature);
+    }
+
+    @Test
+    public void checkMemoryReport_shouldHaveEntryPerComponentType() {
+        ECSMemoryReport report = world.memoryReport();
+
+        int componentEntries = 0;
+        for (ECSMemoryReport.Entry entry : report.getEntries()) {
+            if (entry.getCategory().equals(ECSMemoryReport.componentStorageCategory)) {
+                componentEntries++;
+            }
+        }
+
+        assertEquals("There should be one component storage entry per registered component type.", 2, componentEntries);
+    }
+
+    @Test
+    public void checkMemoryReport_shouldCoverEveryCategory() {
+        ECSMemoryReport report = world.memoryReport();
+
+        assertTrue("Signatures should be reported.", report.getReservedBytes(ECSMemoryReport.signaturesCategory) > 0);
+        assertTrue("The free list should be reported.", report.getReservedBytes(ECSMemoryReport.freeListCategory) > 0);
+        assertTrue("System memberships should be reported.", report.getReservedBytes(ECSMemoryReport.systemMembershipCategory) > 0);
+        assertTrue("The hierarchy should be reported.", report.getReservedBytes(ECSMemoryReport.hierarchyCategory) > 0);
+        assertEquals("The spatial index should not be reported while disabled.", 0L, report.getReservedBytes(ECSMemoryReport.spatialIndexCategory));
+    }
+
+    @Test
+    public void checkMemoryReport_usedShouldNotExceedReserved() {
+        for (int i = 0; i < 100; i++) {
+            int entity = world.createEntity();
+            world.addComponent(entity, new PositionComponent());
+        }
+
+        for (ECSMemoryReport.Entry entry : world.memoryReport().getEntries()) {
+            assertTrue("Used bytes of " + entry.getName() + " should not exceed its reserved bytes.", entry.getUsedBytes() <= entry.getReservedBytes());
+        }
+    }
+
+    @Test
+    public void checkMemoryReport_usedShouldGrowWithComponents() {
+        long emptyComponentBytes = world.memoryReport().getUsedBytes(ECSMemoryReport.componentStorageCategory);
+        long emptyMembershipBytes = world.memoryReport().getUsedBytes(ECSMemoryReport.systemMembershipCategory);
+
+        for (int i = 0; i < 100; i++) {
+            int entity = world.createEntity();
+            world.addComponent(entity, new PositionComponent());
+        }
+
+        ECSMemoryReport report = world.memoryReport();
+        assertTrue("Component storage should use more memory once filled.", report.getUsedBytes(ECSMemoryReport.componentStorageCategory) > emptyComponentBytes);
+        assertTrue("System membership should use more memory once filled.", report.getUsedBytes(ECSMemoryReport.systemMembershipCategory) > emptyMembershipBytes);
+    }
+}
@@ -0,0 +1,87 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.metrics.ECSMetrics;
+import io.github.lucasstarsz.slopeecs.metrics.ECSSystemMetrics;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.GravitySystem;
+import unittest.mock.systems.PositionSystem;
+
+import static junit.framework.TestCase.*;
+
+public class ECSMetricsTests {
+    private final World world = new World();
+    private ECSMetrics metrics;
+    private int[] entities;
+
+    @Before
+    public void initialize() {
+        world.init(4);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+
+        new ECSSystemBuilder<>(world, PositionSystem.class)
+                .withComponent(PositionComponent.class)
+                .build();
+        new ECSSystemBuilder<>(world, GravitySystem.class)
+                .withComponent(PositionComponent.class)
+                .withComponent(VelocityComponent.class)
+                .build();
+
+        metrics = world.enableMetrics();
+
+        entities = new int[3];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = world.createEntity();
+            world.addComponent(entities[i], new PositionComponent());
+        }
+    }
+
+    @Test
+    public void checkStructuralChangeCounts_shouldMatchChanges() {
+        world.removeComponent(entities[0], PositionComponent.class);
+        world.destroyEntity(entities[1]);
+
+        assertEquals("Entities created should be counted.", 3, metrics.getEntitiesCreated());
+        assertEquals("Entities destroyed should be counted.", 1, metrics.getEntitiesDestroyed());
+        assertEquals("Components added should be counted.", 3, metrics.getComponentsAdded());
+        assertEquals("Components removed should be counted.", 1, metrics.getComponentsRemoved());
+        assertEquals("Each signature change should evaluate both systems.", 8, metrics.getSignatureEvaluations());
+        assertTrue("Rates should be positive once changes are recorded.", metrics.getEntitiesCreatedPerSecond() > 0);
+    }
+
+    @Test
+    public void checkSystemMetrics_afterUpdates() {
+        for (int i = 0; i < 10; i++) {
+            world.update();
+        }
+
+        ECSSystemMetrics positionSystemMetrics = metrics.getSystemMetrics(PositionSystem.class);
+        assertEquals("Each update should be recorded.", 10, positionSystemMetrics.getUpdateCount());
+        assertEquals("The entity count should match the system.", 3, positionSystemMetrics.getLastEntityCount());
+        assertTrue("Minimum should not exceed average.", positionSystemMetrics.getMinNanos() <= positionSystemMetrics.getAverageNanos());
+        assertTrue("The 99th percentile should not exceed the maximum.", positionSystemMetrics.getP99Nanos() <= positionSystemMetrics.getMaxNanos());
+    }
+
+    @Test
+    public void checkMetrics_afterReset() {
+        world.update();
+        metrics.reset();
+
+        assertEquals("Entities created should be cleared.", 0, metrics.getEntitiesCreated());
+        assertEquals("System updates should be cleared.", 0, metrics.getSystemMetrics(PositionSystem.class).getUpdateCount());
+    }
+
+    @Test
+    public void checkMetrics_afterDisabling() {
+        world.disableMetrics();
+        world.createEntity();
+
+        assertNull("Metrics should be null once disabled.", world.getMetrics());
+        assertEquals("Disabled metrics should stop recording.", 3, metrics.getEntitiesCreated());
+    }
+}
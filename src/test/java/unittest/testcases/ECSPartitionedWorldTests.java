@@ -0,0 +1,159 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.ECSShardPartitioners;
+import io.github.lucasstarsz.slopeecs.PartitionedWorld;
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.spatial.IPositionAccessor;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.events.CollisionEvent;
+import unittest.mock.systems.CountingSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.*;
+
+public class ECSPartitionedWorldTests {
+    private final IPositionAccessor<PositionComponent> positionAccessor = new IPositionAccessor<>() {
+        @Override
+        public float getX(PositionComponent component) {
+            return component.x;
+        }
+
+        @Override
+        public float getY(PositionComponent component) {
+            return component.y;
+        }
+    };
+
+    private PartitionedWorld partitionedWorld;
+
+    @Before
+    public void initialize() {
+        partitionedWorld = new PartitionedWorld(4, 100, shard -> {
+            shard.registerComponent(PositionComponent.class);
+            shard.registerComponent(VelocityComponent.class);
+            new ECSSystemBuilder<>(shard, CountingSystem.class)
+                    .withComponent(PositionComponent.class)
+                    .build();
+        });
+        partitionedWorld.setPartitioner(PositionComponent.class, ECSShardPartitioners.stripsX(positionAccessor, 0f, 400f));
+    }
+
+    @Test
+    public void checkUpdate_shouldUpdateEveryShard() {
+        partitionedWorld.update();
+        partitionedWorld.update();
+
+        for (int i = 0; i < partitionedWorld.getShardCount(); i++) {
+            CountingSystem countingSystem = partitionedWorld.getShard(i).getSystemManager().getSystem(CountingSystem.class);
+            assertEquals("Every shard should be updated once per tick.", 2, countingSystem.updateCount);
+        }
+
+        assertEquals("Every tick should be counted.", 2, partitionedWorld.getTickCount());
+    }
+
+    @Test
+    public void checkMigration_shouldMoveEntitiesToTheirShard() {
+        World first = partitionedWorld.getShard(0);
+        int staying = createPositioned(first, 50f);
+        int leaving = createPositioned(first, 350f);
+        first.addComponent(leaving, new VelocityComponent());
+        int unkeyed = first.createEntity();
+        first.addComponent(unkeyed, new VelocityComponent());
+
+        List<int[]> migrations = new ArrayList<>();
+        partitionedWorld.setMigrationListener((fromShard, oldEntity, toShard, newEntity) ->
+                migrations.add(new int[]{fromShard, oldEntity, toShard, newEntity}));
+        partitionedWorld.update();
+
+        assertEquals("Only the entity outside its strip should migrate.", 1, partitionedWorld.getLastMigrationCount());
+        assertEquals("The listener should hear of the migration.", 1, migrations.size());
+
+        int[] migration = migrations.get(0);
+        World last = partitionedWorld.getShard(3);
+        assertEquals("The entity should leave its old shard.", 0, migration[0]);
+        assertEquals("The entity should be reported by its old ID.", leaving, migration[1]);
+        assertEquals("The entity should join the shard of its strip.", 3, migration[2]);
+        assertFalse("The old ID should no longer be alive.", first.getEntityManager().isAlive(leaving));
+        assertEquals("The entity should keep its key component.", 350f, last.getComponent(migration[3], PositionComponent.class).x);
+        assertNotNull("The entity should keep its other components.", last.getComponent(migration[3], VelocityComponent.class));
+        assertEquals("The entity should join the new shard's systems.", 1, last.getSystemManager().getSystem(CountingSystem.class).getEntityCount());
+
+        assertTrue("Entities in their strip should stay.", first.getEntityManager().isAlive(staying));
+        assertTrue("Entities without the key component should stay.", first.getEntityManager().isAlive(unkeyed));
+        assertEquals("No entity should be lost.", 3, partitionedWorld.getLivingEntityCount());
+
+        partitionedWorld.update();
+        assertEquals("Migrated entities should not migrate again.", 0, partitionedWorld.getLastMigrationCount());
+    }
+
+    @Test
+    public void checkMessages_shouldBeHandledInTargetShard() {
+        List<String> handled = new ArrayList<>();
+        partitionedWorld.registerMessageHandler(CollisionEvent.class, (shard, message) -> {
+            handled.add(partitionedWorld.getShardIndex(shard) + ":" + message.first);
+            if (message.second > 0) {
+                CollisionEvent reply = new CollisionEvent();
+                reply.first = message.second;
+                partitionedWorld.sendMessage(shard, 0, reply);
+            }
+        });
+
+        partitionedWorld.sendMessage(partitionedWorld.getShard(2), 1, message(2, 0));
+        partitionedWorld.sendMessage(partitionedWorld.getShard(0), 1, message(1, 7));
+        partitionedWorld.sendMessage(partitionedWorld.getShard(0), 1, message(3, 0));
+        partitionedWorld.update();
+
+        assertEquals("Messages should be handled in order of the sending shard, then the order sent.", List.of("1:1", "1:3", "1:2"), handled);
+        assertEquals("Every message should be counted.", 3, partitionedWorld.getLastMessageCount());
+
+        partitionedWorld.update();
+        assertEquals("Messages sent while handling should be handled in the next tick.", "0:7", handled.get(3));
+    }
+
+    @Test
+    public void tryUpdate_withFailingShard_shouldThrow() {
+        partitionedWorld.registerMessageHandler(CollisionEvent.class, (shard, message) -> {
+            throw new IllegalArgumentException("handler failure");
+        });
+        partitionedWorld.sendMessage(partitionedWorld.getShard(0), 2, message(1, 0));
+
+        try {
+            partitionedWorld.update();
+            fail("A failing shard should fail the tick.");
+        } catch (IllegalStateException expected) {
+            assertTrue("The shard's failure should be the cause.", expected.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void trySendMessage_withoutHandler() {
+        partitionedWorld.sendMessage(partitionedWorld.getShard(0), 1, message(1, 0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryGetShardIndex_ofOtherWorld() {
+        partitionedWorld.getShardIndex(new World());
+    }
+
+    private static int createPositioned(World shard, float x) {
+        PositionComponent position = new PositionComponent();
+        position.x = x;
+
+        int entity = shard.createEntity();
+        shard.addComponent(entity, position);
+        return entity;
+    }
+
+    private static CollisionEvent message(int first, int second) {
+        CollisionEvent message = new CollisionEvent();
+        message.first = first;
+        message.second = second;
+        return message;
+    }
+}
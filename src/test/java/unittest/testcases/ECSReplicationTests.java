@@ -0,0 +1,203 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.replication.ECSQueueTransport;
+import io.github.lucasstarsz.slopeecs.replication.ECSReplicationFollower;
+import io.github.lucasstarsz.slopeecs.replication.ECSReplicationLeader;
+import io.github.lucasstarsz.slopeecs.replication.ECSStreamTransport;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionCodec;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.CountingSystem;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static junit.framework.TestCase.*;
+
+public class ECSReplicationTests {
+    private final World leaderWorld = new World();
+    private final World followerWorld = new World();
+    private final ECSQueueTransport transport = new ECSQueueTransport();
+    private ECSReplicationLeader leader;
+    private ECSReplicationFollower follower;
+    private CountingSystem followerSystem;
+
+    @Before
+    public void initialize() {
+        for (World world : new World[]{leaderWorld, followerWorld}) {
+            world.init(100);
+            world.registerComponent(PositionComponent.class);
+            world.registerComponent(VelocityComponent.class);
+        }
+
+        followerSystem = new ECSSystemBuilder<>(followerWorld, CountingSystem.class)
+                .withComponent(PositionComponent.class)
+                .build();
+
+        leader = leaderWorld.enableReplication();
+        leader.registerCodec(PositionComponent.class, new PositionCodec());
+        follower = new ECSReplicationFollower(followerWorld);
+        follower.registerCodec(PositionComponent.class, new PositionCodec());
+    }
+
+    @Test
+    public void checkSnapshot_shouldCopyExistingEntities() throws IOException {
+        int entity = createPositioned(3f, 4f);
+        leaderWorld.addComponent(entity, new VelocityComponent());
+
+        leader.addSink(transport);
+        leaderWorld.update();
+        follower.poll(transport);
+
+        int local = follower.getLocalEntity(entity);
+        assertEquals("The follower should have the leader's entity.", 1, followerWorld.getEntityManager().getLivingEntityCount());
+        assertEquals("Replicated components should be copied.", 4f, followerWorld.getComponent(local, PositionComponent.class).y);
+        assertFalse("Components without a codec should not be copied.", followerWorld.getComponentManager().getComponentArray(VelocityComponent.class).hasData(local));
+        assertEquals("The follower's systems should gain the entity.", 1, followerSystem.getEntityCount());
+        assertEquals("The follower's systems should not be run.", 0, followerSystem.updateCount);
+    }
+
+    @Test
+    public void checkDeltas_shouldFollowLeader() throws IOException {
+        leader.addSink(transport);
+        leaderWorld.update();
+
+        int moving = createPositioned(0f, 0f);
+        int removed = createPositioned(1f, 1f);
+        int destroyed = createPositioned(2f, 2f);
+        leaderWorld.update();
+        follower.poll(transport);
+        assertEquals("Created entities should be replicated.", 3, followerWorld.getEntityManager().getLivingEntityCount());
+
+        leaderWorld.getComponent(moving, PositionComponent.class).x = 10f;
+        leader.markDirty(moving, PositionComponent.class);
+        leaderWorld.getComponent(removed, PositionComponent.class).x = 20f;
+        leaderWorld.removeComponent(removed, PositionComponent.class);
+        leaderWorld.destroyEntity(destroyed);
+        leaderWorld.update();
+        assertEquals("The batch should hold the update, removal and destruction.", 3, leader.getLastBatchEntityCount());
+        follower.poll(transport);
+
+        assertEquals("Dirty components should be sent.", 10f, followerWorld.getComponent(follower.getLocalEntity(moving), PositionComponent.class).x);
+        assertFalse("Removed components should be removed.", followerWorld.getComponentManager().getComponentArray(PositionComponent.class).hasData(follower.getLocalEntity(removed)));
+        assertEquals("Destroyed entities should be destroyed.", -1, follower.getLocalEntity(destroyed));
+        assertEquals("The follower should match the leader.", 2, followerWorld.getEntityManager().getLivingEntityCount());
+        assertTrue("Throughput should be measured.", follower.getEntitiesPerSecond() > 0);
+    }
+
+    @Test
+    public void checkMarkAllDirty_shouldSendEveryComponent() throws IOException {
+        int[] entities = new int[10];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = createPositioned(i, 0f);
+        }
+
+        leader.addSink(transport);
+        leaderWorld.update();
+        follower.poll(transport);
+
+        for (int entity : entities) {
+            leaderWorld.getComponent(entity, PositionComponent.class).y = 7f;
+        }
+        leader.markAllDirty(PositionComponent.class);
+        leaderWorld.update();
+        follower.poll(transport);
+
+        for (int entity : entities) {
+            assertEquals("Every component should be sent.", 7f, followerWorld.getComponent(follower.getLocalEntity(entity), PositionComponent.class).y);
+        }
+    }
+
+    @Test
+    public void checkClear_shouldEmptyFollower() throws IOException {
+        leader.addSink(transport);
+        createPositioned(1f, 1f);
+        leaderWorld.update();
+
+        leaderWorld.clear();
+        createPositioned(5f, 5f);
+        leaderWorld.update();
+        follower.poll(transport);
+
+        assertEquals("Only entities created after clearing should remain.", 1, followerWorld.getEntityManager().getLivingEntityCount());
+    }
+
+    @Test
+    public void tryApply_withMissedBatch_shouldThrow() throws IOException {
+        leader.addSink(transport);
+        leaderWorld.update();
+        leaderWorld.update();
+        leaderWorld.update();
+
+        byte[] snapshot = transport.receive();
+        follower.apply(snapshot, snapshot.length);
+        transport.receive();
+
+        byte[] batch = transport.receive();
+        try {
+            follower.apply(batch, batch.length);
+            fail("Applying a batch after a missed one should throw.");
+        } catch (IllegalStateException expected) {
+            assertEquals("Only the snapshot should be applied.", 1, follower.getAppliedBatchCount());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryMarkDirty_withEntityOutOfRange() {
+        leader.addSink(transport);
+        leader.markDirty(leaderWorld.getMaxEntities(), PositionComponent.class);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryApply_withoutSnapshot() throws IOException {
+        leader.addSink(transport);
+        leaderWorld.update();
+        transport.receive();
+        leaderWorld.update();
+
+        byte[] batch = transport.receive();
+        follower.apply(batch, batch.length);
+    }
+
+    @Test
+    public void checkStreamTransport_overLocalSocket() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+             Socket accepted = server.accept();
+             ECSStreamTransport leaderEnd = ECSStreamTransport.of(accepted);
+             ECSStreamTransport followerEnd = ECSStreamTransport.of(client)) {
+
+            int entity = createPositioned(1f, 2f);
+            leader.addSink(leaderEnd);
+            leaderWorld.update();
+
+            leaderWorld.getComponent(entity, PositionComponent.class).x = 9f;
+            leader.markDirty(entity, PositionComponent.class);
+            leaderWorld.update();
+
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (follower.getAppliedBatchCount() < 2 && System.nanoTime() < deadline) {
+                follower.poll(followerEnd);
+            }
+
+            assertEquals("Both batches should arrive.", 2, follower.getAppliedBatchCount());
+            assertEquals("Data should arrive over the socket.", 9f, followerWorld.getComponent(follower.getLocalEntity(entity), PositionComponent.class).x);
+        }
+    }
+
+    private int createPositioned(float x, float y) {
+        PositionComponent position = new PositionComponent();
+        position.x = x;
+        position.y = y;
+
+        int entity = leaderWorld.createEntity();
+        leaderWorld.addComponent(entity, position);
+        return entity;
+    }
+}
@@ -0,0 +1,129 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.system.ECSRunCriteria;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import io.github.lucasstarsz.slopeecs.system.IRunCriteria;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.systems.CountingSystem;
+
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.*;
+
+public class ECSRunCriteriaTests {
+    private final World world = new World();
+
+    @Before
+    public void initialize() {
+        world.init(100);
+        world.registerComponent(PositionComponent.class);
+    }
+
+    @Test
+    public void checkEveryNthTick_shouldSkipOtherUpdates() {
+        CountingSystem countingSystem = new ECSSystemBuilder<>(world, CountingSystem.class)
+                .runIf(ECSRunCriteria.everyNthTick(3))
+                .build();
+
+        updateWorld(9);
+        assertEquals("The system should run on ticks 0, 3 and 6.", 3, countingSystem.updateCount);
+        assertEquals("Every update should advance the tick.", 9, world.getSystemManager().getTick());
+    }
+
+    @Test
+    public void checkTickModulo_shouldRunOnRemainder() {
+        CountingSystem countingSystem = new ECSSystemBuilder<>(world, CountingSystem.class)
+                .runIf(ECSRunCriteria.tickModulo(4, 3))
+                .build();
+
+        updateWorld(3);
+        assertEquals("The system should not run before its remainder.", 0, countingSystem.updateCount);
+        updateWorld(1);
+        assertEquals("The system should run on its remainder.", 1, countingSystem.updateCount);
+    }
+
+    @Test
+    public void checkFixedInterval_shouldFollowClock() {
+        long[] clock = {0};
+        CountingSystem countingSystem = new ECSSystemBuilder<>(world, CountingSystem.class)
+                .runIf(ECSRunCriteria.fixedInterval(10, TimeUnit.NANOSECONDS, () -> clock[0]))
+                .build();
+
+        updateWorld(1);
+        assertEquals("The system should run on the first update.", 1, countingSystem.updateCount);
+
+        clock[0] = 9;
+        updateWorld(1);
+        assertEquals("The system should not run before the interval has passed.", 1, countingSystem.updateCount);
+
+        clock[0] = 12;
+        updateWorld(1);
+        clock[0] = 20;
+        updateWorld(1);
+        assertEquals("Late runs should not delay the schedule.", 3, countingSystem.updateCount);
+
+        clock[0] = 100;
+        updateWorld(1);
+        clock[0] = 105;
+        updateWorld(1);
+        assertEquals("Missed intervals should not be caught up.", 4, countingSystem.updateCount);
+    }
+
+    @Test
+    public void checkMembershipChanged_shouldRunOnlyAfterChanges() {
+        CountingSystem countingSystem = new ECSSystemBuilder<>(world, CountingSystem.class)
+                .withComponent(PositionComponent.class)
+                .runIf(ECSRunCriteria.membershipChanged())
+                .build();
+
+        updateWorld(2);
+        assertEquals("The system should run once after registering.", 1, countingSystem.updateCount);
+
+        int entity = world.createEntity();
+        world.addComponent(entity, new PositionComponent());
+        updateWorld(2);
+        assertEquals("The system should run once after an entity joins.", 2, countingSystem.updateCount);
+
+        world.getComponent(entity, PositionComponent.class).x = 5;
+        updateWorld(1);
+        assertEquals("Changing component data should not count as a membership change.", 2, countingSystem.updateCount);
+
+        world.destroyEntity(entity);
+        updateWorld(1);
+        assertEquals("The system should run after an entity leaves.", 3, countingSystem.updateCount);
+    }
+
+    @Test
+    public void checkCustomCriteria_shouldCombine() {
+        boolean[] enabled = {false};
+        IRunCriteria custom = (tick, membershipChanged) -> enabled[0];
+        CountingSystem countingSystem = new ECSSystemBuilder<>(world, CountingSystem.class)
+                .runIf(custom.and(ECSRunCriteria.everyNthTick(2)))
+                .build();
+
+        updateWorld(4);
+        assertEquals("A disabled system should not run.", 0, countingSystem.updateCount);
+
+        enabled[0] = true;
+        updateWorld(4);
+        assertEquals("An enabled system should run every other tick.", 2, countingSystem.updateCount);
+
+        world.setSystemRunCriteria(CountingSystem.class, null);
+        updateWorld(4);
+        assertEquals("Removing the criteria should run the system every tick.", 6, countingSystem.updateCount);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryTickModulo_withRemainderOutOfRange() {
+        ECSRunCriteria.tickModulo(4, 4);
+    }
+
+    private void updateWorld(int times) {
+        for (int i = 0; i < times; i++) {
+            world.update();
+        }
+    }
+}
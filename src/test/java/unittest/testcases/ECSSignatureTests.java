@@ -0,0 +1,151 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.entity.ECSEntityManager;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemManager;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.EmptySystem;
+import unittest.mock.systems.GravitySystem;
+
+import java.util.BitSet;
+
+import static junit.framework.TestCase.*;
+
+public class ECSSignatureTests {
+    private final World world = new World();
+
+    @Before
+    public void initialize() {
+        world.init(16);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+    }
+
+    @Test
+    public void checkSignatures_shouldFollowComponents() {
+        int entity = world.createEntity();
+        int positionType = world.getComponentType(PositionComponent.class);
+        int velocityType = world.getComponentType(VelocityComponent.class);
+
+        world.addComponent(entity, new PositionComponent());
+        world.addComponent(entity, new VelocityComponent());
+        world.removeComponent(entity, PositionComponent.class);
+
+        assertFalse("The removed component type should be cleared.", world.getEntityManager().hasComponentType(entity, positionType));
+        assertTrue("The remaining component type should be set.", world.getEntityManager().hasComponentType(entity, velocityType));
+    }
+
+    @Test
+    public void checkDestroyedEntity_shouldReuseClearedSignature() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new PositionComponent());
+        world.destroyEntity(entity);
+
+        int reused = world.createEntity();
+        assertEquals("The destroyed ID should be reused.", entity, reused);
+        assertTrue("The reused entity should start with an empty signature.", world.getEntityManager().getSignature(reused).isEmpty());
+    }
+
+    @Test
+    public void checkWideSignatures_shouldKeepExistingBits() {
+        ECSEntityManager entityManager = new ECSEntityManager(8);
+        entityManager.ensureComponentTypeCount(2);
+        int first = entityManager.createEntity();
+        int second = entityManager.createEntity();
+        entityManager.addToSignature(first, 1);
+        entityManager.addToSignature(second, 0);
+
+        entityManager.ensureComponentTypeCount(130);
+        entityManager.addToSignature(first, 129);
+
+        assertEquals("Signatures should widen to hold every component type.", 3, entityManager.getSignatureWidth());
+        assertTrue("Existing bits should survive widening.", entityManager.hasComponentType(first, 1));
+        assertTrue("Existing bits should survive widening.", entityManager.hasComponentType(second, 0));
+        assertTrue("Bits past the first word should be set.", entityManager.hasComponentType(first, 129));
+        assertFalse("Signatures should not share words.", entityManager.hasComponentType(second, 129));
+    }
+
+    @Test
+    public void checkWideSystemSignatures_shouldMatchEntities() {
+        ECSEntityManager entityManager = new ECSEntityManager(8);
+        entityManager.ensureComponentTypeCount(100);
+        ECSSystemManager systemManager = new ECSSystemManager();
+
+        EmptySystem wideSystem = systemManager.registerSystem(EmptySystem.class);
+        BitSet wideSignature = new BitSet();
+        wideSignature.set(3);
+        wideSignature.set(97);
+        systemManager.setSignature(EmptySystem.class, wideSignature);
+
+        GravitySystem unsetSystem = systemManager.registerSystem(GravitySystem.class);
+
+        int entity = entityManager.createEntity();
+        entityManager.addToSignature(entity, 3);
+        notifySignatureChanged(systemManager, entityManager, entity);
+        assertEquals("An entity missing a bit past the first word should not match.", 0, wideSystem.getEntityCount());
+
+        entityManager.addToSignature(entity, 97);
+        notifySignatureChanged(systemManager, entityManager, entity);
+        assertEquals("An entity with every bit should match.", 1, wideSystem.getEntityCount());
+        assertEquals("A system without a signature should not gain entities.", 0, unsetSystem.getEntityCount());
+    }
+
+    @Test
+    public void checkSparseSystemSignatures_shouldMatchAcrossManyComponentTypes() {
+        ECSEntityManager entityManager = new ECSEntityManager(8);
+        entityManager.ensureComponentTypeCount(1024);
+        ECSSystemManager systemManager = new ECSSystemManager();
+
+        EmptySystem sparseSystem = systemManager.registerSystem(EmptySystem.class);
+        BitSet signature = new BitSet();
+        signature.set(5);
+        signature.set(1000);
+        systemManager.setSignature(EmptySystem.class, signature);
+        BitSet exclusion = new BitSet();
+        exclusion.set(700);
+        systemManager.setExclusion(EmptySystem.class, exclusion);
+
+        int entity = entityManager.createEntity();
+        entityManager.addToSignature(entity, 5);
+        entityManager.addToSignature(entity, 300);
+        notifySignatureChanged(systemManager, entityManager, entity);
+        assertEquals("An entity missing a bit in the last word should not match.", 0, sparseSystem.getEntityCount());
+
+        entityManager.addToSignature(entity, 1000);
+        notifySignatureChanged(systemManager, entityManager, entity);
+        assertEquals("Bits in words the mask does not use should not matter.", 1, sparseSystem.getEntityCount());
+
+        entityManager.addToSignature(entity, 700);
+        notifySignatureChanged(systemManager, entityManager, entity);
+        assertEquals("An excluded bit far from the required bits should be found.", 0, sparseSystem.getEntityCount());
+    }
+
+    @Test
+    public void checkSystemSignature_widerThanEntitySignatures_shouldNotMatch() {
+        ECSEntityManager entityManager = new ECSEntityManager(8);
+        entityManager.ensureComponentTypeCount(64);
+        ECSSystemManager systemManager = new ECSSystemManager();
+
+        EmptySystem wideSystem = systemManager.registerSystem(EmptySystem.class);
+        BitSet signature = new BitSet();
+        signature.set(200);
+        systemManager.setSignature(EmptySystem.class, signature);
+
+        int entity = entityManager.createEntity();
+        entityManager.addToSignature(entity, 1);
+        notifySignatureChanged(systemManager, entityManager, entity);
+        assertEquals("A mask word past the signature's width should not match.", 0, wideSystem.getEntityCount());
+    }
+
+    private static void notifySignatureChanged(ECSSystemManager systemManager, ECSEntityManager entityManager, int entity) {
+        systemManager.entitySignatureChanged(
+                entity,
+                entityManager.getSignatureTable(),
+                entityManager.getSignatureOffset(entity),
+                entityManager.getSignatureWidth()
+        );
+    }
+}
@@ -0,0 +1,116 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.spatial.ECSSpatialIndex;
+import io.github.lucasstarsz.slopeecs.spatial.IPositionAccessor;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+
+import java.util.Arrays;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class ECSSpatialIndexTests {
+    private final World world = new World();
+    private final IPositionAccessor<PositionComponent> positionAccessor = new IPositionAccessor<>() {
+        @Override
+        public float getX(PositionComponent component) {
+            return component.x;
+        }
+
+        @Override
+        public float getY(PositionComponent component) {
+            return component.y;
+        }
+    };
+
+    private int[] entities;
+    private PositionComponent[] positionComponents;
+    private ECSSpatialIndex<PositionComponent> spatialIndex;
+    private final int[] result = new int[16];
+
+    @Before
+    public void initialize() {
+        world.init(10);
+        world.registerComponent(PositionComponent.class);
+
+        /* Place entities along the x axis, 10 units apart */
+        entities = new int[5];
+        positionComponents = new PositionComponent[5];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = world.createEntity();
+            positionComponents[i] = new PositionComponent();
+            positionComponents[i].x = i * 10f;
+
+            world.addComponent(entities[i], positionComponents[i]);
+        }
+
+        spatialIndex = world.enableSpatialIndex(PositionComponent.class, positionAccessor, 8f);
+    }
+
+    @Test
+    public void checkIndexedEntityCount_shouldMatchExistingComponents() {
+        assertEquals("All existing position components should be indexed.", entities.length, spatialIndex.getIndexedEntityCount());
+    }
+
+    @Test
+    public void checkRadiusQuery_shouldFindNearbyEntities() {
+        int count = spatialIndex.queryRadius(10f, 0f, 10f, result);
+        int[] found = Arrays.copyOf(result, count);
+        int[] expected = {entities[0], entities[1], entities[2]};
+        Arrays.sort(found);
+        Arrays.sort(expected);
+
+        assertEquals("Entities at x=0, x=10 and x=20 should be found.", Arrays.toString(expected), Arrays.toString(found));
+    }
+
+    @Test
+    public void checkBoxQuery_shouldFindContainedEntities() {
+        int count = spatialIndex.queryBox(15f, -1f, 45f, 1f, result);
+        assertEquals("Entities at x=20, x=30 and x=40 should be found.", 3, count);
+    }
+
+    @Test
+    public void checkQuery_whenResultArrayIsFull() {
+        int[] smallResult = new int[2];
+        assertEquals("The query should stop once the result array is full.", 2, spatialIndex.queryRadius(20f, 0f, 100f, smallResult));
+    }
+
+    @Test
+    public void checkQuery_afterUpdatingPosition() {
+        positionComponents[0].x = 1000f;
+        positionComponents[0].y = 1000f;
+        spatialIndex.update(entities[0]);
+
+        assertEquals("The moved entity should no longer be near the origin.", 0, spatialIndex.queryRadius(0f, 0f, 5f, result));
+        assertEquals("The moved entity should be found at its new position.", 1, spatialIndex.queryRadius(1000f, 1000f, 5f, result));
+        assertEquals("The moved entity should be the one found.", entities[0], result[0]);
+    }
+
+    @Test
+    public void checkQuery_afterComponentAddedAndRemoved() {
+        int entity = world.createEntity();
+        PositionComponent positionComponent = new PositionComponent();
+        positionComponent.y = 500f;
+        world.addComponent(entity, positionComponent);
+
+        assertEquals("The new entity should be indexed.", 1, spatialIndex.queryRadius(0f, 500f, 1f, result));
+
+        world.removeComponent(entity, PositionComponent.class);
+        assertEquals("The entity should no longer be indexed after its component was removed.", 0, spatialIndex.queryRadius(0f, 500f, 1f, result));
+    }
+
+    @Test
+    public void checkIndexedEntityCount_afterEntityDestroyed() {
+        world.destroyEntity(entities[1]);
+
+        assertEquals("The destroyed entity should no longer be indexed.", entities.length - 1, spatialIndex.getIndexedEntityCount());
+        assertEquals("No entity should be found where the destroyed entity was.", 0, spatialIndex.queryRadius(10f, 0f, 1f, result));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryEnableSpatialIndex_whenAlreadyEnabled() {
+        world.enableSpatialIndex(PositionComponent.class, positionAccessor, 8f);
+    }
+}
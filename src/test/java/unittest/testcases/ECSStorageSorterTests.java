@@ -0,0 +1,134 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.component.ECSComponentArray;
+import io.github.lucasstarsz.slopeecs.component.ECSStorageSorter;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+
+import java.util.Comparator;
+
+import static junit.framework.TestCase.*;
+
+public class ECSStorageSorterTests {
+    private final World world = new World();
+    private ECSComponentArray<PositionComponent> positions;
+    private int[] entities;
+
+    @Before
+    public void initialize() {
+        world.init(512);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+        positions = world.getComponentManager().getComponentArray(PositionComponent.class);
+
+        entities = new int[500];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = world.createEntity();
+            PositionComponent positionComponent = new PositionComponent();
+            positionComponent.y = (i * 7919) % 500;
+            world.addComponent(entities[i], positionComponent);
+        }
+
+        /* Churn the array, so it is left out of order */
+        for (int i = 0; i < entities.length; i += 3) {
+            world.removeComponent(entities[i], PositionComponent.class);
+        }
+        for (int i = 0; i < entities.length; i += 6) {
+            PositionComponent positionComponent = new PositionComponent();
+            positionComponent.y = -i;
+            world.addComponent(entities[i], positionComponent);
+        }
+    }
+
+    @Test
+    public void checkSortByEntity_shouldOrderEntities() {
+        world.sortComponents(PositionComponent.class, null);
+
+        for (int i = 1; i < positions.getValidEntryCount(); i++) {
+            assertTrue("Entities should be in increasing order.", positions.getEntity(i - 1) < positions.getEntity(i));
+        }
+        assertIndicesValid();
+    }
+
+    @Test
+    public void checkSortByComparator_shouldOrderComponents() {
+        world.sortComponents(PositionComponent.class, Comparator.comparingDouble(position -> position.y));
+
+        for (int i = 1; i < positions.getValidEntryCount(); i++) {
+            assertTrue("Components should be in increasing order of y.", positions.getDataAtIndex(i - 1).y <= positions.getDataAtIndex(i).y);
+        }
+        assertIndicesValid();
+    }
+
+    @Test
+    public void checkComparatorStep_afterKeysChangeInPlace() {
+        ECSStorageSorter<PositionComponent> sorter = world.createStorageSorter(PositionComponent.class, Comparator.comparingDouble(position -> position.y));
+        sorter.sort();
+
+        // Reverse every key without adding or removing any components
+        for (int i = 0; i < positions.getValidEntryCount(); i++) {
+            positions.getDataAtIndex(i).y = -positions.getDataAtIndex(i).y;
+        }
+
+        while (!sorter.step(0L)) {
+            assertIndicesValid();
+        }
+
+        for (int i = 1; i < positions.getValidEntryCount(); i++) {
+            assertTrue("Components should be back in increasing order of y.", positions.getDataAtIndex(i - 1).y <= positions.getDataAtIndex(i).y);
+        }
+        assertIndicesValid();
+    }
+
+    @Test
+    public void checkIncrementalSort_withZeroBudget() {
+        ECSStorageSorter<PositionComponent> sorter = world.createStorageSorter(PositionComponent.class, null);
+
+        int steps = 0;
+        while (!sorter.step(0L)) {
+            steps++;
+            assertIndicesValid();
+        }
+
+        assertTrue("A zero budget should spread the sort over several steps.", steps > 1);
+        assertTrue("The sorter should report the array as sorted.", sorter.isSorted());
+        for (int i = 1; i < positions.getValidEntryCount(); i++) {
+            assertTrue("Entities should be in increasing order.", positions.getEntity(i - 1) < positions.getEntity(i));
+        }
+    }
+
+    @Test
+    public void checkIncrementalSort_afterArrayChangesBetweenSteps() {
+        ECSStorageSorter<PositionComponent> sorter = world.createStorageSorter(PositionComponent.class, null);
+        sorter.step(0L);
+
+        world.removeComponent(entities[1], PositionComponent.class);
+        assertFalse("The sorter should notice the change.", sorter.isSorted());
+
+        while (!sorter.step(0L)) {
+            assertIndicesValid();
+        }
+
+        for (int i = 1; i < positions.getValidEntryCount(); i++) {
+            assertTrue("Entities should be in increasing order.", positions.getEntity(i - 1) < positions.getEntity(i));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryCreateStorageSorter_whenArrayOwnedByGroup() {
+        world.createGroup(PositionComponent.class, VelocityComponent.class);
+        world.createStorageSorter(PositionComponent.class, null);
+    }
+
+    /** Checks that every entity can still find its own component. */
+    private void assertIndicesValid() {
+        for (int i = 0; i < positions.getValidEntryCount(); i++) {
+            int entity = positions.getEntity(i);
+            assertEquals("Entity indices should be kept up to date.", i, positions.getIndex(entity));
+            assertSame("Components should stay with their entity.", positions.getDataAtIndex(i), world.getComponent(entity, PositionComponent.class));
+        }
+    }
+}
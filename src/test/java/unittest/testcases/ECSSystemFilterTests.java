@@ -0,0 +1,126 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.ConcurrentWorld;
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.DeadComponent;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.EmptySystem;
+import unittest.mock.systems.PositionSystem;
+
+import java.util.BitSet;
+
+import static junit.framework.TestCase.*;
+
+public class ECSSystemFilterTests {
+    private final World world = new World();
+    private PositionSystem positionSystem;
+
+    @Before
+    public void initialize() {
+        world.init(10);
+        world.registerComponent(PositionComponent.class);
+        world.registerComponent(VelocityComponent.class);
+        world.registerComponent(DeadComponent.class);
+
+        positionSystem = new ECSSystemBuilder<>(world, PositionSystem.class)
+                .withComponent(PositionComponent.class)
+                .without(DeadComponent.class)
+                .optional(VelocityComponent.class)
+                .build();
+    }
+
+    @Test
+    public void checkExcludedComponent_shouldKeepEntityOutOfSystem() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new DeadComponent());
+        world.addComponent(entity, new PositionComponent());
+
+        assertEquals("An entity with an excluded component should not join the system.", 0, positionSystem.getEntityCount());
+    }
+
+    @Test
+    public void checkExcludedComponent_shouldFollowSignatureChanges() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new PositionComponent());
+        assertEquals("An entity without the excluded component should join the system.", 1, positionSystem.getEntityCount());
+
+        world.addComponent(entity, new DeadComponent());
+        assertEquals("Gaining an excluded component should remove the entity.", 0, positionSystem.getEntityCount());
+
+        world.removeComponent(entity, DeadComponent.class);
+        assertEquals("Losing the excluded component should add the entity back.", 1, positionSystem.getEntityCount());
+    }
+
+    @Test
+    public void checkDestroyedEntity_shouldLeaveSystemAfterExclusionChange() {
+        int entity = world.createEntity();
+        world.addComponent(entity, new PositionComponent());
+        world.addComponent(entity, new VelocityComponent());
+        assertEquals("The entity should join the system.", 1, positionSystem.getEntityCount());
+
+        BitSet exclusion = new BitSet();
+        exclusion.set(world.getComponentType(VelocityComponent.class));
+        world.setSystemExclusion(PositionSystem.class, exclusion);
+
+        world.destroyEntity(entity);
+        assertEquals("A destroyed entity should leave the system even if it no longer matches.", 0, positionSystem.getEntityCount());
+    }
+
+    @Test
+    public void checkOptionalComponent_shouldNotAffectMembership() {
+        int withVelocity = world.createEntity();
+        world.addComponent(withVelocity, new PositionComponent());
+        world.addComponent(withVelocity, new VelocityComponent());
+
+        int withoutVelocity = world.createEntity();
+        world.addComponent(withoutVelocity, new PositionComponent());
+
+        assertEquals("Entities should join with or without the optional component.", 2, positionSystem.getEntityCount());
+    }
+
+    @Test
+    public void checkSystemExclusion_shouldBeStored() {
+        assertTrue(
+                "The exclusion signature should hold the excluded component.",
+                world.getSystemManager().getSystemExclusion(PositionSystem.class).get(world.getComponentType(DeadComponent.class))
+        );
+    }
+
+    @Test
+    public void checkSystemOptional_shouldBeStored() {
+        BitSet optional = world.getSystemManager().getSystemOptional(PositionSystem.class);
+
+        assertTrue("The optional components should hold the optional component.", optional.get(world.getComponentType(VelocityComponent.class)));
+        assertEquals("Only the optional component should be stored.", 1, optional.cardinality());
+    }
+
+    @Test
+    public void checkExcludedComponent_inConcurrentWorld() {
+        World concurrentWorld = new ConcurrentWorld();
+        concurrentWorld.init(10);
+        concurrentWorld.registerComponent(PositionComponent.class);
+        concurrentWorld.registerComponent(DeadComponent.class);
+
+        PositionSystem concurrentSystem = new ECSSystemBuilder<>(concurrentWorld, PositionSystem.class)
+                .withComponent(PositionComponent.class)
+                .without(DeadComponent.class)
+                .build();
+
+        int entity = concurrentWorld.createEntity();
+        concurrentWorld.addComponent(entity, new PositionComponent());
+        concurrentWorld.addComponent(entity, new DeadComponent());
+
+        assertEquals("Gaining an excluded component should remove the entity.", 0, concurrentSystem.getEntityCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryExcludeRequiredComponent() {
+        new ECSSystemBuilder<>(world, EmptySystem.class)
+                .withComponent(PositionComponent.class)
+                .without(PositionComponent.class);
+    }
+}
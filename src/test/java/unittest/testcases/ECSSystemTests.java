@@ -7,14 +7,18 @@ import org.junit.Test;
 import unittest.mock.components.PositionComponent;
 import unittest.mock.components.UniqueComponent;
 import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.ConfiguredSystem;
+import unittest.mock.systems.FailingSystem;
 import unittest.mock.systems.EmptySystem;
 import unittest.mock.systems.GravitySystem;
 import unittest.mock.systems.PositionSystem;
 import unittest.mock.systems.UniqueSystem;
 
 import java.util.BitSet;
+import java.util.LinkedHashMap;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
 
 public class ECSSystemTests {
     private final World world = new World();
@@ -151,4 +155,40 @@ public class ECSSystemTests {
             assertEquals("Components should match after modification.", positionComponents[i], world.getComponent(entities[i], PositionComponent.class));
         }
     }
+
+    @Test
+    public void checkCreateSystem_withFactory() {
+        ConfiguredSystem configuredSystem = new ECSSystemBuilder<>(world, ConfiguredSystem.class, () -> new ConfiguredSystem("factory", 3))
+                .withComponent(PositionComponent.class)
+                .build();
+
+        assertEquals("The system should be constructed by the factory.", "factory", configuredSystem.name);
+        assertSame("The system should be registered under its class.", configuredSystem, world.getSystemManager().getSystem(ConfiguredSystem.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryCreateSystem_whenFactoryCreatesWrongClass() {
+        world.getSystemManager().registerSystem(ConfiguredSystem.class, () -> null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void tryCreateSystem_whenConstructorThrowsError() {
+        world.registerSystem(FailingSystem.class);
+    }
+
+    @Test
+    public void checkCreateSystem_withArgumentsInSeveralWorlds() {
+        LinkedHashMap<Class<?>, Object> arguments = new LinkedHashMap<>();
+        arguments.put(String.class, "reflection");
+        arguments.put(int.class, 7);
+
+        for (int i = 0; i < 2; i++) {
+            World otherWorld = new World();
+            otherWorld.init(1);
+
+            ConfiguredSystem configuredSystem = otherWorld.registerSystem(ConfiguredSystem.class, arguments);
+            assertEquals("The system should be constructed with the specified arguments.", "reflection", configuredSystem.name);
+            assertEquals("The system should be constructed with the specified arguments.", 7, configuredSystem.priority);
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.systems.SlicedSystem;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.*;
+
+public class ECSTimeSlicedSystemTests {
+    private final World world = new World();
+    private SlicedSystem slicedSystem;
+    private int[] entities;
+
+    @Before
+    public void initialize() {
+        world.init(100);
+        world.registerComponent(PositionComponent.class);
+        slicedSystem = new ECSSystemBuilder<>(world, SlicedSystem.class)
+                .withComponent(PositionComponent.class)
+                .build();
+
+        entities = new int[10];
+        world.createEntities(entities);
+        for (int entity : entities) {
+            world.addComponent(entity, new PositionComponent());
+        }
+    }
+
+    @Test
+    public void checkEntityBudget_shouldSplitPassAcrossUpdates() {
+        slicedSystem.setEntityBudget(4);
+
+        world.update();
+        assertEquals("The first update should use the whole budget.", 4, slicedSystem.getLastVisitedCount());
+        world.update();
+        assertEquals("The pass should not be complete yet.", 0, slicedSystem.passesCompleted);
+        world.update();
+        assertEquals("The last update should visit the remaining entities.", 2, slicedSystem.getLastVisitedCount());
+        assertEquals("The pass should be complete.", 1, slicedSystem.getPassCount());
+        assertEquals("The completion hook should run once.", 1, slicedSystem.passesCompleted);
+
+        assertVisitedOnce(entities);
+        assertEquals("The next pass should start over.", entities.length, slicedSystem.getRemainingCount());
+    }
+
+    @Test
+    public void checkRemovals_shouldNotSkipOrRepeatEntities() {
+        slicedSystem.setEntityBudget(4);
+        world.update();
+
+        int visitedEntity = slicedSystem.visited.get(0);
+        int unvisitedEntity = unvisited()[0];
+        world.removeComponent(visitedEntity, PositionComponent.class);
+        world.removeComponent(unvisitedEntity, PositionComponent.class);
+
+        world.update();
+        world.update();
+
+        assertEquals("The pass should be complete.", 1, slicedSystem.getPassCount());
+        assertFalse("A removed entity should not be visited again.", slicedSystem.visited.lastIndexOf(visitedEntity) > 0);
+        assertFalse("A removed entity should not be visited.", slicedSystem.visited.contains(unvisitedEntity));
+        assertEquals("Every remaining entity should be visited once.", entities.length - 1, new HashSet<>(slicedSystem.visited).size());
+        assertEquals("No entity should be visited twice.", entities.length - 1, slicedSystem.visited.size());
+    }
+
+    @Test
+    public void checkAdditions_shouldBeVisitedInCurrentPass() {
+        slicedSystem.setEntityBudget(4);
+        world.update();
+
+        int added = world.createEntity();
+        world.addComponent(added, new PositionComponent());
+
+        while (slicedSystem.getPassCount() == 0) {
+            world.update();
+        }
+
+        assertTrue("An entity joining mid-pass should be visited in that pass.", slicedSystem.visited.contains(added));
+        assertEquals("Every entity should be visited once.", entities.length + 1, slicedSystem.visited.size());
+        assertEquals("No entity should be visited twice.", entities.length + 1, new HashSet<>(slicedSystem.visited).size());
+    }
+
+    @Test
+    public void checkClear_shouldRestartPass() {
+        slicedSystem.setEntityBudget(4);
+        world.update();
+        world.clear();
+
+        assertEquals("A cleared system should have nothing left to visit.", 0, slicedSystem.getRemainingCount());
+        world.update();
+        assertEquals("An empty system should complete its pass immediately.", 1, slicedSystem.getPassCount());
+    }
+
+    @Test
+    public void checkTimeBudget_shouldVisitAtLeastOneEntity() {
+        slicedSystem.setTimeBudget(1, TimeUnit.NANOSECONDS);
+        world.update();
+
+        assertEquals("An exhausted time budget should still let one entity through.", 1, slicedSystem.getLastVisitedCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void trySetEntityBudget_withZero() {
+        slicedSystem.setEntityBudget(0);
+    }
+
+    private void assertVisitedOnce(int[] expected) {
+        assertEquals("Every entity should be visited once.", expected.length, slicedSystem.visited.size());
+        Set<Integer> visited = new HashSet<>(slicedSystem.visited);
+        for (int entity : expected) {
+            assertTrue("Entity " + entity + " should be visited.", visited.contains(entity));
+        }
+    }
+
+    private int[] unvisited() {
+        return Arrays.stream(entities).filter(entity -> !slicedSystem.visited.contains(entity)).toArray();
+    }
+}
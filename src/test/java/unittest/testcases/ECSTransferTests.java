@@ -0,0 +1,130 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.entity.ECSHierarchyManager;
+import io.github.lucasstarsz.slopeecs.system.ECSSystemBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.components.PositionComponent;
+import unittest.mock.components.UniqueComponent;
+import unittest.mock.components.VelocityComponent;
+import unittest.mock.systems.GravitySystem;
+import unittest.mock.systems.PositionSystem;
+
+import static junit.framework.TestCase.*;
+
+public class ECSTransferTests {
+    private final World lobby = new World();
+    private final World match = new World();
+
+    private int[] entities;
+    private PositionComponent[] positionComponents;
+    private VelocityComponent velocityComponent;
+
+    private PositionSystem matchPositionSystem;
+    private GravitySystem matchGravitySystem;
+
+    @Before
+    public void initialize() {
+        lobby.init(5);
+        lobby.registerComponent(PositionComponent.class);
+        lobby.registerComponent(VelocityComponent.class);
+        lobby.registerComponent(UniqueComponent.class);
+
+        /* Register components in a different order, so component types differ between worlds */
+        match.init(5);
+        match.registerComponent(VelocityComponent.class);
+        match.registerComponent(PositionComponent.class);
+
+        matchPositionSystem = new ECSSystemBuilder<>(match, PositionSystem.class)
+                .withComponent(PositionComponent.class)
+                .build();
+        matchGravitySystem = new ECSSystemBuilder<>(match, GravitySystem.class)
+                .withComponent(PositionComponent.class)
+                .withComponent(VelocityComponent.class)
+                .build();
+
+        entities = new int[3];
+        positionComponents = new PositionComponent[3];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = lobby.createEntity();
+            positionComponents[i] = new PositionComponent();
+            lobby.addComponent(entities[i], positionComponents[i]);
+        }
+
+        velocityComponent = new VelocityComponent();
+        lobby.addComponent(entities[0], velocityComponent);
+    }
+
+    @Test
+    public void checkTransferredComponents_shouldMatchOriginal() {
+        int[] transferred = lobby.transferEntities(entities, match);
+
+        for (int i = 0; i < entities.length; i++) {
+            assertSame("Position components should be moved, not copied.", positionComponents[i], match.getComponent(transferred[i], PositionComponent.class));
+        }
+        assertSame("Velocity component should be moved.", velocityComponent, match.getComponent(transferred[0], VelocityComponent.class));
+    }
+
+    @Test
+    public void checkEntityCounts_afterTransfer() {
+        lobby.transferEntities(entities, match);
+
+        assertEquals("No entities should be left in the lobby.", 0, lobby.getEntityManager().getLivingEntityCount());
+        assertEquals("All entities should be in the match.", entities.length, match.getEntityManager().getLivingEntityCount());
+    }
+
+    @Test
+    public void checkTargetSystems_afterTransfer() {
+        lobby.transferEntities(entities, match);
+
+        assertEquals("Every transferred entity has a position.", 3, matchPositionSystem.getEntityCount());
+        assertEquals("Only one transferred entity has a velocity.", 1, matchGravitySystem.getEntityCount());
+    }
+
+    @Test
+    public void checkHierarchy_afterTransfer() {
+        int outsider = lobby.createEntity();
+        lobby.setParent(entities[1], entities[0]);
+        lobby.setParent(outsider, entities[0]);
+
+        int[] transferred = lobby.transferEntities(new int[] {entities[0], entities[1]}, match);
+
+        assertEquals("Relationships between transferred entities should be kept.", transferred[0], match.getParent(transferred[1]));
+        assertTrue("Children which were not transferred should stay alive.", lobby.getEntityManager().isAlive(outsider));
+        assertEquals("Children which were not transferred should be detached.", ECSHierarchyManager.noEntity, lobby.getParent(outsider));
+    }
+
+    @Test
+    public void tryTransfer_whenComponentIsNotRegisteredInTarget() {
+        lobby.addComponent(entities[2], new UniqueComponent());
+
+        try {
+            lobby.transferEntities(entities, match);
+            fail("Transferring a component type the target does not have should throw an IllegalStateException.");
+        } catch (IllegalStateException e) {
+            assertEquals("Nothing should be transferred when validation fails.", 0, match.getEntityManager().getLivingEntityCount());
+        }
+    }
+
+    @Test
+    public void checkTransfer_afterFailedTransfer() {
+        lobby.setParent(entities[1], entities[0]);
+
+        try {
+            lobby.transferEntities(new int[] {entities[0], entities[1], entities[0]}, match);
+            fail("Transferring an entity twice should throw an IllegalStateException.");
+        } catch (IllegalStateException ignored) {
+        }
+
+        int[] transferred = lobby.transferEntities(new int[] {entities[0], entities[1]}, match);
+        assertEquals("Relationships between transferred entities should be kept.", transferred[0], match.getParent(transferred[1]));
+        assertEquals("Both transferred entities have a position.", 2, matchPositionSystem.getEntityCount());
+        assertEquals("Only the first transferred entity has a velocity.", 1, matchGravitySystem.getEntityCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryTransfer_whenEntityIsSpecifiedTwice() {
+        lobby.transferEntities(new int[] {entities[0], entities[0]}, match);
+    }
+}
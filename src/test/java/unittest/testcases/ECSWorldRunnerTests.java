@@ -0,0 +1,107 @@
+package unittest.testcases;
+
+import io.github.lucasstarsz.slopeecs.World;
+import io.github.lucasstarsz.slopeecs.WorldRunner;
+import org.junit.Before;
+import org.junit.Test;
+import unittest.mock.systems.CountingSystem;
+
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.*;
+
+public class ECSWorldRunnerTests {
+    private final World world = new World();
+    private CountingSystem countingSystem;
+    private WorldRunner runner;
+
+    @Before
+    public void initialize() {
+        world.init(10);
+        countingSystem = world.registerSystem(CountingSystem.class);
+        runner = new WorldRunner(world, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void checkRunFrame_shouldUpdateOncePerFullStep() {
+        assertEquals("Only full steps should be run.", 2, runner.runFrame(TimeUnit.MILLISECONDS.toNanos(25)));
+        assertEquals("The world should be updated once per step.", 2, countingSystem.updateCount);
+        assertEquals("The leftover time should become the alpha.", 0.5, runner.getAlpha(), 1e-9);
+
+        assertEquals("Leftover time should carry over to the next frame.", 1, runner.runFrame(TimeUnit.MILLISECONDS.toNanos(5)));
+        assertEquals("The alpha should restart after a step.", 0.0, runner.getAlpha(), 1e-9);
+    }
+
+    @Test
+    public void checkRunFrame_shouldLimitCatchUpSteps() {
+        runner.setMaxStepsPerFrame(3);
+        double[] alpha = {-1};
+        runner.setFrameListener(frameAlpha -> alpha[0] = frameAlpha);
+
+        assertEquals("Catch-up should stop at the maximum steps per frame.", 3, runner.runFrame(TimeUnit.MILLISECONDS.toNanos(104)));
+        assertEquals("The steps beyond the maximum should be dropped.", 7, runner.getDroppedStepCount());
+        assertEquals("Progress towards the next step should be kept.", 0.4, alpha[0], 1e-9);
+    }
+
+    @Test
+    public void checkRunFrame_shouldReportBudgetOverruns() {
+        runner.setFrameBudget(1, TimeUnit.MILLISECONDS);
+        countingSystem.sleepMillis = 5;
+
+        runner.runFrame(TimeUnit.MILLISECONDS.toNanos(10));
+        runner.runFrame(0);
+
+        assertEquals("Only the frame over budget should be counted.", 1, runner.getOverrunFrameCount());
+        assertTrue("The overrun should be measured.", runner.getMaxOverrunNanos() >= TimeUnit.MILLISECONDS.toNanos(3));
+        assertEquals("Every frame should be counted.", 2, runner.getFrameCount());
+    }
+
+    @Test
+    public void checkStart_shouldUpdateOnDedicatedThread() throws InterruptedException {
+        runner.start();
+        Thread.sleep(200);
+        runner.stop();
+
+        assertFalse("The runner should stop.", runner.isRunning());
+        assertTrue("The world should be updated at about the step rate, but was updated " + countingSystem.updateCount + " times.",
+                countingSystem.updateCount >= 5 && countingSystem.updateCount <= 30);
+    }
+
+    @Test
+    public void checkStop_whenThreadThrowsError() throws InterruptedException {
+        AssertionError error = new AssertionError("frame failed");
+        runner.setFrameListener(alpha -> {
+            throw error;
+        });
+
+        runner.start();
+        for (int i = 0; i < 100 && runner.isRunning(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertFalse("The runner should stop running when its thread dies.", runner.isRunning());
+        Throwable thrown = null;
+        try {
+            runner.stop();
+        } catch (AssertionError e) {
+            thrown = e;
+        }
+
+        assertSame("Stopping the runner should rethrow the error as-is.", error, thrown);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryStart_whenAlreadyStarted() {
+        runner.start();
+        try {
+            runner.start();
+        } finally {
+            runner.stop();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tryCreateRunner_withZeroStep() {
+        new WorldRunner(world, 0, TimeUnit.MILLISECONDS);
+    }
+}